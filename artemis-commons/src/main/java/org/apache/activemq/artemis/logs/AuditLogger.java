@@ -2880,4 +2880,25 @@ public interface AuditLogger {
 
    @LogMessage(id = 601800, value = "User {} is getting persisted pause property on target resource: {}", level = LogMessage.Level.INFO)
    void isPersistedPause(String user, Object source);
+
+   static void getPageCacheHitCount(Object source) {
+      BASE_LOGGER.getPageCacheHitCount(getCaller(), source);
+   }
+
+   @LogMessage(id = 601801, value = "User {} is getting page cache hit count on target resource: {}", level = LogMessage.Level.INFO)
+   void getPageCacheHitCount(String user, Object source);
+
+   static void getPageCacheMissCount(Object source) {
+      BASE_LOGGER.getPageCacheMissCount(getCaller(), source);
+   }
+
+   @LogMessage(id = 601802, value = "User {} is getting page cache miss count on target resource: {}", level = LogMessage.Level.INFO)
+   void getPageCacheMissCount(String user, Object source);
+
+   static void getPageCacheEvictionCount(Object source) {
+      BASE_LOGGER.getPageCacheEvictionCount(getCaller(), source);
+   }
+
+   @LogMessage(id = 601803, value = "User {} is getting page cache eviction count on target resource: {}", level = LogMessage.Level.INFO)
+   void getPageCacheEvictionCount(String user, Object source);
 }
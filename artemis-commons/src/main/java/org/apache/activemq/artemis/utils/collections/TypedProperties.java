@@ -186,7 +186,13 @@ public class TypedProperties {
    }
 
    public Boolean getBooleanProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toBoolean(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@link Boolean} as by {@link #getBooleanProperty(SimpleString)}}
+    */
+   public static Boolean toBoolean(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null) {
          return Boolean.valueOf(null);
       } else if (value instanceof Boolean booleanValue) {
@@ -199,8 +205,17 @@ public class TypedProperties {
 
    public Byte getByteProperty(final SimpleString key,
                                final Supplier<Byte> defaultValue) throws ActiveMQPropertyConversionException {
+      return toByte(key, doGetProperty(key), defaultValue);
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@link Byte} as by
+    * {@link #getByteProperty(SimpleString, Supplier)}}
+    */
+   public static Byte toByte(final SimpleString key,
+                             final Object value,
+                             final Supplier<Byte> defaultValue) throws ActiveMQPropertyConversionException {
       Objects.requireNonNull(defaultValue);
-      Object value = doGetProperty(key);
       if (value == null) {
          return defaultValue.get();
       } else if (value instanceof Byte byteValue) {
@@ -228,7 +243,13 @@ public class TypedProperties {
    }
 
    public byte[] getBytesProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toBytes(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@code byte[]} as by {@link #getBytesProperty(SimpleString)}}
+    */
+   public static byte[] toBytes(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null) {
          return null;
       } else if (value instanceof byte[] bytes) {
@@ -238,7 +259,13 @@ public class TypedProperties {
    }
 
    public Double getDoubleProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toDouble(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@link Double} as by {@link #getDoubleProperty(SimpleString)}}
+    */
+   public static Double toDouble(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null) {
          return Double.valueOf(null);
       } else if (value instanceof Float floatValue) {
@@ -252,7 +279,13 @@ public class TypedProperties {
    }
 
    public Integer getIntProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toInteger(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to an {@link Integer} as by {@link #getIntProperty(SimpleString)}}
+    */
+   public static Integer toInteger(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null) {
          return Integer.valueOf(null);
       } else if (value instanceof Integer integer) {
@@ -268,7 +301,13 @@ public class TypedProperties {
    }
 
    public Long getLongProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toLong(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@link Long} as by {@link #getLongProperty(SimpleString)}}
+    */
+   public static Long toLong(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null) {
          return Long.valueOf(null);
       } else if (value instanceof Long longValue) {
@@ -286,7 +325,13 @@ public class TypedProperties {
    }
 
    public Short getShortProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toShort(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@link Short} as by {@link #getShortProperty(SimpleString)}}
+    */
+   public static Short toShort(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null) {
          return Short.valueOf(null);
       } else if (value instanceof Byte byteValue) {
@@ -300,7 +345,13 @@ public class TypedProperties {
    }
 
    public Float getFloatProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toFloat(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@link Float} as by {@link #getFloatProperty(SimpleString)}}
+    */
+   public static Float toFloat(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null)
          return Float.valueOf(null);
       if (value instanceof Float floatValue) {
@@ -313,7 +364,13 @@ public class TypedProperties {
    }
 
    public SimpleString getSimpleStringProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toSimpleString(key, doGetProperty(key));
+   }
+
+   /**
+    * {@return the {@code value} of the {@code key} property converted to a {@link SimpleString} as by {@link #getSimpleStringProperty(SimpleString)}}
+    */
+   public static SimpleString toSimpleString(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
 
       if (value == null) {
          return null;
@@ -503,6 +560,18 @@ public class TypedProperties {
     * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
     */
    public static boolean searchProperty(SimpleString key, ByteBuf buffer, int startIndex) {
+      return findProperty(key, buffer, startIndex) >= 0;
+   }
+
+   /**
+    * Looks up the {@code key} property in {@code buffer} like {@link #searchProperty(SimpleString, ByteBuf, int)},
+    * without decoding any other property.
+    *
+    * @return the index of the encoded value of the property, to be read with
+    * {@link #readProperty(ByteBuf, int, TypedPropertiesDecoderPools)}, or {@code -1} if not found
+    * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
+    */
+   public static int findProperty(SimpleString key, ByteBuf buffer, int startIndex) {
       // It won't implement a straight linear search for key
       // because it would risk to find a SimpleString encoded property value
       // equals to the key we're searching for!
@@ -510,7 +579,7 @@ public class TypedProperties {
       byte b = buffer.getByte(index);
       index++;
       if (b == DataConstants.NULL) {
-         return false;
+         return -1;
       }
       final int numHeaders = buffer.getInt(index);
       index += Integer.BYTES;
@@ -518,10 +587,10 @@ public class TypedProperties {
          final int keyLength = buffer.getInt(index);
          index += Integer.BYTES;
          if (key.equals(buffer, index, keyLength)) {
-            return true;
+            return index + keyLength;
          }
          if (i == numHeaders - 1) {
-            return false;
+            return -1;
          }
          index += keyLength;
          byte type = buffer.getByte(index);
@@ -566,7 +635,61 @@ public class TypedProperties {
             }
          }
       }
-      return false;
+      return -1;
+   }
+
+   /**
+    * {@return the value encoded at {@code index} of {@code buffer}, as found by
+    * {@link #findProperty(SimpleString, ByteBuf, int)}}
+    */
+   public static Object readProperty(ByteBuf buffer, int index, TypedPropertiesDecoderPools keyValuePools) {
+      final byte type = buffer.getByte(index);
+      index++;
+      switch (type) {
+         case NULL: {
+            return null;
+         }
+         case CHAR: {
+            return (char) buffer.getShort(index);
+         }
+         case BOOLEAN: {
+            return buffer.getBoolean(index);
+         }
+         case BYTE: {
+            return buffer.getByte(index);
+         }
+         case BYTES: {
+            final byte[] bytes = new byte[buffer.getInt(index)];
+            buffer.getBytes(index + Integer.BYTES, bytes);
+            return bytes;
+         }
+         case SHORT: {
+            return buffer.getShort(index);
+         }
+         case INT: {
+            return buffer.getInt(index);
+         }
+         case LONG: {
+            return buffer.getLong(index);
+         }
+         case FLOAT: {
+            return Float.intBitsToFloat(buffer.getInt(index));
+         }
+         case DOUBLE: {
+            return Double.longBitsToDouble(buffer.getLong(index));
+         }
+         case STRING: {
+            if (keyValuePools == null) {
+               final byte[] data = new byte[buffer.getInt(index)];
+               buffer.getBytes(index + Integer.BYTES, data);
+               return SimpleString.of(data);
+            }
+            return StringValue.readStringValue(buffer.duplicate().readerIndex(index), keyValuePools.getPropertyValuesPool()).val;
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
    }
 
    public void decode(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools) {
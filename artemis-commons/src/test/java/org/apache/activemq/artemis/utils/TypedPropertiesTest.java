@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.utils;
 
+import static org.apache.activemq.artemis.utils.collections.TypedProperties.findProperty;
+import static org.apache.activemq.artemis.utils.collections.TypedProperties.readProperty;
 import static org.apache.activemq.artemis.utils.collections.TypedProperties.searchProperty;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -312,6 +314,43 @@ public class TypedPropertiesTest {
       });
    }
 
+   @Test
+   public void testReadAllProperties() {
+      TypedProperties props = new TypedProperties();
+      props.putByteProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomByte());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBytes());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), null);
+      props.putBooleanProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBoolean());
+      props.putShortProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomShort());
+      props.putIntProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomInt());
+      props.putLongProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomLong());
+      props.putFloatProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomFloat());
+      props.putDoubleProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomDouble());
+      props.putCharProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomChar());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomUUIDSimpleString());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), null);
+      final SimpleString value = RandomUtil.randomUUIDSimpleString();
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), value);
+      ByteBuf buf = Unpooled.buffer();
+      props.encode(buf);
+      buf.resetReaderIndex();
+      final TypedProperties.TypedPropertiesDecoderPools pools = new TypedProperties.TypedPropertiesDecoderPools();
+      assertEquals(-1, findProperty(value, buf, 0));
+      props.forEachKey(key -> {
+         final int index = findProperty(key, buf, 0);
+         assertTrue(index > 0);
+         assertTrue(searchProperty(key, buf, 0));
+         final Object expected = props.getProperty(key);
+         if (expected instanceof byte[] bytes) {
+            assertArrayEquals(bytes, (byte[]) readProperty(buf, index, null));
+         } else {
+            assertEquals(expected, readProperty(buf, index, null));
+            assertEquals(expected, readProperty(buf, index, pools));
+         }
+      });
+      assertEquals(0, buf.readerIndex());
+   }
+
    @Test
    public void testSearchPartiallyEncodedBuffer() {
       assertThrows(IndexOutOfBoundsException.class, () -> {
@@ -256,6 +256,12 @@ public final class ActiveMQDefaultConfiguration {
    // If true the whole page would be read, otherwise just seek and read while getting message
    private static boolean DEFAULT_READ_WHOLE_PAGE = false;
 
+   // the memory held by the buffers shared by every address to read and write page files, -1 keeps a buffer per thread
+   private static long DEFAULT_PAGE_BUFFER_POOL_SIZE = -1;
+
+   // the memory, estimated from their decoded messages, of the pages no longer used by any cursor that are kept across all addresses, -1 keeps none
+   private static long DEFAULT_GLOBAL_PAGE_CACHE_SIZE = -1;
+
    // the directory to store the journal files in
    private static String DEFAULT_JOURNAL_DIR = "data/journal";
 
@@ -291,9 +297,24 @@ public final class ActiveMQDefaultConfiguration {
    // The minimal number of data files before we can start compacting
    private static int DEFAULT_JOURNAL_COMPACT_MIN_FILES = 10;
 
+   // how many files worth of dead records the journal may hold before compacting, -1 means no limit
+   private static int DEFAULT_JOURNAL_COMPACT_MAX_DEAD_FILES = -1;
+
+   // whether the records of the message journal are indexed off-heap
+   private static boolean DEFAULT_JOURNAL_OFF_HEAP_RECORD_INDEX = false;
+
+   // how many journals the message journal is striped across
+   private static int DEFAULT_JOURNAL_STRIPES = 1;
+
+   // whether the journal buffer tunes its flush timeout from the observed load
+   private static boolean DEFAULT_JOURNAL_BUFFER_ADAPTIVE_TIMEOUT = false;
+
    // The maximal number of data files before we can start deleting corrupted files instead of moving them to attic.
    private static int DEFAULT_JOURNAL_MAX_ATTIC_FILES = 10;
 
+   // how many journal files are read and parsed concurrently while loading the message journal
+   private static int DEFAULT_JOURNAL_LOAD_THREADS = 1;
+
    // Interval to log server specific information (e.g. memory usage etc)
    private static long DEFAULT_SERVER_DUMP_INTERVAL = -1;
 
@@ -507,6 +528,8 @@ public final class ActiveMQDefaultConfiguration {
 
    public static final int INITIAL_QUEUE_BUFFER_SIZE = 8192;
 
+   public static final int DEFAULT_DELIVERY_SHARDS = 1;
+
    public static final int DEFAULT_MAX_DISK_USAGE;
 
    static {
@@ -680,6 +703,9 @@ public final class ActiveMQDefaultConfiguration {
    // Whether or not to report security cache metrics
    private static final boolean DEFAULT_SECURITY_CACHE_METRICS = false;
 
+   // Whether or not to report selector cache metrics
+   private static final boolean DEFAULT_SELECTOR_CACHE_METRICS = false;
+
    // How often (in ms) to scan for expired MQTT sessions
    private static long DEFAULT_MQTT_SESSION_SCAN_INTERVAL = 500;
 
@@ -1025,6 +1051,20 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_READ_WHOLE_PAGE;
    }
 
+   /**
+    * the memory held by the buffers shared by every address to read and write page files, -1 keeps a buffer per thread
+    */
+   public static long getDefaultPageBufferPoolSize() {
+      return DEFAULT_PAGE_BUFFER_POOL_SIZE;
+   }
+
+   /**
+    * the memory, estimated from their decoded messages, of the pages no longer used by any cursor that are kept across all addresses, -1 keeps none
+    */
+   public static long getDefaultGlobalPageCacheSize() {
+      return DEFAULT_GLOBAL_PAGE_CACHE_SIZE;
+   }
+
    /**
     * the directory to store the journal files in
     */
@@ -1110,6 +1150,34 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_COMPACT_MIN_FILES;
    }
 
+
+   /**
+    * how many files worth of dead records the journal may hold before compacting, -1 means no limit
+    */
+   public static int getDefaultJournalCompactMaxDeadFiles() {
+      return DEFAULT_JOURNAL_COMPACT_MAX_DEAD_FILES;
+   }
+
+   /**
+    * whether the records of the message journal are indexed off-heap
+    */
+   public static boolean isDefaultJournalOffHeapRecordIndex() {
+      return DEFAULT_JOURNAL_OFF_HEAP_RECORD_INDEX;
+   }
+
+   /**
+    * how many journals the message journal is striped across
+    */
+   public static int getDefaultJournalStripes() {
+      return DEFAULT_JOURNAL_STRIPES;
+   }
+
+   /**
+    * whether the journal buffer tunes its flush timeout from the observed load
+    */
+   public static boolean isDefaultJournalBufferAdaptiveTimeout() {
+      return DEFAULT_JOURNAL_BUFFER_ADAPTIVE_TIMEOUT;
+   }
    /**
     * how many journal files to be stored in the attic.
     */
@@ -1117,6 +1185,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_MAX_ATTIC_FILES;
    }
 
+   /**
+    * how many journal files are read and parsed concurrently while loading the message journal
+    */
+   public static int getDefaultJournalLoadThreads() {
+      return DEFAULT_JOURNAL_LOAD_THREADS;
+   }
+
    /**
     * Interval to log server specific information (e.g. memory usage etc)
     */
@@ -1927,6 +2002,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_SECURITY_CACHE_METRICS;
    }
 
+   /**
+    * Whether to report selector cache metrics
+    */
+   public static Boolean getDefaultSelectorCacheMetrics() {
+      return DEFAULT_SELECTOR_CACHE_METRICS;
+   }
+
    /**
     * How often (in ms) to scan for expired MQTT sessions
     */
@@ -1997,4 +2079,11 @@ public final class ActiveMQDefaultConfiguration {
    public static int getInitialQueueBufferSize() {
       return INITIAL_QUEUE_BUFFER_SIZE;
    }
+
+   /**
+    * the number of shards the consumers of a queue are split into, each shard being delivered to by its own executor
+    */
+   public static int getDefaultDeliveryShards() {
+      return DEFAULT_DELIVERY_SHARDS;
+   }
 }
@@ -28,6 +28,9 @@ public interface AddressControl {
    String ADDRESS_SIZE_DESCRIPTION = "the number of estimated bytes being used by all the queue(s) bound to this address; used to control paging and blocking";
    String NUMBER_OF_PAGES_DESCRIPTION = "number of pages used by this address";
    String LIMIT_PERCENT_DESCRIPTION = "the % of memory limit (global or local) that is in use by this address";
+   String PAGE_CACHE_HIT_COUNT_DESCRIPTION = "number of pages of this address taken back from the shared page cache instead of being read";
+   String PAGE_CACHE_MISS_COUNT_DESCRIPTION = "number of pages of this address read from disk";
+   String PAGE_CACHE_EVICTION_COUNT_DESCRIPTION = "number of pages of this address evicted from the shared page cache";
 
    /**
     * {@return the internal ID of this address}
@@ -144,6 +147,24 @@ public interface AddressControl {
    @Attribute(desc = LIMIT_PERCENT_DESCRIPTION)
    int getAddressLimitPercent();
 
+   /**
+    * {@return the number of pages of this address taken back from the shared page cache instead of being read}
+    */
+   @Attribute(desc = PAGE_CACHE_HIT_COUNT_DESCRIPTION)
+   long getPageCacheHitCount();
+
+   /**
+    * {@return the number of pages of this address read from disk}
+    */
+   @Attribute(desc = PAGE_CACHE_MISS_COUNT_DESCRIPTION)
+   long getPageCacheMissCount();
+
+   /**
+    * {@return the number of pages of this address evicted from the shared page cache}
+    */
+   @Attribute(desc = PAGE_CACHE_EVICTION_COUNT_DESCRIPTION)
+   long getPageCacheEvictionCount();
+
    /**
     * Blocks message production to this address by limiting credit
     *
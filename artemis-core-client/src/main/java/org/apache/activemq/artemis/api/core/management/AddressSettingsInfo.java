@@ -319,6 +319,16 @@ public final class AddressSettingsInfo {
    }
    private int initialQueueBufferSize;
 
+   static {
+      META_BEAN.add(Integer.class, "deliveryShards", (t, p) -> t.deliveryShards = p, t -> t.deliveryShards);
+   }
+   private int deliveryShards;
+
+   static {
+      META_BEAN.add(Boolean.class, "scheduledDeliveryTimingWheel", (t, p) -> t.scheduledDeliveryTimingWheel = p, t -> t.scheduledDeliveryTimingWheel);
+   }
+   private boolean scheduledDeliveryTimingWheel;
+
 
    public static AddressSettingsInfo fromJSON(final String jsonString) {
       AddressSettingsInfo newInfo = new AddressSettingsInfo();
@@ -572,5 +582,13 @@ public final class AddressSettingsInfo {
    public int getInitialQueueBufferSize() {
       return initialQueueBufferSize;
    }
+
+   public int getDeliveryShards() {
+      return deliveryShards;
+   }
+
+   public boolean isScheduledDeliveryTimingWheel() {
+      return scheduledDeliveryTimingWheel;
+   }
 }
 
@@ -23,6 +23,7 @@ import javax.management.openmbean.CompositeType;
 import javax.management.openmbean.OpenDataException;
 import javax.management.openmbean.SimpleType;
 import java.io.InputStream;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Objects;
@@ -82,6 +83,9 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    private volatile boolean validBuffer = false;
 
+   // slices of the buffer were handed out by retainedEncodedBuffer, so it can't be modified in place anymore
+   private volatile boolean sharedBuffer;
+
    protected volatile ResetLimitWrappedActiveMQBuffer writableBuffer;
 
    protected int endOfBodyPosition = -1;
@@ -111,6 +115,9 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    private int propertiesLocation = -1;
 
+   // a read of a single property missed, scanning all the encoded properties
+   private boolean propertyMissed;
+
    protected volatile TypedProperties properties;
 
    private final CoreMessageObjectPools coreMessageObjectPools;
@@ -195,7 +202,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public RoutingType getRoutingType() {
-      final Byte maybeByte = getProperties().getByteProperty(Message.HDR_ROUTING_TYPE, () -> null);
+      final Byte maybeByte = TypedProperties.toByte(Message.HDR_ROUTING_TYPE, peekProperty(Message.HDR_ROUTING_TYPE), () -> null);
       if (maybeByte == null) {
          return null;
       }
@@ -359,6 +366,32 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       sendBuffer.writeBytes(buffer, 0, buffer.writerIndex());
    }
 
+   /**
+    * {@return a retained slice of the encoded message, to be written as is instead of copying it with
+    * {@link #sendBuffer(ByteBuf, int)}}
+    * <p>
+    * The buffer isn't modified in place anymore while the slice may be in use: the message is re-encoded into a new
+    * buffer if modified.
+    */
+   public synchronized ByteBuf retainedEncodedBuffer() {
+      checkEncode();
+      sharedBuffer = true;
+      return buffer.retainedSlice(0, buffer.writerIndex());
+   }
+
+   /**
+    * Replaces the buffer with a copy if {@link #retainedEncodedBuffer()} shared it, before modifying it in place.
+    */
+   private void copyBufferOnWrite() {
+      assert Thread.holdsLock(this);
+      if (sharedBuffer) {
+         final ByteBuf buffer = this.buffer;
+         this.buffer = buffer.copy(0, buffer.capacity()).setIndex(buffer.readerIndex(), buffer.writerIndex());
+         writableBuffer = null;
+         sharedBuffer = false;
+      }
+   }
+
    /**
     * Recast the message as an 1.4 message
     */
@@ -383,7 +416,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Long getScheduledDeliveryTime() {
-      Object property = getProperties().getProperty(Message.HDR_SCHEDULED_DELIVERY_TIME);
+      Object property = peekProperty(Message.HDR_SCHEDULED_DELIVERY_TIME);
 
       if (property != null && property instanceof Number number) {
          return number.longValue();
@@ -415,6 +448,12 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       // if using the writable buffer, we must parse properties
       getProperties();
 
+      if (sharedBuffer) {
+         synchronized (this) {
+            copyBufferOnWrite();
+         }
+      }
+
       internalWritableBuffer();
 
       return writableBuffer;
@@ -577,7 +616,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    public CoreMessage setMessageID(long messageID) {
       internalSetMessageID(messageID);
       if (messageIDPosition >= 0 && validBuffer) {
-         buffer.setLong(messageIDPosition, messageID);
+         synchronized (this) {
+            copyBufferOnWrite();
+            buffer.setLong(messageIDPosition, messageID);
+         }
       }
       return this;
    }
@@ -648,6 +690,50 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       }
    }
 
+   /**
+    * {@return the value of the {@code key} property, read straight from the encoded properties if not decoded yet}
+    * <p>
+    * Reading single properties, e.g. to evaluate filters or to get the group of a message, doesn't need to decode all
+    * of them: that is left to mutations and to whole accesses to the properties. Each read scans the encoded properties
+    * though, so once a read misses, after scanning all of them, the following reads decode them instead.
+    * <p>
+    * The read doesn't lock the message: the buffer is only modified in place by {@link #encode()}, which decodes the
+    * properties first, so the value read is only used if the properties are still not decoded after reading it.
+    */
+   private Object peekProperty(final SimpleString key) {
+      Objects.requireNonNull(key, "key cannot be null");
+      TypedProperties properties = this.properties;
+      final ByteBuf buffer = this.buffer;
+      final int propertiesLocation = this.propertiesLocation;
+      if (properties != null || propertyMissed || buffer == null || propertiesLocation < 0) {
+         return getProperties().getProperty(key);
+      }
+      Object value;
+      Throwable error = null;
+      try {
+         final int index = TypedProperties.findProperty(key, buffer, propertiesLocation);
+         if (index < 0) {
+            propertyMissed = true;
+            value = null;
+         } else {
+            value = TypedProperties.readProperty(buffer, index, coreMessageObjectPools == null ? null : coreMessageObjectPools.getPropertiesDecoderPools());
+         }
+      } catch (Throwable e) {
+         value = null;
+         error = e;
+      }
+      // the reads of the buffer can't be reordered after the check of the properties
+      VarHandle.acquireFence();
+      if (this.properties != null) {
+         // a racing thread may have modified the buffer while reading it
+         return getProperties().getProperty(key);
+      }
+      if (error != null) {
+         throw onCheckPropertiesError(error);
+      }
+      return value;
+   }
+
    private RuntimeException onCheckPropertiesError(Throwable e) {
       // This is not an expected error, hence no specific logger created
       logger.warn("Could not decode properties for CoreMessage[messageID={},durable={},userID={},priority={}, timestamp={},expiration={},address={}, propertiesLocation={}",
@@ -750,6 +836,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       if (lazyProperties) {
          properties = null;
          propertiesLocation = buffer.readerIndex();
+         propertyMissed = false;
       } else {
          properties = new TypedProperties(INTERNAL_PROPERTY_NAMES_PREDICATE, AMQP_PROPERTY_PREDICATE);
          properties.decode(buffer, pools == null ? null : pools.getPropertiesDecoderPools());
@@ -768,6 +855,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
          endOfBodyPosition = BUFFER_HEADER_SPACE + DataConstants.SIZE_INT;
       }
 
+      copyBufferOnWrite();
+
       buffer.setInt(0, endOfBodyPosition);
       // The end of body position
       buffer.setIndex(0, endOfBodyPosition - BUFFER_HEADER_SPACE + DataConstants.SIZE_INT);
@@ -882,8 +971,9 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    }
 
    @Override
-   public CoreMessage setBuffer(ByteBuf buffer) {
+   public synchronized CoreMessage setBuffer(ByteBuf buffer) {
       this.buffer = buffer;
+      sharedBuffer = false;
 
       return this;
    }
@@ -919,7 +1009,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Boolean getBooleanProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getBooleanProperty(key);
+      return TypedProperties.toBoolean(key, peekProperty(key));
    }
 
    @Override
@@ -941,7 +1031,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Byte getByteProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getByteProperty(key);
+      return TypedProperties.toByte(key, peekProperty(key), () -> Byte.valueOf(null));
    }
 
    @Override
@@ -963,7 +1053,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public byte[] getBytesProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getBytesProperty(key);
+      return TypedProperties.toBytes(key, peekProperty(key));
    }
 
    @Override
@@ -1009,7 +1099,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Integer getIntProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getIntProperty(key);
+      return TypedProperties.toInteger(key, peekProperty(key));
    }
 
    @Override
@@ -1031,7 +1121,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Long getLongProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getLongProperty(key);
+      return TypedProperties.toLong(key, peekProperty(key));
    }
 
    @Override
@@ -1065,7 +1155,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Double getDoubleProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getDoubleProperty(key);
+      return TypedProperties.toDouble(key, peekProperty(key));
    }
 
    @Override
@@ -1105,7 +1195,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Object getObjectProperty(final SimpleString key) {
-      return getProperties().getProperty(key);
+      return peekProperty(key);
    }
 
    @Override
@@ -1115,7 +1205,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Short getShortProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getShortProperty(key);
+      return TypedProperties.toShort(key, peekProperty(key));
    }
 
    @Override
@@ -1125,7 +1215,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Float getFloatProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getFloatProperty(key);
+      return TypedProperties.toFloat(key, peekProperty(key));
    }
 
    @Override
@@ -1151,7 +1241,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public SimpleString getSimpleStringProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getSimpleStringProperty(key);
+      return TypedProperties.toSimpleString(key, peekProperty(key));
    }
 
    @Override
@@ -175,6 +175,10 @@ public class RemotingConnectionImpl extends AbstractRemotingConnection implement
       channels.put(channelID, channel);
    }
 
+   public PacketDecoder getPacketDecoder() {
+      return packetDecoder;
+   }
+
    public List<Interceptor> getIncomingInterceptors() {
       return incomingInterceptors;
    }
@@ -41,6 +41,14 @@ public class SessionAcknowledgeMessage extends PacketImpl {
       super(SESS_ACKNOWLEDGE);
    }
 
+   public void reset() {
+      size = 0;
+      channelID = 0;
+      consumerID = 0;
+      messageID = 0;
+      requiresResponse = false;
+   }
+
    public long getConsumerID() {
       return consumerID;
    }
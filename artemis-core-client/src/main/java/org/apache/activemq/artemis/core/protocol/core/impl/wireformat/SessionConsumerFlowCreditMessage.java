@@ -34,6 +34,13 @@ public class SessionConsumerFlowCreditMessage extends PacketImpl {
       super(SESS_FLOWTOKEN);
    }
 
+   public void reset() {
+      size = 0;
+      channelID = 0;
+      consumerID = 0;
+      credits = 0;
+   }
+
    public long getConsumerID() {
       return consumerID;
    }
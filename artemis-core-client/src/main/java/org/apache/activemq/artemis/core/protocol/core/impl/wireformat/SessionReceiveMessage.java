@@ -17,9 +17,12 @@
 package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionReceiveMessage extends MessagePacket {
@@ -54,6 +57,32 @@ public class SessionReceiveMessage extends MessagePacket {
       return message.getEncodeSize() + PACKET_HEADERS_SIZE + DataConstants.SIZE_LONG + DataConstants.SIZE_INT;
    }
 
+   /**
+    * Sends the encoded buffer of a {@link CoreMessage} as is, between the packet headers and the consumer fields,
+    * instead of copying it into a new packet buffer: a message delivered to many consumers is copied by the transport
+    * at most, if it can't write its buffer directly.
+    */
+   @Override
+   public ActiveMQBuffer encode(final CoreRemotingConnection connection) {
+      if (connection == null || !isPassThrough() || !(message instanceof CoreMessage coreMessage) || coreMessage.getBuffer() == null) {
+         return super.encode(connection);
+      }
+      final ActiveMQBuffer headers = new ChannelBufferWrapper(Unpooled.buffer(PACKET_HEADERS_SIZE), true);
+      encodeHeader(headers);
+      final ByteBuf encodedMessage = coreMessage.retainedEncodedBuffer();
+      final ByteBuf consumerFields = Unpooled.buffer(DataConstants.SIZE_LONG + DataConstants.SIZE_INT).writeLong(consumerID).writeInt(deliveryCount);
+      final ActiveMQBuffer buffer = new ChannelBufferWrapper(Unpooled.wrappedBuffer(headers.byteBuf(), encodedMessage, consumerFields), true, true);
+      encodeSize(buffer);
+      return buffer;
+   }
+
+   /**
+    * {@return {@code true} if the encoded message can be sent as is}
+    */
+   protected boolean isPassThrough() {
+      return true;
+   }
+
    @Override
    public void encodeRest(ActiveMQBuffer buffer) {
       message.sendBuffer(buffer.byteBuf(), deliveryCount);
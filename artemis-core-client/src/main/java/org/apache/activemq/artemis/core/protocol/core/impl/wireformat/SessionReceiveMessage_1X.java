@@ -52,6 +52,12 @@ public class SessionReceiveMessage_1X extends SessionReceiveMessage {
       }
    }
 
+   @Override
+   protected boolean isPassThrough() {
+      // the message is re-encoded in the 1.x format
+      return false;
+   }
+
    @Override
    protected void receiveMessage(ByteBuf buffer) {
       message.receiveBuffer_1X(buffer);
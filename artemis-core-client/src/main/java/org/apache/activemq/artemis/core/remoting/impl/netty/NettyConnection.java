@@ -281,7 +281,8 @@ public class NettyConnection implements Connection {
    public void write(ActiveMQBuffer buffer, boolean requestFlush) {
       final Channel channel = this.channel;
       final ByteBuf bytes = buffer.byteBuf();
-      if (requestFlush) {
+      // as for batched writes, a channel over its high water mark is flushed anyway to let it drain
+      if (requestFlush || !channel.isWritable()) {
          channel.writeAndFlush(bytes, channel.voidPromise());
       } else {
          channel.write(bytes, channel.voidPromise());
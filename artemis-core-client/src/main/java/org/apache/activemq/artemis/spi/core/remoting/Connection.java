@@ -78,7 +78,7 @@ public interface Connection {
 
    /**
     * writes the buffer to the connection and if flush is true request to flush the buffer (and any previous un-flushed
-    * ones) into the wire.
+    * ones) into the wire. A connection not writable anymore may be flushed anyway.
     *
     * @param buffer       the buffer to write
     * @param requestFlush whether to request flush onto the wire
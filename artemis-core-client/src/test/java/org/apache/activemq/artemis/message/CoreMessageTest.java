@@ -19,6 +19,8 @@ package org.apache.activemq.artemis.message;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -29,7 +31,9 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.ActiveMQPropertyConversionException;
 import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.client.impl.ClientMessageImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
@@ -302,6 +306,66 @@ public class CoreMessageTest {
 //      coreMessage.putStringProperty()
    }
 
+   @Test
+   public void testReadPropertiesBeforeDecoding() {
+      CoreMessage message = new CoreMessage().initBuffer(100);
+      message.setRoutingType(RoutingType.MULTICAST);
+      message.putIntProperty("int", 10);
+      message.putDoubleProperty("double", 1.5);
+      message.putStringProperty("string", "value");
+      message.putBytesProperty("bytes", new byte[]{1, 2, 3});
+      message.putObjectProperty("null", null);
+      ByteBuf buffer = Unpooled.buffer(1000);
+      message.sendBuffer(buffer, 0);
+
+      CoreMessage received = new CoreMessage();
+      received.receiveBuffer(buffer);
+
+      for (int i = 0; i < 2; i++) {
+         assertEquals(RoutingType.MULTICAST, received.getRoutingType());
+         assertEquals(10, received.getIntProperty("int"));
+         assertEquals(10L, received.getLongProperty("int"));
+         assertEquals("10", received.getStringProperty("int"));
+         assertEquals(1.5, received.getDoubleProperty("double"));
+         assertThrows(ActiveMQPropertyConversionException.class, () -> received.getIntProperty("double"));
+         assertEquals(SimpleString.of("value"), received.getSimpleStringProperty("string"));
+         assertArrayEquals(new byte[]{1, 2, 3}, received.getBytesProperty("bytes"));
+         assertNull(received.getObjectProperty("null"));
+         assertNull(received.getObjectProperty("missing"));
+         assertEquals(0L, received.getScheduledDeliveryTime());
+
+         // the same reads once the properties are decoded by a mutation
+         received.putIntProperty("other", 20);
+      }
+      assertEquals(20, received.getIntProperty("other"));
+   }
+
+   @Test
+   public void testRetainedEncodedBuffer() {
+      CoreMessage coreMessage = decodeMessage();
+
+      ByteBuf encoded = coreMessage.retainedEncodedBuffer();
+      ByteBuf copied = Unpooled.buffer(BYTE_ENCODE.capacity());
+      coreMessage.sendBuffer(copied, 0);
+      assertEquals(copied, encoded);
+
+      // the shared buffer is copied instead of being modified in place
+      coreMessage.setMessageID(333);
+      coreMessage.putStringProperty("newProperty", "newValue");
+      TextMessageUtil.writeBodyText(coreMessage.getBodyBuffer(), SimpleString.of(BIGGER_TEXT));
+      ByteBuf modified = coreMessage.retainedEncodedBuffer();
+      assertEquals(copied, encoded);
+      assertNotEquals(encoded, modified);
+
+      CoreMessage received = new CoreMessage();
+      received.receiveBuffer(modified);
+      assertEquals(333, received.getMessageID());
+      assertEquals("newValue", received.getStringProperty("newProperty"));
+      assertEquals(BIGGER_TEXT, TextMessageUtil.readBodyText(received.getReadOnlyBodyBuffer()).toString());
+
+      encoded.release();
+   }
+
    @Test
    public void testPassThroughMultipleThreads() throws Throwable {
       CoreMessage coreMessage = new CoreMessage();
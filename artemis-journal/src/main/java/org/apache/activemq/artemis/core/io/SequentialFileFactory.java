@@ -20,6 +20,7 @@ import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.List;
 
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
 
 /**
@@ -144,6 +145,13 @@ public interface SequentialFileFactory {
 
    long getBufferSize();
 
+   /**
+    * {@return the buffer batching the writes of this factory, or {@code null} if writes aren't buffered}
+    */
+   default TimedBuffer getTimedBuffer() {
+      return null;
+   }
+
    /**
     * Only JDBC supports individual context. Meaning for Files we need to use the Sync scheduler. for JDBC we need to
     * use a callback from the JDBC completion thread to complete the IOContexts.
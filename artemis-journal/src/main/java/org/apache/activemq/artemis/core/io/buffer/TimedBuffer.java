@@ -58,6 +58,12 @@ public final class TimedBuffer extends CriticalComponentImpl {
    // The number of tries on sleep before switching to spin
    private static final int MAX_CHECKS_ON_SLEEP = 20;
 
+   // The lowest flush timeout the adaptive mode can pick
+   private static final long MIN_ADAPTIVE_TIMEOUT_NANOS = 10_000;
+
+   // The weight of the newest sample on the averages driving the adaptive mode
+   private static final double ADAPTIVE_SMOOTHING = 0.2;
+
 
    // If the TimedBuffer is idle - i.e. no records are being added, then it's pointless the timer flush thread
    // in spinning and checking the time - and using up CPU in the process - this semaphore is used to
@@ -66,6 +72,12 @@ public final class TimedBuffer extends CriticalComponentImpl {
    private final int bufferSize;
    private final ActiveMQBuffer buffer;
    private final int timeout;
+   // the timeout currently in use: it is timeout unless it is adapted, see setAdaptiveTimeout
+   private volatile long flushTimeout;
+   private volatile AdaptiveTimeout adaptiveTimeout;
+   private volatile TimedBufferFlushListener flushListener;
+   // when the first bytes of the current batch were added, only tracked when there is a flushListener
+   private long batchStartTime;
    private final boolean logRates;
    private final AtomicLong bytesFlushed = new AtomicLong(0);
    private final AtomicLong flushesDone = new AtomicLong(0);
@@ -75,6 +87,8 @@ public final class TimedBuffer extends CriticalComponentImpl {
    private List<IOCallback> callbacks;
    // used to measure sync requests. When a sync is requested, it shouldn't take more than timeout to happen
    private volatile boolean pendingSync = false;
+   // how many sync requests the current batch carries, guarded by this
+   private int pendingSyncs;
 
    // for logging write rates
    private Thread timerThread;
@@ -115,6 +129,39 @@ public final class TimedBuffer extends CriticalComponentImpl {
       callbacks = new ArrayList<>();
 
       this.timeout = timeout;
+
+      this.flushTimeout = timeout;
+   }
+
+   /**
+    * When enabled, the flush timeout is tuned from the observed arrival rate of sync requests and the latency of the
+    * syncs: if more than one sync request arrives while the device syncs, the buffer waits for about one sync latency to
+    * group them, otherwise it flushes almost right away. The configured timeout remains the upper bound.
+    */
+   public void setAdaptiveTimeout(final boolean adaptive) {
+      if (adaptive) {
+         if (adaptiveTimeout == null) {
+            adaptiveTimeout = new AdaptiveTimeout();
+         }
+      } else {
+         adaptiveTimeout = null;
+         flushTimeout = timeout;
+      }
+   }
+
+   public boolean isAdaptiveTimeout() {
+      return adaptiveTimeout != null;
+   }
+
+   /**
+    * {@return the flush timeout in use, in nanoseconds}
+    */
+   public long getFlushTimeout() {
+      return flushTimeout;
+   }
+
+   public void setFlushListener(final TimedBufferFlushListener flushListener) {
+      this.flushListener = flushListener;
    }
 
    public void start() {
@@ -259,6 +306,8 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
             delayFlush = false;
 
+            startBatch();
+
             //it doesn't modify the reader index of bytes as in the original version
             final int readableBytes = bytes.readableBytes();
             final int writerIndex = buffer.writerIndex();
@@ -269,6 +318,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
             if (sync) {
                pendingSync = true;
+               pendingSyncs++;
             }
 
             startSpin();
@@ -286,12 +336,15 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
             delayFlush = false;
 
+            startBatch();
+
             bytes.encode(buffer);
 
             callbacks.add(callback);
 
             if (sync) {
                pendingSync = true;
+               pendingSyncs++;
             }
 
             startSpin();
@@ -300,6 +353,12 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   private void startBatch() {
+      if (flushListener != null && callbacks.isEmpty()) {
+         batchStartTime = System.nanoTime();
+      }
+   }
+
    public void flush() {
       flushBatch();
    }
@@ -313,6 +372,10 @@ public final class TimedBuffer extends CriticalComponentImpl {
       List<IOCallback> syncCallbackList = null;
       boolean localUseSync = false;
       TimedBufferObserver syncBufferObserver = null;
+      TimedBufferFlushListener localFlushListener = null;
+      int flushedBytes = 0;
+      int flushedCallbacks = 0;
+      long flushWaitTime = 0;
       try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_FLUSH)) {
          synchronized (this) {
             if (!started) {
@@ -326,6 +389,19 @@ public final class TimedBuffer extends CriticalComponentImpl {
                   bytesFlushed.addAndGet(pos);
                }
 
+               localFlushListener = flushListener;
+               if (localFlushListener != null) {
+                  flushedBytes = pos;
+                  flushedCallbacks = callbacks.size();
+                  flushWaitTime = batchStartTime == 0 ? 0 : System.nanoTime() - batchStartTime;
+                  batchStartTime = 0;
+               }
+
+               final AdaptiveTimeout localAdaptiveTimeout = adaptiveTimeout;
+               if (localAdaptiveTimeout != null && pendingSync) {
+                  callbacks.add(localAdaptiveTimeout.onSyncFlush(pendingSyncs));
+               }
+
                if (bufferObserver.supportSync()) {
                   // performing the sync away from the lock
                   // so other writes can be performed while that flush is happening
@@ -341,6 +417,8 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
                pendingSync = false;
 
+               pendingSyncs = 0;
+
                // swap the instance as the previous callback list is being used asynchronously
                callbacks = new ArrayList<>();
 
@@ -359,6 +437,9 @@ public final class TimedBuffer extends CriticalComponentImpl {
          if (syncBufferObserver != null) {
             syncBufferObserver.checkSync(localUseSync, syncCallbackList);
          }
+         if (localFlushListener != null) {
+            localFlushListener.onFlush(flushedBytes, flushedCallbacks, flushWaitTime);
+         }
       }
    }
 
@@ -438,6 +519,56 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   /**
+    * Tracks the arrival rate of sync requests and the latency of the syncs to pick the flush timeout.
+    */
+   private final class AdaptiveTimeout {
+
+      // exponentially weighted averages, negative until sampled
+      private double syncInterval = -1;
+      private double syncLatency = -1;
+
+      private long lastSyncFlush;
+
+      /**
+       * Called on each flush carrying {@code syncs} sync requests.
+       *
+       * @return the callback to complete once the flushed data is synced
+       */
+      synchronized IOCallback onSyncFlush(final int syncs) {
+         final long now = System.nanoTime();
+         if (lastSyncFlush != 0 && syncs > 0) {
+            syncInterval = average(syncInterval, (double) (now - lastSyncFlush) / syncs);
+         }
+         lastSyncFlush = now;
+         return new IOCallback() {
+            @Override
+            public void done() {
+               onSynced(System.nanoTime() - now);
+            }
+
+            @Override
+            public void onError(final int errorCode, final String errorMessage) {
+            }
+         };
+      }
+
+      private synchronized void onSynced(final long latency) {
+         syncLatency = average(syncLatency, latency);
+         if (syncInterval < 0 || adaptiveTimeout != this) {
+            return;
+         }
+         final long minTimeout = Math.min(MIN_ADAPTIVE_TIMEOUT_NANOS, timeout);
+         // waiting only pays off if other sync requests are likely to arrive while the device is syncing
+         final long target = syncInterval < syncLatency ? (long) syncLatency : minTimeout;
+         flushTimeout = Math.max(minTimeout, Math.min(timeout, target));
+      }
+
+      private double average(final double average, final double sample) {
+         return average < 0 ? sample : average + ADAPTIVE_SMOOTHING * (sample - average);
+      }
+   }
+
    private class CheckTimer implements Runnable {
 
       int checks = 0;
@@ -454,8 +585,9 @@ public final class TimedBuffer extends CriticalComponentImpl {
             // timeout since the time of the last flush.
             // Effectively flushing "resets" the timer
             // On the timeout verification, notice that we ignore the timeout check if we are using sleep
+            final long currentTimeout = flushTimeout;
 
-            if (pendingSync || System.nanoTime() - lastFlushTime > timeout) {
+            if (pendingSync || System.nanoTime() - lastFlushTime > currentTimeout) {
                if (useSleep) {
                   // if using sleep, we will always flush
                   lastFlushTime = System.nanoTime();
@@ -467,7 +599,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
                      //          We only need to wait 80% more..
                      //          timeFromTheLastFlush would be the difference
                      //          And if the device took more than that time, there's no need to wait at all.
-                     final long timeToSleep = timeout - timeFromTheLastFlush;
+                     final long timeToSleep = currentTimeout - timeFromTheLastFlush;
                      if (timeToSleep > 0) {
                         useSleep = sleepIfPossible(timeToSleep);
                      }
@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.buffer;
+
+/**
+ * Notified of each batch a {@link TimedBuffer} flushes, from the thread performing the flush.
+ */
+@FunctionalInterface
+public interface TimedBufferFlushListener {
+
+   /**
+    * @param bytes     the size of the batch
+    * @param callbacks how many writes the batch groups
+    * @param waitTime  how long, in nanoseconds, the first write of the batch waited in the buffer
+    */
+   void onFlush(int bytes, int callbacks, long waitTime);
+}
@@ -75,9 +75,25 @@ public class NIOSequentialFileFactory extends AbstractSequentialFileFactory {
                                    final boolean logRates,
                                    final IOCriticalErrorListener listener,
                                    final CriticalAnalyzer analyzer) {
+      this(journalDir, buffered, bufferSize, bufferTimeout, maxIO, logRates, listener, analyzer, ByteBufferPool.threadLocal(true));
+   }
+
+   /**
+    * @param bytesPool the pool of direct buffers used by {@link #newBuffer(int)}, which may be shared with other
+    *                  factories
+    */
+   public NIOSequentialFileFactory(final File journalDir,
+                                   final boolean buffered,
+                                   final int bufferSize,
+                                   final int bufferTimeout,
+                                   final int maxIO,
+                                   final boolean logRates,
+                                   final IOCriticalErrorListener listener,
+                                   final CriticalAnalyzer analyzer,
+                                   final ByteBufferPool bytesPool) {
       super(journalDir, buffered, bufferSize, bufferTimeout, maxIO, logRates, listener, analyzer);
       this.bufferPooling = true;
-      this.bytesPool = ByteBufferPool.threadLocal(true);
+      this.bytesPool = bytesPool;
    }
 
    public static ByteBuffer allocateDirectByteBuffer(final int size) {
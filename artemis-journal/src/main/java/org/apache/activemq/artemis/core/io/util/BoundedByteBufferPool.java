@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.util;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.netty.util.internal.PlatformDependent;
+import org.apache.activemq.artemis.utils.ByteUtil;
+import org.apache.activemq.artemis.utils.Env;
+import org.jctools.queues.MpmcArrayQueue;
+
+/**
+ * A pool of direct {@link ByteBuffer}s that can be shared by many threads.
+ * <p>
+ * Pooled buffers are aligned to the OS page size and have a power of 2 capacity. The memory held by the pool, both
+ * borrowed and idle, never exceeds {@code maxBytes}: when the budget is exhausted the idle buffers of other capacities
+ * are freed to make room, and if that is not enough the request is served by an unpooled buffer that is freed as soon
+ * as it is released.
+ */
+final class BoundedByteBufferPool implements ByteBufferPool {
+
+   // upper bound of idle buffers kept for each size class, whatever the budget
+   private static final int MAX_IDLE_BUFFERS = 1024;
+
+   private final int alignment;
+
+   private final int maxPooledCapacity;
+
+   private final long maxBytes;
+
+   private final AtomicLong pooledBytes = new AtomicLong();
+
+   // idle buffers, indexed by log2(capacity / alignment)
+   private final MpmcArrayQueue<ByteBuffer>[] idle;
+
+   // the allocated (unaligned) memory behind each pooled buffer, by address of the pooled buffer
+   private final ConcurrentHashMap<Long, ByteBuffer> allocations = new ConcurrentHashMap<>();
+
+   BoundedByteBufferPool(long maxBytes) {
+      this(maxBytes, Env.osPageSize());
+   }
+
+   @SuppressWarnings("unchecked")
+   BoundedByteBufferPool(long maxBytes, int alignment) {
+      if (maxBytes < alignment) {
+         throw new IllegalArgumentException("maxBytes must be at least " + alignment + " bytes");
+      }
+      if (Integer.bitCount(alignment) != 1) {
+         throw new IllegalArgumentException("alignment must be a power of 2");
+      }
+      this.alignment = alignment;
+      this.maxBytes = maxBytes;
+      this.maxPooledCapacity = Integer.highestOneBit((int) Math.min(maxBytes, 1 << 30));
+      final int sizeClasses = Integer.numberOfTrailingZeros(maxPooledCapacity / alignment) + 1;
+      this.idle = new MpmcArrayQueue[sizeClasses];
+      for (int i = 0; i < sizeClasses; i++) {
+         idle[i] = new MpmcArrayQueue<>((int) Math.max(2, Math.min(maxBytes / capacityOf(i), MAX_IDLE_BUFFERS)));
+      }
+   }
+
+   private int capacityOf(int sizeClass) {
+      return alignment << sizeClass;
+   }
+
+   private int sizeClassOf(int size) {
+      if (size <= alignment) {
+         return 0;
+      }
+      return 32 - Integer.numberOfLeadingZeros((size - 1) / alignment);
+   }
+
+   @Override
+   public ByteBuffer borrow(final int size, boolean zeroed) {
+      ByteBuffer byteBuffer = null;
+      if (size <= maxPooledCapacity) {
+         final int sizeClass = sizeClassOf(size);
+         byteBuffer = idle[sizeClass].poll();
+         if (byteBuffer == null) {
+            byteBuffer = allocatePooled(sizeClass);
+         } else if (zeroed) {
+            byteBuffer.clear();
+            ByteUtil.zeros(byteBuffer, 0, size);
+         }
+      }
+      if (byteBuffer == null) {
+         byteBuffer = ByteBuffer.allocateDirect(size);
+      }
+      byteBuffer.clear();
+      byteBuffer.limit(size);
+      return byteBuffer;
+   }
+
+   private ByteBuffer allocatePooled(int sizeClass) {
+      final int capacity = capacityOf(sizeClass);
+      if (!reserve(capacity, sizeClass)) {
+         return null;
+      }
+      final ByteBuffer allocation = ByteBuffer.allocateDirect(capacity + alignment);
+      final ByteBuffer byteBuffer = allocation.alignedSlice(alignment).limit(capacity).slice();
+      allocations.put(PlatformDependent.directBufferAddress(byteBuffer), allocation);
+      return byteBuffer;
+   }
+
+   private boolean reserve(int capacity, int sizeClass) {
+      while (true) {
+         final long pooled = pooledBytes.get();
+         if (pooled + capacity <= maxBytes) {
+            if (pooledBytes.compareAndSet(pooled, pooled + capacity)) {
+               return true;
+            }
+         } else if (!freeIdle(sizeClass)) {
+            return false;
+         }
+      }
+   }
+
+   /**
+    * Frees an idle buffer of any size class other than {@code excludedSizeClass}, largest first.
+    */
+   private boolean freeIdle(int excludedSizeClass) {
+      for (int i = idle.length - 1; i >= 0; i--) {
+         if (i != excludedSizeClass) {
+            final ByteBuffer byteBuffer = idle[i].poll();
+            if (byteBuffer != null) {
+               free(byteBuffer);
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
+   private void free(ByteBuffer byteBuffer) {
+      final ByteBuffer allocation = allocations.remove(PlatformDependent.directBufferAddress(byteBuffer));
+      pooledBytes.addAndGet(-byteBuffer.capacity());
+      PlatformDependent.freeDirectBuffer(allocation);
+   }
+
+   @Override
+   public void release(ByteBuffer buffer) {
+      Objects.requireNonNull(buffer);
+      if (!buffer.isDirect() || buffer.isReadOnly()) {
+         return;
+      }
+      final int capacity = buffer.capacity();
+      if (Integer.bitCount(capacity) == 1 && capacity >= alignment && capacity <= maxPooledCapacity && allocations.containsKey(PlatformDependent.directBufferAddress(buffer))) {
+         if (!idle[sizeClassOf(capacity)].offer(buffer)) {
+            free(buffer);
+         }
+      } else {
+         PlatformDependent.freeDirectBuffer(buffer);
+      }
+   }
+
+   /**
+    * {@return the bytes of direct memory currently held by the pool, both borrowed and idle}
+    */
+   long getPooledBytes() {
+      return pooledBytes.get();
+   }
+
+   long getMaxBytes() {
+      return maxBytes;
+   }
+}
@@ -53,4 +53,12 @@ public interface ByteBufferPool {
       return new ThreadLocalByteBufferPool(direct);
    }
 
+   /**
+    * Factory method that creates a pool of direct and OS page aligned {@link ByteBuffer}s that can be shared by many
+    * threads, holding at most {@code maxBytes} of memory.
+    */
+   static ByteBufferPool bounded(long maxBytes) {
+      return new BoundedByteBufferPool(maxBytes);
+   }
+
 }
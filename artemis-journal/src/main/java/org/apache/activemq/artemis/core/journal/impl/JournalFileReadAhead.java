@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.collection.ByteObjectHashMap;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and parses journal files ahead of the loader, keeping up to {@code window} files in flight on the IO executors.
+ * <p>
+ * Each file is decoded into a list of read events, which {@link #replay(JournalFile, JournalReaderCallback)} later
+ * delivers to the real callback in file order. The callback sees exactly the same sequence of calls it would get from
+ * {@link JournalImpl#readJournalFile(SequentialFileFactory, JournalFile, JournalReaderCallback)}, so the ordering
+ * semantics of the load are not affected: only the IO and the parsing of the records run concurrently.
+ */
+final class JournalFileReadAhead implements AutoCloseable {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final SequentialFileFactory fileFactory;
+
+   private final ByteObjectHashMap<Boolean> replaceableRecords;
+
+   private final ExecutorFactory executorFactory;
+
+   private final int window;
+
+   private final ArrayDeque<ReadTask> inFlight;
+
+   private Iterator<JournalFile> filesToRead;
+
+   private volatile boolean closed;
+
+   JournalFileReadAhead(final SequentialFileFactory fileFactory,
+                        final ByteObjectHashMap<Boolean> replaceableRecords,
+                        final ExecutorFactory executorFactory,
+                        final int window) {
+      if (window < 1) {
+         throw new IllegalArgumentException("window must be >= 1");
+      }
+      this.fileFactory = fileFactory;
+      this.replaceableRecords = replaceableRecords;
+      this.executorFactory = executorFactory;
+      this.window = window;
+      this.inFlight = new ArrayDeque<>(window);
+   }
+
+   /**
+    * Starts reading the first {@code window} files of {@code orderedFiles}.
+    */
+   void start(final List<JournalFile> orderedFiles) {
+      if (filesToRead != null) {
+         throw new IllegalStateException("Read ahead already started");
+      }
+      filesToRead = orderedFiles.iterator();
+      for (int i = 0; i < window && filesToRead.hasNext(); i++) {
+         readNext();
+      }
+   }
+
+   private void readNext() {
+      ReadTask task = new ReadTask(filesToRead.next());
+      inFlight.add(task);
+      executorFactory.getExecutor().execute(task);
+   }
+
+   /**
+    * Delivers the records of {@code file} to {@code callback}, waiting for the file to be parsed if needed. Files must
+    * be replayed in the same order they were given to {@link #start(List)}.
+    *
+    * @return the same value {@link JournalImpl#readJournalFile} would have returned for this file
+    */
+   int replay(final JournalFile file, final JournalReaderCallback callback) throws Exception {
+      final ReadTask task = inFlight.poll();
+      if (task == null || task.file != file) {
+         throw new IllegalStateException("Journal file " + file + " is being replayed out of order");
+      }
+      if (filesToRead.hasNext()) {
+         readNext();
+      }
+      task.done.await();
+      if (task.failure != null) {
+         if (task.failure instanceof Exception exception) {
+            throw exception;
+         }
+         throw new Exception(task.failure.getMessage(), task.failure);
+      }
+      for (ReadEvent event : task.events) {
+         event.replay(callback);
+      }
+      return task.lastDataPos;
+   }
+
+   /**
+    * Discards any pending read, waiting for the ones already running so no journal file is left open.
+    */
+   @Override
+   public void close() throws InterruptedException {
+      closed = true;
+      ReadTask task;
+      while ((task = inFlight.poll()) != null) {
+         if (!task.done.await(1, TimeUnit.MINUTES)) {
+            logger.warn("Timed out waiting on the read ahead of journal file {}", task.file);
+         }
+      }
+   }
+
+   @FunctionalInterface
+   private interface ReadEvent {
+
+      void replay(JournalReaderCallback callback) throws Exception;
+   }
+
+   private final class ReadTask implements Runnable, JournalReaderCallback {
+
+      private final JournalFile file;
+
+      private final CountDownLatch done = new CountDownLatch(1);
+
+      private final List<ReadEvent> events = new ArrayList<>();
+
+      private int lastDataPos;
+
+      private Throwable failure;
+
+      private ReadTask(final JournalFile file) {
+         this.file = file;
+      }
+
+      @Override
+      public void run() {
+         try {
+            if (!closed) {
+               logger.trace("Reading ahead file {}", file.getFile().getFileName());
+               lastDataPos = JournalImpl.readJournalFile(fileFactory, file, this, null, false, replaceableRecords);
+            }
+         } catch (Throwable e) {
+            failure = e;
+         } finally {
+            done.countDown();
+         }
+      }
+
+      @Override
+      public void onReadEventRecord(final RecordInfo info) {
+         events.add(callback -> callback.onReadEventRecord(info));
+      }
+
+      @Override
+      public void done() {
+         events.add(callback -> callback.done());
+      }
+
+      @Override
+      public void onReadAddRecord(final RecordInfo info) {
+         events.add(callback -> callback.onReadAddRecord(info));
+      }
+
+      @Override
+      public void onReadUpdateRecord(final RecordInfo recordInfo) {
+         events.add(callback -> callback.onReadUpdateRecord(recordInfo));
+      }
+
+      @Override
+      public void onReadDeleteRecord(final long recordID) {
+         events.add(callback -> callback.onReadDeleteRecord(recordID));
+      }
+
+      @Override
+      public void onReadAddRecordTX(final long transactionID, final RecordInfo recordInfo) {
+         events.add(callback -> callback.onReadAddRecordTX(transactionID, recordInfo));
+      }
+
+      @Override
+      public void onReadUpdateRecordTX(final long transactionID, final RecordInfo recordInfo) {
+         events.add(callback -> callback.onReadUpdateRecordTX(transactionID, recordInfo));
+      }
+
+      @Override
+      public void onReadDeleteRecordTX(final long transactionID, final RecordInfo recordInfo) {
+         events.add(callback -> callback.onReadDeleteRecordTX(transactionID, recordInfo));
+      }
+
+      @Override
+      public void onReadPrepareRecord(final long transactionID, final byte[] extraData, final int numberOfRecords) {
+         events.add(callback -> callback.onReadPrepareRecord(transactionID, extraData, numberOfRecords));
+      }
+
+      @Override
+      public void onReadCommitRecord(final long transactionID, final int numberOfRecords) {
+         events.add(callback -> callback.onReadCommitRecord(transactionID, numberOfRecords));
+      }
+
+      @Override
+      public void onReadRollbackRecord(final long transactionID) {
+         events.add(callback -> callback.onReadRollbackRecord(transactionID));
+      }
+
+      @Override
+      public void markAsDataFile(final JournalFile file) {
+         events.add(callback -> callback.markAsDataFile(file));
+      }
+   }
+}
@@ -297,7 +297,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
 
    // Compacting may replace this structure
-   private final ConcurrentLongHashMap<JournalRecord> records = new ConcurrentLongHashMap<>();
+   private JournalRecordIndex records = new JournalRecordIndex();
 
    // Compacting may replace this structure
    private final ConcurrentLongHashMap<JournalTransaction> transactions = new ConcurrentLongHashMap<>();
@@ -350,6 +350,21 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile int compactCount = 0;
 
+   // number of journal files read and parsed concurrently during load, 1 means a plain sequential load
+   private int loadThreads = 1;
+
+   // how many files worth of dead records are tolerated before compacting, regardless of compactPercentage
+   private int compactMaxDeadFiles = -1;
+
+   // compacting statistics, exposed for monitoring
+   private final AtomicLong compactingRuns = new AtomicLong();
+
+   private final AtomicLong compactingPauseNanos = new AtomicLong();
+
+   private volatile long lastCompactingPauseNanos;
+
+   private final AtomicLong compactingReclaimedBytes = new AtomicLong();
+
    public float getCompactPercentage() {
       return compactPercentage;
    }
@@ -362,6 +377,85 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       return filesRepository;
    }
 
+   public int getCompactMaxDeadFiles() {
+      return compactMaxDeadFiles;
+   }
+
+   /**
+    * Bounds the amount of dead records the journal may accumulate, and hence the amount of data a restart has to
+    * replay: once the data files hold more than {@code compactMaxDeadFiles} files worth of deleted or superseded
+    * records, compacting is scheduled even if the live ratio is still above {@link #getCompactPercentage()}. A value
+    * {@code <= 0} disables this check.
+    */
+   public JournalImpl setCompactMaxDeadFiles(int compactMaxDeadFiles) {
+      this.compactMaxDeadFiles = compactMaxDeadFiles;
+      return this;
+   }
+
+   public boolean isOffHeapRecordIndex() {
+      return records.isOffHeap();
+   }
+
+   /**
+    * Keeps the records only referencing the file of their add record off-heap, see {@link JournalRecordIndex}. It can
+    * only be changed while the journal is stopped.
+    */
+   public JournalImpl setOffHeapRecordIndex(boolean offHeap) {
+      if (this.state != JournalState.STOPPED) {
+         throw new IllegalStateException("State = " + state);
+      }
+      if (records.isOffHeap() != offHeap) {
+         records = new JournalRecordIndex(offHeap);
+      }
+      return this;
+   }
+
+   /**
+    * {@return how many times compacting has completed on this journal}
+    */
+   public long getCompactingRuns() {
+      return compactingRuns.get();
+   }
+
+   /**
+    * {@return the total time, in milliseconds, appends were held by compacting while it swapped the journal
+    * structures}
+    */
+   public long getCompactingPauseTime() {
+      return TimeUnit.NANOSECONDS.toMillis(compactingPauseNanos.get());
+   }
+
+   /**
+    * {@return the time, in milliseconds, appends were held by the last compacting}
+    */
+   public long getLastCompactingPauseTime() {
+      return TimeUnit.NANOSECONDS.toMillis(lastCompactingPauseNanos);
+   }
+
+   /**
+    * {@return the total number of bytes of data files given back by compacting}
+    */
+   public long getCompactingReclaimedBytes() {
+      return compactingReclaimedBytes.get();
+   }
+
+   public int getLoadThreads() {
+      return loadThreads;
+   }
+
+   /**
+    * Sets how many journal files may be read and parsed concurrently while loading. Records are still delivered to the
+    * {@link LoaderCallback} in file order; only the reading runs ahead, with up to {@code loadThreads} whole files held
+    * in memory at a time.
+    */
+   public JournalImpl setLoadThreads(int loadThreads) {
+      if (loadThreads < 1) {
+         throw new IllegalArgumentException("loadThreads must be >= 1");
+      }
+      this.loadThreads = loadThreads;
+      return this;
+   }
+
 
    public JournalImpl(final int fileSize,
                       final int minFiles,
@@ -503,7 +597,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    }
 
    @Override
-   public ConcurrentLongHashMap<JournalRecord> getRecords() {
+   public JournalRecordIndex getRecords() {
       return records;
    }
 
@@ -1765,7 +1859,9 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             onCompactStart();
 
+            long pauseNanos = System.nanoTime();
             dataFilesToProcess = getDataListToCompact();
+            pauseNanos = System.nanoTime() - pauseNanos;
 
             if (dataFilesToProcess == null)
                return;
@@ -1809,6 +1905,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             SequentialFile controlFile = createControlFile(dataFilesToProcess, compactor.getNewDataFiles(), null);
 
+            final long swapStart = System.nanoTime();
             journalLock.writeLock().lock();
             try {
                // Need to clear the compactor here, or the replay commands will send commands back (infinite loop)
@@ -1859,6 +1956,17 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                return;
             } finally {
                journalLock.writeLock().unlock();
+               pauseNanos += System.nanoTime() - swapStart;
+            }
+
+            compactingRuns.incrementAndGet();
+            lastCompactingPauseNanos = pauseNanos;
+            compactingPauseNanos.addAndGet(pauseNanos);
+            compactingReclaimedBytes.addAndGet((dataFilesToProcess.size() - newDatafiles.size()) * (long) fileSize);
+
+            if (logger.isDebugEnabled()) {
+               logger.debug("Compacting on journal {} replaced {} files by {}, holding appends for {} microseconds", this,
+                            dataFilesToProcess.size(), newDatafiles.size(), TimeUnit.NANOSECONDS.toMicros(pauseNanos));
             }
 
             // At this point the journal is unlocked. We keep renaming files while the journal is already operational
@@ -1982,7 +2090,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    private synchronized JournalLoadInformation load(final LoaderCallback loadManager,
                                                     final boolean changeData,
                                                     final JournalState replicationSync,
-                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef) throws Exception {
+                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef,
+                                                    final JournalFileReadAhead readAhead) throws Exception {
       JournalState state;
       assert (state = this.state) != JournalState.STOPPED &&
          state != JournalState.LOADED &&
@@ -2008,12 +2117,16 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // AtomicLong is used only as a reference, not as an Atomic value
       final AtomicLong maxID = new AtomicLong(-1);
 
+      if (readAhead != null) {
+         readAhead.start(orderedFiles);
+      }
+
       for (final JournalFile file : orderedFiles) {
          logger.trace("Loading file {}", file.getFile().getFileName());
 
          final AtomicBoolean hasData = new AtomicBoolean(false);
 
-         int resultLastPost = JournalImpl.readJournalFile(fileFactory, file, new JournalReaderCallback() {
+         final JournalReaderCallback loadCallback = new JournalReaderCallback() {
 
             private void checkID(final long id) {
                if (id > maxID.longValue()) {
@@ -2235,7 +2348,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                hasData.lazySet(true);
             }
 
-         }, wholeFileBufferRef, false, this.replaceableRecords);
+         };
+
+         final int resultLastPost;
+         if (readAhead != null) {
+            resultLastPost = readAhead.replay(file, loadCallback);
+         } else {
+            resultLastPost = JournalImpl.readJournalFile(fileFactory, file, loadCallback, wholeFileBufferRef, false, this.replaceableRecords);
+         }
 
          if (hasData.get()) {
             lastDataPos = resultLastPost;
@@ -2305,9 +2425,13 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       }
       // AtomicReference is used only as a reference, not as an Atomic value
       final AtomicReference<ByteBuffer> wholeFileBufferRef = new AtomicReference<>();
+      final JournalFileReadAhead readAhead = loadThreads > 1 ? new JournalFileReadAhead(fileFactory, replaceableRecords, ioExecutorFactory, loadThreads) : null;
       try {
-         return load(loadManager, changeData, replicationSync, wholeFileBufferRef);
+         return load(loadManager, changeData, replicationSync, wholeFileBufferRef, readAhead);
       } finally {
+         if (readAhead != null) {
+            readAhead.close();
+         }
          final ByteBuffer wholeFileBuffer = wholeFileBufferRef.get();
          if (wholeFileBuffer != null) {
             fileFactory.releaseDirectBuffer(wholeFileBuffer);
@@ -2572,6 +2696,15 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
       long totalBytes = dataFiles.length * (long) fileSize;
 
+      if (compactMaxDeadFiles > 0 && dataFiles.length > compactMinFiles) {
+         long deadBytes = totalBytes - totalLiveSize;
+         if (deadBytes > compactMaxDeadFiles * (long) fileSize) {
+            logger.debug("JournalImpl::needsCompact=true, deadBytes={} is over compactMaxDeadFiles={} * fileSize={}",
+                         deadBytes, compactMaxDeadFiles, fileSize);
+            return true;
+         }
+      }
+
       long compactMargin = (long) (totalBytes * compactPercentage);
 
       boolean needCompact = totalLiveSize < compactMargin && dataFiles.length > compactMinFiles;
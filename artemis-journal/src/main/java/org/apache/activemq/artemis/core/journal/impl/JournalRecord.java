@@ -50,6 +50,35 @@ public class JournalRecord {
       addFile.incAddRecord();
    }
 
+   private JournalRecord(final JournalFile addFile, final int size, final ObjIntIntArrayList<JournalFile> fileUpdates) {
+      this.addFile = addFile;
+      this.size = size;
+      this.fileUpdates = fileUpdates;
+   }
+
+   /**
+    * Rebuilds a record whose add was already accounted on {@code addFile}, i.e. without touching its counters again.
+    */
+   static JournalRecord restore(final JournalFile addFile, final int size) {
+      checkNotNull(addFile);
+      return new JournalRecord(addFile, size, null);
+   }
+
+   JournalFile getAddFile() {
+      return addFile;
+   }
+
+   int getSize() {
+      return size;
+   }
+
+   /**
+    * {@return {@code true} if this record only references the file of its add record}
+    */
+   boolean isAddOnly() {
+      return fileUpdates == null;
+   }
+
    void addUpdateFile(final JournalFile updateFile, final int bytes, boolean replaceableUpdate) {
       checkNotDeleted();
       if (bytes == 0) {
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashSet;
+
+/**
+ * The live records of a journal, by record id.
+ * <p>
+ * When created off-heap, records only referencing the file of their add record (most of the records of a message
+ * journal) are not kept as {@link JournalRecord} instances but as a (file, size) entry of an {@link OffHeapRecordTable}.
+ * They are rebuilt when {@link #remove(long) removed}, and moved back to the heap by {@link #get(long)} since the
+ * caller is about to account an update on them.
+ */
+public final class JournalRecordIndex {
+
+   private static final int OFF_HEAP_INITIAL_CAPACITY = 1024;
+
+   private final ConcurrentLongHashMap<JournalRecord> heapRecords = new ConcurrentLongHashMap<>();
+
+   // guarded by itself, null if the index is on heap only
+   private final OffHeapRecordTable offHeapRecords;
+
+   public JournalRecordIndex() {
+      this(false);
+   }
+
+   public JournalRecordIndex(final boolean offHeap) {
+      this.offHeapRecords = offHeap ? new OffHeapRecordTable(OFF_HEAP_INITIAL_CAPACITY) : null;
+   }
+
+   public boolean isOffHeap() {
+      return offHeapRecords != null;
+   }
+
+   /**
+    * {@return the record for {@code id}, moving it to the heap if it was off-heap, or {@code null} if there isn't any}
+    */
+   public JournalRecord get(final long id) {
+      JournalRecord record = heapRecords.get(id);
+      if (record != null || offHeapRecords == null) {
+         return record;
+      }
+      synchronized (offHeapRecords) {
+         record = heapRecords.get(id);
+         if (record == null) {
+            record = offHeapRecords.remove(id);
+            if (record != null) {
+               heapRecords.put(id, record);
+            }
+         }
+      }
+      return record;
+   }
+
+   public void put(final long id, final JournalRecord record) {
+      if (offHeapRecords != null) {
+         synchronized (offHeapRecords) {
+            if (record.isAddOnly() && offHeapRecords.put(id, record.getAddFile(), record.getSize())) {
+               heapRecords.remove(id);
+               return;
+            }
+            offHeapRecords.remove(id);
+            heapRecords.put(id, record);
+         }
+      } else {
+         heapRecords.put(id, record);
+      }
+   }
+
+   public JournalRecord remove(final long id) {
+      final JournalRecord record = heapRecords.remove(id);
+      if (record != null || offHeapRecords == null) {
+         return record;
+      }
+      synchronized (offHeapRecords) {
+         return offHeapRecords.remove(id);
+      }
+   }
+
+   public boolean containsKey(final long id) {
+      if (heapRecords.containsKey(id)) {
+         return true;
+      }
+      if (offHeapRecords == null) {
+         return false;
+      }
+      synchronized (offHeapRecords) {
+         return offHeapRecords.contains(id) || heapRecords.containsKey(id);
+      }
+   }
+
+   public int size() {
+      if (offHeapRecords == null) {
+         return heapRecords.size();
+      }
+      synchronized (offHeapRecords) {
+         return heapRecords.size() + offHeapRecords.size();
+      }
+   }
+
+   /**
+    * {@return how many records are kept off-heap}
+    */
+   public int offHeapSize() {
+      if (offHeapRecords == null) {
+         return 0;
+      }
+      synchronized (offHeapRecords) {
+         return offHeapRecords.size();
+      }
+   }
+
+   public void clear() {
+      if (offHeapRecords != null) {
+         synchronized (offHeapRecords) {
+            heapRecords.clear();
+            offHeapRecords.clear();
+         }
+      } else {
+         heapRecords.clear();
+      }
+   }
+
+   public ConcurrentLongHashSet keysLongHashSet() {
+      final ConcurrentLongHashSet keys = heapRecords.keysLongHashSet();
+      if (offHeapRecords != null) {
+         synchronized (offHeapRecords) {
+            offHeapRecords.forEachKey(keys::add);
+         }
+      }
+      return keys;
+   }
+
+   /**
+    * Off-heap records are given to {@code processor} as new {@link JournalRecord} instances not stored by this index.
+    */
+   public void forEach(final ConcurrentLongHashMap.EntryProcessor<JournalRecord> processor) {
+      heapRecords.forEach(processor);
+      if (offHeapRecords != null) {
+         synchronized (offHeapRecords) {
+            offHeapRecords.forEach((id, addFile, recordSize) -> processor.accept(id, JournalRecord.restore(addFile, recordSize)));
+         }
+      }
+   }
+}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Open addressing (linear probing) hash table from record id to the journal file and size of its add record, kept in
+ * direct memory.
+ * <p>
+ * Each entry takes 16 bytes: the record id and a value packing the slot of the add file into the high 32 bits and the
+ * record size into the low 32 bits. As a record size is never 0, a 0 value marks an empty entry and the table does not
+ * need a reserved key. Removals shift the following entries back instead of leaving tombstones.
+ * <p>
+ * The add files are tracked by a small slot array with a count of the entries referencing them, so a file is released
+ * as soon as its last entry is removed.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class OffHeapRecordTable {
+
+   private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+   // keeps the table addressable through a ByteBuffer
+   static final int MAX_CAPACITY = 1 << 26;
+
+   private static final long EMPTY = 0;
+
+   private final int initialCapacity;
+
+   private ByteBuffer table;
+
+   private int mask;
+
+   private int size;
+
+   private int resizeThreshold;
+
+   private JournalFile[] files = new JournalFile[16];
+
+   private int[] fileEntries = new int[16];
+
+   private int lastFileSlot = -1;
+
+   OffHeapRecordTable(final int initialCapacity) {
+      if (initialCapacity < 2 || initialCapacity > MAX_CAPACITY) {
+         throw new IllegalArgumentException("initialCapacity must be between 2 and " + MAX_CAPACITY);
+      }
+      this.initialCapacity = Integer.highestOneBit(initialCapacity - 1) << 1;
+      allocate(this.initialCapacity);
+   }
+
+   int size() {
+      return size;
+   }
+
+   int capacity() {
+      return mask + 1;
+   }
+
+   /**
+    * Adds or replaces the entry for {@code id}.
+    *
+    * @return {@code false} if the table is full and cannot grow anymore, in which case it is left unchanged
+    */
+   boolean put(final long id, final JournalFile addFile, final int recordSize) {
+      if (recordSize <= 0) {
+         throw new IllegalArgumentException("recordSize must be > 0");
+      }
+      int index = indexOf(id);
+      if (index >= 0) {
+         releaseFileSlot(fileSlot(valueAt(index)));
+         setValueAt(index, pack(acquireFileSlot(addFile), recordSize));
+         return true;
+      }
+      if (size >= resizeThreshold) {
+         if (capacity() == MAX_CAPACITY) {
+            return false;
+         }
+         resize(capacity() << 1);
+      }
+      index = ~indexOf(id);
+      table.putLong(index * ENTRY_BYTES, id);
+      setValueAt(index, pack(acquireFileSlot(addFile), recordSize));
+      size++;
+      return true;
+   }
+
+   boolean contains(final long id) {
+      return indexOf(id) >= 0;
+   }
+
+   /**
+    * Removes the entry for {@code id}.
+    *
+    * @return the record rebuilt from the removed entry, or {@code null} if there wasn't any
+    */
+   JournalRecord remove(final long id) {
+      final int index = indexOf(id);
+      if (index < 0) {
+         return null;
+      }
+      final long value = valueAt(index);
+      final int slot = fileSlot(value);
+      final JournalRecord record = JournalRecord.restore(files[slot], recordSize(value));
+      releaseFileSlot(slot);
+      shiftBack(index);
+      size--;
+      return record;
+   }
+
+   void forEachKey(final LongConsumer consumer) {
+      final int capacity = capacity();
+      for (int i = 0; i < capacity; i++) {
+         if (valueAt(i) != EMPTY) {
+            consumer.accept(keyAt(i));
+         }
+      }
+   }
+
+   void forEach(final RecordConsumer consumer) {
+      final int capacity = capacity();
+      for (int i = 0; i < capacity; i++) {
+         final long value = valueAt(i);
+         if (value != EMPTY) {
+            consumer.accept(keyAt(i), files[fileSlot(value)], recordSize(value));
+         }
+      }
+   }
+
+   void clear() {
+      Arrays.fill(files, null);
+      Arrays.fill(fileEntries, 0);
+      lastFileSlot = -1;
+      size = 0;
+      if (capacity() != initialCapacity) {
+         final ByteBuffer oldTable = table;
+         allocate(initialCapacity);
+         PlatformDependent.freeDirectBuffer(oldTable);
+      } else {
+         for (int i = 0; i < initialCapacity; i++) {
+            setValueAt(i, EMPTY);
+         }
+      }
+   }
+
+   @FunctionalInterface
+   interface RecordConsumer {
+
+      void accept(long id, JournalFile addFile, int recordSize);
+   }
+
+   private void allocate(final int capacity) {
+      table = ByteBuffer.allocateDirect(capacity * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+      mask = capacity - 1;
+      resizeThreshold = capacity - (capacity >> 2);
+   }
+
+   private void resize(final int newCapacity) {
+      final ByteBuffer oldTable = table;
+      final int oldCapacity = capacity();
+      allocate(newCapacity);
+      for (int i = 0; i < oldCapacity; i++) {
+         final long value = oldTable.getLong(i * ENTRY_BYTES + Long.BYTES);
+         if (value != EMPTY) {
+            final long id = oldTable.getLong(i * ENTRY_BYTES);
+            final int index = ~indexOf(id);
+            table.putLong(index * ENTRY_BYTES, id);
+            setValueAt(index, value);
+         }
+      }
+      PlatformDependent.freeDirectBuffer(oldTable);
+   }
+
+   /**
+    * {@return the index of the entry for {@code id} if present, otherwise the one's complement of the first free index
+    * where it could be added}
+    */
+   private int indexOf(final long id) {
+      int index = hash(id) & mask;
+      while (true) {
+         if (valueAt(index) == EMPTY) {
+            return ~index;
+         }
+         if (keyAt(index) == id) {
+            return index;
+         }
+         index = (index + 1) & mask;
+      }
+   }
+
+   private void shiftBack(int freeIndex) {
+      int index = (freeIndex + 1) & mask;
+      long value;
+      while ((value = valueAt(index)) != EMPTY) {
+         final long id = keyAt(index);
+         final int home = hash(id) & mask;
+         // an entry can only move back if its home is not between the free index and its current position
+         if (((index - home) & mask) >= ((index - freeIndex) & mask)) {
+            table.putLong(freeIndex * ENTRY_BYTES, id);
+            setValueAt(freeIndex, value);
+            freeIndex = index;
+         }
+         index = (index + 1) & mask;
+      }
+      setValueAt(freeIndex, EMPTY);
+   }
+
+   private int acquireFileSlot(final JournalFile file) {
+      int slot = lastFileSlot;
+      if (slot < 0 || files[slot] != file) {
+         slot = findFileSlot(file);
+         lastFileSlot = slot;
+      }
+      fileEntries[slot]++;
+      return slot;
+   }
+
+   private int findFileSlot(final JournalFile file) {
+      int freeSlot = -1;
+      for (int i = 0; i < files.length; i++) {
+         final JournalFile slotFile = files[i];
+         if (slotFile == file) {
+            return i;
+         }
+         if (slotFile == null && freeSlot < 0) {
+            freeSlot = i;
+         }
+      }
+      if (freeSlot < 0) {
+         freeSlot = files.length;
+         files = Arrays.copyOf(files, freeSlot << 1);
+         fileEntries = Arrays.copyOf(fileEntries, freeSlot << 1);
+      }
+      files[freeSlot] = file;
+      return freeSlot;
+   }
+
+   private void releaseFileSlot(final int slot) {
+      if (--fileEntries[slot] == 0) {
+         files[slot] = null;
+         if (lastFileSlot == slot) {
+            lastFileSlot = -1;
+         }
+      }
+   }
+
+   private long keyAt(final int index) {
+      return table.getLong(index * ENTRY_BYTES);
+   }
+
+   private long valueAt(final int index) {
+      return table.getLong(index * ENTRY_BYTES + Long.BYTES);
+   }
+
+   private void setValueAt(final int index, final long value) {
+      table.putLong(index * ENTRY_BYTES + Long.BYTES, value);
+   }
+
+   private static long pack(final int fileSlot, final int recordSize) {
+      return ((long) fileSlot << 32) | (recordSize & 0xFFFFFFFFL);
+   }
+
+   private static int fileSlot(final long value) {
+      return (int) (value >>> 32);
+   }
+
+   private static int recordSize(final long value) {
+      return (int) value;
+   }
+
+   private static int hash(final long id) {
+      // record ids are mostly sequential: spread them so they don't cluster
+      final long h = id * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+   }
+}
@@ -0,0 +1,1106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.core.journal.IOCompletion;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
+import org.apache.activemq.artemis.core.journal.JournalUpdateCallback;
+import org.apache.activemq.artemis.core.journal.LoaderCallback;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.TransactionFailureCallback;
+import org.apache.activemq.artemis.core.journal.impl.dataformat.ByteArrayEncoding;
+import org.apache.activemq.artemis.core.persistence.Persister;
+import org.apache.activemq.artemis.utils.DataConstants;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
+import org.apache.activemq.artemis.utils.collections.LongHashSet;
+import org.apache.activemq.artemis.utils.collections.SparseArrayLinkedList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Journal} spreading its records over a number of independent journals (stripes), each one with its own
+ * files, buffer and syncs.
+ * <p>
+ * Records are placed on a stripe by hashing their id, so every add, update and delete of a record is appended to the
+ * same stripe and the per record ordering of a single journal is kept. On load, the records of all the stripes are
+ * merged in id order.
+ * <p>
+ * A transaction touching a single stripe is committed on that stripe directly. A transaction spanning several stripes
+ * is committed in two phases: it is prepared on every stripe it touched, then, once all the prepare records are
+ * written, its outcome is recorded on the first stripe, and only then are the commit records appended. The caller
+ * isn't blocked in between: its callback is completed once the outcome is written, and synced if requested. Rolling
+ * back a transaction prepared by the user records its outcome first in the same way. On load, prepared transactions
+ * with a committed outcome are completed, and the others are rolled back unless they were prepared by the user and
+ * aren't being rolled back.
+ * <p>
+ * Records found on a stripe other than the one their id hashes to, e.g. after changing the number of stripes, keep
+ * being routed to the stripe holding them. Only the first active stripes receive new records: the others are retired,
+ * e.g. after lowering the number of stripes, and are only kept until the records they hold are gone.
+ * <p>
+ * Record ids and transaction ids must not overlap, as the outcome of a transaction is stored using its id. Replication
+ * and journal retention are not supported.
+ */
+public class StripedJournal implements Journal {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final int MAX_STRIPES = Long.SIZE;
+
+   /**
+    * User record type reserved for the outcome of transactions spanning stripes.
+    */
+   public static final byte STRIPED_TX_RECORD = Byte.MIN_VALUE;
+
+   private static final byte OUTCOME_PREPARED = 1;
+
+   private static final byte OUTCOME_COMMITTED = 2;
+
+   private static final byte OUTCOME_ROLLED_BACK = 3;
+
+   private static final int PREPARE_MAGIC = 0x53545250;
+
+   private static final byte PREPARE_INTERNAL = 0;
+
+   private static final byte PREPARE_SINGLE = 1;
+
+   private static final byte PREPARE_MULTI = 2;
+
+   private static final LongFunction<StripedTransaction> NEW_TRANSACTION = txID -> new StripedTransaction();
+
+   private static final Comparator<RecordInfo> RECORD_ID_ORDER = Comparator.comparingLong(record -> record.id);
+
+   private final Journal[] stripes;
+
+   private final int activeStripes;
+
+   private final Executor executor;
+
+   private final ConcurrentLongHashMap<StripedTransaction> transactions = new ConcurrentLongHashMap<>();
+
+   private final ConcurrentLongHashMap<Integer> relocatedRecords = new ConcurrentLongHashMap<>();
+
+   private volatile boolean hasRelocatedRecords;
+
+   /**
+    * @param executor used to clean up the outcome of committed transactions, once their commit records are synced
+    * @param stripes  the journals to spread the records on; all of them must be distinct and the order must be kept
+    *                 between restarts
+    */
+   public StripedJournal(final Executor executor, final Journal... stripes) {
+      this(executor, stripes.length, stripes);
+   }
+
+   /**
+    * @param activeStripes the number of stripes, from the first one, receiving new records; the others are retired
+    */
+   public StripedJournal(final Executor executor, final int activeStripes, final Journal... stripes) {
+      if (stripes.length == 0 || stripes.length > MAX_STRIPES) {
+         throw new IllegalArgumentException("The number of stripes must be between 1 and " + MAX_STRIPES);
+      }
+      if (activeStripes < 1 || activeStripes > stripes.length) {
+         throw new IllegalArgumentException("The number of active stripes must be between 1 and " + stripes.length);
+      }
+      this.executor = executor;
+      this.stripes = stripes;
+      this.activeStripes = activeStripes;
+   }
+
+   public int getStripeCount() {
+      return stripes.length;
+   }
+
+   public int getActiveStripeCount() {
+      return activeStripes;
+   }
+
+   /**
+    * {@return {@code true} if the stripe is retired and holds neither records nor pending transactions anymore}
+    */
+   public boolean isStripeDrained(final int index) {
+      if (index < activeStripes || stripes[index].getNumberOfRecords() != 0) {
+         return false;
+      }
+      final long bit = 1L << index;
+      for (StripedTransaction tx : transactions.values()) {
+         if ((tx.stripes.get() & bit) != 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   public Journal getStripe(final int index) {
+      return stripes[index];
+   }
+
+   /**
+    * {@return the index of the stripe holding (or that will hold) the record with the given id}
+    */
+   public int stripeIndex(final long id) {
+      if (hasRelocatedRecords) {
+         final Integer relocated = relocatedRecords.get(id);
+         if (relocated != null) {
+            return relocated;
+         }
+      }
+      return hashIndex(id);
+   }
+
+   private int hashIndex(final long id) {
+      return Math.floorMod(Long.hashCode(id * 0x9E3779B97F4A7C15L), activeStripes);
+   }
+
+   private Journal stripe(final long id) {
+      return stripes[stripeIndex(id)];
+   }
+
+   private Journal transactionStripe(final long txID, final long id) {
+      final int index = stripeIndex(id);
+      transactions.computeIfAbsent(txID, NEW_TRANSACTION).touch(index);
+      return stripes[index];
+   }
+
+   // ActiveMQComponent
+
+   @Override
+   public void start() throws Exception {
+      for (Journal journal : stripes) {
+         journal.start();
+      }
+   }
+
+   @Override
+   public void stop() throws Exception {
+      for (Journal journal : stripes) {
+         journal.stop();
+      }
+      transactions.clear();
+      relocatedRecords.clear();
+      hasRelocatedRecords = false;
+   }
+
+   @Override
+   public boolean isStarted() {
+      return stripes[0].isStarted();
+   }
+
+   @Override
+   public void setRemoveExtraFilesOnLoad(final boolean removeExtraFilesOnLoad) {
+      for (Journal journal : stripes) {
+         journal.setRemoveExtraFilesOnLoad(removeExtraFilesOnLoad);
+      }
+   }
+
+   @Override
+   public boolean isRemoveExtraFilesOnLoad() {
+      return stripes[0].isRemoveExtraFilesOnLoad();
+   }
+
+   @Override
+   public void replaceableRecord(final byte recordType) {
+      for (Journal journal : stripes) {
+         journal.replaceableRecord(recordType);
+      }
+   }
+
+   // Non transactional operations
+
+   @Override
+   public void appendAddRecord(final long id, final byte recordType, final byte[] record, final boolean sync) throws Exception {
+      stripe(id).appendAddRecord(id, recordType, record, sync);
+   }
+
+   @Override
+   public void appendAddRecord(final long id,
+                               final byte recordType,
+                               final Persister persister,
+                               final Object record,
+                               final boolean sync) throws Exception {
+      stripe(id).appendAddRecord(id, recordType, persister, record, sync);
+   }
+
+   @Override
+   public void appendAddRecord(final long id,
+                               final byte recordType,
+                               final Persister persister,
+                               final Object record,
+                               final boolean sync,
+                               final IOCompletion completionCallback) throws Exception {
+      stripe(id).appendAddRecord(id, recordType, persister, record, sync, completionCallback);
+   }
+
+   @Override
+   public void appendAddEvent(final long id,
+                              final byte recordType,
+                              final Persister persister,
+                              final Object record,
+                              final boolean sync,
+                              final IOCompletion completionCallback) throws Exception {
+      stripe(id).appendAddEvent(id, recordType, persister, record, sync, completionCallback);
+   }
+
+   @Override
+   public void appendUpdateRecord(final long id, final byte recordType, final byte[] record, final boolean sync) throws Exception {
+      stripe(id).appendUpdateRecord(id, recordType, record, sync);
+   }
+
+   @Override
+   public void tryAppendUpdateRecord(final long id,
+                                     final byte recordType,
+                                     final byte[] record,
+                                     final JournalUpdateCallback updateCallback,
+                                     final boolean sync,
+                                     final boolean replaceableRecord) throws Exception {
+      stripe(id).tryAppendUpdateRecord(id, recordType, record, updateCallback, sync, replaceableRecord);
+   }
+
+   @Override
+   public void appendUpdateRecord(final long id,
+                                  final byte recordType,
+                                  final Persister persister,
+                                  final Object record,
+                                  final boolean sync) throws Exception {
+      stripe(id).appendUpdateRecord(id, recordType, persister, record, sync);
+   }
+
+   @Override
+   public void tryAppendUpdateRecord(final long id,
+                                     final byte recordType,
+                                     final Persister persister,
+                                     final Object record,
+                                     final JournalUpdateCallback updateCallback,
+                                     final boolean sync,
+                                     final boolean replaceableUpdate) throws Exception {
+      stripe(id).tryAppendUpdateRecord(id, recordType, persister, record, updateCallback, sync, replaceableUpdate);
+   }
+
+   @Override
+   public void appendUpdateRecord(final long id,
+                                  final byte recordType,
+                                  final Persister persister,
+                                  final Object record,
+                                  final boolean sync,
+                                  final IOCompletion callback) throws Exception {
+      stripe(id).appendUpdateRecord(id, recordType, persister, record, sync, callback);
+   }
+
+   @Override
+   public void tryAppendUpdateRecord(final long id,
+                                     final byte recordType,
+                                     final Persister persister,
+                                     final Object record,
+                                     final boolean sync,
+                                     final boolean replaceableUpdate,
+                                     final JournalUpdateCallback updateCallback,
+                                     final IOCompletion callback) throws Exception {
+      stripe(id).tryAppendUpdateRecord(id, recordType, persister, record, sync, replaceableUpdate, updateCallback, callback);
+   }
+
+   @Override
+   public void appendDeleteRecord(final long id, final boolean sync) throws Exception {
+      stripe(id).appendDeleteRecord(id, sync);
+      forgetRelocated(id);
+   }
+
+   @Override
+   public void tryAppendDeleteRecord(final long id, final JournalUpdateCallback updateCallback, final boolean sync) throws Exception {
+      stripe(id).tryAppendDeleteRecord(id, updateCallback, sync);
+      forgetRelocated(id);
+   }
+
+   @Override
+   public void appendDeleteRecord(final long id, final boolean sync, final IOCompletion completionCallback) throws Exception {
+      stripe(id).appendDeleteRecord(id, sync, completionCallback);
+      forgetRelocated(id);
+   }
+
+   @Override
+   public void tryAppendDeleteRecord(final long id,
+                                     final boolean sync,
+                                     final JournalUpdateCallback updateCallback,
+                                     final IOCompletion completionCallback) throws Exception {
+      stripe(id).tryAppendDeleteRecord(id, sync, updateCallback, completionCallback);
+      forgetRelocated(id);
+   }
+
+   private void forgetRelocated(final long id) {
+      if (hasRelocatedRecords) {
+         relocatedRecords.remove(id);
+      }
+   }
+
+   // Transactional operations
+
+   @Override
+   public void appendAddRecordTransactional(final long txID, final long id, final byte recordType, final byte[] record) throws Exception {
+      transactionStripe(txID, id).appendAddRecordTransactional(txID, id, recordType, record);
+   }
+
+   @Override
+   public void appendAddRecordTransactional(final long txID,
+                                            final long id,
+                                            final byte recordType,
+                                            final Persister persister,
+                                            final Object record) throws Exception {
+      transactionStripe(txID, id).appendAddRecordTransactional(txID, id, recordType, persister, record);
+   }
+
+   @Override
+   public void appendUpdateRecordTransactional(final long txID, final long id, final byte recordType, final byte[] record) throws Exception {
+      transactionStripe(txID, id).appendUpdateRecordTransactional(txID, id, recordType, record);
+   }
+
+   @Override
+   public void appendUpdateRecordTransactional(final long txID,
+                                               final long id,
+                                               final byte recordType,
+                                               final Persister persister,
+                                               final Object record) throws Exception {
+      transactionStripe(txID, id).appendUpdateRecordTransactional(txID, id, recordType, persister, record);
+   }
+
+   @Override
+   public void appendDeleteRecordTransactional(final long txID, final long id, final byte[] record) throws Exception {
+      transactionStripe(txID, id).appendDeleteRecordTransactional(txID, id, record);
+   }
+
+   @Override
+   public void appendDeleteRecordTransactional(final long txID, final long id, final EncodingSupport record) throws Exception {
+      transactionStripe(txID, id).appendDeleteRecordTransactional(txID, id, record);
+   }
+
+   @Override
+   public void appendDeleteRecordTransactional(final long txID, final long id) throws Exception {
+      transactionStripe(txID, id).appendDeleteRecordTransactional(txID, id);
+   }
+
+   @Override
+   public void appendCommitRecord(final long txID, final boolean sync) throws Exception {
+      appendCommitRecord(txID, sync, null, false);
+   }
+
+   @Override
+   public void appendCommitRecord(final long txID, final boolean sync, final IOCompletion callback) throws Exception {
+      appendCommitRecord(txID, sync, callback, false);
+   }
+
+   @Override
+   public void appendCommitRecord(final long txID,
+                                  final boolean sync,
+                                  final IOCompletion callback,
+                                  final boolean lineUpContext) throws Exception {
+      final StripedTransaction tx = transactions.remove(txID);
+      final long mask = tx == null ? 0 : tx.stripes.get();
+      if (Long.bitCount(mask) <= 1) {
+         final Journal journal = stripes[firstStripe(mask)];
+         if (callback == null) {
+            journal.appendCommitRecord(txID, sync);
+         } else {
+            journal.appendCommitRecord(txID, sync, callback, lineUpContext);
+         }
+         return;
+      }
+
+      if (lineUpContext && callback != null) {
+         callback.storeLineUp();
+      }
+      final SimpleWaitIOCallback wait = callback == null && sync ? new SimpleWaitIOCallback() : null;
+      final IOCompletion completion = completionOf(txID, callback, wait);
+      final FailureHandler failure = (errorCode, errorMessage) -> {
+         logger.warn("Failed to commit striped transaction {}, {}: {}", txID, tx.prepared ? "keeping it prepared" : "rolling it back", errorMessage);
+         if (tx.prepared) {
+            transactions.put(txID, tx);
+         } else {
+            rollbackStripes(txID, mask);
+         }
+         completion.onError(errorCode, errorMessage);
+      };
+      // the commit records only go on the stripes once the outcome is written, which in turn waits for every prepare
+      final ChainedCompletion outcomeWritten = new ChainedCompletion(1, () -> {
+         commitStripes(txID, mask);
+         completion.done();
+      }, failure);
+      final ByteArrayEncoding outcome = new ByteArrayEncoding(new byte[]{OUTCOME_COMMITTED});
+      final ChainedCompletion first = tx.prepared ? outcomeWritten : new ChainedCompletion(Long.bitCount(mask), () ->
+         stripes[0].appendAddRecord(txID, STRIPED_TX_RECORD, outcome, sync, outcomeWritten), failure);
+      try {
+         if (tx.prepared) {
+            stripes[0].appendUpdateRecord(txID, STRIPED_TX_RECORD, outcome, sync, outcomeWritten);
+         } else {
+            prepareStripes(txID, mask, new PrepareData(PREPARE_INTERNAL, null), sync, first);
+         }
+      } catch (Throwable e) {
+         first.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+         throw e;
+      }
+      if (wait != null) {
+         wait.waitCompletion();
+      }
+   }
+
+   /**
+    * {@return the completion of an operation done on behalf of the caller: {@code callback}, {@code wait} if the caller
+    * waits for it, or else one logging failures}
+    */
+   private static IOCompletion completionOf(final long txID, final IOCompletion callback, final SimpleWaitIOCallback wait) {
+      if (callback != null) {
+         return callback;
+      }
+      if (wait != null) {
+         return wait;
+      }
+      return new IOCompletion() {
+         @Override
+         public void storeLineUp() {
+         }
+
+         @Override
+         public void done() {
+         }
+
+         @Override
+         public void onError(final int errorCode, final String errorMessage) {
+            logger.warn("Failed to complete striped transaction {}: {}", txID, errorMessage);
+         }
+      };
+   }
+
+   /**
+    * Appends a prepare record on every stripe of {@code mask}, completing {@code completion} once for each of them.
+    */
+   private void prepareStripes(final long txID,
+                               final long mask,
+                               final EncodingSupport transactionData,
+                               final boolean sync,
+                               final IOCompletion completion) throws Exception {
+      for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+         stripes[Long.numberOfTrailingZeros(remaining)].appendPrepareRecord(txID, transactionData, sync, completion);
+      }
+   }
+
+   /**
+    * Appends the commit records of a transaction whose outcome is already recorded, forgetting the outcome once all of
+    * them are synced. On failure the outcome is kept, so the commit is completed again on load.
+    */
+   private void commitStripes(final long txID, final long mask) {
+      final IOCompletion forgetOutcome = new ChainedCompletion(Long.bitCount(mask), () -> executor.execute(() -> forgetOutcome(txID)), (errorCode, errorMessage) ->
+         logger.warn("Failed to commit striped transaction {}, it will be completed on load: {}", txID, errorMessage));
+      try {
+         // always synced, as the outcome can't be forgotten before every commit record is durable: nobody waits for them
+         for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            stripes[Long.numberOfTrailingZeros(remaining)].appendCommitRecord(txID, true, forgetOutcome, false);
+         }
+      } catch (Throwable e) {
+         forgetOutcome.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+      }
+   }
+
+   /**
+    * Appends the rollback records of a prepared transaction whose outcome is already recorded, forgetting the outcome
+    * once all of them are synced. On failure the outcome is kept, so the rollback is completed again on load.
+    */
+   private void rollbackPreparedStripes(final long txID, final long mask) {
+      final IOCompletion forgetOutcome = new ChainedCompletion(Long.bitCount(mask), () -> executor.execute(() -> forgetOutcome(txID)), (errorCode, errorMessage) ->
+         logger.warn("Failed to roll back striped transaction {}, it will be completed on load: {}", txID, errorMessage));
+      try {
+         for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            stripes[Long.numberOfTrailingZeros(remaining)].appendRollbackRecord(txID, true, forgetOutcome);
+         }
+      } catch (Throwable e) {
+         forgetOutcome.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+      }
+   }
+
+   private void rollbackStripes(final long txID, final long mask) {
+      for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+         try {
+            stripes[Long.numberOfTrailingZeros(remaining)].appendRollbackRecord(txID, false);
+         } catch (Throwable e) {
+            logger.debug("Failed to roll back striped transaction {}", txID, e);
+         }
+      }
+   }
+
+   private void forgetOutcome(final long txID) {
+      try {
+         stripes[0].appendDeleteRecord(txID, false);
+      } catch (Throwable e) {
+         // left on the journal, it will be removed on the next load
+         logger.debug("Failed to delete the outcome of striped transaction {}", txID, e);
+      }
+   }
+
+   @Override
+   public void appendPrepareRecord(final long txID, final EncodingSupport transactionData, final boolean sync) throws Exception {
+      appendPrepareRecord(txID, transactionData, sync, null);
+   }
+
+   @Override
+   public void appendPrepareRecord(final long txID, final byte[] transactionData, final boolean sync) throws Exception {
+      appendPrepareRecord(txID, new ByteArrayEncoding(transactionData), sync, null);
+   }
+
+   @Override
+   public void appendPrepareRecord(final long txID,
+                                   final EncodingSupport transactionData,
+                                   final boolean sync,
+                                   final IOCompletion callback) throws Exception {
+      final StripedTransaction tx = transactions.computeIfAbsent(txID, NEW_TRANSACTION);
+      if (tx.stripes.get() == 0) {
+         tx.touch(0);
+      }
+      tx.prepared = true;
+      final long mask = tx.stripes.get();
+      if (Long.bitCount(mask) == 1) {
+         final Journal journal = stripes[firstStripe(mask)];
+         final PrepareData prepareData = new PrepareData(PREPARE_SINGLE, transactionData);
+         if (callback == null) {
+            journal.appendPrepareRecord(txID, prepareData, sync);
+         } else {
+            journal.appendPrepareRecord(txID, prepareData, sync, callback);
+         }
+         return;
+      }
+
+      if (callback != null) {
+         callback.storeLineUp();
+      }
+      final SimpleWaitIOCallback wait = callback == null && sync ? new SimpleWaitIOCallback() : null;
+      final IOCompletion completion = completionOf(txID, callback, wait);
+      final FailureHandler failure = completion::onError;
+      // the transaction is only prepared once its outcome is written, after every prepare record
+      final IOCompletion outcomeWritten = new ChainedCompletion(1, completion::done, failure);
+      final ChainedCompletion prepared = new ChainedCompletion(Long.bitCount(mask), () ->
+         stripes[0].appendAddRecord(txID, STRIPED_TX_RECORD, new ByteArrayEncoding(new byte[]{OUTCOME_PREPARED}), sync, outcomeWritten), failure);
+      try {
+         prepareStripes(txID, mask, new PrepareData(PREPARE_MULTI, transactionData), sync, prepared);
+      } catch (Throwable e) {
+         prepared.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+         throw e;
+      }
+      if (wait != null) {
+         wait.waitCompletion();
+      }
+   }
+
+   @Override
+   public void appendRollbackRecord(final long txID, final boolean sync) throws Exception {
+      appendRollbackRecord(txID, sync, null);
+   }
+
+   @Override
+   public void appendRollbackRecord(final long txID, final boolean sync, final IOCompletion callback) throws Exception {
+      final StripedTransaction tx = transactions.remove(txID);
+      final long mask = tx == null ? 0 : tx.stripes.get();
+      if (Long.bitCount(mask) <= 1) {
+         final Journal journal = stripes[firstStripe(mask)];
+         if (callback == null) {
+            journal.appendRollbackRecord(txID, sync);
+         } else {
+            journal.appendRollbackRecord(txID, sync, callback);
+         }
+         return;
+      }
+
+      if (tx.prepared) {
+         rollbackPrepared(txID, tx, mask, sync, callback);
+         return;
+      }
+
+      final IOCompletion completion;
+      if (callback == null) {
+         completion = null;
+      } else {
+         callback.storeLineUp();
+         completion = new ChainedCompletion(Long.bitCount(mask), callback::done, callback::onError);
+      }
+      for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+         final Journal journal = stripes[Long.numberOfTrailingZeros(remaining)];
+         if (completion == null) {
+            journal.appendRollbackRecord(txID, sync);
+         } else {
+            journal.appendRollbackRecord(txID, sync, completion);
+         }
+      }
+   }
+
+   /**
+    * Rolls back a transaction prepared on several stripes: as for a commit, its outcome is recorded first, so that a
+    * rollback interrupted after some of the stripes doesn't leave the others prepared on load.
+    */
+   private void rollbackPrepared(final long txID,
+                                 final StripedTransaction tx,
+                                 final long mask,
+                                 final boolean sync,
+                                 final IOCompletion callback) throws Exception {
+      if (callback != null) {
+         callback.storeLineUp();
+      }
+      final SimpleWaitIOCallback wait = callback == null && sync ? new SimpleWaitIOCallback() : null;
+      final IOCompletion completion = completionOf(txID, callback, wait);
+      // the rollback records only go on the stripes once the outcome is written
+      final ChainedCompletion outcomeWritten = new ChainedCompletion(1, () -> {
+         rollbackPreparedStripes(txID, mask);
+         completion.done();
+      }, (errorCode, errorMessage) -> {
+         logger.warn("Failed to roll back striped transaction {}, keeping it prepared: {}", txID, errorMessage);
+         transactions.put(txID, tx);
+         completion.onError(errorCode, errorMessage);
+      });
+      try {
+         stripes[0].appendUpdateRecord(txID, STRIPED_TX_RECORD, new ByteArrayEncoding(new byte[]{OUTCOME_ROLLED_BACK}), sync, outcomeWritten);
+      } catch (Throwable e) {
+         outcomeWritten.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+         throw e;
+      }
+      if (wait != null) {
+         wait.waitCompletion();
+      }
+   }
+
+   private static int firstStripe(final long mask) {
+      return mask == 0 ? 0 : Long.numberOfTrailingZeros(mask);
+   }
+
+   // Load
+
+   @Override
+   public JournalLoadInformation load(final LoaderCallback reloadManager) throws Exception {
+      final SparseArrayLinkedList<RecordInfo> records = new SparseArrayLinkedList<>();
+      final List<PreparedTransactionInfo> preparedTransactions = new ArrayList<>();
+      final JournalLoadInformation info = load(records, preparedTransactions, reloadManager, false);
+      records.clear(record -> {
+         if (record.isUpdate) {
+            reloadManager.updateRecord(record);
+         } else {
+            reloadManager.addRecord(record);
+         }
+      });
+      preparedTransactions.forEach(reloadManager::addPreparedTransaction);
+      return info;
+   }
+
+   @Override
+   public JournalLoadInformation loadInternalOnly() throws Exception {
+      final JournalLoadInformation info = new JournalLoadInformation();
+      for (Journal journal : stripes) {
+         merge(info, journal.loadInternalOnly());
+      }
+      return info;
+   }
+
+   @Override
+   public JournalLoadInformation loadSyncOnly(final JournalState state) throws Exception {
+      throw new UnsupportedOperationException("Replication is not supported by a striped journal");
+   }
+
+   @Override
+   public void lineUpContext(final IOCompletion callback) {
+      stripes[0].lineUpContext(callback);
+   }
+
+   @Override
+   public JournalLoadInformation load(final List<RecordInfo> committedRecords,
+                                      final List<PreparedTransactionInfo> preparedTransactions,
+                                      final TransactionFailureCallback transactionFailure,
+                                      final boolean fixBadTx) throws Exception {
+      final SparseArrayLinkedList<RecordInfo> records = new SparseArrayLinkedList<>();
+      final JournalLoadInformation info = load(records, preparedTransactions, transactionFailure, fixBadTx);
+      records.clear(committedRecords::add);
+      return info;
+   }
+
+   @Override
+   public JournalLoadInformation load(final SparseArrayLinkedList<RecordInfo> committedRecords,
+                                      final List<PreparedTransactionInfo> preparedTransactions,
+                                      final TransactionFailureCallback transactionFailure,
+                                      final boolean fixBadTx) throws Exception {
+      final JournalLoadInformation info = new JournalLoadInformation();
+      final List<RecordInfo> records = new ArrayList<>();
+      final Map<Long, Byte> outcomes = new HashMap<>();
+      final Map<Long, LoadedTransaction> loadedTransactions = new HashMap<>();
+
+      relocatedRecords.clear();
+
+      for (int i = 0; i < stripes.length; i++) {
+         final int stripe = i;
+         final SparseArrayLinkedList<RecordInfo> stripeRecords = new SparseArrayLinkedList<>();
+         final List<PreparedTransactionInfo> stripePrepared = new ArrayList<>();
+         merge(info, stripes[i].load(stripeRecords, stripePrepared, transactionFailure, fixBadTx));
+
+         stripeRecords.clear(record -> {
+            if (stripe == 0 && record.userRecordType == STRIPED_TX_RECORD) {
+               outcomes.merge(record.id, record.data[0], (a, b) -> (byte) Math.max(a, b));
+            } else {
+               checkRelocated(record.id, stripe);
+               records.add(record);
+            }
+         });
+         for (PreparedTransactionInfo prepared : stripePrepared) {
+            loadedTransactions.computeIfAbsent(prepared.getId(), LoadedTransaction::new).add(stripe, prepared);
+         }
+      }
+
+      final LongHashSet recordsToDelete = new LongHashSet();
+      final List<Long> completedOutcomes = new ArrayList<>();
+
+      for (LoadedTransaction loaded : loadedTransactions.values()) {
+         final Byte outcome = outcomes.remove(loaded.txID);
+         if (outcome != null && outcome == OUTCOME_COMMITTED) {
+            logger.debug("Completing the commit of striped transaction {}", loaded.txID);
+            for (PreparedTransactionInfo prepared : loaded.prepared) {
+               records.addAll(prepared.getRecords());
+               for (RecordInfo record : prepared.getRecordsToDelete()) {
+                  recordsToDelete.add(record.id);
+               }
+            }
+            for (long remaining = loaded.stripes; remaining != 0; remaining &= remaining - 1) {
+               stripes[Long.numberOfTrailingZeros(remaining)].appendCommitRecord(loaded.txID, true);
+            }
+            completedOutcomes.add(loaded.txID);
+         } else if (loaded.kind == PREPARE_INTERNAL || (loaded.kind == PREPARE_MULTI && outcome == null) ||
+            (outcome != null && outcome == OUTCOME_ROLLED_BACK)) {
+            logger.debug("Rolling back incomplete striped transaction {}", loaded.txID);
+            rollbackStripes(loaded.txID, loaded.stripes);
+            if (outcome != null) {
+               completedOutcomes.add(loaded.txID);
+            }
+         } else {
+            final StripedTransaction tx = new StripedTransaction();
+            tx.stripes.set(loaded.stripes);
+            tx.prepared = true;
+            transactions.put(loaded.txID, tx);
+            preparedTransactions.add(loaded.merge());
+         }
+      }
+
+      if (!recordsToDelete.isEmpty()) {
+         records.removeIf(record -> recordsToDelete.contains(record.id));
+      }
+
+      // ids are generated in sequence, so this restores the order the records were created in across the stripes,
+      // e.g. the order of the messages in a queue. The sort is stable, keeping the updates of a record in order.
+      records.sort(RECORD_ID_ORDER);
+      records.forEach(committedRecords::add);
+
+      completedOutcomes.addAll(outcomes.keySet());
+      for (Long txID : completedOutcomes) {
+         forgetOutcome(txID);
+      }
+
+      hasRelocatedRecords = !relocatedRecords.isEmpty();
+      if (hasRelocatedRecords) {
+         logger.debug("{} records are held by a stripe other than the one their id hashes to", relocatedRecords.size());
+      }
+
+      return info;
+   }
+
+   private void checkRelocated(final long id, final int stripe) {
+      if (hashIndex(id) != stripe) {
+         relocatedRecords.put(id, stripe);
+      }
+   }
+
+   private static void merge(final JournalLoadInformation info, final JournalLoadInformation stripeInfo) {
+      info.setNumberOfRecords(info.getNumberOfRecords() + stripeInfo.getNumberOfRecords());
+      info.setMaxID(Math.max(info.getMaxID(), stripeInfo.getMaxID()));
+   }
+
+   @Override
+   public int getAlignment() throws Exception {
+      return stripes[0].getAlignment();
+   }
+
+   @Override
+   public int getNumberOfRecords() {
+      int records = 0;
+      for (Journal journal : stripes) {
+         records += journal.getNumberOfRecords();
+      }
+      return records;
+   }
+
+   @Override
+   public int getUserVersion() {
+      return stripes[0].getUserVersion();
+   }
+
+   @Override
+   public Map<Long, JournalFile> createFilesForBackupSync(final long[] fileIds) throws Exception {
+      throw new UnsupportedOperationException("Replication is not supported by a striped journal");
+   }
+
+   @Override
+   public void synchronizationLock() {
+      for (Journal journal : stripes) {
+         journal.synchronizationLock();
+      }
+   }
+
+   @Override
+   public void synchronizationUnlock() {
+      for (int i = stripes.length - 1; i >= 0; i--) {
+         stripes[i].synchronizationUnlock();
+      }
+   }
+
+   @Override
+   public void forceMoveNextFile() throws Exception {
+      for (Journal journal : stripes) {
+         journal.forceMoveNextFile();
+      }
+   }
+
+   @Override
+   public void forceBackup(final int timeout, final TimeUnit unit) throws Exception {
+      for (Journal journal : stripes) {
+         journal.forceBackup(timeout, unit);
+      }
+   }
+
+   @Override
+   public JournalFile[] getDataFiles() {
+      final List<JournalFile> files = new ArrayList<>();
+      for (Journal journal : stripes) {
+         files.addAll(List.of(journal.getDataFiles()));
+      }
+      return files.toArray(new JournalFile[0]);
+   }
+
+   @Override
+   public SequentialFileFactory getFileFactory() {
+      return stripes[0].getFileFactory();
+   }
+
+   @Override
+   public int getFileSize() {
+      return stripes[0].getFileSize();
+   }
+
+   @Override
+   public void scheduleCompactAndBlock(final int timeout) throws Exception {
+      for (Journal journal : stripes) {
+         journal.scheduleCompactAndBlock(timeout);
+      }
+   }
+
+   @Override
+   public void replicationSyncPreserveOldFiles() {
+      for (Journal journal : stripes) {
+         journal.replicationSyncPreserveOldFiles();
+      }
+   }
+
+   @Override
+   public void replicationSyncFinished() {
+      for (Journal journal : stripes) {
+         journal.replicationSyncFinished();
+      }
+   }
+
+   @Override
+   public void flush() throws Exception {
+      for (Journal journal : stripes) {
+         journal.flush();
+      }
+   }
+
+   @Override
+   public long getMaxRecordSize() {
+      return stripes[0].getMaxRecordSize();
+   }
+
+   @Override
+   public long getWarningRecordSize() {
+      return stripes[0].getWarningRecordSize();
+   }
+
+   @Override
+   public String toString() {
+      return "StripedJournal(stripes=" + stripes.length + ", active=" + activeStripes + ")";
+   }
+
+   private static final class StripedTransaction {
+
+      /**
+       * Bit mask of the stripes holding records of this transaction.
+       */
+      private final AtomicLong stripes = new AtomicLong();
+
+      private volatile boolean prepared;
+
+      private void touch(final int stripe) {
+         final long bit = 1L << stripe;
+         if ((stripes.get() & bit) == 0) {
+            stripes.getAndUpdate(mask -> mask | bit);
+         }
+      }
+   }
+
+   /**
+    * A prepared transaction as found on the stripes while loading.
+    */
+   private static final class LoadedTransaction {
+
+      private final long txID;
+
+      private final List<PreparedTransactionInfo> prepared = new ArrayList<>();
+
+      private long stripes;
+
+      private byte kind = PREPARE_SINGLE;
+
+      private byte[] userData;
+
+      private LoadedTransaction(final long txID) {
+         this.txID = txID;
+      }
+
+      private void add(final int stripe, final PreparedTransactionInfo info) {
+         stripes |= 1L << stripe;
+         prepared.add(info);
+         final byte[] extraData = info.getExtraData();
+         final ActiveMQBuffer buffer = extraData == null ? null : ActiveMQBuffers.wrappedBuffer(extraData);
+         if (buffer != null && extraData.length >= DataConstants.SIZE_INT + 1 && buffer.readInt() == PREPARE_MAGIC) {
+            kind = buffer.readByte();
+            userData = new byte[buffer.readableBytes()];
+            buffer.readBytes(userData);
+         } else {
+            // prepared before the journal was striped
+            userData = extraData;
+         }
+      }
+
+      private PreparedTransactionInfo merge() {
+         final PreparedTransactionInfo merged = new PreparedTransactionInfo(txID, userData);
+         for (PreparedTransactionInfo info : prepared) {
+            merged.getRecords().addAll(info.getRecords());
+            merged.getRecordsToDelete().addAll(info.getRecordsToDelete());
+         }
+         merged.getRecords().sort(RECORD_ID_ORDER);
+         return merged;
+      }
+   }
+
+   /**
+    * The data of a prepare record on a stripe: a header telling how the transaction was prepared, followed by the
+    * user data.
+    */
+   private static final class PrepareData implements EncodingSupport {
+
+      private final byte kind;
+
+      private final EncodingSupport userData;
+
+      private PrepareData(final byte kind, final EncodingSupport userData) {
+         this.kind = kind;
+         this.userData = userData;
+      }
+
+      @Override
+      public int getEncodeSize() {
+         return DataConstants.SIZE_INT + DataConstants.SIZE_BYTE + (userData == null ? 0 : userData.getEncodeSize());
+      }
+
+      @Override
+      public void encode(final ActiveMQBuffer buffer) {
+         buffer.writeInt(PREPARE_MAGIC);
+         buffer.writeByte(kind);
+         if (userData != null) {
+            userData.encode(buffer);
+         }
+      }
+
+      @Override
+      public void decode(final ActiveMQBuffer buffer) {
+         throw new IllegalStateException("operation not supported");
+      }
+   }
+
+   @FunctionalInterface
+   private interface FailureHandler {
+
+      void failed(int errorCode, String errorMessage);
+   }
+
+   @FunctionalInterface
+   private interface Step {
+
+      void run() throws Exception;
+   }
+
+   /**
+    * Runs {@code next} once {@code count} operations are done, or fails at the first error, including one of
+    * {@code next}.
+    */
+   private static final class ChainedCompletion implements IOCompletion {
+
+      private final AtomicInteger pending;
+
+      private final Step next;
+
+      private final FailureHandler failure;
+
+      private ChainedCompletion(final int count, final Step next, final FailureHandler failure) {
+         this.pending = new AtomicInteger(count);
+         this.next = next;
+         this.failure = failure;
+      }
+
+      @Override
+      public void storeLineUp() {
+      }
+
+      @Override
+      public void done() {
+         if (pending.decrementAndGet() == 0) {
+            try {
+               next.run();
+            } catch (Throwable e) {
+               failure.failed(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+            }
+         }
+      }
+
+      @Override
+      public void onError(final int errorCode, final String errorMessage) {
+         if (pending.getAndSet(-1) > 0) {
+            failure.failed(errorCode, errorMessage);
+         }
+      }
+   }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.internal.PlatformDependent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedByteBufferPoolTest {
+
+   private static final int ALIGNMENT = 4096;
+
+   private final BoundedByteBufferPool pool = new BoundedByteBufferPool(16 * ALIGNMENT, ALIGNMENT);
+
+   @Test
+   public void shouldBorrowAlignedBuffers() {
+      for (int size : new int[]{1, ALIGNMENT - 1, ALIGNMENT, ALIGNMENT + 1, 3 * ALIGNMENT}) {
+         final ByteBuffer buffer = pool.borrow(size, false);
+         assertTrue(buffer.isDirect());
+         assertEquals(0, buffer.position());
+         assertEquals(size, buffer.limit());
+         assertTrue(buffer.capacity() >= size);
+         assertEquals(1, Integer.bitCount(buffer.capacity()));
+         assertEquals(0, PlatformDependent.directBufferAddress(buffer) % ALIGNMENT);
+         pool.release(buffer);
+      }
+   }
+
+   @Test
+   public void shouldBorrowTheSameBufferFromAnyThread() throws Exception {
+      final ByteBuffer buffer = pool.borrow(100, false);
+      pool.release(buffer);
+      final ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+         assertSame(buffer, executor.submit(() -> pool.borrow(200, false)).get());
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   @Test
+   public void shouldBorrowZeroedBuffer() {
+      final ByteBuffer buffer = pool.borrow(32, false);
+      buffer.put(0, (byte) 1);
+      buffer.put(31, (byte) 1);
+      pool.release(buffer);
+      final ByteBuffer sameBuffer = pool.borrow(32, true);
+      assertSame(buffer, sameBuffer);
+      for (int i = 0; i < 32; i++) {
+         assertEquals(0, sameBuffer.get(i));
+      }
+   }
+
+   @Test
+   public void shouldNotHoldMoreThanMaxBytes() {
+      final List<ByteBuffer> borrowed = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+         borrowed.add(pool.borrow(ALIGNMENT, false));
+      }
+      assertEquals(pool.getMaxBytes(), pool.getPooledBytes());
+      borrowed.forEach(pool::release);
+      assertEquals(pool.getMaxBytes(), pool.getPooledBytes());
+   }
+
+   @Test
+   public void shouldFreeIdleBuffersOfOtherSizes() {
+      final List<ByteBuffer> small = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+         small.add(pool.borrow(ALIGNMENT, false));
+      }
+      small.forEach(pool::release);
+      assertEquals(16 * ALIGNMENT, pool.getPooledBytes());
+
+      final ByteBuffer big = pool.borrow(8 * ALIGNMENT, false);
+      assertEquals(8 * ALIGNMENT, big.capacity());
+      assertEquals(16 * ALIGNMENT, pool.getPooledBytes());
+      pool.release(big);
+      assertSame(big, pool.borrow(5 * ALIGNMENT, false));
+   }
+
+   @Test
+   public void shouldNotPoolBuffersLargerThanTheBudget() {
+      final ByteBuffer huge = pool.borrow(17 * ALIGNMENT, false);
+      assertEquals(17 * ALIGNMENT, huge.capacity());
+      assertEquals(0, pool.getPooledBytes());
+      pool.release(huge);
+      assertNotSame(huge, pool.borrow(17 * ALIGNMENT, false));
+   }
+
+   @Test
+   public void shouldNotPoolForeignBuffers() {
+      final ByteBuffer heap = ByteBuffer.allocate(ALIGNMENT);
+      pool.release(heap);
+      final ByteBuffer readOnly = pool.borrow(ALIGNMENT, false);
+      pool.release(readOnly.asReadOnlyBuffer());
+      assertNotSame(heap, pool.borrow(ALIGNMENT, false));
+      assertEquals(2 * ALIGNMENT, pool.getPooledBytes());
+   }
+
+   @Test
+   public void shouldFailPoolingNullBuffer() {
+      assertThrows(NullPointerException.class, () -> pool.release(null));
+   }
+
+   @Test
+   public void shouldStayWithinBudgetUnderConcurrency() throws Exception {
+      final int threads = 8;
+      final CountDownLatch done = new CountDownLatch(threads);
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+         for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            executor.execute(() -> {
+               try {
+                  for (int i = 0; i < 1000; i++) {
+                     final ByteBuffer buffer = pool.borrow(1 + ((seed * 7919 + i * 104729) % (4 * ALIGNMENT)), true);
+                     assertTrue(pool.getPooledBytes() <= pool.getMaxBytes());
+                     pool.release(buffer);
+                  }
+               } finally {
+                  done.countDown();
+               }
+            });
+         }
+         assertTrue(done.await(30, TimeUnit.SECONDS));
+         assertTrue(pool.getPooledBytes() <= pool.getMaxBytes());
+      } finally {
+         executor.shutdown();
+      }
+   }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashSet;
+import org.junit.jupiter.api.Test;
+
+public class JournalRecordIndexTest {
+
+   @Test
+   public void addOnlyRecordsAreKeptOffHeap() {
+      JournalRecordIndex index = new JournalRecordIndex(true);
+      JournalFile file = mock(JournalFile.class);
+
+      index.put(1, new JournalRecord(file, 100));
+      index.put(2, new JournalRecord(file, 200));
+
+      assertEquals(2, index.size());
+      assertEquals(2, index.offHeapSize());
+      assertTrue(index.containsKey(1));
+      assertFalse(index.containsKey(3));
+
+      JournalRecord removed = index.remove(2);
+      assertNotNull(removed);
+      assertSame(file, removed.getAddFile());
+      assertEquals(200, removed.getSize());
+      assertNull(index.remove(2));
+
+      // rebuilding the record must not account the add again
+      verify(file, times(2)).incAddRecord();
+      verify(file, times(2)).incPosCount();
+   }
+
+   @Test
+   public void getMovesTheRecordBackOnHeap() {
+      JournalRecordIndex index = new JournalRecordIndex(true);
+      JournalFile file = mock(JournalFile.class);
+      JournalFile updateFile = mock(JournalFile.class);
+
+      index.put(1, new JournalRecord(file, 100));
+
+      JournalRecord record = index.get(1);
+      assertNotNull(record);
+      assertEquals(0, index.offHeapSize());
+      record.addUpdateFile(updateFile, 10, false);
+
+      assertSame(record, index.get(1));
+      assertFalse(record.isAddOnly());
+      assertEquals(1, index.size());
+
+      // a record with updates stays on heap even if put again
+      index.put(1, record);
+      assertEquals(0, index.offHeapSize());
+      assertSame(record, index.remove(1));
+   }
+
+   @Test
+   public void behavesAsAMap() {
+      JournalRecordIndex index = new JournalRecordIndex(true);
+      JournalFile[] files = new JournalFile[40];
+      for (int i = 0; i < files.length; i++) {
+         files[i] = mock(JournalFile.class);
+      }
+      Map<Long, JournalRecord> expected = new HashMap<>();
+      Random random = new Random(1);
+
+      for (int i = 0; i < 100_000; i++) {
+         long id = random.nextInt(20_000);
+         switch (random.nextInt(3)) {
+            case 0 -> {
+               JournalRecord record = new JournalRecord(files[random.nextInt(files.length)], 1 + random.nextInt(1000));
+               index.put(id, record);
+               expected.put(id, record);
+            }
+            case 1 -> {
+               JournalRecord record = index.remove(id);
+               JournalRecord expectedRecord = expected.remove(id);
+               if (expectedRecord == null) {
+                  assertNull(record);
+               } else {
+                  assertSame(expectedRecord.getAddFile(), record.getAddFile());
+                  assertEquals(expectedRecord.getSize(), record.getSize());
+               }
+            }
+            default -> assertEquals(expected.containsKey(id), index.containsKey(id));
+         }
+         assertEquals(expected.size(), index.size());
+      }
+
+      ConcurrentLongHashSet keys = index.keysLongHashSet();
+      assertEquals(expected.size(), keys.size());
+      expected.keySet().forEach(id -> assertTrue(keys.contains(id)));
+
+      index.forEach((id, record) -> {
+         JournalRecord expectedRecord = expected.get(id);
+         assertSame(expectedRecord.getAddFile(), record.getAddFile());
+         assertEquals(expectedRecord.getSize(), record.getSize());
+      });
+
+      index.clear();
+      assertEquals(0, index.size());
+      expected.keySet().forEach(id -> assertFalse(index.containsKey(id)));
+   }
+}
@@ -306,6 +306,12 @@ public class AMQPLargeMessage extends AMQPMessage implements LargeServerMessage
       }
    }
 
+   @Override
+   protected boolean isApplicationPropertiesPartiallyReadable() {
+      // the data is read from the large body file
+      return false;
+   }
+
    @Override
    public ReadableBuffer getData() {
       LargeBodyReader reader = largeBody.getLargeBodyReader();
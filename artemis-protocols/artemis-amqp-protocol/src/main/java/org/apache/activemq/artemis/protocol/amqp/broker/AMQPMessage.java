@@ -23,6 +23,7 @@ import javax.management.openmbean.SimpleType;
 import java.lang.invoke.MethodHandles;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -30,6 +31,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
@@ -74,6 +76,7 @@ import org.apache.qpid.proton.amqp.messaging.Properties;
 import org.apache.qpid.proton.amqp.messaging.Section;
 import org.apache.qpid.proton.codec.DecoderImpl;
 import org.apache.qpid.proton.codec.DroppingWritableBuffer;
+import org.apache.qpid.proton.codec.EncodingCodes;
 import org.apache.qpid.proton.codec.ReadableBuffer;
 import org.apache.qpid.proton.codec.TypeConstructor;
 import org.apache.qpid.proton.codec.WritableBuffer;
@@ -134,6 +137,13 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
       AMQPMessageSymbolSearch.kmpNeedleOf(org.apache.activemq.artemis.api.core.Message.HDR_DUPLICATE_DETECTION_ID.toString())
    };
 
+   // values of a single application property read from the encoded ApplicationProperties
+   private static final Object ABSENT_PROPERTY = new Object();
+   private static final Object UNREADABLE_PROPERTIES = new Object();
+
+   private static final LongAdder APPLICATION_PROPERTIES_DECODES = new LongAdder();
+   private static final LongAdder APPLICATION_PROPERTIES_PARTIAL_READS = new LongAdder();
+
    public static final int DEFAULT_MESSAGE_FORMAT = 0;
    public static final int DEFAULT_MESSAGE_PRIORITY = 4;
    public static final int MAX_MESSAGE_PRIORITY = 9;
@@ -221,6 +231,9 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    protected Properties properties;
    protected ApplicationProperties applicationProperties;
 
+   // application properties read without decoding the ApplicationProperties, as key and value pairs
+   private volatile Object[] applicationPropertyReads;
+
    protected String connectionID;
    protected final CoreMessageObjectPools coreMessageObjectPools;
    protected Set<Object> rejectedConsumers;
@@ -540,6 +553,8 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    protected ApplicationProperties lazyDecodeApplicationProperties(ReadableBuffer data) {
       if (applicationProperties == null && applicationPropertiesPosition != VALUE_NOT_PRESENT) {
          applicationProperties = scanForMessageSection(data, applicationPropertiesPosition, ApplicationProperties.class);
+         applicationPropertyReads = null;
+         APPLICATION_PROPERTIES_DECODES.increment();
          if (owner != null && memoryEstimate != -1) {
             // the memory has already been tracked and needs to be updated to reflect the new decoding
             int addition = unmarshalledApplicationPropertiesMemoryEstimateFromData(data);
@@ -569,6 +584,135 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
       return 0;
    }
 
+   /**
+    * {@return the number of times the ApplicationProperties of a message have been decoded}
+    */
+   public static long getApplicationPropertiesDecodeCount() {
+      return APPLICATION_PROPERTIES_DECODES.sum();
+   }
+
+   /**
+    * {@return the number of application properties read without decoding the ApplicationProperties of their message}
+    */
+   public static long getApplicationPropertiesPartialReadCount() {
+      return APPLICATION_PROPERTIES_PARTIAL_READS.sum();
+   }
+
+   /**
+    * {@return {@code true} if single application properties can be read from the encoded ApplicationProperties, i.e.
+    * the data of the message is readable without copying it}
+    */
+   protected boolean isApplicationPropertiesPartiallyReadable() {
+      return true;
+   }
+
+   /**
+    * {@return the value of an application property, or {@code null} if not present}
+    * <p>
+    * Unless already decoded, the ApplicationProperties are not: the property is read from their encoded form and the
+    * value is retained for the next reads.
+    */
+   protected Object getApplicationPropertyValue(String key) {
+      final Object value = peekApplicationProperty(key);
+      return value == ABSENT_PROPERTY ? null : value;
+   }
+
+   private Object peekApplicationProperty(String key) {
+      ensureMessageDataScanned();
+      if (applicationProperties != null || applicationPropertiesPosition == VALUE_NOT_PRESENT || !isApplicationPropertiesPartiallyReadable()) {
+         final Map<String, Object> map = getApplicationPropertiesMap(false);
+         final Object value = map.get(key);
+         return value == null && !map.containsKey(key) ? ABSENT_PROPERTY : value;
+      }
+      Object[] reads = applicationPropertyReads;
+      if (reads != null) {
+         for (int i = 0; i < reads.length; i += 2) {
+            if (key.equals(reads[i])) {
+               return reads[i + 1];
+            }
+         }
+      }
+      final Object value = readApplicationProperty(getData().duplicate(), applicationPropertiesPosition, key);
+      if (value == UNREADABLE_PROPERTIES) {
+         final Map<String, Object> map = getApplicationPropertiesMap(false);
+         return map.containsKey(key) ? map.get(key) : ABSENT_PROPERTY;
+      }
+      APPLICATION_PROPERTIES_PARTIAL_READS.increment();
+      // a concurrent read of another property may be lost, it would just be read again
+      final int length = reads == null ? 0 : reads.length;
+      reads = reads == null ? new Object[2] : Arrays.copyOf(reads, length + 2);
+      reads[length] = key;
+      reads[length + 1] = value;
+      applicationPropertyReads = reads;
+      return value;
+   }
+
+   /**
+    * Reads the value of {@code key} in the encoded ApplicationProperties at {@code position}, skipping the other values
+    * without decoding them.
+    *
+    * @return the value, {@link #ABSENT_PROPERTY} if not present or {@link #UNREADABLE_PROPERTIES} if the map isn't
+    * encoded with {@code string} keys
+    */
+   private static Object readApplicationProperty(ReadableBuffer data, int position, String key) {
+      final DecoderImpl decoder = TLSEncode.getDecoder();
+      decoder.setBuffer(data.position(position));
+      try {
+         if (data.get() != EncodingCodes.DESCRIBED_TYPE_INDICATOR) {
+            return UNREADABLE_PROPERTIES;
+         }
+         // the descriptor of the ApplicationProperties
+         decoder.readObject();
+         final int count;
+         switch (data.get()) {
+            case EncodingCodes.NULL:
+               return ABSENT_PROPERTY;
+            case EncodingCodes.MAP8:
+               data.get();
+               count = data.get() & 0xFF;
+               break;
+            case EncodingCodes.MAP32:
+               data.getInt();
+               count = data.getInt();
+               break;
+            default:
+               return UNREADABLE_PROPERTIES;
+         }
+         final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+         for (int i = 0; i < count; i += 2) {
+            final int keyLength;
+            switch (data.get()) {
+               case EncodingCodes.STR8:
+                  keyLength = data.get() & 0xFF;
+                  break;
+               case EncodingCodes.STR32:
+                  keyLength = data.getInt();
+                  break;
+               default:
+                  return UNREADABLE_PROPERTIES;
+            }
+            final int keyPosition = data.position();
+            data.position(keyPosition + keyLength);
+            if (keyLength == keyBytes.length && matches(data, keyPosition, keyBytes)) {
+               return decoder.readObject();
+            }
+            decoder.readConstructor().skipValue();
+         }
+         return ABSENT_PROPERTY;
+      } finally {
+         decoder.setBuffer(null);
+      }
+   }
+
+   private static boolean matches(ReadableBuffer data, int position, byte[] bytes) {
+      for (int i = 0; i < bytes.length; i++) {
+         if (data.get(position + i) != bytes[i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
    @SuppressWarnings("unchecked")
    protected Map<String, Object> getApplicationPropertiesMap(boolean createIfAbsent) {
       ApplicationProperties appMap = lazyDecodeApplicationProperties();
@@ -671,6 +815,7 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
       messageAnnotations = null;
       properties = null;
       applicationProperties = null;
+      applicationPropertyReads = null;
       if (!expirationReload) {
          expiration = 0;
       }
@@ -1552,32 +1697,32 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
 
    @Override
    public final boolean containsProperty(String key) {
-      return getApplicationPropertiesMap(false).containsKey(key);
+      return peekApplicationProperty(key) != ABSENT_PROPERTY;
    }
 
    @Override
    public final Boolean getBooleanProperty(String key) throws ActiveMQPropertyConversionException {
-      return (Boolean) getApplicationPropertiesMap(false).get(key);
+      return (Boolean) getApplicationPropertyValue(key);
    }
 
    @Override
    public final Byte getByteProperty(String key) throws ActiveMQPropertyConversionException {
-      return (Byte) getApplicationPropertiesMap(false).get(key);
+      return (Byte) getApplicationPropertyValue(key);
    }
 
    @Override
    public final Double getDoubleProperty(String key) throws ActiveMQPropertyConversionException {
-      return (Double) getApplicationPropertiesMap(false).get(key);
+      return (Double) getApplicationPropertyValue(key);
    }
 
    @Override
    public final Integer getIntProperty(String key) throws ActiveMQPropertyConversionException {
-      return (Integer) getApplicationPropertiesMap(false).get(key);
+      return (Integer) getApplicationPropertyValue(key);
    }
 
    @Override
    public final Long getLongProperty(String key) throws ActiveMQPropertyConversionException {
-      return (Long) getApplicationPropertiesMap(false).get(key);
+      return (Long) getApplicationPropertyValue(key);
    }
 
    @Override
@@ -1606,7 +1751,7 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    }
 
    private Object getApplicationObjectProperty(String key) {
-      Object value = getApplicationPropertiesMap(false).get(key);
+      Object value = getApplicationPropertyValue(key);
       if (value instanceof Number number) {
          // AMQP Numeric types must be converted to a compatible value.
          if (value instanceof UnsignedInteger ||
@@ -1615,9 +1760,9 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
              value instanceof UnsignedShort) {
             return number.longValue();
          }
-      } else if (value instanceof Binary) {
+      } else if (value instanceof Binary binary) {
          // Binary wrappers must be unwrapped into a byte[] form.
-         return getBytesProperty(key);
+         return toBytes(binary);
       }
 
       return value;
@@ -1625,12 +1770,12 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
 
    @Override
    public final Short getShortProperty(String key) throws ActiveMQPropertyConversionException {
-      return (Short) getApplicationPropertiesMap(false).get(key);
+      return (Short) getApplicationPropertyValue(key);
    }
 
    @Override
    public final Float getFloatProperty(String key) throws ActiveMQPropertyConversionException {
-      return (Float) getApplicationPropertiesMap(false).get(key);
+      return (Float) getApplicationPropertyValue(key);
    }
 
    @Override
@@ -1638,7 +1783,7 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
       return switch (key) {
          case MessageUtil.TYPE_HEADER_NAME_STRING -> properties.getSubject();
          case MessageUtil.CONNECTION_ID_PROPERTY_NAME_STRING -> getConnectionID();
-         default -> (String) getApplicationPropertiesMap(false).get(key);
+         default -> (String) getApplicationPropertyValue(key);
       };
    }
 
@@ -1663,23 +1808,26 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
 
    @Override
    public final byte[] getBytesProperty(String key) throws ActiveMQPropertyConversionException {
-      final Object value = getApplicationPropertiesMap(false).get(key);
+      final Object value = getApplicationPropertyValue(key);
 
       if (value instanceof Binary binary) {
+         return toBytes(binary);
+      } else {
+         return (byte[]) value;
+      }
+   }
 
-         if (binary.getArray() == null) {
-            return null;
-         } else if (binary.getArrayOffset() == 0 && binary.getLength() == binary.getArray().length) {
-            return binary.getArray();
-         } else {
-            final byte[] payload = new byte[binary.getLength()];
+   private static byte[] toBytes(Binary binary) {
+      if (binary.getArray() == null) {
+         return null;
+      } else if (binary.getArrayOffset() == 0 && binary.getLength() == binary.getArray().length) {
+         return binary.getArray();
+      } else {
+         final byte[] payload = new byte[binary.getLength()];
 
-            System.arraycopy(binary.getArray(), binary.getArrayOffset(), payload, 0, binary.getLength());
+         System.arraycopy(binary.getArray(), binary.getArrayOffset(), payload, 0, binary.getLength());
 
-            return payload;
-         }
-      } else {
-         return (byte[]) value;
+         return payload;
       }
    }
 
@@ -1729,7 +1877,7 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    }
    @Override
    public final SimpleString getSimpleStringProperty(String key) throws ActiveMQPropertyConversionException {
-      return SimpleString.of((String) getApplicationPropertiesMap(false).get(key), getPropertyValuesPool());
+      return SimpleString.of((String) getApplicationPropertyValue(key), getPropertyValuesPool());
    }
 
    // Core Message Application Property update methods, calling these puts the message in a dirty
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.protocol.amqp.broker;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +35,8 @@ import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.impl.QueueImpl;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.server.management.NotificationListener;
+import org.apache.activemq.artemis.core.server.metrics.BrokerMetricNames;
+import org.apache.activemq.artemis.core.server.metrics.MetricsManager;
 import org.apache.activemq.artemis.protocol.amqp.client.ProtonClientProtocolManager;
 import org.apache.activemq.artemis.protocol.amqp.connect.mirror.ReferenceIDSupplier;
 import org.apache.activemq.artemis.protocol.amqp.proton.AMQPConnectionContext;
@@ -129,6 +132,18 @@ public class ProtonProtocolManager extends AbstractProtocolManager<AMQPMessage,
       this.server = server;
       this.updateInterceptors(incomingInterceptors, outgoingInterceptors);
       routingHandler = new AMQPRoutingHandler(server);
+      registerMeters();
+   }
+
+   private void registerMeters() {
+      final MetricsManager metricsManager = server == null ? null : server.getMetricsManager();
+      if (metricsManager != null) {
+         // the counters are shared by every acceptor, as are their gauges
+         metricsManager.addBrokerGauge(builder -> {
+            builder.build(BrokerMetricNames.AMQP_APPLICATION_PROPERTIES_DECODE_COUNT, AMQPMessage.class, metrics -> (double) AMQPMessage.getApplicationPropertiesDecodeCount(), "number of times the application properties of an AMQP message were fully decoded", Collections.emptyList());
+            builder.build(BrokerMetricNames.AMQP_APPLICATION_PROPERTIES_PARTIAL_READ_COUNT, AMQPMessage.class, metrics -> (double) AMQPMessage.getApplicationPropertiesPartialReadCount(), "number of application properties of AMQP messages read without decoding the others", Collections.emptyList());
+         });
+      }
    }
 
    public synchronized ReferenceIDSupplier getReferenceIDSupplier() {
@@ -331,6 +331,8 @@ public class AMQPMessageTest {
       }
 
       assertEquals(TEST_APPLICATION_PROPERTY_VALUE, decodedWithApplicationPropertiesUnmarshalled.getStringProperty(TEST_APPLICATION_PROPERTY_KEY));
+      // reading a single property doesn't decode the others, listing them does
+      assertTrue(decodedWithApplicationPropertiesUnmarshalled.getPropertyNames().contains(SimpleString.of(TEST_APPLICATION_PROPERTY_KEY)));
 
       if (paged) {
          assertEquals(decodedWithApplicationPropertiesUnmarshalled.getMemoryEstimate(), decoded.getMemoryEstimate());
@@ -1554,6 +1556,42 @@ public class AMQPMessageTest {
       assertApplicationPropertiesNotEquals(protonMessage.getApplicationProperties(), decoded);
    }
 
+   @Test
+   public void testReadApplicationPropertiesWithoutDecoding() {
+      MessageImpl protonMessage = createProtonMessage();
+      protonMessage.getApplicationProperties().getValue().put("int", 42);
+      protonMessage.getApplicationProperties().getValue().put("null", null);
+      protonMessage.getApplicationProperties().getValue().put("binary", new Binary(new byte[] {1, 2, 3}));
+      protonMessage.getApplicationProperties().getValue().put("unsigned", UnsignedInteger.valueOf(7));
+      AMQPStandardMessage message = new AMQPStandardMessage(0, encodeMessage(protonMessage), null, null);
+
+      final long decodes = AMQPMessage.getApplicationPropertiesDecodeCount();
+      final long partialReads = AMQPMessage.getApplicationPropertiesPartialReadCount();
+
+      assertEquals(TEST_APPLICATION_PROPERTY_VALUE, message.getStringProperty(TEST_APPLICATION_PROPERTY_KEY));
+      assertEquals(42, message.getIntProperty("int"));
+      assertArrayEquals(new byte[] {1, 2, 3}, message.getBytesProperty("binary"));
+      assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) message.getObjectProperty("binary"));
+      assertEquals(7L, message.getObjectProperty("unsigned"));
+      assertTrue(message.containsProperty("null"));
+      assertNull(message.getObjectProperty("null"));
+      assertFalse(message.containsProperty("missing"));
+      assertNull(message.getStringProperty("missing"));
+      // the values already read are retained
+      assertEquals(TEST_APPLICATION_PROPERTY_VALUE, message.getStringProperty(TEST_APPLICATION_PROPERTY_KEY));
+      assertNull(message.getDecodedApplicationProperties());
+      assertTrue(AMQPMessage.getApplicationPropertiesPartialReadCount() - partialReads >= 6);
+
+      // the properties are decoded to be updated
+      message.putStringProperty(TEST_APPLICATION_PROPERTY_KEY, "updated");
+      assertNotNull(message.getDecodedApplicationProperties());
+      assertTrue(AMQPMessage.getApplicationPropertiesDecodeCount() > decodes);
+      assertEquals("updated", message.getStringProperty(TEST_APPLICATION_PROPERTY_KEY));
+      message.reencode();
+      assertEquals("updated", message.getStringProperty(TEST_APPLICATION_PROPERTY_KEY));
+      assertEquals(42, message.getIntProperty("int"));
+   }
+
    @Test
    public void testGetBody() {
       MessageImpl protonMessage = createProtonMessage();
@@ -2751,7 +2789,7 @@ public class AMQPMessageTest {
 
       assertNull(message.getBytesProperty("test"));
 
-      final ApplicationProperties applicationProperties = message.getDecodedApplicationProperties();
+      final ApplicationProperties applicationProperties = message.lazyDecodeApplicationProperties();
       assertNotNull(applicationProperties.getValue());
 
       applicationProperties.getValue().put("test", offsetBinary);
@@ -2773,7 +2811,7 @@ public class AMQPMessageTest {
 
       assertNull(message.getObjectProperty("test"));
 
-      final ApplicationProperties applicationProperties = message.getDecodedApplicationProperties();
+      final ApplicationProperties applicationProperties = message.lazyDecodeApplicationProperties();
       assertNotNull(applicationProperties.getValue());
 
       applicationProperties.getValue().put("test", offsetBinary);
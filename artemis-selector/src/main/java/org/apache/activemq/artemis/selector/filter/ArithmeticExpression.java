@@ -24,7 +24,7 @@ public abstract class ArithmeticExpression extends BinaryExpression {
    protected static final int INTEGER = 1;
    protected static final int LONG = 2;
    protected static final int DOUBLE = 3;
-   boolean convertStringExpressions = false;
+   final boolean convertStringExpressions;
 
    public ArithmeticExpression(Expression left, Expression right) {
       super(left, right);
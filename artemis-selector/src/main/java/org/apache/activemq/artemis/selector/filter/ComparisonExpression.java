@@ -28,7 +28,7 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
 
    public static final ThreadLocal<Boolean> CONVERT_STRING_EXPRESSIONS = new ThreadLocal<>();
 
-   boolean convertStringExpressions = false;
+   final boolean convertStringExpressions;
    private static final Set<Character> REGEXP_CONTROL_CHARS = new HashSet<>();
 
    public ComparisonExpression(Expression left, Expression right) {
@@ -69,7 +69,7 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
 
    static class LikeExpression extends UnaryExpression implements BooleanExpression {
 
-      Pattern likePattern;
+      final Pattern likePattern;
 
       LikeExpression(Expression right, String like, int escape) {
          super(right);
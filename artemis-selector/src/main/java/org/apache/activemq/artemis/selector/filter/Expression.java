@@ -18,6 +18,9 @@ package org.apache.activemq.artemis.selector.filter;
 
 /**
  * Represents an expression
+ * <p>
+ * An expression is shared by all the threads matching messages against the same selector, so it must not keep any
+ * state between evaluations.
  */
 public interface Expression {
 
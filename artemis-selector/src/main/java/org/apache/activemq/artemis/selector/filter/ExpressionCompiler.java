@@ -0,0 +1,692 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * Compiles a parsed selector into a tree of specialized nodes.
+ * <p>
+ * The interpreted expressions box every intermediate result and re-discover the shape of the selector on each
+ * evaluation. The compiled form resolves all of that once: constant sub-expressions are folded, comparisons against a
+ * numeric constant are done on primitives, boolean results are carried as {@code int}s and {@code AND}/{@code OR} are
+ * short-circuited. The compiled expression matches exactly the same messages as the interpreted one; any expression
+ * the compiler doesn't know about is evaluated by the interpreted expression itself.
+ */
+public final class ExpressionCompiler {
+
+   private static final int FALSE = 0;
+   private static final int TRUE = 1;
+   private static final int UNKNOWN = 2;
+
+   private static final int GREATER_THAN = 0;
+   private static final int GREATER_THAN_EQUAL = 1;
+   private static final int LESS_THAN = 2;
+   private static final int LESS_THAN_EQUAL = 3;
+
+   private ExpressionCompiler() {
+   }
+
+   /**
+    * {@return a compiled expression matching the same messages as {@code expression}}
+    */
+   public static BooleanExpression compile(BooleanExpression expression) {
+      if (expression == null || expression instanceof CompiledExpression) {
+         return expression;
+      }
+      return new CompiledExpression(expression, node(expression));
+   }
+
+   private static Node node(BooleanExpression expression) {
+      if (expression instanceof ConstantExpression constant) {
+         return new ConstantNode(toCondition(constant.getValue()));
+      }
+      if (expression instanceof LogicExpression logic) {
+         final Node[] nodes = new Node[logic.expressions.size()];
+         for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = node(logic.expressions.get(i));
+         }
+         return "AND".equals(logic.getExpressionSymbol()) ? new AndNode(nodes) : new OrNode(nodes);
+      }
+      if (expression instanceof ComparisonExpression comparison) {
+         return comparison(comparison);
+      }
+      if (expression instanceof ComparisonExpression.LikeExpression like) {
+         return new LikeNode(operand(like.getRight()), like.likePattern);
+      }
+      if (expression instanceof UnaryExpression.InExpression in) {
+         return new InNode(operand(in.getRight()), in.inList, in.not);
+      }
+      if (expression instanceof UnaryExpression.NotExpression not) {
+         return new NotNode(node((BooleanExpression) not.getRight()));
+      }
+      if (expression instanceof UnaryExpression.BooleanCastExpression cast) {
+         return new BooleanCastNode(operand(cast.getRight()));
+      }
+      return new InterpretedNode(expression);
+   }
+
+   private static Node comparison(ComparisonExpression comparison) {
+      final int operator;
+      switch (comparison.getExpressionSymbol()) {
+         case "=" -> {
+            return equal(comparison);
+         }
+         case ">" -> operator = GREATER_THAN;
+         case ">=" -> operator = GREATER_THAN_EQUAL;
+         case "<" -> operator = LESS_THAN;
+         case "<=" -> operator = LESS_THAN_EQUAL;
+         default -> {
+            return new InterpretedNode(comparison);
+         }
+      }
+      final Operand left = operand(comparison.getLeft());
+      final Operand right = operand(comparison.getRight());
+      if (right.constant && right.value instanceof Number number) {
+         final Class<?> rc = number.getClass();
+         if (rc == Integer.class || rc == Long.class) {
+            return new IntegralComparisonNode(comparison, left, operator, number);
+         }
+         if (rc == Double.class) {
+            return new DoubleComparisonNode(comparison, left, operator, number);
+         }
+      }
+      return new ComparisonNode(comparison, left, right);
+   }
+
+   private static Node equal(ComparisonExpression comparison) {
+      final Operand left = operand(comparison.getLeft());
+      final Operand right = operand(comparison.getRight());
+      if (right.constant) {
+         if (right.value == null) {
+            return new IsNullNode(left);
+         }
+         return new EqualNode(comparison, left, right.value);
+      }
+      return new InterpretedNode(comparison);
+   }
+
+   /**
+    * {@return the expression {@code expression} was compiled from, or {@code expression} itself if not compiled}
+    */
+   static BooleanExpression source(BooleanExpression expression) {
+      return expression instanceof CompiledExpression compiled ? compiled.expression : expression;
+   }
+
+   /**
+    * Compiles an operand, folding it into a constant if it doesn't depend on the message.
+    */
+   private static Operand operand(Expression expression) {
+      if (expression instanceof ConstantExpression constant) {
+         return new Operand(null, null, true, constant.getValue());
+      }
+      if (isConstant(expression)) {
+         try {
+            return new Operand(null, null, true, expression.evaluate(null));
+         } catch (Exception e) {
+            // leave it to the evaluation to fail
+            return new Operand(null, expression, false, null);
+         }
+      }
+      if (expression instanceof PropertyExpression property) {
+         return new Operand(SimpleString.of(property.getName()), null, false, null);
+      }
+      if (expression instanceof ArithmeticExpression arithmetic) {
+         final Operand left = operand(arithmetic.getLeft());
+         final Operand right = operand(arithmetic.getRight());
+         return new Operand(null, message -> {
+            final Object lvalue = left.get(message);
+            if (lvalue == null) {
+               return null;
+            }
+            final Object rvalue = right.get(message);
+            if (rvalue == null) {
+               return null;
+            }
+            return arithmetic.evaluate(lvalue, rvalue);
+         }, false, null);
+      }
+      return new Operand(null, expression, false, null);
+   }
+
+   static boolean isConstant(Expression expression) {
+      if (expression instanceof ConstantExpression) {
+         return true;
+      }
+      if (expression instanceof ArithmeticExpression arithmetic) {
+         return isConstant(arithmetic.getLeft()) && isConstant(arithmetic.getRight());
+      }
+      if (expression instanceof UnaryExpression unary && !(expression instanceof BooleanExpression) && "-".equals(unary.getExpressionSymbol())) {
+         return isConstant(unary.getRight());
+      }
+      return false;
+   }
+
+   private static int toCondition(Object value) {
+      if (value == Boolean.TRUE) {
+         return TRUE;
+      }
+      if (value == null) {
+         return UNKNOWN;
+      }
+      return ((Boolean) value) ? TRUE : FALSE;
+   }
+
+   private static int toCondition(boolean value) {
+      return value ? TRUE : FALSE;
+   }
+
+   private static boolean apply(int operator, int answer) {
+      return switch (operator) {
+         case GREATER_THAN -> answer > 0;
+         case GREATER_THAN_EQUAL -> answer >= 0;
+         case LESS_THAN -> answer < 0;
+         default -> answer <= 0;
+      };
+   }
+
+   /**
+    * A value of the selector: a message property, a constant or any other expression.
+    */
+   private static final class Operand {
+
+      private final SimpleString property;
+      private final Expression expression;
+      private final boolean constant;
+      private final Object value;
+
+      private Operand(SimpleString property, Expression expression, boolean constant, Object value) {
+         this.property = property;
+         this.expression = expression;
+         this.constant = constant;
+         this.value = value;
+      }
+
+      Object get(Filterable message) throws FilterException {
+         if (property != null) {
+            return message.getProperty(property);
+         }
+         if (constant) {
+            return value;
+         }
+         return expression.evaluate(message);
+      }
+   }
+
+   private abstract static class Node {
+
+      /**
+       * {@return {@link #TRUE}, {@link #FALSE} or {@link #UNKNOWN}, as {@link Expression#evaluate(Filterable)}}
+       */
+      abstract int test(Filterable message) throws FilterException;
+
+      /**
+       * As {@link BooleanExpression#matches(Filterable)}.
+       */
+      abstract boolean matches(Filterable message) throws FilterException;
+   }
+
+   private static final class ConstantNode extends Node {
+
+      private final int value;
+
+      private ConstantNode(int value) {
+         this.value = value;
+      }
+
+      @Override
+      int test(Filterable message) {
+         return value;
+      }
+
+      @Override
+      boolean matches(Filterable message) {
+         return value == TRUE;
+      }
+   }
+
+   private static final class AndNode extends Node {
+
+      private final Node[] nodes;
+
+      private AndNode(Node[] nodes) {
+         this.nodes = nodes;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         boolean unknown = false;
+         for (Node node : nodes) {
+            final int value = node.test(message);
+            if (value == FALSE) {
+               return FALSE;
+            }
+            unknown |= value == UNKNOWN;
+         }
+         return unknown ? UNKNOWN : TRUE;
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         for (Node node : nodes) {
+            if (!node.matches(message)) {
+               return false;
+            }
+         }
+         return true;
+      }
+   }
+
+   private static final class OrNode extends Node {
+
+      private final Node[] nodes;
+
+      private OrNode(Node[] nodes) {
+         this.nodes = nodes;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         boolean unknown = false;
+         for (Node node : nodes) {
+            final int value = node.test(message);
+            if (value == TRUE) {
+               return TRUE;
+            }
+            unknown |= value == UNKNOWN;
+         }
+         return unknown ? UNKNOWN : FALSE;
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         for (Node node : nodes) {
+            if (node.matches(message)) {
+               return true;
+            }
+         }
+         return false;
+      }
+   }
+
+   private static final class NotNode extends Node {
+
+      private final Node node;
+
+      private NotNode(Node node) {
+         this.node = node;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final int value = node.test(message);
+         return value == UNKNOWN ? UNKNOWN : value ^ 1;
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         // NOT NULL returns NULL that eventually fails the selector
+         return node.test(message) == FALSE;
+      }
+   }
+
+   private static final class LikeNode extends Node {
+
+      private final Operand operand;
+      private final Pattern pattern;
+
+      private LikeNode(Operand operand, Pattern pattern) {
+         this.operand = operand;
+         this.pattern = pattern;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object rv = operand.get(message);
+         if (rv == null) {
+            return UNKNOWN;
+         }
+         if (!(rv instanceof String string)) {
+            return FALSE;
+         }
+         return toCondition(pattern.matcher(string).matches());
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return test(message) == TRUE;
+      }
+   }
+
+   private static final class InNode extends Node {
+
+      private final Operand operand;
+      private final Collection<Object> inList;
+      private final boolean not;
+
+      private InNode(Operand operand, Collection<Object> inList, boolean not) {
+         this.operand = operand;
+         this.inList = inList;
+         this.not = not;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object rv = operand.get(message);
+         if (rv == null || rv.getClass() != String.class) {
+            return UNKNOWN;
+         }
+         return toCondition(inList.contains(rv) ^ not);
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return test(message) == TRUE;
+      }
+   }
+
+   private static final class BooleanCastNode extends Node {
+
+      private final Operand operand;
+
+      private BooleanCastNode(Operand operand) {
+         this.operand = operand;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object rv = operand.get(message);
+         if (rv == null) {
+            return UNKNOWN;
+         }
+         if (rv.getClass() != Boolean.class) {
+            return FALSE;
+         }
+         return toCondition((boolean) (Boolean) rv);
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return test(message) == TRUE;
+      }
+   }
+
+   private static final class IsNullNode extends Node {
+
+      private final Operand operand;
+
+      private IsNullNode(Operand operand) {
+         this.operand = operand;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         return toCondition(operand.get(message) == null);
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return operand.get(message) == null;
+      }
+   }
+
+   /**
+    * An equality with a non-null constant.
+    */
+   private static final class EqualNode extends Node {
+
+      private final ComparisonExpression comparison;
+      private final Operand operand;
+      private final Object constant;
+      private final Class<?> constantClass;
+      private final boolean comparable;
+      // compareTo is consistent with equals for these types: there is no need to compare values of the same class
+      private final boolean consistent;
+
+      private EqualNode(ComparisonExpression comparison, Operand operand, Object constant) {
+         this.comparison = comparison;
+         this.operand = operand;
+         this.constant = constant;
+         this.constantClass = constant.getClass();
+         this.comparable = constant instanceof Comparable;
+         this.consistent = constantClass == String.class || constantClass == Integer.class || constantClass == Long.class ||
+            constantClass == Double.class || constantClass == Boolean.class;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object lv = operand.get(message);
+         if (lv == null) {
+            return UNKNOWN;
+         }
+         if (lv == constant || lv.equals(constant)) {
+            return TRUE;
+         }
+         if (consistent && lv.getClass() == constantClass) {
+            return FALSE;
+         }
+         if (comparable && lv instanceof Comparable l) {
+            return toCondition(comparison.compare(l, (Comparable) constant));
+         }
+         return FALSE;
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         final Object lv = operand.get(message);
+         if (lv == null) {
+            return false;
+         }
+         if (lv == constant || lv.equals(constant)) {
+            return true;
+         }
+         if (lv.getClass() == constantClass) {
+            // same class, but 'equals' return false, and they are not the same object
+            return false;
+         }
+         if (comparable && lv instanceof Comparable l) {
+            return comparison.compare(l, (Comparable) constant) == Boolean.TRUE;
+         }
+         return false;
+      }
+   }
+
+   /**
+    * Compares with an {@code Integer} or {@code Long} constant on primitives, following the same widening rules of
+    * {@link ComparisonExpression#compare(Comparable, Comparable)}, which is used for any other type.
+    */
+   private static final class IntegralComparisonNode extends Node {
+
+      private final ComparisonExpression comparison;
+      private final Operand operand;
+      private final int operator;
+      private final Comparable constant;
+      private final long longValue;
+      private final double doubleValue;
+
+      private IntegralComparisonNode(ComparisonExpression comparison, Operand operand, int operator, Number constant) {
+         this.comparison = comparison;
+         this.operand = operand;
+         this.operator = operator;
+         this.constant = (Comparable) constant;
+         this.longValue = constant.longValue();
+         this.doubleValue = constant.doubleValue();
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object lv = operand.get(message);
+         if (lv == null) {
+            return UNKNOWN;
+         }
+         final Class<?> lc = lv.getClass();
+         if (lc == Integer.class || lc == Long.class || lc == Short.class || lc == Byte.class) {
+            return toCondition(apply(operator, Long.compare(((Number) lv).longValue(), longValue)));
+         }
+         if (lc == Double.class) {
+            return toCondition(apply(operator, Double.compare((Double) lv, doubleValue)));
+         }
+         return toCondition(comparison.compare((Comparable) lv, constant));
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return test(message) == TRUE;
+      }
+   }
+
+   /**
+    * Compares with a {@code Double} constant on primitives, following the same widening rules of
+    * {@link ComparisonExpression#compare(Comparable, Comparable)}, which is used for any other type.
+    */
+   private static final class DoubleComparisonNode extends Node {
+
+      private final ComparisonExpression comparison;
+      private final Operand operand;
+      private final int operator;
+      private final Comparable constant;
+      private final double doubleValue;
+
+      private DoubleComparisonNode(ComparisonExpression comparison, Operand operand, int operator, Number constant) {
+         this.comparison = comparison;
+         this.operand = operand;
+         this.operator = operator;
+         this.constant = (Comparable) constant;
+         this.doubleValue = constant.doubleValue();
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object lv = operand.get(message);
+         if (lv == null) {
+            return UNKNOWN;
+         }
+         final Class<?> lc = lv.getClass();
+         if (lc == Double.class || lc == Integer.class || lc == Long.class || lc == Float.class || lc == Short.class || lc == Byte.class) {
+            return toCondition(apply(operator, Double.compare(((Number) lv).doubleValue(), doubleValue)));
+         }
+         return toCondition(comparison.compare((Comparable) lv, constant));
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return test(message) == TRUE;
+      }
+   }
+
+   private static final class ComparisonNode extends Node {
+
+      private final ComparisonExpression comparison;
+      private final Operand left;
+      private final Operand right;
+
+      private ComparisonNode(ComparisonExpression comparison, Operand left, Operand right) {
+         this.comparison = comparison;
+         this.left = left;
+         this.right = right;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Comparable lv = (Comparable) left.get(message);
+         if (lv == null) {
+            return UNKNOWN;
+         }
+         final Comparable rv = (Comparable) right.get(message);
+         if (rv == null) {
+            return UNKNOWN;
+         }
+         return toCondition(comparison.compare(lv, rv));
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return test(message) == TRUE;
+      }
+   }
+
+   /**
+    * An expression the compiler doesn't know about, evaluated as it is.
+    */
+   private static final class InterpretedNode extends Node {
+
+      private final BooleanExpression expression;
+
+      private InterpretedNode(BooleanExpression expression) {
+         this.expression = expression;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         return toCondition(expression.evaluate(message));
+      }
+
+      @Override
+      boolean matches(Filterable message) throws FilterException {
+         return expression.matches(message);
+      }
+   }
+
+   private static final class CompiledExpression implements BooleanExpression {
+
+      private final BooleanExpression expression;
+      private final Node node;
+
+      private CompiledExpression(BooleanExpression expression, Node node) {
+         this.expression = expression;
+         this.node = node;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         return switch (node.test(message)) {
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            default -> null;
+         };
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return node.matches(message);
+      }
+
+      @Override
+      public int hashCode() {
+         return expression.hashCode();
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) {
+            return true;
+         }
+         if (o instanceof CompiledExpression other) {
+            return expression.equals(other.expression);
+         }
+         return false;
+      }
+
+      @Override
+      public String toString() {
+         return expression.toString();
+      }
+   }
+}
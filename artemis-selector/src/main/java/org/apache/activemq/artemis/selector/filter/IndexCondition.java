@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A condition on a single property that every message matched by a selector satisfies, used to index selectors by
+ * property value.
+ * <p>
+ * The condition is either one of a set of {@code String} values, from {@code =}, {@code IN} or an {@code OR} of them,
+ * or a numeric range, from {@code <}, {@code <=}, {@code >}, {@code >=} or {@code BETWEEN}. Ranges always include their
+ * bounds: a message satisfying the condition isn't necessarily matched by the selector, which must still be evaluated.
+ */
+public final class IndexCondition {
+
+   private final String property;
+   private final Set<String> values;
+   private final double lowerBound;
+   private final double upperBound;
+
+   private IndexCondition(String property, Set<String> values, double lowerBound, double upperBound) {
+      this.property = property;
+      this.values = values;
+      this.lowerBound = lowerBound;
+      this.upperBound = upperBound;
+   }
+
+   /**
+    * {@return the condition satisfied by every message matched by {@code expression}, or {@code null} if there is none}
+    */
+   public static IndexCondition of(BooleanExpression expression) {
+      expression = ExpressionCompiler.source(expression);
+      if (expression instanceof LogicExpression logic) {
+         return "AND".equals(logic.getExpressionSymbol()) ? and(logic) : or(logic);
+      }
+      if (expression instanceof ComparisonExpression comparison) {
+         return comparison(comparison);
+      }
+      if (expression instanceof UnaryExpression.InExpression in && !in.not) {
+         final Set<String> values = new HashSet<>();
+         for (Object value : in.inList) {
+            if (!(value instanceof String string)) {
+               return null;
+            }
+            values.add(string);
+         }
+         return new IndexCondition(((PropertyExpression) in.getRight()).getName(), values, Double.NaN, Double.NaN);
+      }
+      return null;
+   }
+
+   /**
+    * Any condition of the operands is a condition of the whole expression: an equality is preferred over a range, and
+    * the ranges on the same property are intersected.
+    */
+   private static IndexCondition and(LogicExpression logic) {
+      IndexCondition range = null;
+      for (BooleanExpression expression : logic.expressions) {
+         final IndexCondition condition = of(expression);
+         if (condition == null) {
+            continue;
+         }
+         if (condition.isEquality()) {
+            return condition;
+         }
+         if (range == null) {
+            range = condition;
+         } else if (range.property.equals(condition.property)) {
+            range = new IndexCondition(range.property, null, Math.max(range.lowerBound, condition.lowerBound), Math.min(range.upperBound, condition.upperBound));
+         }
+      }
+      return range;
+   }
+
+   /**
+    * Only an {@code OR} of equalities on the same property has a condition: the union of their values.
+    */
+   private static IndexCondition or(LogicExpression logic) {
+      String property = null;
+      final Set<String> values = new HashSet<>();
+      for (BooleanExpression expression : logic.expressions) {
+         final IndexCondition condition = of(expression);
+         if (condition == null || !condition.isEquality() || (property != null && !property.equals(condition.property))) {
+            return null;
+         }
+         property = condition.property;
+         values.addAll(condition.values);
+      }
+      return new IndexCondition(property, values, Double.NaN, Double.NaN);
+   }
+
+   private static IndexCondition comparison(ComparisonExpression comparison) {
+      if (comparison.convertStringExpressions) {
+         // values of other types may be converted to match
+         return null;
+      }
+      final boolean propertyOnLeft;
+      final PropertyExpression property;
+      final Expression other;
+      if (comparison.getLeft() instanceof PropertyExpression left) {
+         propertyOnLeft = true;
+         property = left;
+         other = comparison.getRight();
+      } else if (comparison.getRight() instanceof PropertyExpression right) {
+         propertyOnLeft = false;
+         property = right;
+         other = comparison.getLeft();
+      } else {
+         return null;
+      }
+      if (!ExpressionCompiler.isConstant(other)) {
+         return null;
+      }
+      final Object constant;
+      try {
+         constant = other.evaluate(null);
+      } catch (Exception e) {
+         return null;
+      }
+      final String symbol = comparison.getExpressionSymbol();
+      if ("=".equals(symbol)) {
+         if (constant instanceof String string) {
+            return new IndexCondition(property.getName(), Set.of(string), Double.NaN, Double.NaN);
+         }
+         return null;
+      }
+      if (!(constant instanceof Integer || constant instanceof Long || constant instanceof Double)) {
+         return null;
+      }
+      final double bound = ((Number) constant).doubleValue();
+      final boolean lower = switch (symbol) {
+         case ">", ">=" -> propertyOnLeft;
+         case "<", "<=" -> !propertyOnLeft;
+         default -> throw new IllegalStateException("Unexpected comparison " + symbol);
+      };
+      return lower ? new IndexCondition(property.getName(), null, bound, Double.POSITIVE_INFINITY) :
+         new IndexCondition(property.getName(), null, Double.NEGATIVE_INFINITY, bound);
+   }
+
+   public String getProperty() {
+      return property;
+   }
+
+   /**
+    * {@return {@code true} if the property must be one of {@link #getValues()}, {@code false} if it must be within
+    * {@link #getLowerBound()} and {@link #getUpperBound()}}
+    */
+   public boolean isEquality() {
+      return values != null;
+   }
+
+   public Set<String> getValues() {
+      return values;
+   }
+
+   /**
+    * {@return the lowest value of the range, possibly {@link Double#NEGATIVE_INFINITY}}
+    */
+   public double getLowerBound() {
+      return lowerBound;
+   }
+
+   /**
+    * {@return the highest value of the range, possibly {@link Double#POSITIVE_INFINITY}}
+    */
+   public double getUpperBound() {
+      return upperBound;
+   }
+
+   @Override
+   public String toString() {
+      if (isEquality()) {
+         return property + " IN " + values;
+      }
+      return property + " BETWEEN " + lowerBound + " AND " + upperBound;
+   }
+}
@@ -66,51 +66,63 @@ public abstract class UnaryExpression implements Expression {
          inList = new HashSet<>(elements);
       }
 
-      return new BooleanUnaryExpression(right) {
-         @Override
-         public Object evaluate(Filterable message) throws FilterException {
+      return new InExpression(right, inList, not);
+   }
 
-            Object rvalue = right.evaluate(message);
-            if (rvalue == null) {
-               return null;
-            }
-            if (rvalue.getClass() != String.class) {
-               return null;
-            }
+   static class InExpression extends BooleanUnaryExpression {
 
-            return inList.contains(rvalue) ^ not;
-         }
+      final Collection<Object> inList;
+      final boolean not;
 
-         @Override
-         public String toString() {
-            StringBuilder answer = new StringBuilder();
-            answer.append(right);
-            answer.append(" ");
-            answer.append(getExpressionSymbol());
-            answer.append(" ( ");
-
-            int count = 0;
-            for (Object o : inList) {
-               if (count != 0) {
-                  answer.append(", ");
-               }
-               answer.append(o);
-               count++;
-            }
+      InExpression(PropertyExpression right, Collection<Object> inList, boolean not) {
+         super(right);
+         this.inList = inList;
+         this.not = not;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
 
-            answer.append(" )");
-            return answer.toString();
+         Object rvalue = right.evaluate(message);
+         if (rvalue == null) {
+            return null;
+         }
+         if (rvalue.getClass() != String.class) {
+            return null;
          }
 
-         @Override
-         public String getExpressionSymbol() {
-            if (not) {
-               return "NOT IN";
-            } else {
-               return "IN";
+         return inList.contains(rvalue) ^ not;
+      }
+
+      @Override
+      public String toString() {
+         StringBuilder answer = new StringBuilder();
+         answer.append(right);
+         answer.append(" ");
+         answer.append(getExpressionSymbol());
+         answer.append(" ( ");
+
+         int count = 0;
+         for (Object o : inList) {
+            if (count != 0) {
+               answer.append(", ");
             }
+            answer.append(o);
+            count++;
          }
-      };
+
+         answer.append(" )");
+         return answer.toString();
+      }
+
+      @Override
+      public String getExpressionSymbol() {
+         if (not) {
+            return "NOT IN";
+         } else {
+            return "IN";
+         }
+      }
    }
 
    abstract static class BooleanUnaryExpression extends UnaryExpression implements BooleanExpression {
@@ -127,31 +139,38 @@ public abstract class UnaryExpression implements Expression {
    }
 
    public static BooleanExpression createNOT(BooleanExpression left) {
-      return new BooleanUnaryExpression(left) {
-         @Override
-         public Object evaluate(Filterable message) throws FilterException {
-            Boolean lvalue = (Boolean) right.evaluate(message);
-            if (lvalue == null) {
-               return null;
-            }
-            return !lvalue.booleanValue();
-         }
+      return new NotExpression(left);
+   }
 
-         @Override
-         public boolean matches(Filterable message) throws FilterException {
-            Boolean lvalue = (Boolean) right.evaluate(message);
-            if (lvalue == null) {
-               // NOT NULL returns NULL that eventually fails the selector
-               return false;
-            }
-            return !lvalue;
+   static class NotExpression extends BooleanUnaryExpression {
+
+      NotExpression(BooleanExpression left) {
+         super(left);
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Boolean lvalue = (Boolean) right.evaluate(message);
+         if (lvalue == null) {
+            return null;
          }
+         return !lvalue.booleanValue();
+      }
 
-         @Override
-         public String getExpressionSymbol() {
-            return "NOT";
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         Boolean lvalue = (Boolean) right.evaluate(message);
+         if (lvalue == null) {
+            // NOT NULL returns NULL that eventually fails the selector
+            return false;
          }
-      };
+         return !lvalue;
+      }
+
+      @Override
+      public String getExpressionSymbol() {
+         return "NOT";
+      }
    }
 
    public static BooleanExpression createXPath(final String xpath) {
@@ -163,29 +182,36 @@ public abstract class UnaryExpression implements Expression {
    }
 
    public static BooleanExpression createBooleanCast(Expression left) {
-      return new BooleanUnaryExpression(left) {
-         @Override
-         public Object evaluate(Filterable message) throws FilterException {
-            Object rvalue = right.evaluate(message);
-            if (rvalue == null) {
-               return null;
-            }
-            if (!rvalue.getClass().equals(Boolean.class)) {
-               return Boolean.FALSE;
-            }
-            return ((Boolean) rvalue).booleanValue();
-         }
+      return new BooleanCastExpression(left);
+   }
 
-         @Override
-         public String toString() {
-            return right.toString();
-         }
+   static class BooleanCastExpression extends BooleanUnaryExpression {
 
-         @Override
-         public String getExpressionSymbol() {
-            return "";
+      BooleanCastExpression(Expression left) {
+         super(left);
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object rvalue = right.evaluate(message);
+         if (rvalue == null) {
+            return null;
          }
-      };
+         if (!rvalue.getClass().equals(Boolean.class)) {
+            return Boolean.FALSE;
+         }
+         return ((Boolean) rvalue).booleanValue();
+      }
+
+      @Override
+      public String toString() {
+         return right.toString();
+      }
+
+      @Override
+      public String getExpressionSymbol() {
+         return "";
+      }
    }
 
    private static Number negate(Number left) {
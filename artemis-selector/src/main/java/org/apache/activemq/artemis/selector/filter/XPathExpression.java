@@ -61,6 +61,9 @@ public final class XPathExpression implements BooleanExpression {
       XPathEvaluator create(String xpath);
    }
 
+   /**
+    * Evaluates an XPath expression, possibly from many threads at once.
+    */
    public interface XPathEvaluator {
       boolean evaluate(Filterable message) throws FilterException;
    }
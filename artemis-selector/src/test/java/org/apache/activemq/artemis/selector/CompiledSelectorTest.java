@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector;
+
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Runs the {@link SelectorTest} selectors compiled by {@link ExpressionCompiler}.
+ */
+public class CompiledSelectorTest extends SelectorTest {
+
+   @Test
+   public void testNumericWidening() throws Exception {
+      MockMessage message = createMessage();
+
+      for (String prop : new String[]{"byteProp", "shortProp", "intProp", "longProp", "floatProp", "doubleProp"}) {
+         assertSelector(message, prop + " > 122", true);
+         assertSelector(message, prop + " >= 123", true);
+         assertSelector(message, prop + " < 123.5", true);
+         assertSelector(message, prop + " <= 122.9", false);
+         assertSelector(message, prop + " = 123", true);
+         assertSelector(message, prop + " = 123.0", true);
+         assertSelector(message, prop + " BETWEEN 100 AND 2 * 100", true);
+         assertSelector(message, prop + " > -(-200)", false);
+      }
+      assertSelector(message, "name > 1", false);
+      assertSelector(message, "trueProp = 1", false);
+      assertSelector(message, "name = 1", false);
+   }
+
+   @Test
+   public void testCompileIsIdempotent() throws Exception {
+      BooleanExpression compiled = ExpressionCompiler.compile(SelectorParser.parse("name = 'James'"));
+      assertSame(compiled, ExpressionCompiler.compile(compiled));
+      assertEquals(SelectorParser.parse("name = 'James'").toString(), compiled.toString());
+   }
+
+   @Override
+   protected void assertSelector(MockMessage message, String text, boolean expected) throws FilterException {
+      BooleanExpression interpreted = SelectorParser.parse(text);
+      BooleanExpression selector = ExpressionCompiler.compile(SelectorParser.parse(text));
+      assertNotNull(selector, "Created a valid selector");
+      assertEquals(expected, selector.matches(message), "Selector for: " + text);
+      assertEquals(interpreted.evaluate(message), selector.evaluate(message), "Selector for: " + text);
+   }
+}
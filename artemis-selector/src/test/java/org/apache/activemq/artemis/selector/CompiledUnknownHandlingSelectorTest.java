@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector;
+
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the {@link UnknownHandlingSelectorTest} selectors compiled by {@link ExpressionCompiler}.
+ */
+public class CompiledUnknownHandlingSelectorTest extends UnknownHandlingSelectorTest {
+
+   @Override
+   protected void assertSelector(String text, boolean expected) throws FilterException {
+      BooleanExpression interpreted = SelectorParser.parse(text);
+      BooleanExpression selector = ExpressionCompiler.compile(SelectorParser.parse(text));
+      assertEquals(expected, selector.matches(message), "Selector for: " + text);
+      assertEquals(interpreted.evaluate(message), selector.evaluate(message), "Selector for: " + text);
+   }
+}
@@ -27,7 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 public class UnknownHandlingSelectorTest {
 
-   private MockMessage message;
+   protected MockMessage message;
 
    @BeforeEach
    public void setUp() throws Exception {
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+public class IndexConditionTest {
+
+   @Test
+   public void testEquality() throws Exception {
+      assertEquality("region = 'EU'", "region", "EU");
+      assertEquality("'EU' = region", "region", "EU");
+      assertEquality("region IN ('EU', 'US')", "region", "EU", "US");
+      assertEquality("region = 'EU' OR region IN ('US', 'APAC')", "region", "EU", "US", "APAC");
+      assertEquality("price > 10 AND region = 'EU' AND type = 'order'", "region", "EU");
+      assertEquality("(region = 'EU' AND price > 10) OR (region = 'US' AND price < 5)", "region", "EU", "US");
+   }
+
+   @Test
+   public void testRange() throws Exception {
+      assertRange("price > 10", "price", 10, Double.POSITIVE_INFINITY);
+      assertRange("price >= 10", "price", 10, Double.POSITIVE_INFINITY);
+      assertRange("price < 10.5", "price", Double.NEGATIVE_INFINITY, 10.5);
+      assertRange("10 > price", "price", Double.NEGATIVE_INFINITY, 10);
+      assertRange("price BETWEEN 5 AND 2 * 10", "price", 5, 20);
+      assertRange("price > -5 AND price <= 10 AND quantity > 100", "price", -5, 10);
+   }
+
+   @Test
+   public void testNoCondition() throws Exception {
+      assertNoCondition("region <> 'EU'");
+      assertNoCondition("region NOT IN ('EU', 'US')");
+      assertNoCondition("region LIKE 'E%'");
+      assertNoCondition("region = 'EU' OR type = 'order'");
+      assertNoCondition("region = 'EU' OR price > 10");
+      assertNoCondition("price NOT BETWEEN 5 AND 10");
+      assertNoCondition("price = 10");
+      assertNoCondition("price + 1 > 10");
+      assertNoCondition("price > quantity");
+      assertNoCondition("region IS NULL");
+      assertNoCondition("convert_string_expressions:region = 'EU'");
+   }
+
+   @Test
+   public void testCompiled() throws Exception {
+      IndexCondition condition = IndexCondition.of(ExpressionCompiler.compile(SelectorParser.parse("region = 'EU'")));
+      assertTrue(condition.isEquality());
+      assertEquals(Set.of("EU"), condition.getValues());
+   }
+
+   private static void assertEquality(String selector, String property, String... values) throws Exception {
+      IndexCondition condition = IndexCondition.of(SelectorParser.parse(selector));
+      assertTrue(condition.isEquality(), selector);
+      assertEquals(property, condition.getProperty(), selector);
+      assertEquals(Set.of(values), condition.getValues(), selector);
+   }
+
+   private static void assertRange(String selector, String property, double lowerBound, double upperBound) throws Exception {
+      IndexCondition condition = IndexCondition.of(SelectorParser.parse(selector));
+      assertFalse(condition.isEquality(), selector);
+      assertEquals(property, condition.getProperty(), selector);
+      assertEquals(lowerBound, condition.getLowerBound(), selector);
+      assertEquals(upperBound, condition.getUpperBound(), selector);
+   }
+
+   private static void assertNoCondition(String selector) throws Exception {
+      assertNull(IndexCondition.of(SelectorParser.parse(selector)), selector);
+   }
+}
@@ -671,6 +671,32 @@ public interface Configuration {
     */
    Configuration setReadWholePage(boolean read);
 
+   /**
+    * {@return the maximum memory, in bytes, held by the direct buffers that every address shares to read and write
+    * page files, or -1 to keep a buffer per thread; default is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_PAGE_BUFFER_POOL_SIZE}}
+    */
+   long getPageBufferPoolSize();
+
+   /**
+    * Sets the maximum memory, in bytes, held by the direct buffers that every address shares to read and write page
+    * files.
+    */
+   Configuration setPageBufferPoolSize(long size);
+
+   /**
+    * {@return the maximum memory, in bytes, estimated from their decoded messages, of the pages that are kept across
+    * all addresses once no cursor uses them, or -1 to drop them as soon as they are released; default is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_GLOBAL_PAGE_CACHE_SIZE}}
+    */
+   long getGlobalPageCacheSize();
+
+   /**
+    * Sets the maximum memory, in bytes, estimated from their decoded messages, of the pages that are kept across all
+    * addresses once no cursor uses them.
+    */
+   Configuration setGlobalPageCacheSize(long size);
+
    /**
     * {@return the file system directory used to store journal log; default is {@link
     * ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_DIR}}
@@ -778,6 +804,40 @@ public interface Configuration {
     */
    Configuration setJournalCompactMinFiles(int minFiles);
 
+   /**
+    * {@return how many files worth of dead records the message journal may hold before it is compacted, regardless of
+    * the compact percentage; default value is {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_COMPACT_MAX_DEAD_FILES}}
+    */
+   int getJournalCompactMaxDeadFiles();
+
+   /**
+    * Sets how many files worth of dead records the message journal may hold before it is compacted. This bounds the
+    * amount of data replayed on restart. Use {@code -1} to disable.
+    */
+   Configuration setJournalCompactMaxDeadFiles(int maxDeadFiles);
+
+   /**
+    * {@return whether the message journal keeps its index of live records off-heap; default value is
+    * {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_OFF_HEAP_RECORD_INDEX}}
+    */
+   boolean isJournalOffHeapRecordIndex();
+
+   /**
+    * Sets whether the message journal keeps its index of live records off-heap.
+    */
+   Configuration setJournalOffHeapRecordIndex(boolean offHeap);
+
+   /**
+    * {@return how many journals, each with its own files, buffer and syncs, the message journal is striped across;
+    * default value is {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_STRIPES}}
+    */
+   int getJournalStripes();
+
+   /**
+    * Sets how many journals the message journal is striped across. Records are spread over the stripes by id.
+    */
+   Configuration setJournalStripes(int stripes);
+
    /**
     * Number of files that would be acceptable to keep on a pool; default is
     * {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_POOL_FILES}}
@@ -894,6 +954,17 @@ public interface Configuration {
     */
    Configuration setJournalBufferTimeout_NIO(int journalBufferTimeout);
 
+   /**
+    * {@return whether the journal buffer tunes its flush timeout from the observed sync rate and latency, using the
+    * configured timeout as upper bound; default is {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_BUFFER_ADAPTIVE_TIMEOUT}}
+    */
+   boolean isJournalBufferAdaptiveTimeout();
+
+   /**
+    * Sets whether the journal buffer tunes its flush timeout from the observed sync rate and latency.
+    */
+   Configuration setJournalBufferAdaptiveTimeout(boolean adaptive);
+
    /**
     * {@return the buffer size (in bytes) for NIO; default is {@link
     * org.apache.activemq.artemis.ArtemisConstants#DEFAULT_JOURNAL_BUFFER_SIZE_NIO}}
@@ -917,6 +988,18 @@ public interface Configuration {
     */
    Configuration setJournalMaxAtticFiles(int maxAtticFiles);
 
+   /**
+    * {@return the number of journal files read and parsed concurrently while loading the message journal; default
+    * value is {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_LOAD_THREADS}}
+    */
+   int getJournalLoadThreads();
+
+   /**
+    * Sets the number of journal files read and parsed concurrently while loading the message journal. Records are
+    * still processed in journal order.
+    */
+   Configuration setJournalLoadThreads(int journalLoadThreads);
+
    /**
     * {@return whether the bindings directory is created on this server startup; default is {@link
     * ActiveMQDefaultConfiguration#DEFAULT_CREATE_BINDINGS_DIR}}
@@ -32,6 +32,7 @@ public class MetricsConfiguration implements Serializable {
    private boolean uptime = ActiveMQDefaultConfiguration.getDefaultUptimeMetrics();
    private boolean logging = ActiveMQDefaultConfiguration.getDefaultLoggingMetrics();
    private boolean securityCaches = ActiveMQDefaultConfiguration.getDefaultSecurityCacheMetrics();
+   private boolean selectorCache = ActiveMQDefaultConfiguration.getDefaultSelectorCacheMetrics();
    private ActiveMQMetricsPlugin plugin;
 
    public boolean isJvmMemory() {
@@ -123,4 +124,13 @@ public class MetricsConfiguration implements Serializable {
       this.securityCaches = securityCaches;
       return this;
    }
+
+   public boolean isSelectorCache() {
+      return selectorCache;
+   }
+
+   public MetricsConfiguration setSelectorCache(boolean selectorCache) {
+      this.selectorCache = selectorCache;
+      return this;
+   }
 }
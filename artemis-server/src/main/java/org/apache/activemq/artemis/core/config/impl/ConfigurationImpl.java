@@ -257,6 +257,10 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean readWholePage = ActiveMQDefaultConfiguration.isDefaultReadWholePage();
 
+   private long pageBufferPoolSize = ActiveMQDefaultConfiguration.getDefaultPageBufferPoolSize();
+
+   private long globalPageCacheSize = ActiveMQDefaultConfiguration.getDefaultGlobalPageCacheSize();
+
    protected String largeMessagesDirectory = ActiveMQDefaultConfiguration.getDefaultLargeMessagesDir();
 
    protected String bindingsDirectory = ActiveMQDefaultConfiguration.getDefaultBindingsDirectory();
@@ -285,6 +289,12 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalCompactMinFiles = ActiveMQDefaultConfiguration.getDefaultJournalCompactMinFiles();
 
+   protected int journalCompactMaxDeadFiles = ActiveMQDefaultConfiguration.getDefaultJournalCompactMaxDeadFiles();
+
+   protected boolean journalOffHeapRecordIndex = ActiveMQDefaultConfiguration.isDefaultJournalOffHeapRecordIndex();
+
+   protected int journalStripes = ActiveMQDefaultConfiguration.getDefaultJournalStripes();
+
    protected int journalCompactPercentage = ActiveMQDefaultConfiguration.getDefaultJournalCompactPercentage();
 
    protected int journalFileOpenTimeout = ActiveMQDefaultConfiguration.getDefaultJournalFileOpenTimeout();
@@ -297,6 +307,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalMaxAtticFilesFiles = ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles();
 
+   protected int journalLoadThreads = ActiveMQDefaultConfiguration.getDefaultJournalLoadThreads();
+
    // AIO and NIO need different values for these attributes
 
    protected int journalMaxIO_AIO = ActiveMQDefaultConfiguration.getDefaultJournalMaxIoAio();
@@ -311,6 +323,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalBufferTimeout_NIO = ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio();
 
+   protected boolean journalBufferAdaptiveTimeout = ActiveMQDefaultConfiguration.isDefaultJournalBufferAdaptiveTimeout();
+
    protected int journalBufferSize_NIO = ActiveMQDefaultConfiguration.getDefaultJournalBufferSizeNio();
 
    protected boolean logJournalWriteRate = ActiveMQDefaultConfiguration.isDefaultJournalLogWriteRate();
@@ -1799,6 +1813,28 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public long getPageBufferPoolSize() {
+      return pageBufferPoolSize;
+   }
+
+   @Override
+   public ConfigurationImpl setPageBufferPoolSize(long size) {
+      pageBufferPoolSize = size;
+      return this;
+   }
+
+   @Override
+   public long getGlobalPageCacheSize() {
+      return globalPageCacheSize;
+   }
+
+   @Override
+   public ConfigurationImpl setGlobalPageCacheSize(long size) {
+      globalPageCacheSize = size;
+      return this;
+   }
+
    @Override
    public File getJournalLocation() {
       return subFolder(getJournalDirectory());
@@ -2216,6 +2252,39 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getJournalCompactMaxDeadFiles() {
+      return journalCompactMaxDeadFiles;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalCompactMaxDeadFiles(final int maxDeadFiles) {
+      journalCompactMaxDeadFiles = maxDeadFiles;
+      return this;
+   }
+
+   @Override
+   public boolean isJournalOffHeapRecordIndex() {
+      return journalOffHeapRecordIndex;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalOffHeapRecordIndex(final boolean offHeap) {
+      journalOffHeapRecordIndex = offHeap;
+      return this;
+   }
+
+   @Override
+   public int getJournalStripes() {
+      return journalStripes;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalStripes(final int stripes) {
+      journalStripes = stripes;
+      return this;
+   }
+
    @Override
    public int getJournalFileOpenTimeout() {
       return journalFileOpenTimeout;
@@ -2332,6 +2401,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isJournalBufferAdaptiveTimeout() {
+      return journalBufferAdaptiveTimeout;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalBufferAdaptiveTimeout(final boolean adaptive) {
+      journalBufferAdaptiveTimeout = adaptive;
+      return this;
+   }
+
    @Override
    public int getJournalBufferSize_NIO() {
       return journalBufferSize_NIO;
@@ -3472,6 +3552,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getJournalLoadThreads() {
+      return journalLoadThreads;
+   }
+
+   @Override
+   public Configuration setJournalLoadThreads(int journalLoadThreads) {
+      this.journalLoadThreads = journalLoadThreads;
+      return this;
+   }
+
    @Override
    public long getMqttSessionScanInterval() {
       return mqttSessionScanInterval;
@@ -396,6 +396,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String INITIAL_QUEUE_BUFFER_SIZE = "initial-queue-buffer-size";
 
+   private static final String DELIVERY_SHARDS = "delivery-shards";
+
+   private static final String SCHEDULED_DELIVERY_TIMING_WHEEL = "scheduled-delivery-timing-wheel";
+
    private boolean validateAIO = false;
 
    private boolean printPageMaxSizeUsed = false;
@@ -744,6 +748,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setReadWholePage(getBoolean(e, "read-whole-page", config.isReadWholePage()));
 
+      config.setPageBufferPoolSize(getTextBytesAsLongBytes(e, "page-buffer-pool-size", config.getPageBufferPoolSize(), MINUS_ONE_OR_GT_ZERO));
+
+      config.setGlobalPageCacheSize(getTextBytesAsLongBytes(e, "global-page-cache-size", config.getGlobalPageCacheSize(), MINUS_ONE_OR_GT_ZERO));
+
       config.setPagingDirectory(getString(e, "paging-directory", config.getPagingDirectory(), NOT_NULL_OR_EMPTY));
 
       config.setCreateJournalDir(getBoolean(e, "create-journal-dir", config.isCreateJournalDir()));
@@ -793,14 +801,24 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
          config.setJournalMaxIO_NIO(journalMaxIO);
       }
 
+      config.setJournalBufferAdaptiveTimeout(getBoolean(e, "journal-buffer-adaptive-timeout", config.isJournalBufferAdaptiveTimeout()));
+
       config.setJournalFileOpenTimeout(getInteger(e, "journal-file-open-timeout", ActiveMQDefaultConfiguration.getDefaultJournalFileOpenTimeout(), GT_ZERO));
 
+      config.setJournalLoadThreads(getInteger(e, "journal-load-threads", config.getJournalLoadThreads(), GT_ZERO));
+
       config.setJournalMinFiles(getInteger(e, "journal-min-files", config.getJournalMinFiles(), GT_ZERO));
 
       config.setJournalPoolFiles(getInteger(e, "journal-pool-files", config.getJournalPoolFiles(), MINUS_ONE_OR_GT_ZERO));
 
       config.setJournalCompactMinFiles(getInteger(e, "journal-compact-min-files", config.getJournalCompactMinFiles(), GE_ZERO));
 
+      config.setJournalCompactMaxDeadFiles(getInteger(e, "journal-compact-max-dead-files", config.getJournalCompactMaxDeadFiles(), MINUS_ONE_OR_GT_ZERO));
+
+      config.setJournalOffHeapRecordIndex(getBoolean(e, "journal-off-heap-record-index", config.isJournalOffHeapRecordIndex()));
+
+      config.setJournalStripes(getInteger(e, "journal-stripes", config.getJournalStripes(), GT_ZERO));
+
       config.setJournalCompactPercentage(getInteger(e, "journal-compact-percentage", config.getJournalCompactPercentage(), PERCENTAGE));
 
       config.setLogJournalWriteRate(getBoolean(e, "log-journal-write-rate", ActiveMQDefaultConfiguration.isDefaultJournalLogWriteRate()));
@@ -1033,6 +1051,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
                metricsConfiguration.setLogging(XMLUtil.parseBoolean(child));
             } else if (child.getNodeName().equals("security-caches")) {
                metricsConfiguration.setSecurityCaches(XMLUtil.parseBoolean(child));
+            } else if (child.getNodeName().equals("selector-cache")) {
+               metricsConfiguration.setSelectorCache(XMLUtil.parseBoolean(child));
             } else if (child.getNodeName().equals("plugin")) {
                metricsConfiguration.setPlugin(parseMetricsPlugin(child, config));
             }
@@ -1454,6 +1474,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setIDCacheSize(GE_ZERO.validate(ID_CACHE_SIZE, XMLUtil.parseInt(child)).intValue());
          } else if (INITIAL_QUEUE_BUFFER_SIZE.equalsIgnoreCase(name)) {
             addressSettings.setInitialQueueBufferSize(POSITIVE_POWER_OF_TWO.validate(INITIAL_QUEUE_BUFFER_SIZE, XMLUtil.parseInt(child)).intValue());
+         } else if (DELIVERY_SHARDS.equalsIgnoreCase(name)) {
+            addressSettings.setDeliveryShards(GT_ZERO.validate(DELIVERY_SHARDS, XMLUtil.parseInt(child)).intValue());
+         } else if (SCHEDULED_DELIVERY_TIMING_WHEEL.equalsIgnoreCase(name)) {
+            addressSettings.setScheduledDeliveryTimingWheel(XMLUtil.parseBoolean(child));
          }
       }
       return setting;
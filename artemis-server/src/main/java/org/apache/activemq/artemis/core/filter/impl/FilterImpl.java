@@ -18,6 +18,8 @@ package org.apache.activemq.artemis.core.filter.impl;
 
 import java.util.Map;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.FilterConstants;
 import org.apache.activemq.artemis.api.core.Message;
@@ -27,6 +29,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.federation.address.FederatedAddress;
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
@@ -53,11 +56,24 @@ import static org.apache.activemq.artemis.api.core.FilterConstants.NATIVE_MESSAG
  * <li>Any other identifiers that appear in a filter expression represent header values for the message
  * </ul>
  * String values must be set as {@code SimpleString}, not {@code java.lang.String}
+ * <p>
+ * The parsed expression is compiled by {@link ExpressionCompiler} before being used to match messages. Filters are
+ * immutable, so the filters created from the same string are shared through a bounded cache: consumers attaching with
+ * the same selector don't have to parse and compile it again. As a filter doesn't depend on the broker, the cache is
+ * shared by every broker of the JVM and sized by the {@code artemis.selector.cache.size} system property.
  */
 public class FilterImpl implements Filter {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   private static final long CACHE_SIZE = Long.parseLong(System.getProperty("artemis.selector.cache.size", "1000"));
+
+   private static final Cache<SimpleString, FilterImpl> cache = CACHE_SIZE > 0 ? Caffeine.newBuilder()
+                                                                                    .maximumSize(CACHE_SIZE)
+                                                                                    .executor(Runnable::run)
+                                                                                    .recordStats()
+                                                                                    .build() : null;
+
    private final SimpleString sfilterString;
 
    private final BooleanExpression booleanExpression;
@@ -79,15 +95,33 @@ public class FilterImpl implements Filter {
          return null;
       }
 
+      if (cache != null) {
+         final FilterImpl filter = cache.getIfPresent(filterStr);
+         if (filter != null) {
+            return filter;
+         }
+      }
+
       BooleanExpression booleanExpression;
       try {
-         booleanExpression = SelectorParser.parse(filterStr.toString());
+         booleanExpression = ExpressionCompiler.compile(SelectorParser.parse(filterStr.toString()));
       } catch (Throwable e) {
          ActiveMQServerLogger.LOGGER.invalidFilter(filterStr);
          logger.debug("Invalid filter", e);
          throw ActiveMQMessageBundle.BUNDLE.invalidFilter(filterStr, e);
       }
-      return new FilterImpl(filterStr, booleanExpression);
+      final FilterImpl filter = new FilterImpl(filterStr, booleanExpression);
+      if (cache != null) {
+         cache.put(filterStr, filter);
+      }
+      return filter;
+   }
+
+   /**
+    * {@return the cache shared by every broker of the JVM, or {@code null} if it is disabled}
+    */
+   public static Cache<SimpleString, FilterImpl> getCache() {
+      return cache;
    }
 
    private FilterImpl(final SimpleString str, final BooleanExpression expression) {
@@ -95,6 +129,10 @@ public class FilterImpl implements Filter {
       this.booleanExpression = expression;
    }
 
+   BooleanExpression getBooleanExpression() {
+      return booleanExpression;
+   }
+
    // Filter implementation ---------------------------------------------------------------------
 
    @Override
@@ -114,7 +152,7 @@ public class FilterImpl implements Filter {
 
 
    @Override
-   public synchronized boolean match(final Filterable filterable) {
+   public boolean match(final Filterable filterable) {
       try {
          return booleanExpression.matches(filterable);
       } catch (Exception e) {
@@ -217,11 +255,11 @@ public class FilterImpl implements Filter {
       }
    }
 
-   private static class FilterableServerMessage implements Filterable {
+   static class FilterableServerMessage implements Filterable {
 
       private final Message message;
 
-      private FilterableServerMessage(Message message) {
+      FilterableServerMessage(Message message) {
          this.message = message;
       }
 
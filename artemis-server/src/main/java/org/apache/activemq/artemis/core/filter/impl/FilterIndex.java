@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.filter.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.IndexCondition;
+
+/**
+ * Indexes values, e.g. the bindings of an address, by the {@link IndexCondition} of their filter.
+ * <p>
+ * Filters selecting on one {@code String} property value go in a hash bucket per value, filters selecting a numeric
+ * range go in lists sorted by bound: only the values whose condition is satisfied by a message are candidates to be
+ * matched by it, and just the filters of the candidates need to be evaluated. Filters without any condition can't be
+ * indexed.
+ * <p>
+ * An index is built by a single thread and can be read by many threads once published.
+ */
+public final class FilterIndex<T> {
+
+   @FunctionalInterface
+   public interface CandidateConsumer<T, E extends Throwable> {
+
+      void accept(T candidate) throws E;
+   }
+
+   private record Range<T>(double lowerBound, double upperBound, T value) {
+   }
+
+   private static final class PropertyIndex<T> {
+
+      private final SimpleString property;
+
+      private final Map<String, List<T>> values = new HashMap<>();
+
+      // sorted by lower bound
+      private final List<Range<T>> lowerBounded = new ArrayList<>();
+
+      // not lower bounded, sorted by descending upper bound
+      private final List<Range<T>> upperBounded = new ArrayList<>();
+
+      private PropertyIndex(SimpleString property) {
+         this.property = property;
+      }
+
+      private void add(IndexCondition condition, T value) {
+         if (condition.isEquality()) {
+            for (String key : condition.getValues()) {
+               values.computeIfAbsent(key, k -> new ArrayList<>(1)).add(value);
+            }
+         } else if (condition.getLowerBound() != Double.NEGATIVE_INFINITY) {
+            insert(lowerBounded, new Range<>(condition.getLowerBound(), condition.getUpperBound(), value), Comparator.comparingDouble(Range::lowerBound));
+         } else {
+            insert(upperBounded, new Range<>(condition.getLowerBound(), condition.getUpperBound(), value), Comparator.comparingDouble((Range<T> range) -> range.upperBound()).reversed());
+         }
+      }
+
+      private static <T> void insert(List<Range<T>> ranges, Range<T> range, Comparator<Range<T>> comparator) {
+         int position = Collections.binarySearch(ranges, range, comparator);
+         if (position < 0) {
+            position = -position - 1;
+         }
+         ranges.add(position, range);
+      }
+
+      private <E extends Throwable> void forEachCandidate(Object propertyValue, CandidateConsumer<T, E> consumer) throws E {
+         if (propertyValue == null) {
+            // none of the conditions is satisfied by a missing property
+            return;
+         }
+         if (propertyValue instanceof String string) {
+            final List<T> candidates = values.get(string);
+            if (candidates != null) {
+               for (T candidate : candidates) {
+                  consumer.accept(candidate);
+               }
+            }
+         }
+         final Class<?> valueClass = propertyValue.getClass();
+         final double number;
+         if (valueClass == Integer.class || valueClass == Long.class || valueClass == Double.class || valueClass == Short.class || valueClass == Byte.class) {
+            number = ((Number) propertyValue).doubleValue();
+         } else if (valueClass == Float.class) {
+            // compared to integer bounds as floats, rounding them: every range is a candidate
+            number = Double.NaN;
+         } else {
+            // no other type can be within a range
+            return;
+         }
+         for (Range<T> range : lowerBounded) {
+            if (number < range.lowerBound()) {
+               break;
+            }
+            if (Double.isNaN(number) || number <= range.upperBound()) {
+               consumer.accept(range.value());
+            }
+         }
+         for (Range<T> range : upperBounded) {
+            if (number > range.upperBound()) {
+               break;
+            }
+            consumer.accept(range.value());
+         }
+      }
+   }
+
+   private final Map<SimpleString, PropertyIndex<T>> properties = new HashMap<>();
+
+   private PropertyIndex<T>[] propertyIndexes;
+
+   private int size;
+
+   @SuppressWarnings("unchecked")
+   public FilterIndex() {
+      propertyIndexes = new PropertyIndex[0];
+   }
+
+   /**
+    * Adds a value to the index by the condition of its filter.
+    *
+    * @return {@code false} if the filter can't be indexed, so that the value has not been added
+    */
+   public boolean add(Filter filter, T value) {
+      if (!(filter instanceof FilterImpl filterImpl)) {
+         return false;
+      }
+      final IndexCondition condition = IndexCondition.of(filterImpl.getBooleanExpression());
+      if (condition == null) {
+         return false;
+      }
+      final SimpleString property = SimpleString.of(condition.getProperty());
+      PropertyIndex<T> propertyIndex = properties.get(property);
+      if (propertyIndex == null) {
+         propertyIndex = new PropertyIndex<>(property);
+         properties.put(property, propertyIndex);
+         propertyIndexes = properties.values().toArray(propertyIndexes);
+      }
+      propertyIndex.add(condition, value);
+      size++;
+      return true;
+   }
+
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Passes to {@code consumer} every value whose filter may match {@code message}, which must still be matched against
+    * the filter of each candidate.
+    */
+   public <E extends Throwable> void forEachCandidate(Message message, CandidateConsumer<T, E> consumer) throws E {
+      final Filterable filterable = new FilterImpl.FilterableServerMessage(message);
+      for (PropertyIndex<T> propertyIndex : propertyIndexes) {
+         propertyIndex.forEachCandidate(filterable.getProperty(propertyIndex.property), consumer);
+      }
+   }
+}
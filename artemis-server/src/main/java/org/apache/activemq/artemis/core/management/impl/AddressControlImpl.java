@@ -441,6 +441,66 @@ public class AddressControlImpl extends AbstractControl implements AddressContro
       }
    }
 
+   @Override
+   public long getPageCacheHitCount() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getPageCacheHitCount(this.addressInfo);
+      }
+      clearIO();
+      try {
+         final PagingStore pagingStore = getPagingStore();
+         if (pagingStore == null) {
+            return 0;
+         }
+         return pagingStore.getPageCacheHitCount();
+      } catch (Exception e) {
+         logger.debug("Failed to get page cache hit count", e);
+         return -1;
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public long getPageCacheMissCount() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getPageCacheMissCount(this.addressInfo);
+      }
+      clearIO();
+      try {
+         final PagingStore pagingStore = getPagingStore();
+         if (pagingStore == null) {
+            return 0;
+         }
+         return pagingStore.getPageCacheMissCount();
+      } catch (Exception e) {
+         logger.debug("Failed to get page cache miss count", e);
+         return -1;
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public long getPageCacheEvictionCount() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getPageCacheEvictionCount(this.addressInfo);
+      }
+      clearIO();
+      try {
+         final PagingStore pagingStore = getPagingStore();
+         if (pagingStore == null) {
+            return 0;
+         }
+         return pagingStore.getPageCacheEvictionCount();
+      } catch (Exception e) {
+         logger.debug("Failed to get page cache eviction count", e);
+         return -1;
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public boolean block() {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -52,6 +52,27 @@ public interface PagingStore extends ActiveMQComponent, RefCountMessageListener
 
    long getNumberOfPages();
 
+   /**
+    * {@return how many times a page was taken back from the shared page cache instead of being read from disk}
+    */
+   default long getPageCacheHitCount() {
+      return 0;
+   }
+
+   /**
+    * {@return how many times a page had to be read from disk}
+    */
+   default long getPageCacheMissCount() {
+      return 0;
+   }
+
+   /**
+    * {@return how many pages of this address were evicted from the shared page cache}
+    */
+   default long getPageCacheEvictionCount() {
+      return 0;
+   }
+
    /**
     * {@return the page id of the current page in which the system is writing files}
     */
@@ -142,6 +163,14 @@ public interface PagingStore extends ActiveMQComponent, RefCountMessageListener
 
    Page newPageObject(long page) throws Exception;
 
+   /**
+    * Reads a single message of a page, from the page itself if it is in use or kept by the shared page cache, otherwise
+    * from its file without loading the whole page.
+    *
+    * @return the message, or {@code null} if the page doesn't have such message
+    */
+   PagedMessage readMessage(long page, int messageNumber) throws Exception;
+
    boolean checkPageFileExists(long page) throws Exception;
 
    PagingManager getPagingManager();
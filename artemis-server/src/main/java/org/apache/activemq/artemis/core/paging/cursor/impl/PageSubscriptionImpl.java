@@ -533,24 +533,7 @@ public final class PageSubscriptionImpl implements PageSubscription {
    @Override
    public PagedMessage queryMessage(PagePosition pos) {
       try {
-         Page page = pageStore.usePage(pos.getPageNr());
-
-         if (page == null) {
-            return null;
-         }
-
-         try {
-            org.apache.activemq.artemis.utils.collections.LinkedList<PagedMessage> messages = page.getMessages();
-            PagedMessage retMessage;
-            if (pos.getMessageNr() < messages.size()) {
-               retMessage = messages.get(pos.getMessageNr());
-            } else {
-               retMessage = null;
-            }
-            return retMessage;
-         } finally {
-            page.usageDown();
-         }
+         return pageStore.readMessage(pos.getPageNr(), pos.getMessageNr());
       } catch (Exception e) {
          store.criticalError(e);
          throw new RuntimeException(e.getMessage(), e);
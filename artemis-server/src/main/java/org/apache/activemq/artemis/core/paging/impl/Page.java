@@ -89,6 +89,13 @@ public final class Page  {
 
    private ByteBuffer readFileBuffer;
 
+   // offsets of the messages, written to a side-car file when the page is closed after being written
+   private PageIndex index;
+
+   private boolean indexDirty;
+
+   private boolean indexLoaded;
+
    public Page(final SimpleString storeName,
                final StorageManager storageManager,
                final SequentialFileFactory factory,
@@ -128,6 +135,33 @@ public final class Page  {
       return messages;
    }
 
+   /**
+    * {@return whether the messages of this page are held in memory}
+    */
+   public boolean isLoaded() {
+      return messages != null;
+   }
+
+   /**
+    * {@return an estimate of the memory held by the decoded messages of this page, {@code 0} if they aren't loaded}
+    */
+   public synchronized long getMemoryEstimate() {
+      final LinkedList<PagedMessage> messages = this.messages;
+      if (messages == null) {
+         return 0;
+      }
+      long memoryEstimate = 0;
+      try (LinkedListIterator<PagedMessage> iterator = messages.iterator()) {
+         while (iterator.hasNext()) {
+            final PagedMessage message = iterator.next();
+            if (message.getMessage() != null) {
+               memoryEstimate += message.getMessage().getMemoryEstimate();
+            }
+         }
+      }
+      return memoryEstimate;
+   }
+
    private void addMessage(PagedMessage message) {
       if (messages == null) {
          messages = new LinkedListImpl<>();
@@ -164,11 +198,76 @@ public final class Page  {
 
       final LinkedList<PagedMessage> messages = new LinkedListImpl<>();
 
-      numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, messages::addTail, onlyLargeMessages ? PageReadWriter.ONLY_LARGE : PageReadWriter.NO_SKIP, this::markFileAsSuspect, this::setSize);
+      final PageIndex readIndex = indexDirty ? null : new PageIndex();
+
+      numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, 0, 0, Integer.MAX_VALUE, messages::addTail, onlyLargeMessages ? PageReadWriter.ONLY_LARGE : PageReadWriter.NO_SKIP, this::markFileAsSuspect, this::setSize, readIndex);
+
+      if (readIndex != null) {
+         index = readIndex;
+         indexLoaded = true;
+      }
 
       return messages;
    }
 
+   /**
+    * Reads a single message of the page. If the page isn't loaded, the page index is used to only read the records
+    * that are close to the message.
+    *
+    * @return the message, or {@code null} if the page doesn't have such message
+    */
+   public synchronized PagedMessage readMessage(int messageNumber) throws Exception {
+      final LinkedList<PagedMessage> messages = this.messages;
+      if (messages != null) {
+         return messageNumber < messages.size() ? messages.get(messageNumber) : null;
+      }
+
+      final boolean wasOpen = file.isOpen();
+      if (!wasOpen) {
+         if (!file.exists()) {
+            return null;
+         }
+         file.open();
+      }
+
+      try {
+         final PageIndex index = loadIndex();
+         final int entry = index == null ? -1 : index.floorEntry(messageNumber);
+         if (entry > 0) {
+            // an index not matching the records is not a reason to suspect the page: just read it from the start
+            final PagedMessage message = readMessage(index.getOffset(entry), index.getMessageNumber(entry), messageNumber, null);
+            if (message != null) {
+               return message;
+            }
+         }
+         return readMessage(0, 0, messageNumber, this::markFileAsSuspect);
+      } finally {
+         if (!wasOpen) {
+            file.close();
+         }
+      }
+   }
+
+   private PagedMessage readMessage(int position, int firstMessageNumber, int messageNumber, PageReadWriter.SuspectFileCallback suspectFileCallback) throws Exception {
+      final int toSkip = messageNumber - firstMessageNumber;
+      final int[] skipped = new int[1];
+      final PagedMessage[] message = new PagedMessage[1];
+      PageReadWriter.readFromSequentialFile(storageManager, storeName, fileFactory, file, pageId, position, firstMessageNumber, toSkip + 1, read -> message[0] = read, buffer -> skipped[0]++ < toSkip, suspectFileCallback, null, null);
+      return message[0];
+   }
+
+   private PageIndex loadIndex() throws Exception {
+      if (index == null && !indexLoaded) {
+         index = PageIndex.read(fileFactory, getIndexFile(), file.size());
+         indexLoaded = true;
+      }
+      return index;
+   }
+
+   private SequentialFile getIndexFile() {
+      return fileFactory.createSequentialFile(PageIndex.getFileName(file.getFileName()));
+   }
+
    public String debugMessages() throws Exception {
       StringBuilder sb = new StringBuilder();
       LinkedListIterator<PagedMessage> iter = getMessages().iterator();
@@ -194,6 +293,11 @@ public final class Page  {
          throw ActiveMQMessageBundle.BUNDLE.cannotWriteToClosedFile(file);
       }
       addMessage(message);
+      if (index == null) {
+         index = new PageIndex();
+      }
+      index.record(message.getMessageNumber(), (int) size);
+      indexDirty = true;
       this.size += PageReadWriter.writeMessage(message, fileFactory, file);
       numberOfMessages++;
    }
@@ -224,6 +328,15 @@ public final class Page  {
    public boolean open(boolean createFile) throws Exception {
       boolean isOpen = false;
       if (!file.isOpen() && (createFile || file.exists())) {
+         if (!file.exists()) {
+            index = null;
+            indexLoaded = false;
+            // an index left behind by a page deleted before a crash
+            final SequentialFile indexFile = getIndexFile();
+            if (indexFile.exists()) {
+               indexFile.delete();
+            }
+         }
          file.open();
          isOpen = true;
       }
@@ -253,6 +366,16 @@ public final class Page  {
          storageManager.pageClosed(storeName, pageId);
       }
       file.close(waitSync, waitSync);
+
+      if (indexDirty && index.isValid()) {
+         indexDirty = false;
+         try {
+            index.write(fileFactory, getIndexFile(), size);
+         } catch (Exception e) {
+            // the page can still be read without its index
+            logger.warn("Could not write the index of page {} on address {}: {}", pageId, storeName, e.getMessage(), e);
+         }
+      }
    }
 
    public boolean delete(final LinkedList<PagedMessage> messages) throws Exception {
@@ -288,6 +411,10 @@ public final class Page  {
                } else {
                   file.delete();
                }
+               final SequentialFile indexFile = getIndexFile();
+               if (indexFile.exists()) {
+                  indexFile.delete();
+               }
                referenceCounter.exhaust();
             } catch (Exception e) {
                ActiveMQServerLogger.LOGGER.pageDeleteError(e);
@@ -313,6 +440,13 @@ public final class Page  {
       }
 
       try {
+         final PageIndex index = loadIndex();
+         if (index != null && index.getPageSize() == file.size()) {
+            if (logger.isDebugEnabled()) {
+               logger.debug(">>> Reading numberOfMessages page {} from its index, returning {}", this.pageId, index.getNumberOfMessages());
+            }
+            return index.getNumberOfMessages();
+         }
          int numberOfMessages = PageReadWriter.readFromSequentialFile(this.storageManager,
                                                                       this.storeName,
                                                                       this.fileFactory,
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.paging.impl;
 
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import io.netty.util.collection.LongObjectHashMap;
@@ -26,6 +27,9 @@ import java.lang.invoke.MethodHandles;
 
 /**
  * This is a simple cache where we keep Page objects only while they are being used.
+ * <p>
+ * If a {@link SharedPageCache} is given, pages are parked there once released, and {@link #reuse(long)} brings them
+ * back without reading them again.
  */
 public class PageCache {
 
@@ -33,8 +37,21 @@ public class PageCache {
 
    private final PagingStore owner;
 
+   private final SharedPageCache sharedCache;
+
+   private final LongAdder hits = new LongAdder();
+
+   private final LongAdder misses = new LongAdder();
+
+   private final LongAdder evictions = new LongAdder();
+
    public PageCache(PagingStore owner) {
+      this(owner, null);
+   }
+
+   public PageCache(PagingStore owner, SharedPageCache sharedCache) {
       this.owner = owner;
+      this.sharedCache = sharedCache;
    }
 
    private final LongObjectHashMap<Page> usedPages = new LongObjectHashMap<>();
@@ -43,6 +60,70 @@ public class PageCache {
       return usedPages.get(pageID);
    }
 
+   /**
+    * {@return a released page taken back from the shared cache, or {@code null} if it has to be read from disk}
+    */
+   public synchronized Page reuse(long pageID) {
+      Page page = sharedCache == null ? null : sharedCache.take(this, pageID);
+      if (page != null) {
+         hits.increment();
+         if (logger.isDebugEnabled()) {
+            logger.debug("+++ Reusing page {} from the shared page cache for destination {}", pageID, owner.getAddress());
+         }
+      }
+      return page;
+   }
+
+   /**
+    * {@return a released page held by the shared cache, left there as it is only read, or {@code null} if there is no
+    * such page}
+    */
+   public Page peek(long pageID) {
+      Page page = sharedCache == null ? null : sharedCache.peek(this, pageID);
+      if (page != null) {
+         hits.increment();
+      }
+      return page;
+   }
+
+   /**
+    * Drops a released page from the shared cache, as it is about to be deleted.
+    */
+   public void invalidate(long pageID) {
+      if (sharedCache != null) {
+         sharedCache.invalidate(this, pageID);
+      }
+   }
+
+   public void invalidateAll() {
+      if (sharedCache != null) {
+         sharedCache.invalidateAll(this);
+      }
+   }
+
+   /**
+    * Records that a page had to be read from disk.
+    */
+   public void pageMissed() {
+      misses.increment();
+   }
+
+   void pageEvicted() {
+      evictions.increment();
+   }
+
+   public long getHitCount() {
+      return hits.sum();
+   }
+
+   public long getMissCount() {
+      return misses.sum();
+   }
+
+   public long getEvictionCount() {
+      return evictions.sum();
+   }
+
    public synchronized void forEachUsedPage(Consumer<Page> consumerPage) {
       usedPages.values().forEach(consumerPage);
    }
@@ -65,6 +146,9 @@ public class PageCache {
          if (logger.isDebugEnabled()) {
             logger.debug("--- Releasing page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
          }
+         if (sharedCache != null && page.isLoaded()) {
+            sharedCache.put(this, page);
+         }
       }
    }
 
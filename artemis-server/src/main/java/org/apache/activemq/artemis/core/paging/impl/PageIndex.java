@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * A sparse index of the records of a page file, kept in a side-car file next to it.
+ * <p>
+ * The byte offset of every {@link #INTERVAL}th message is recorded, so a single message can be read by seeking to the
+ * closest entry before it instead of scanning the page from the start. The side-car also holds the number of messages
+ * and the size of the page file it was written for: an index that doesn't match its page file is ignored. The side-car
+ * isn't synced, so its offsets are checked when read as well: a torn one is ignored rather than used to read another
+ * message than the one requested.
+ */
+final class PageIndex {
+
+   static final String EXTENSION = "pindex";
+
+   static final int INTERVAL = 64;
+
+   // interval + number of messages + page size + number of entries
+   private static final int HEADER_SIZE = DataConstants.SIZE_INT + DataConstants.SIZE_INT + DataConstants.SIZE_LONG + DataConstants.SIZE_INT;
+
+   private int[] offsets;
+
+   private int entries;
+
+   private int numberOfMessages;
+
+   private long pageSize;
+
+   // false once a message was recorded out of order, as the index no longer describes the page
+   private boolean valid = true;
+
+   PageIndex() {
+      this.offsets = new int[8];
+      this.pageSize = -1;
+   }
+
+   private PageIndex(int[] offsets, int numberOfMessages, long pageSize) {
+      this.offsets = offsets;
+      this.entries = offsets.length;
+      this.numberOfMessages = numberOfMessages;
+      this.pageSize = pageSize;
+   }
+
+   static String getFileName(String pageFileName) {
+      return pageFileName.substring(0, pageFileName.lastIndexOf('.') + 1) + EXTENSION;
+   }
+
+   /**
+    * Records the offset of a message, which must be called in message order.
+    */
+   void record(int messageNumber, int offset) {
+      if (!valid || messageNumber != numberOfMessages) {
+         valid = false;
+         return;
+      }
+      numberOfMessages++;
+      if (messageNumber % INTERVAL != 0) {
+         return;
+      }
+      if (entries == offsets.length) {
+         offsets = Arrays.copyOf(offsets, entries * 2);
+      }
+      offsets[entries++] = offset;
+   }
+
+   /**
+    * {@return the entry closest to {@code messageNumber} without going past it, or {@code -1} if there is none}
+    */
+   int floorEntry(int messageNumber) {
+      if (!valid) {
+         return -1;
+      }
+      return Math.min(messageNumber / INTERVAL, entries - 1);
+   }
+
+   int getOffset(int entry) {
+      return offsets[entry];
+   }
+
+   int getMessageNumber(int entry) {
+      return entry * INTERVAL;
+   }
+
+   /**
+    * {@return the number of messages of the page, only valid if {@link #getPageSize()} matches the page file size}
+    */
+   int getNumberOfMessages() {
+      return numberOfMessages;
+   }
+
+   boolean isValid() {
+      return valid;
+   }
+
+   /**
+    * {@return the size of the page file the index was written for, or {@code -1} if not written yet}
+    */
+   long getPageSize() {
+      return pageSize;
+   }
+
+   void write(SequentialFileFactory fileFactory, SequentialFile indexFile, long pageSize) throws Exception {
+      final ByteBuffer buffer = fileFactory.newBuffer(HEADER_SIZE + entries * DataConstants.SIZE_INT);
+      buffer.clear();
+      buffer.putInt(INTERVAL);
+      buffer.putInt(numberOfMessages);
+      buffer.putLong(pageSize);
+      buffer.putInt(entries);
+      for (int i = 0; i < entries; i++) {
+         buffer.putInt(offsets[i]);
+      }
+      buffer.flip();
+      indexFile.open();
+      try {
+         indexFile.position(0);
+         indexFile.writeDirect(buffer, false);
+      } finally {
+         indexFile.close(false, false);
+      }
+      this.pageSize = pageSize;
+   }
+
+   /**
+    * {@return the index read from its side-car file, or {@code null} if missing, damaged or not matching a page file of
+    * {@code pageSize} bytes}
+    */
+   static PageIndex read(SequentialFileFactory fileFactory, SequentialFile indexFile, long pageSize) throws Exception {
+      if (!indexFile.exists()) {
+         return null;
+      }
+      indexFile.open();
+      try {
+         final long fileSize = indexFile.size();
+         if (fileSize < HEADER_SIZE) {
+            return null;
+         }
+         final ByteBuffer buffer = fileFactory.newBuffer((int) fileSize);
+         try {
+            indexFile.position(0);
+            indexFile.read(buffer);
+            if (buffer.remaining() < HEADER_SIZE) {
+               return null;
+            }
+            final int interval = buffer.getInt();
+            final int numberOfMessages = buffer.getInt();
+            final long indexedPageSize = buffer.getLong();
+            final int entries = buffer.getInt();
+            if (interval != INTERVAL || indexedPageSize != pageSize || numberOfMessages < 0 ||
+               entries != (numberOfMessages + INTERVAL - 1) / INTERVAL || buffer.remaining() < entries * DataConstants.SIZE_INT) {
+               return null;
+            }
+            final int[] offsets = new int[entries];
+            for (int i = 0; i < entries; i++) {
+               offsets[i] = buffer.getInt();
+               // the first message starts the page, and the others follow it
+               if (i == 0 ? offsets[i] != 0 : offsets[i] <= offsets[i - 1] || offsets[i] >= pageSize) {
+                  return null;
+               }
+            }
+            return new PageIndex(offsets, numberOfMessages, indexedPageSize);
+         } finally {
+            fileFactory.releaseBuffer(buffer);
+         }
+      } finally {
+         indexFile.close(false, false);
+      }
+   }
+}
@@ -126,12 +126,36 @@ public class PageReadWriter {
                                              PageRecordFilter skipRecord,
                                              SuspectFileCallback suspectFileCallback,
                                              ReadCallback readCallback) throws Exception {
+      return readFromSequentialFile(storage, storeName, fileFactory, file, pageId, 0, 0, Integer.MAX_VALUE, messages, skipRecord, suspectFileCallback, readCallback, null);
+   }
+
+   /**
+    * Reads up to {@code maxMessages} records starting at {@code startPosition}, which must be the offset of message
+    * number {@code firstMessageNumber}.
+    *
+    * @param index if not {@code null}, the offsets of the records read are recorded on it
+    * @return the number of the message after the last one read
+    */
+   public static int readFromSequentialFile(StorageManager storage,
+                                             SimpleString storeName,
+                                             SequentialFileFactory fileFactory,
+                                             SequentialFile file,
+                                             long pageId,
+                                             int startPosition,
+                                             int firstMessageNumber,
+                                             int maxMessages,
+                                             Consumer<PagedMessage> messages,
+                                             PageRecordFilter skipRecord,
+                                             SuspectFileCallback suspectFileCallback,
+                                             ReadCallback readCallback,
+                                             PageIndex index) throws Exception {
       final int fileSize = (int) file.size();
-      file.position(0);
-      int processedBytes = 0;
+      file.position(startPosition);
+      int processedBytes = startPosition;
       ByteBuffer fileBuffer = null;
       ChannelBufferWrapper fileBufferWrapper;
-      int totalMessageCount = 0;
+      int totalMessageCount = firstMessageNumber;
+      final int lastMessageNumber = (int) Math.min(Integer.MAX_VALUE, (long) firstMessageNumber + maxMessages);
 
       try {
 
@@ -175,6 +199,10 @@ public class PageReadWriter {
                      //this check must be performed upfront decoding
                      if (fileBuffer.remaining() >= (encodedSize + 1) && fileBuffer.get(endPosition) == END_BYTE) {
 
+                        if (index != null) {
+                           index.record(totalMessageCount, processedBytes);
+                        }
+
                         fileBufferWrapper.setIndex(fileBuffer.position(), endPosition);
 
                         final boolean skipMessage = skipRecord.skip(fileBufferWrapper);
@@ -233,7 +261,7 @@ public class PageReadWriter {
                remainingBytes = fileSize - processedBytes;
 
             }
-            while (remainingBytes >= MINIMUM_MSG_PERSISTENT_SIZE);
+            while (remainingBytes >= MINIMUM_MSG_PERSISTENT_SIZE && totalMessageCount < lastMessageNumber);
          }
 
          //ignore incomplete messages at the end of the file
@@ -119,6 +119,8 @@ public final class PagingManagerImpl implements PagingManager {
 
    private final SimpleString managementAddress;
 
+   private SharedPageCache sharedPageCache;
+
    // for tests.. not part of the API
    public void replacePageStoreFactory(PagingStoreFactory factory) {
       this.pagingStoreFactory = factory;
@@ -148,6 +150,23 @@ public final class PagingManagerImpl implements PagingManager {
       this.server = server;
    }
 
+   /**
+    * Keeps up to {@code maxSize} bytes of the pages released by every address in memory. A value &lt;= 0 drops the
+    * pages as soon as they are released. It must be set before any store is created.
+    */
+   public PagingManagerImpl setPageCacheSize(long maxSize) {
+      this.sharedPageCache = maxSize > 0 ? new SharedPageCache(maxSize) : null;
+      return this;
+   }
+
+   /**
+    * {@return the cache shared by every address for the pages no longer used by any cursor, or {@code null} if pages
+    * are dropped as soon as they are released}
+    */
+   public SharedPageCache getSharedPageCache() {
+      return sharedPageCache;
+   }
+
    SizeAwareMetric getSizeAwareMetric() {
       return globalSizeMetric;
    }
@@ -29,10 +29,12 @@ import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.apache.activemq.artemis.ArtemisConstants;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.io.util.ByteBufferPool;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.paging.PagingStoreFactory;
@@ -74,6 +76,9 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
 
    private final IOCriticalErrorListener critialErrorListener;
 
+   // shared by the file factories of every address, null to let each thread keep its own buffer
+   private ByteBufferPool bufferPool;
+
    public File getDirectory() {
       return directory;
    }
@@ -119,6 +124,15 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
    }
 
 
+   /**
+    * Makes every address read and write its page files through a single pool of direct buffers holding at most
+    * {@code maxBytes}. A value &lt;= 0 keeps a buffer per thread instead. It must be set before any store is created.
+    */
+   public PagingStoreFactoryNIO setBufferPoolSize(long maxBytes) {
+      this.bufferPool = maxBytes > 0 ? ByteBufferPool.bounded(maxBytes) : null;
+      return this;
+   }
+
    @Override
    public ScheduledExecutorService getScheduledExecutor() {
       return scheduledExecutor;
@@ -237,6 +251,9 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
 
    protected SequentialFileFactory newFileFactory(final String directoryName) {
 
+      if (bufferPool != null) {
+         return new NIOSequentialFileFactory(new File(directory, directoryName), false, ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_NIO, ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO, 1, false, critialErrorListener, null, bufferPool);
+      }
       return new NIOSequentialFileFactory(new File(directory, directoryName), false, critialErrorListener, 1);
    }
 }
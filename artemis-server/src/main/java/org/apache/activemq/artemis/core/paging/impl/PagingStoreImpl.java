@@ -84,7 +84,7 @@ public class PagingStoreImpl implements PagingStore {
 
    private final DecimalFormat format = new DecimalFormat("000000000");
 
-   private final PageCache usedPages = new PageCache(this);
+   private final PageCache usedPages;
 
    // This is updated and read by the Page's executor thread
    private long currentPageSize = 0;
@@ -181,6 +181,24 @@ public class PagingStoreImpl implements PagingStore {
                           final AddressSettings addressSettings,
                           final ArtemisExecutor executor,
                           final boolean syncNonTransactional) {
+      this(address, scheduledExecutor, syncTimeout, pagingManager, storageManager, fileFactory, storeFactory, storeName, addressSettings, executor, syncNonTransactional, pagingManager instanceof PagingManagerImpl pagingManagerImpl ? pagingManagerImpl.getSharedPageCache() : null);
+   }
+
+   /**
+    * @param sharedPageCache where pages are kept once released, or {@code null} to drop them
+    */
+   public PagingStoreImpl(final SimpleString address,
+                          final ScheduledExecutorService scheduledExecutor,
+                          final long syncTimeout,
+                          final PagingManager pagingManager,
+                          final StorageManager storageManager,
+                          final SequentialFileFactory fileFactory,
+                          final PagingStoreFactory storeFactory,
+                          final SimpleString storeName,
+                          final AddressSettings addressSettings,
+                          final ArtemisExecutor executor,
+                          final boolean syncNonTransactional,
+                          final SharedPageCache sharedPageCache) {
       if (scheduledExecutor == null) {
          throw new NullPointerException("scheduledExecutor = null");
       }
@@ -204,6 +222,8 @@ public class PagingStoreImpl implements PagingStore {
 
       this.pagingManager = pagingManager;
 
+      this.usedPages = new PageCache(this, sharedPageCache);
+
       this.fileFactory = fileFactory;
 
       this.storeFactory = storeFactory;
@@ -655,6 +675,8 @@ public class PagingStoreImpl implements PagingStore {
          page.close(true);
          currentPage = null;
       }
+
+      usedPages.invalidateAll();
    }
 
    @Override
@@ -926,13 +948,19 @@ public class PagingStoreImpl implements PagingStore {
          try {
             Page page = usedPages.get(pageId);
             if (createEntry && page == null) {
-               page = newPageObject(pageId);
-               if (page.getFile().exists()) {
-                  page.getMessages();
+               page = usedPages.reuse(pageId);
+               if (page != null) {
                   injectPage(page);
                } else {
-                  if (!createFile) {
-                     page = null;
+                  page = newPageObject(pageId);
+                  if (page.getFile().exists()) {
+                     usedPages.pageMissed();
+                     page.getMessages();
+                     injectPage(page);
+                  } else {
+                     if (!createFile) {
+                        page = null;
+                     }
                   }
                }
             }
@@ -954,6 +982,26 @@ public class PagingStoreImpl implements PagingStore {
    }
 
 
+   @Override
+   public PagedMessage readMessage(final long pageId, final int messageNumber) throws Exception {
+      Page page = usePage(pageId, false);
+      if (page != null) {
+         try {
+            return page.readMessage(messageNumber);
+         } finally {
+            page.usageDown();
+         }
+      }
+
+      page = usedPages.peek(pageId);
+      if (page != null) {
+         return page.readMessage(messageNumber);
+      }
+
+      // the page is not in use: read just the message instead of loading the whole page
+      return newPageObject(pageId).readMessage(messageNumber);
+   }
+
    protected SequentialFileFactory getFileFactory() throws Exception {
       checkFileFactory();
       return fileFactory;
@@ -1019,6 +1067,8 @@ public class PagingStoreImpl implements PagingStore {
             return null;
          }
 
+         usedPages.invalidate(pageId);
+
          Page page = usePage(pageId, false);
 
          if (page == null) {
@@ -1118,6 +1168,7 @@ public class PagingStoreImpl implements PagingStore {
             // first we look for the page on the used Pages cache
             // if non existing, we just create a new one outside of the cache
             // as we should not introduce any extras
+            usedPages.invalidate(pageNR);
             Page usedPage = usePage(pageNR, false);
             if (usedPage == null) {
                returnPage = newPageObject(pageNR);
@@ -1743,6 +1794,21 @@ public class PagingStoreImpl implements PagingStore {
       usedPages.injectPage(page);
    }
 
+   @Override
+   public long getPageCacheHitCount() {
+      return usedPages.getHitCount();
+   }
+
+   @Override
+   public long getPageCacheMissCount() {
+      return usedPages.getMissCount();
+   }
+
+   @Override
+   public long getPageCacheEvictionCount() {
+      return usedPages.getEvictionCount();
+   }
+
    protected int getUsedPagesSize() {
       return usedPages.size();
    }
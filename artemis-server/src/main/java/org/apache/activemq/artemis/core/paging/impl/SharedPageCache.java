@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * A broker wide cache of the pages that are no longer used by any cursor.
+ * <p>
+ * When the last cursor leaves a page its {@link PageCache} parks it here, with its messages still decoded, so that
+ * another cursor reaching the same page later on doesn't have to read it again. The cache is bounded by the memory
+ * estimate of the decoded messages it holds and the pages of every address compete for it.
+ */
+public class SharedPageCache {
+
+   private record Key(PageCache owner, long pageId) {
+   }
+
+   private final long maxSize;
+
+   private final Cache<Key, Page> pages;
+
+   public SharedPageCache(long maxSize) {
+      this.maxSize = maxSize;
+      this.pages = Caffeine.newBuilder()
+         .maximumWeight(maxSize)
+         .weigher((Key key, Page page) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, page.getMemoryEstimate())))
+         .executor(Runnable::run)
+         .evictionListener((Key key, Page page, RemovalCause cause) -> {
+            if (key != null && cause.wasEvicted()) {
+               key.owner().pageEvicted();
+            }
+         })
+         .build();
+   }
+
+   public long getMaxSize() {
+      return maxSize;
+   }
+
+   /**
+    * {@return the memory estimate of the messages held in the cache}
+    */
+   public long getSize() {
+      return pages.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+   }
+
+   public long getPageCount() {
+      return pages.estimatedSize();
+   }
+
+   void put(PageCache owner, Page page) {
+      pages.put(new Key(owner, page.getPageId()), page);
+   }
+
+   /**
+    * Removes the page from the cache, as it is going to be used again.
+    */
+   Page take(PageCache owner, long pageId) {
+      return pages.asMap().remove(new Key(owner, pageId));
+   }
+
+   Page peek(PageCache owner, long pageId) {
+      return pages.getIfPresent(new Key(owner, pageId));
+   }
+
+   void invalidate(PageCache owner, long pageId) {
+      pages.invalidate(new Key(owner, pageId));
+   }
+
+   void invalidateAll(PageCache owner) {
+      pages.asMap().keySet().removeIf(key -> key.owner() == owner);
+   }
+}
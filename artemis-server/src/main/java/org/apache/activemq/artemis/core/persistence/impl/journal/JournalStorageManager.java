@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.persistence.impl.journal;
 
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -37,6 +38,7 @@ import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.HAPolicyConfiguration;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.SequentialFile;
@@ -49,6 +51,7 @@ import org.apache.activemq.artemis.core.journal.EncodingSupport;
 import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.journal.impl.JournalFile;
 import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
@@ -66,6 +69,7 @@ import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.journal.ActiveMQJournalBundle;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.FileUtil;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +80,10 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
    public static final String ACTIVEMQ_DATA = "activemq-data";
 
+   private static final String JOURNAL_EXTENSION = "amq";
+
+   public static final String JOURNAL_STRIPE_PREFIX = "stripe-";
+
    protected SequentialFileFactory journalFF;
 
    protected SequentialFileFactory bindingsFF;
@@ -145,30 +153,22 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
             if (criticalErrorListener != null) {
                ActiveMQServerLogger.LOGGER.journalUseNIO();
             }
-            journalFF = new NIOSequentialFileFactory(config.getJournalLocation(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), config.getJournalMaxIO_NIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
             break;
          case ASYNCIO:
             if (criticalErrorListener != null) {
                ActiveMQServerLogger.LOGGER.journalUseAIO();
             }
-            journalFF = new AIOSequentialFileFactory(config.getJournalLocation(), config.getJournalBufferSize_AIO(), config.getJournalBufferTimeout_AIO(), config.getJournalMaxIO_AIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
-
-            if (config.getJournalDeviceBlockSize() != null) {
-               journalFF.setAlignment(config.getJournalDeviceBlockSize());
-            }
             break;
          case MAPPED:
             if (criticalErrorListener != null) {
                ActiveMQServerLogger.LOGGER.journalUseMAPPED();
             }
-            journalFF = new MappedSequentialFileFactory(config.getJournalLocation(), config.getJournalFileSize(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), criticalErrorListener);
             break;
          default:
             throw ActiveMQMessageBundle.BUNDLE.invalidJournalType2(config.getJournalType());
       }
 
-      journalFF.setDatasync(config.isJournalDatasync());
-
+      journalFF = createJournalFactory(config, config.getJournalLocation(), criticalErrorListener);
 
       int fileSize = fixJournalFileSize(config.getJournalFileSize(), journalFF.getAlignment());
       Journal localMessage = createMessageJournal(config, criticalErrorListener, fileSize);
@@ -208,10 +208,120 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       return size;
    }
 
+   private SequentialFileFactory createJournalFactory(Configuration config,
+                                                     File location,
+                                                     IOCriticalErrorListener criticalErrorListener) {
+      final SequentialFileFactory factory;
+      switch (config.getJournalType()) {
+         case NIO:
+            factory = new NIOSequentialFileFactory(location, true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), config.getJournalMaxIO_NIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
+            break;
+         case ASYNCIO:
+            factory = new AIOSequentialFileFactory(location, config.getJournalBufferSize_AIO(), config.getJournalBufferTimeout_AIO(), config.getJournalMaxIO_AIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
+
+            if (config.getJournalDeviceBlockSize() != null) {
+               factory.setAlignment(config.getJournalDeviceBlockSize());
+            }
+            break;
+         case MAPPED:
+            factory = new MappedSequentialFileFactory(location, config.getJournalFileSize(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), criticalErrorListener);
+            break;
+         default:
+            throw ActiveMQMessageBundle.BUNDLE.invalidJournalType2(config.getJournalType());
+      }
+
+      factory.setDatasync(config.isJournalDatasync());
+
+      if (factory.getTimedBuffer() != null) {
+         factory.getTimedBuffer().setAdaptiveTimeout(config.isJournalBufferAdaptiveTimeout());
+      }
+      return factory;
+   }
+
    protected Journal createMessageJournal(Configuration config,
                                         IOCriticalErrorListener criticalErrorListener,
                                         int fileSize) {
-      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), journalFF, ACTIVEMQ_DATA, "amq", journalFF.getMaxIO(), 0, criticalErrorListener, config.getJournalMaxAtticFiles());
+      final int stripes = getMessageJournalStripes(config);
+      final int openStripes = getOpenMessageJournalStripes(config, stripes);
+      if (openStripes == 1) {
+         return createMessageJournalStripe(config, criticalErrorListener, fileSize, journalFF);
+      }
+
+      if (openStripes > stripes) {
+         ActiveMQServerLogger.LOGGER.journalStripesRetired(stripes, openStripes - 1);
+      } else {
+         ActiveMQServerLogger.LOGGER.journalStriped(stripes);
+      }
+      final Journal[] journals = new Journal[openStripes];
+      journals[0] = createMessageJournalStripe(config, criticalErrorListener, fileSize, journalFF);
+      for (int i = 1; i < openStripes; i++) {
+         journals[i] = createMessageJournalStripe(config, criticalErrorListener, fileSize, createJournalFactory(config, getJournalStripeLocation(config, i), criticalErrorListener));
+      }
+      return new StripedJournal(ioExecutorFactory.getExecutor(), stripes, journals);
+   }
+
+   /**
+    * {@return the number of stripes of the message journal to open: more than {@code stripes} if the number of stripes
+    * was lowered while the stripes beyond it still have journal files, which are then loaded as retired stripes}
+    */
+   private int getOpenMessageJournalStripes(Configuration config, int stripes) {
+      for (int i = StripedJournal.MAX_STRIPES - 1; i >= stripes; i--) {
+         final File location = getJournalStripeLocation(config, i);
+         final File[] files = location.listFiles((directory, name) -> name.endsWith("." + JOURNAL_EXTENSION));
+         if (files != null && files.length > 0) {
+            final String unsupported = getStripingUnsupportedReason(config);
+            if (unsupported != null) {
+               throw ActiveMQMessageBundle.BUNDLE.journalStripesCannotBeRetired(location.getAbsolutePath(), unsupported);
+            }
+            return i + 1;
+         }
+      }
+      return stripes;
+   }
+
+   private Journal createMessageJournalStripe(Configuration config,
+                                              IOCriticalErrorListener criticalErrorListener,
+                                              int fileSize,
+                                              SequentialFileFactory factory) {
+      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), factory, ACTIVEMQ_DATA, JOURNAL_EXTENSION, factory.getMaxIO(), 0, criticalErrorListener, config.getJournalMaxAtticFiles()).setLoadThreads(config.getJournalLoadThreads()).setCompactMaxDeadFiles(config.getJournalCompactMaxDeadFiles()).setOffHeapRecordIndex(config.isJournalOffHeapRecordIndex());
+   }
+
+   /**
+    * {@return the number of stripes for the message journal, once checked against the rest of the configuration}
+    */
+   protected int getMessageJournalStripes(Configuration config) {
+      final int stripes = config.getJournalStripes();
+      if (stripes <= 1) {
+         return 1;
+      }
+      final String unsupported = getStripingUnsupportedReason(config);
+      if (unsupported != null) {
+         ActiveMQServerLogger.LOGGER.journalStripesAdjusted(stripes, unsupported, 1);
+         return 1;
+      }
+      if (stripes > StripedJournal.MAX_STRIPES) {
+         ActiveMQServerLogger.LOGGER.journalStripesAdjusted(stripes, "above " + StripedJournal.MAX_STRIPES, StripedJournal.MAX_STRIPES);
+         return StripedJournal.MAX_STRIPES;
+      }
+      return stripes;
+   }
+
+   private static String getStripingUnsupportedReason(Configuration config) {
+      if (config.getJournalRetentionLocation() != null) {
+         return "with journal retention";
+      }
+      final HAPolicyConfiguration haPolicy = config.getHAPolicyConfiguration();
+      if (haPolicy != null && haPolicy.getType() != HAPolicyConfiguration.TYPE.PRIMARY_ONLY && haPolicy.getType() != HAPolicyConfiguration.TYPE.SHARED_STORE_PRIMARY && haPolicy.getType() != HAPolicyConfiguration.TYPE.SHARED_STORE_BACKUP) {
+         return "with replication";
+      }
+      return null;
+   }
+
+   /**
+    * {@return the directory of a stripe of the message journal other than the first one}
+    */
+   public static File getJournalStripeLocation(Configuration config, int stripe) {
+      return new File(config.getJournalLocation(), JOURNAL_STRIPE_PREFIX + stripe);
    }
 
    // Life Cycle Handlers
@@ -224,6 +334,11 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
    protected void createDirectories() {
       checkAndCreateDir(config.getBindingsLocation(), config.isCreateBindingsDir());
       checkAndCreateDir(config.getJournalLocation(), config.isCreateJournalDir());
+      if (originalMessageJournal instanceof StripedJournal stripedJournal) {
+         for (int i = 1; i < stripedJournal.getStripeCount(); i++) {
+            checkAndCreateDir(getJournalStripeLocation(config, i), config.isCreateJournalDir());
+         }
+      }
       checkAndCreateDir(config.getLargeMessagesLocation(), config.isCreateJournalDir());
    }
 
@@ -310,8 +425,12 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
             }
             bindingsJournal.stop();
 
+            final List<Integer> drainedStripes = getDrainedMessageJournalStripes();
+
             messageJournal.stop();
 
+            deleteDrainedMessageJournalStripes(drainedStripes);
+
             journalLoaded = false;
 
             started = false;
@@ -322,6 +441,37 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       return false;
    }
 
+   /**
+    * {@return the retired stripes of the message journal not holding anything anymore, once all the appends are done}
+    */
+   private List<Integer> getDrainedMessageJournalStripes() {
+      if (!(originalMessageJournal instanceof StripedJournal stripedJournal) || stripedJournal.getStripeCount() == stripedJournal.getActiveStripeCount()) {
+         return List.of();
+      }
+      final List<Integer> drained = new ArrayList<>();
+      try {
+         stripedJournal.flush();
+         for (int i = stripedJournal.getActiveStripeCount(); i < stripedJournal.getStripeCount(); i++) {
+            if (stripedJournal.isStripeDrained(i)) {
+               drained.add(i);
+            }
+         }
+      } catch (Exception e) {
+         logger.debug("Unable to check the retired stripes of the message journal", e);
+         return List.of();
+      }
+      return drained;
+   }
+
+   private void deleteDrainedMessageJournalStripes(List<Integer> drainedStripes) {
+      for (int stripe : drainedStripes) {
+         final File location = getJournalStripeLocation(config, stripe);
+         if (FileUtil.deleteDirectory(location)) {
+            ActiveMQServerLogger.LOGGER.journalStripeDrained(location.getAbsolutePath());
+         }
+      }
+   }
+
    /**
     * Assumption is that this is only called with a writeLock on the StorageManager.
     */
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import org.apache.activemq.artemis.api.core.Message;
@@ -178,6 +179,31 @@ public interface PostOffice extends ActiveMQComponent {
                        boolean rejectDuplicates,
                        Binding binding) throws Exception;
 
+   /**
+    * Routes a run of non transactional messages to their own address with the same context, e.g. the messages of a
+    * replay, reusing the bindings resolved for the previous message when possible. Duplicate messages are not rejected.
+    * <p>
+    * The references of the messages are stored with a single sync and added to their queues together, once all of
+    * them are stored. A message failing to route doesn't affect the others: the references stored for it are rolled
+    * back and the failure is handed to {@code onFailure}.
+    *
+    * @param context a context without transaction
+    * @return the status of each message, in the order of {@code messages}, {@code null} for a message that failed
+    */
+   default RoutingStatus[] route(List<? extends Message> messages,
+                                 RoutingContext context,
+                                 BiConsumer<? super Message, ? super Exception> onFailure) throws Exception {
+      final RoutingStatus[] statuses = new RoutingStatus[messages.size()];
+      for (int i = 0; i < statuses.length; i++) {
+         try {
+            statuses[i] = route(messages.get(i), context, false, false, null);
+         } catch (Exception e) {
+            onFailure.accept(messages.get(i), e);
+         }
+      }
+      return statuses;
+   }
+
    /**
     * This method was renamed as reload, use the new method instead
     */
@@ -19,6 +19,12 @@ package org.apache.activemq.artemis.core.postoffice.impl;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
 
+/**
+ * A trie of values by address, matching wildcard addresses against non-wildcard ones.
+ * <p>
+ * Updates are serialized, while visits never lock: routing a message to an address isn't slowed by addresses being
+ * added or removed concurrently.
+ */
 public class AddressMap<T> {
 
    private final AddressPartNode<T> rootNode;
@@ -30,15 +36,23 @@ public class AddressMap<T> {
    }
 
    public void put(final SimpleString key, T value) {
-      rootNode.add(getPaths(key), 0, value);
+      final String[] paths = getPaths(key);
+      synchronized (rootNode) {
+         rootNode.add(paths, 0, value);
+      }
    }
 
    public void remove(final SimpleString key, T value) {
-      rootNode.remove(getPaths(key), 0, value);
+      final String[] paths = getPaths(key);
+      synchronized (rootNode) {
+         rootNode.remove(paths, 0, value);
+      }
    }
 
    public void reset() {
-      rootNode.reset();
+      synchronized (rootNode) {
+         rootNode.reset();
+      }
    }
 
    public String[] getPaths(final SimpleString address) {
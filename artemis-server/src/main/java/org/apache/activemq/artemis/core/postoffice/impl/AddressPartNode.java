@@ -18,19 +18,28 @@
 package org.apache.activemq.artemis.core.postoffice.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * A node of the trie of an {@link AddressMap}.
+ * <p>
+ * Nodes are only modified by the single writer holding the lock of their map, while visits don't lock: the values of
+ * a node are an immutable array replaced on update and the children are published through a concurrent map, so a
+ * visit sees every node and value added before it started.
+ */
 public final class AddressPartNode<T> {
 
+   private static final Object[] NO_VALUES = new Object[0];
+
    protected final String ANY_CHILD;
    protected final String ANY_DESCENDENT;
 
    private final AddressPartNode<T> parent;
-   private final List<T> values = new CopyOnWriteArrayList<>();
+   private volatile Object[] values = NO_VALUES;
    private final Map<String, AddressPartNode<T>> childNodes = new ConcurrentHashMap<>();
    private final String path;
 
@@ -67,27 +76,41 @@ public final class AddressPartNode<T> {
    public AddressPartNode<T> getChildOrCreate(final String path) {
       AddressPartNode<T> answer = childNodes.get(path);
       if (answer == null) {
-         answer = new AddressPartNode<>(path, this);
-         childNodes.put(path, answer);
+         answer = childNodes.computeIfAbsent(path, p -> new AddressPartNode<>(p, this));
       }
       return answer;
    }
 
    public void add(final String[] paths, final int idx, final T value) {
-      if (idx >= paths.length) {
-         values.add(value);
-      } else {
-         getChildOrCreate(paths[idx]).add(paths, idx + 1, value);
+      AddressPartNode<T> node = this;
+      for (int i = idx; i < paths.length; i++) {
+         node = node.getChildOrCreate(paths[i]);
       }
+      final Object[] current = node.values;
+      final Object[] updated = Arrays.copyOf(current, current.length + 1);
+      updated[current.length] = value;
+      node.values = updated;
    }
 
    public void remove(final String[] paths, final int idx, final T value) {
-      if (idx >= paths.length) {
-         values.remove(value);
-         pruneIfEmpty();
-      } else {
-         getChildOrCreate(paths[idx]).remove(paths, idx + 1, value);
+      AddressPartNode<T> node = this;
+      for (int i = idx; i < paths.length && node != null; i++) {
+         node = node.getChild(paths[i]);
+      }
+      if (node == null) {
+         return;
+      }
+      final Object[] current = node.values;
+      for (int i = 0; i < current.length; i++) {
+         if (value == null ? current[i] == null : value.equals(current[i])) {
+            final Object[] updated = new Object[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, i);
+            System.arraycopy(current, i + 1, updated, i, updated.length - i);
+            node.values = updated.length == 0 ? NO_VALUES : updated;
+            break;
+         }
       }
+      node.pruneIfEmpty();
    }
 
    public void visitDescendantNonWildcardValues(final AddressMapVisitor<T> collector) throws Exception {
@@ -266,9 +289,10 @@ public final class AddressPartNode<T> {
       }
    }
 
+   @SuppressWarnings("unchecked")
    public void visitValues(final AddressMapVisitor<T> collector) throws Exception {
-      for (T o : values) {
-         collector.visit(o);
+      for (Object o : values) {
+         collector.visit((T) o);
       }
    }
 
@@ -277,7 +301,7 @@ public final class AddressPartNode<T> {
    }
 
    protected void pruneIfEmpty() {
-      if (parent != null && childNodes.isEmpty() && values.isEmpty()) {
+      if (parent != null && childNodes.isEmpty() && values.length == 0) {
          parent.removeChild(this);
       }
    }
@@ -288,7 +312,7 @@ public final class AddressPartNode<T> {
    }
 
    public void reset() {
-      values.clear();
+      values = NO_VALUES;
       childNodes.clear();
    }
 }
@@ -34,6 +34,7 @@ import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterIndex;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.Bindings;
@@ -94,6 +95,20 @@ public final class BindingsImpl implements Bindings {
 
    private volatile boolean hasLocal;
 
+   /**
+    * The number of filtered bindings from which routing evaluates only the filters of the candidate bindings found in
+    * a {@link FilterIndex}, rather than the filters of all the bindings.
+    */
+   private static final int MIN_INDEXED_BINDINGS = 8;
+
+   private record RoutingIndex(int version,
+                               FilterIndex<Binding> filterIndex,
+                               Binding[][] bindings,
+                               CopyOnWriteBindings.BindingIndex[] positions) {
+   }
+
+   private volatile RoutingIndex routingIndex;
+
    public BindingsImpl(final SimpleString name, final GroupingHandler groupingHandler, StorageManager storageManager) {
       this.groupingHandler = groupingHandler;
       this.storageManager = storageManager;
@@ -407,21 +422,86 @@ public final class BindingsImpl implements Bindings {
          logger.trace("Routing message {} on binding={} current context::{}", message, this, context);
       }
 
-      routingNameBindingMap.forEachBindings((bindings, nextPosition) -> {
-         final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
-         if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
-            context.setReusable(true, currentVersion);
-         } else {
-            // notice that once this is set to false, any calls to setReusable(true) will be moot as the context will ignore it
-            context.setReusable(false, currentVersion);
+      final RoutingIndex routingIndex = getRoutingIndex(currentVersion);
+      if (routingIndex.filterIndex != null) {
+         indexedRouting(message, context, currentVersion, routingIndex);
+         return;
+      }
+
+      routingNameBindingMap.forEachBindings((bindings, nextPosition) -> routeToNextBinding(message, context, currentVersion, bindings, nextPosition));
+   }
+
+   private void routeToNextBinding(final Message message,
+                                   final RoutingContext context,
+                                   final int currentVersion,
+                                   final Binding[] bindings,
+                                   final CopyOnWriteBindings.BindingIndex nextPosition) throws Exception {
+      final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
+      if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
+         context.setReusable(true, currentVersion);
+      } else {
+         // notice that once this is set to false, any calls to setReusable(true) will be moot as the context will ignore it
+         context.setReusable(false, currentVersion);
+      }
+
+      if (nextBinding != null) {
+         if (!(context.isDivertDisabled() && nextBinding instanceof DivertBinding)) {
+            nextBinding.route(message, context);
+         }
+      }
+   }
+
+   /**
+    * Routes to the bindings not in the filter index as {@link #simpleRouting} does, then to the indexed bindings whose
+    * filter matches the message among the candidates of the index.
+    */
+   private void indexedRouting(final Message message,
+                               final RoutingContext context,
+                               final int currentVersion,
+                               final RoutingIndex routingIndex) throws Exception {
+      context.setReusable(false, currentVersion);
+      final Binding[][] bindings = routingIndex.bindings;
+      final CopyOnWriteBindings.BindingIndex[] positions = routingIndex.positions;
+      for (int i = 0; i < bindings.length; i++) {
+         routeToNextBinding(message, context, currentVersion, bindings[i], positions[i]);
+      }
+      routingIndex.filterIndex.forEachCandidate(message, binding -> {
+         final Filter filter = binding.getFilter();
+         if (filter == null || filter.match(message)) {
+            binding.route(message, context);
          }
+      });
+   }
 
-         if (nextBinding != null) {
-            if (!(context.isDivertDisabled() && nextBinding instanceof DivertBinding)) {
-               nextBinding.route(message, context);
-            }
+   private RoutingIndex getRoutingIndex(final int currentVersion) {
+      RoutingIndex routingIndex = this.routingIndex;
+      if (routingIndex == null || routingIndex.version != currentVersion) {
+         routingIndex = buildRoutingIndex(currentVersion);
+         this.routingIndex = routingIndex;
+      }
+      return routingIndex;
+   }
+
+   /**
+    * Indexes the filters of the routing names bound to a single local queue, which are routed to whenever their filter
+    * matches: the others are left to the usual routing logic, e.g. to load balance between their bindings.
+    */
+   private RoutingIndex buildRoutingIndex(final int currentVersion) {
+      final FilterIndex<Binding> filterIndex = new FilterIndex<>();
+      final List<Binding[]> bindings = new ArrayList<>();
+      final List<CopyOnWriteBindings.BindingIndex> positions = new ArrayList<>();
+      routingNameBindingMap.forEachBindings((routingNameBindings, nextPosition) -> {
+         if (routingNameBindings.length != 1 || !(routingNameBindings[0] instanceof LocalQueueBinding) ||
+            !filterIndex.add(routingNameBindings[0].getFilter(), routingNameBindings[0])) {
+            bindings.add(routingNameBindings);
+            positions.add(nextPosition);
          }
       });
+      if (filterIndex.size() < MIN_INDEXED_BINDINGS) {
+         return new RoutingIndex(currentVersion, null, null, null);
+      }
+      logger.debug("Routing {} filtered bindings of {} through a filter index", filterIndex.size(), name);
+      return new RoutingIndex(currentVersion, filterIndex, bindings.toArray(new Binding[0][]), positions.toArray(new CopyOnWriteBindings.BindingIndex[0]));
    }
 
    @Override
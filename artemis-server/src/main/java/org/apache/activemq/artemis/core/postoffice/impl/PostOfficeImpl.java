@@ -33,6 +33,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import org.apache.activemq.artemis.api.core.ActiveMQAddressDoesNotExistException;
@@ -1132,7 +1133,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    public RoutingStatus route(final Message message,
                               final RoutingContext context,
                               final boolean direct) throws Exception {
-      return route(message, context, direct, true, null, false);
+      return route(message, context, direct, true, null, false, null);
    }
 
    @Override
@@ -1142,18 +1143,65 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                               boolean rejectDuplicates,
                               final Binding bindingMove) throws Exception {
 
-      return route(message, context, direct, rejectDuplicates, bindingMove, false);
+      return route(message, context, direct, rejectDuplicates, bindingMove, false, null);
+   }
+
+   @Override
+   public RoutingStatus[] route(final List<? extends Message> messages,
+                                final RoutingContext context,
+                                final BiConsumer<? super Message, ? super Exception> onFailure) throws Exception {
+      if (context.getTransaction() != null) {
+         throw new IllegalArgumentException("A run of messages can't be routed in a transaction");
+      }
+      final RoutingStatus[] statuses = new RoutingStatus[messages.size()];
+      final RouteBatch batch = new RouteBatch();
+      try {
+         for (int i = 0; i < statuses.length; i++) {
+            final Message message = messages.get(i);
+            context.setAddress(message.getAddressSimpleString());
+            batch.begin();
+            try {
+               statuses[i] = route(message, context, false, false, null, false, batch);
+            } catch (Exception e) {
+               logger.debug("Failed to route message {} of a batch", message, e);
+               batch.rollback(message);
+               rollbackStartedTransaction(context);
+               onFailure.accept(message, e);
+            } finally {
+               // a transaction may have been started for the duplicate detection of the message
+               context.setTransaction(null);
+            }
+         }
+      } finally {
+         batch.complete(false);
+      }
+      return statuses;
+   }
+
+   private static void rollbackStartedTransaction(RoutingContext context) {
+      final Transaction tx = context.getTransaction();
+      if (tx != null && (tx.getState() == Transaction.State.ACTIVE || tx.getState() == Transaction.State.ROLLBACK_ONLY)) {
+         try {
+            tx.rollback();
+         } catch (Exception e) {
+            logger.warn("Failed to roll back the transaction of a message that failed to route", e);
+         }
+      }
    }
 
    /**
     * The route can call itelf sending to DLA. if a DLA still not found, it should then use previous semantics.
+    *
+    * @param batch the batch collecting the references of non transactional messages, {@code null} to process them
+    *              with the message
     */
    private RoutingStatus route(final Message message,
                                final RoutingContext context,
                                final boolean direct,
                                final boolean rejectDuplicates,
                                final Binding bindingMove,
-                               final boolean sendToDLA) throws Exception {
+                               final boolean sendToDLA,
+                               final RouteBatch batch) throws Exception {
 
       // Sanity check
       if (message.getRefCount() > 0) {
@@ -1239,7 +1287,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             finalStatus = status;
             try {
                if (context.getQueueCount() > 0) {
-                  processRoute(message, context, direct);
+                  processRoute(message, context, direct, batch);
                } else {
                   if (message.isLargeMessage()) {
                      ((LargeServerMessage) message).deleteFile();
@@ -1339,7 +1387,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
             message.reencode();
 
-            route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, true);
+            route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, true, null);
             status = RoutingStatus.NO_BINDINGS_DLA;
          }
       } else {
@@ -1654,10 +1702,23 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    public void processRoute(final Message message,
                             final RoutingContext context,
                             final boolean direct) throws Exception {
-      final ArrayList<MessageReference> refs = new ArrayList<>();
+      processRoute(message, context, direct, null);
+   }
 
+   private void processRoute(final Message message,
+                             final RoutingContext context,
+                             final boolean direct,
+                             RouteBatch batch) throws Exception {
       final Transaction tx = context.getTransaction();
 
+      if (batch != null && tx != null) {
+         // the references of the message are added to the queues on commit, after the ones batched so far
+         batch.complete(direct);
+         batch = null;
+      }
+
+      final ArrayList<MessageReference> refs = batch == null ? new ArrayList<>() : batch.refs;
+
       final Long deliveryTime;
 
       boolean containsDurables = false;
@@ -1699,7 +1760,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
          final List<Queue> durableQueues = entry.getValue().getDurableQueues();
          if (!durableQueues.isEmpty()) {
-            processRouteToDurableQueues(message, context, deliveryTime, tx, durableQueues, refs);
+            processRouteToDurableQueues(message, context, deliveryTime, tx, durableQueues, refs, batch);
             containsDurables = true;
          }
       }
@@ -1709,6 +1770,11 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          mirrorControllerSource.sendMessage(tx, message, context);
       }
 
+      if (batch != null) {
+         batch.containsDurables |= containsDurables;
+         return;
+      }
+
 
       if (tx != null) {
          tx.addOperation(new AddOperation(refs));
@@ -1744,7 +1810,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                                             final Long deliveryTime,
                                             final Transaction tx,
                                             final List<Queue> durableQueues,
-                                            final ArrayList<MessageReference> refs) throws Exception {
+                                            final ArrayList<MessageReference> refs,
+                                            final RouteBatch batch) throws Exception {
       final int durableQueuesCount = durableQueues.size();
       refs.ensureCapacity(durableQueuesCount);
       final Iterator<Queue> iter = durableQueues.iterator();
@@ -1763,8 +1830,16 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          refs.add(reference);
          queue.refUp(reference);
          if (message.isDurable()) {
-            storeDurableReference(storageManager, message, tx, queue, durableQueuesCount - 1 == i);
+            if (batch == null) {
+               storeDurableReference(storageManager, message, tx, queue, durableQueuesCount - 1 == i);
+            } else {
+               batch.storeDurableReference(message, queue);
+            }
             if (deliveryTime != null && deliveryTime > 0) {
+               if (batch != null) {
+                  // the scheduled delivery time is an update of the reference record
+                  batch.storePendingReference(durableQueuesCount - 1 == i);
+               }
                if (tx != null) {
                   storageManager.updateScheduledDeliveryTimeTransactional(tx.getID(), reference);
                } else {
@@ -1796,6 +1871,111 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
    }
 
+   /**
+    * The references of a run of non transactional messages, added to their queues together once all of them are
+    * stored.
+    * <p>
+    * The record of the last reference stored is held back until the next one is stored, so that only the record
+    * completing the run needs to be synced instead of the last record of every message.
+    * <p>
+    * The references of a message failing to route are rolled back: they are dropped from the run and the message
+    * record, along with the reference records written for it, is deleted. A copy of the message already paged is kept,
+    * as it would be by a single send.
+    */
+   private final class RouteBatch {
+
+      private final ArrayList<MessageReference> refs = new ArrayList<>();
+
+      private boolean containsDurables;
+
+      private Queue pendingQueue;
+
+      private Message pendingMessage;
+
+      // the first reference of the message being routed
+      private int mark;
+
+      // the durable queues the message being routed was counted for
+      private final ArrayList<Queue> durableQueues = new ArrayList<>();
+
+      private boolean messageStored;
+
+      private void begin() {
+         mark = refs.size();
+         durableQueues.clear();
+         messageStored = false;
+      }
+
+      private void storeDurableReference(Message message, Queue queue) throws Exception {
+         assert message.isDurable();
+
+         storePendingReference(false);
+         final int durableRefCount = queue.durableUp(message);
+         durableQueues.add(queue);
+         if (durableRefCount == 1) {
+            storageManager.storeMessage(message);
+            messageStored = true;
+         }
+         pendingQueue = queue;
+         pendingMessage = message;
+      }
+
+      private void rollback(Message message) throws Exception {
+         if (pendingMessage == message) {
+            pendingQueue = null;
+            pendingMessage = null;
+         }
+         for (int i = refs.size() - 1; i >= mark; i--) {
+            final MessageReference ref = refs.remove(i);
+            ref.getQueue().refDown(ref);
+         }
+         for (Queue queue : durableQueues) {
+            queue.durableDown(message);
+         }
+         durableQueues.clear();
+         if (messageStored) {
+            messageStored = false;
+            storageManager.deleteMessage(message.getMessageID());
+         }
+      }
+
+      private void storePendingReference(boolean sync) throws Exception {
+         if (pendingQueue != null) {
+            storageManager.storeReference(pendingQueue.getID(), pendingMessage.getMessageID(), sync);
+            pendingQueue = null;
+            pendingMessage = null;
+         }
+      }
+
+      private void complete(boolean direct) throws Exception {
+         storePendingReference(true);
+         // the message being routed, if any, continues in a transaction
+         begin();
+         if (refs.isEmpty()) {
+            return;
+         }
+         final List<MessageReference> batchRefs = new ArrayList<>(refs);
+         final boolean durable = containsDurables;
+         refs.clear();
+         containsDurables = false;
+         if (!durable) {
+            processReferences(batchRefs, direct);
+         } else {
+            storageManager.afterCompleteOperations(new IOCallback() {
+               @Override
+               public void onError(final int errorCode, final String errorMessage) {
+                  ActiveMQServerLogger.LOGGER.ioErrorAddingReferences(errorCode, errorMessage);
+               }
+
+               @Override
+               public void done() {
+                  processReferences(batchRefs, direct);
+               }
+            });
+         }
+      }
+   }
+
    /**
     * This will kick a delivery async on the queue, so the queue may have a chance to depage messages
     */
@@ -62,6 +62,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSen
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_V3;
 import org.apache.activemq.artemis.core.server.LargeServerMessage;
+import org.apache.activemq.artemis.utils.pools.MpscPool;
+import org.apache.activemq.artemis.utils.pools.Pool;
 
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.BACKUP_REQUEST;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.BACKUP_REQUEST_RESPONSE;
@@ -97,11 +99,34 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
 
    private static final long serialVersionUID = 3348673114388400766L;
 
+   private static final int MAX_CACHED_PACKETS = 32;
+
    private final StorageManager storageManager;
 
+   // acknowledgements and consumer credits are borrowed by the thread decoding the packets of the connection, and
+   // given back by whoever handled them through recycle
+   private final transient Pool<SessionAcknowledgeMessage> poolAcknowledgeMessage;
+
+   private final transient Pool<SessionConsumerFlowCreditMessage> poolConsumerFlowCreditMessage;
+
    public ServerPacketDecoder(StorageManager storageManager) {
       assert storageManager != null;
       this.storageManager = storageManager;
+      this.poolAcknowledgeMessage = new MpscPool<>(MAX_CACHED_PACKETS, SessionAcknowledgeMessage::reset, SessionAcknowledgeMessage::new);
+      this.poolConsumerFlowCreditMessage = new MpscPool<>(MAX_CACHED_PACKETS, SessionConsumerFlowCreditMessage::reset, SessionConsumerFlowCreditMessage::new);
+   }
+
+   /**
+    * Gives back a packet decoded by this decoder once fully handled, so that it can be reused to decode the next ones:
+    * nothing must reference it afterwards. Only acknowledgements and consumer credits are reused.
+    */
+   public void recycle(Packet packet) {
+      final byte type = packet.getType();
+      if (type == SESS_ACKNOWLEDGE) {
+         poolAcknowledgeMessage.release((SessionAcknowledgeMessage) packet);
+      } else if (type == SESS_FLOWTOKEN) {
+         poolConsumerFlowCreditMessage.release((SessionConsumerFlowCreditMessage) packet);
+      }
    }
 
    private SessionSendMessage decodeSessionSendMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
@@ -121,8 +146,8 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
       return sendMessage;
    }
 
-   private static SessionAcknowledgeMessage decodeSessionAcknowledgeMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
-      final SessionAcknowledgeMessage acknowledgeMessage = new SessionAcknowledgeMessage();
+   private SessionAcknowledgeMessage decodeSessionAcknowledgeMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
+      final SessionAcknowledgeMessage acknowledgeMessage = poolAcknowledgeMessage.borrow();
       acknowledgeMessage.decode(in);
       return acknowledgeMessage;
    }
@@ -133,8 +158,8 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
       return requestProducerCreditsMessage;
    }
 
-   private static SessionConsumerFlowCreditMessage decodeSessionConsumerFlowCreditMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
-      final SessionConsumerFlowCreditMessage sessionConsumerFlowCreditMessage = new SessionConsumerFlowCreditMessage();
+   private SessionConsumerFlowCreditMessage decodeSessionConsumerFlowCreditMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
+      final SessionConsumerFlowCreditMessage sessionConsumerFlowCreditMessage = poolConsumerFlowCreditMessage.borrow();
       sessionConsumerFlowCreditMessage.decode(in);
       return sessionConsumerFlowCreditMessage;
    }
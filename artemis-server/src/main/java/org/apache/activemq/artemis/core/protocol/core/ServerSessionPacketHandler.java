@@ -37,7 +37,9 @@ import org.apache.activemq.artemis.api.core.client.ClientSession;
 import org.apache.activemq.artemis.core.exception.ActiveMQXAException;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.protocol.ServerPacketDecoder;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.RemotingConnectionImpl;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQExceptionMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQExceptionMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateAddressMessage;
@@ -1006,6 +1008,18 @@ public class ServerSessionPacketHandler implements ChannelHandler {
       if (closeChannel) {
          channel.close();
       }
+
+      if (confirmPacket != null) {
+         recyclePacket(confirmPacket);
+      }
+   }
+
+   private void recyclePacket(Packet packet) {
+      // interceptors could keep a reference to the packets they intercepted
+      if (remotingConnection instanceof RemotingConnectionImpl connection && connection.getPacketDecoder() instanceof ServerPacketDecoder decoder &&
+         (connection.getIncomingInterceptors() == null || connection.getIncomingInterceptors().isEmpty())) {
+         decoder.recycle(packet);
+      }
    }
 
    public void closeListeners() {
@@ -111,8 +111,18 @@ public final class CoreSessionCallback implements SessionCallback {
       return packet.getPacketSize();
    }
 
+   @Override
+   public boolean supportsDeliveryShards() {
+      return true;
+   }
+
    @Override
    public int sendMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount)  {
+      return sendMessage(ref, consumer, deliveryCount, true);
+   }
+
+   @Override
+   public int sendMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount, boolean flush) {
 
       Packet packet;
       if (channel.getConnection().isVersionBeforeAddressChange()) {
@@ -123,13 +133,19 @@ public final class CoreSessionCallback implements SessionCallback {
 
       int size = 0;
 
-      if (channel.sendBatched(packet)) {
+      // an unflushed message waits for flushDeliveries, unless the connection isn't writable anymore
+      if (flush ? channel.sendBatched(packet) : channel.send(packet, false)) {
          size = packet.getPacketSize();
       }
 
       return size;
    }
 
+   @Override
+   public void flushDeliveries() {
+      channel.flushConnection();
+   }
+
    @Override
    public void sendProducerCreditsMessage(int credits, SimpleString address) {
       Packet packet = new SessionProducerCreditsMessage(credits, address);
@@ -531,4 +531,7 @@ public interface ActiveMQMessageBundle {
 
    @Message(id = 229256, value = "{} must be a positive power of 2 (actual value: {})")
    IllegalArgumentException positivePowerOfTwo(String name, Number val);
+
+   @Message(id = 229257, value = "The message journal stripe {} still holds journal files, which can't be loaded {}: restore the previous journal-stripes until they are consumed")
+   IllegalStateException journalStripesCannotBeRetired(String location, String reason);
 }
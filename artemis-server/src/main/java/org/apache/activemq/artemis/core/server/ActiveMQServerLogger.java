@@ -324,6 +324,15 @@ public interface ActiveMQServerLogger {
    @LogMessage(id = 221086, value = "Cannot route {}", level = LogMessage.Level.INFO)
    void cannotRouteClientConnection(Connection connection);
 
+   @LogMessage(id = 221110, value = "Message journal striped across {} journals", level = LogMessage.Level.INFO)
+   void journalStriped(int stripes);
+
+   @LogMessage(id = 221111, value = "Message journal striped across {} journals; the stripes up to {} are kept, without new records, until the records they hold are gone", level = LogMessage.Level.INFO)
+   void journalStripesRetired(int stripes, int lastStripe);
+
+   @LogMessage(id = 221112, value = "Removed the retired message journal stripe {}, which doesn't hold any record anymore", level = LogMessage.Level.INFO)
+   void journalStripeDrained(String location);
+
    @LogMessage(id = 222000, value = "ActiveMQServer is being finalized and has not been stopped. Please remember to stop the server before letting it go out of scope", level = LogMessage.Level.WARN)
    void serverFinalisedWIthoutBeingSTopped();
 
@@ -1103,6 +1112,9 @@ public interface ActiveMQServerLogger {
    @LogMessage(id = 222310, value = "Trying to add a producer with ID {} that already exists to session {} on Connection {}.", level = LogMessage.Level.WARN)
    void producerAlreadyExists(int id, String session, String remoteAddress);
 
+   @LogMessage(id = 222311, value = "journal-stripes={} is not supported {}; the message journal will use {} stripe(s)", level = LogMessage.Level.WARN)
+   void journalStripesAdjusted(int configured, String reason, int stripes);
+
    @LogMessage(id = 224000, value = "Failure in initialisation", level = LogMessage.Level.ERROR)
    void initializationError(Throwable e);
 
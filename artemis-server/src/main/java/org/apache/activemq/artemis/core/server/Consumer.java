@@ -35,6 +35,15 @@ public interface Consumer extends PriorityAware {
       return true;
    }
 
+   /**
+    * Whether this {@code Consumer} can be delivered to by a delivery shard of its queue.
+    *
+    * @see SessionCallback#supportsDeliveryShards()
+    */
+   default boolean supportsDeliveryShards() {
+      return false;
+   }
+
    /**
     * There was a change on semantic during 2.3 here.
     * <p>
@@ -63,6 +72,21 @@ public interface Consumer extends PriorityAware {
     */
    void proceedDeliver(MessageReference reference) throws Exception;
 
+   /**
+    * Same as {@link #proceedDeliver(MessageReference)}, but when {@code flush} is {@code false} the delivery may be
+    * held back from the network until {@link #flushDeliveries()} is called, so that the deliveries of a batch share a
+    * single flush.
+    */
+   default void proceedDeliver(MessageReference reference, boolean flush) throws Exception {
+      proceedDeliver(reference);
+   }
+
+   /**
+    * Flushes the deliveries held back by {@link #proceedDeliver(MessageReference, boolean)}.
+    */
+   default void flushDeliveries() {
+   }
+
    default Binding getBinding() {
       return null;
    }
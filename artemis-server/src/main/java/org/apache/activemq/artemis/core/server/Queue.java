@@ -469,6 +469,13 @@ public interface Queue extends Bindable, CriticalComponent {
 
    Executor getExecutor();
 
+   /**
+    * {@return the executor delivering to {@code consumer}, e.g. the one of its delivery shard}
+    */
+   default Executor getDeliveryExecutor(Consumer consumer) {
+      return getExecutor();
+   }
+
    void resetAllIterators();
 
    boolean flushExecutor();
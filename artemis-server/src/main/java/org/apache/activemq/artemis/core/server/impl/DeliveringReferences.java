@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.Collection;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+
+/**
+ * The references being delivered to a consumer, in delivery order and indexed by message ID.
+ * <p>
+ * A reference can be removed by its message ID without scanning the references delivered before it, e.g. when messages
+ * are acknowledged individually or expired out of delivery order. Message IDs are expected to be unique: a reference
+ * whose ID is already indexed can only be removed by a scan.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class DeliveringReferences {
+
+   private final LinkedListImpl<MessageReference> references;
+
+   private final LongObjectHashMap<LinkedListImpl.Node<MessageReference>> nodes = new LongObjectHashMap<>();
+
+   // references not in the index as another reference with the same message ID was already there
+   private int unindexed;
+
+   /**
+    * The map hashes a key to itself: consecutive message IDs would fill a single run of slots, making a removal scan
+    * the whole run. A multiplication by an odd constant spreads them without collisions.
+    */
+   private static long key(long messageID) {
+      return messageID * 0x9E3779B97F4A7C15L;
+   }
+
+   public DeliveringReferences() {
+      references = new LinkedListImpl<>(null, new MessageIDNodeStore());
+   }
+
+   public void addTail(MessageReference reference) {
+      references.addTail(reference);
+   }
+
+   public void addHead(MessageReference reference) {
+      references.addHead(reference);
+   }
+
+   public MessageReference peek() {
+      return references.peek();
+   }
+
+   public MessageReference poll() {
+      return references.poll();
+   }
+
+   /**
+    * {@return the reference removed, or {@code null} if no reference of the message is being delivered}
+    */
+   public MessageReference removeByID(long messageID) {
+      final MessageReference reference = references.removeWithID(null, messageID);
+      if (reference != null || unindexed == 0) {
+         return reference;
+      }
+      try (LinkedListIterator<MessageReference> iterator = references.iterator()) {
+         while (iterator.hasNext()) {
+            final MessageReference candidate = iterator.next();
+            if (candidate.getMessageID() == messageID) {
+               iterator.remove();
+               return candidate;
+            }
+         }
+      }
+      return null;
+   }
+
+   /**
+    * {@return an iterator in delivery order, supporting removal, which must be closed after use}
+    */
+   public LinkedListIterator<MessageReference> iterator() {
+      return references.iterator();
+   }
+
+   public void copyTo(Collection<? super MessageReference> collection) {
+      references.forEach(collection::add);
+   }
+
+   public int size() {
+      return references.size();
+   }
+
+   public boolean isEmpty() {
+      return references.size() == 0;
+   }
+
+   private final class MessageIDNodeStore implements NodeStore<MessageReference> {
+
+      @Override
+      public void storeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+         final long key = key(element.getMessageID());
+         if (nodes.containsKey(key)) {
+            unindexed++;
+         } else {
+            nodes.put(key, node);
+         }
+      }
+
+      @Override
+      public LinkedListImpl.Node<MessageReference> getNode(String listID, long id) {
+         return nodes.get(key(id));
+      }
+
+      @Override
+      public void removeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+         final long key = key(element.getMessageID());
+         if (nodes.get(key) == node) {
+            nodes.remove(key);
+         } else {
+            unindexed--;
+         }
+      }
+
+      @Override
+      public void clear() {
+         nodes.clear();
+         unindexed = 0;
+      }
+
+      @Override
+      public int size() {
+         return nodes.size();
+      }
+   }
+}
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.server.impl;
 
 import java.util.Comparator;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -30,6 +31,11 @@ import org.apache.activemq.artemis.core.transaction.Transaction;
 
 /**
  * Implementation of a MessageReference
+ * <p>
+ * What is only needed by the few references that get scheduled or acknowledged before delivery is kept in a
+ * {@link DeliveryState} allocated on first use, while what any delivery touches, e.g. the delivery count, the consumer
+ * ID or the onDelivery callback, stays inline. This keeps the heap taken by deep queues of small messages low without
+ * adding an allocation to any delivery.
  */
 public class MessageReferenceImpl extends AbstractProtocolReference implements MessageReference, Runnable {
 
@@ -59,33 +65,47 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
    }
 
 
+   /**
+    * The part of a reference only used once scheduled or acknowledged before delivery.
+    */
+   private static final class DeliveryState {
+
+      private volatile long scheduledDeliveryTime;
+
+      private boolean alreadyAcked;
+   }
+
    private static final AtomicIntegerFieldUpdater<MessageReferenceImpl> DELIVERY_COUNT_UPDATER = AtomicIntegerFieldUpdater
       .newUpdater(MessageReferenceImpl.class, "deliveryCount");
 
+   private static final AtomicReferenceFieldUpdater<MessageReferenceImpl, DeliveryState> DELIVERY_STATE_UPDATER = AtomicReferenceFieldUpdater
+      .newUpdater(MessageReferenceImpl.class, DeliveryState.class, "deliveryState");
+
    @SuppressWarnings("unused")
    private volatile int deliveryCount = 0;
 
    private volatile int persistedCount;
 
-   private volatile long scheduledDeliveryTime;
-
-   private final Message message;
-
-   private final Queue queue;
-
    private long consumerID;
 
    private boolean hasConsumerID = false;
 
-   private boolean alreadyAcked;
-
    private boolean deliveredDirectly;
 
    private Consumer<? super MessageReference> onDelivery;
 
+   private final Message message;
+
+   private final Queue queue;
+
+   // null until first needed, see DeliveryState
+   private volatile DeliveryState deliveryState;
+
 
    // This value has been computed by using https://github.com/openjdk/jol
-   // on HotSpot 64-bit VM COOPS, 8-byte alignment
+   // on HotSpot 64-bit VM COOPS, 8-byte alignment.
+   // It doesn't count the 24 bytes of a DeliveryState: the estimate is added and removed once per reference, before
+   // it is known whether the reference will ever allocate one, so those few references are undercounted.
    private static final int memoryOffset = 72;
 
 
@@ -98,7 +118,12 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
    public MessageReferenceImpl(final MessageReferenceImpl other, final Queue queue) {
       DELIVERY_COUNT_UPDATER.set(this, other.getDeliveryCount());
 
-      scheduledDeliveryTime = other.scheduledDeliveryTime;
+      final DeliveryState otherState = other.deliveryState;
+      if (otherState != null && otherState.scheduledDeliveryTime != 0) {
+         final DeliveryState state = new DeliveryState();
+         state.scheduledDeliveryTime = otherState.scheduledDeliveryTime;
+         deliveryState = state;
+      }
 
       message = other.message;
 
@@ -114,6 +139,18 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
 
    }
 
+   private DeliveryState deliveryState() {
+      final DeliveryState state = deliveryState;
+      if (state != null) {
+         return state;
+      }
+      final DeliveryState newState = new DeliveryState();
+      if (DELIVERY_STATE_UPDATER.compareAndSet(this, null, newState)) {
+         return newState;
+      }
+      return deliveryState;
+   }
+
    // MessageReference implementation -------------------------------
 
    @Override
@@ -156,6 +193,9 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
       return new MessageReferenceImpl(this, queue);
    }
 
+   /**
+    * {@return the estimated heap taken by a reference, not counting its {@link DeliveryState} if any}
+    */
    public static int getMemoryEstimate() {
       return MessageReferenceImpl.memoryOffset;
    }
@@ -184,12 +224,15 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
 
    @Override
    public long getScheduledDeliveryTime() {
-      return scheduledDeliveryTime;
+      final DeliveryState state = deliveryState;
+      return state == null ? 0 : state.scheduledDeliveryTime;
    }
 
    @Override
    public void setScheduledDeliveryTime(final long scheduledDeliveryTime) {
-      this.scheduledDeliveryTime = scheduledDeliveryTime;
+      if (scheduledDeliveryTime != 0 || deliveryState != null) {
+         deliveryState().scheduledDeliveryTime = scheduledDeliveryTime;
+      }
    }
 
    @Override
@@ -229,12 +272,13 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
 
    @Override
    public void setAlreadyAcked() {
-      alreadyAcked = true;
+      deliveryState().alreadyAcked = true;
    }
 
    @Override
    public boolean isAlreadyAcked() {
-      return alreadyAcked;
+      final DeliveryState state = deliveryState;
+      return state != null && state.alreadyAcked;
    }
 
    @Override
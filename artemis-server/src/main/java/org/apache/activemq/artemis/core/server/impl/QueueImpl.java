@@ -153,6 +153,12 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    public static final int MAX_DELIVERIES_IN_LOOP = 1000;
 
+   /**
+    * The deliveries of the delivery loop are flushed to the network in batches of at most this size, so that the ones to
+    * the same consumer share a flush
+    */
+   public static final int MAX_DELIVERIES_IN_BATCH = 64;
+
    public static final int CHECK_QUEUE_SIZE_PERIOD = 1000;
 
    /**
@@ -284,6 +290,16 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final ArtemisExecutor executor;
 
+   // the executors delivering to the consumers of each shard, or null if all the deliveries are done by the executor
+   private final ArtemisExecutor[] deliveryShards;
+
+   // the consumers with deliveries not flushed yet by the delivery loop, only accessed holding the deliverLock
+   private Consumer[] unflushedConsumers;
+
+   private int unflushedConsumersSize;
+
+   private int unflushedDeliveries;
+
    private volatile long lastDirectDeliveryCheck = 0;
 
    private volatile boolean directDeliver = true;
@@ -412,8 +428,6 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       this.server = server;
 
-      scheduledDeliveryHandler = new ScheduledDeliveryHandlerImpl(scheduledExecutor, this);
-
       if (addressSettingsRepository != null) {
          addressSettingsRepositoryListener = new AddressSettingsRepositoryListener(addressSettingsRepository);
          addressSettingsRepository.registerListener(addressSettingsRepositoryListener);
@@ -422,6 +436,12 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          this.cachedAddressSettings = new AddressSettings();
       }
 
+      if (this.cachedAddressSettings.isScheduledDeliveryTimingWheel()) {
+         scheduledDeliveryHandler = new TimingWheelScheduledDeliveryHandler(scheduledExecutor, this);
+      } else {
+         scheduledDeliveryHandler = new ScheduledDeliveryHandlerImpl(scheduledExecutor, this);
+      }
+
       if (pageSubscription != null) {
          pageSubscription.setQueue(this);
          this.pageIterator = pageSubscription.iterator();
@@ -441,6 +461,16 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          ? ActiveMQDefaultConfiguration.INITIAL_QUEUE_BUFFER_SIZE
          : this.cachedAddressSettings.getInitialQueueBufferSize();
       this.intermediateMessageReferences = new MpscUnboundedArrayQueue<>(initialQueueBufferSize);
+
+      final int shards = this.cachedAddressSettings.getDeliveryShards();
+      if (shards > 1 && server != null && server.getExecutorFactory() != null) {
+         this.deliveryShards = new ArtemisExecutor[shards];
+         for (int i = 0; i < shards; i++) {
+            this.deliveryShards[i] = server.getExecutorFactory().getExecutor();
+         }
+      } else {
+         this.deliveryShards = null;
+      }
    }
 
    // Bindable implementation -------------------------------------------------------------------------------------
@@ -1115,7 +1145,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private boolean internalFlushExecutor(long timeout, boolean log) {
 
-      if (!getExecutor().flush(timeout, TimeUnit.MILLISECONDS)) {
+      if (!getExecutor().flush(timeout, TimeUnit.MILLISECONDS) || !flushDeliveryShards(timeout)) {
          if (log) {
             ActiveMQServerLogger.LOGGER.queueBusy(this.queueConfiguration.getName().toString(), timeout);
          }
@@ -1125,6 +1155,17 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   private boolean flushDeliveryShards(long timeout) {
+      if (deliveryShards != null) {
+         for (ArtemisExecutor deliveryShard : deliveryShards) {
+            if (!deliveryShard.flush(timeout, TimeUnit.MILLISECONDS)) {
+               return false;
+            }
+         }
+      }
+      return true;
+   }
+
    private boolean canDispatch() {
       boolean canDispatch = BooleanUtil.toBoolean(dispatchingUpdater.get(this));
       if (canDispatch) {
@@ -3055,7 +3096,14 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          }
 
          if (handledconsumer != null) {
-            proceedDeliver(handledconsumer, ref);
+            final ArtemisExecutor deliveryShard = getDeliveryShard(handledconsumer);
+            if (deliveryShard == null) {
+               proceedDeliverInBatch(handledconsumer, ref);
+            } else {
+               final Consumer shardConsumer = handledconsumer;
+               final MessageReference shardRef = ref;
+               deliveryShard.execute(() -> proceedDeliver(shardConsumer, shardRef));
+            }
          }
       }
 
@@ -3807,9 +3855,74 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return ref;
    }
 
+   /**
+    * {@return the executor of the shard delivering to {@code consumer}, or {@code null} if the deliveries to it must be
+    * done by the calling thread}
+    * <p>
+    * A consumer always belongs to the same shard, so that the messages it receives keep their order. Internal consumers,
+    * e.g. redistributors and bridges, and consumers whose credits are taken by their protocol aren't sharded.
+    */
+   private ArtemisExecutor getDeliveryShard(Consumer consumer) {
+      if (deliveryShards == null || !consumer.supportsDeliveryShards()) {
+         return null;
+      }
+      return deliveryShards[(int) (consumer.sequentialID() % deliveryShards.length)];
+   }
+
+   @Override
+   public ArtemisExecutor getDeliveryExecutor(Consumer consumer) {
+      final ArtemisExecutor deliveryShard = getDeliveryShard(consumer);
+      return deliveryShard == null ? getExecutor() : deliveryShard;
+   }
+
    private void proceedDeliver(Consumer consumer, MessageReference reference) {
+      proceedDeliver(consumer, reference, true);
+   }
+
+   /**
+    * Delivers a reference without flushing it, see {@link #flushDeliveries()}.
+    */
+   private void proceedDeliverInBatch(Consumer consumer, MessageReference reference) {
+      if (unflushedConsumers == null) {
+         unflushedConsumers = new Consumer[MAX_DELIVERIES_IN_BATCH];
+      }
+      boolean unflushed = false;
+      for (int i = 0; i < unflushedConsumersSize; i++) {
+         if (unflushedConsumers[i] == consumer) {
+            unflushed = true;
+            break;
+         }
+      }
+      if (!unflushed) {
+         unflushedConsumers[unflushedConsumersSize++] = consumer;
+      }
+      proceedDeliver(consumer, reference, false);
+      if (++unflushedDeliveries == MAX_DELIVERIES_IN_BATCH) {
+         flushDeliveries();
+      }
+   }
+
+   /**
+    * Flushes the deliveries done by the delivery loop since the last flush, once per consumer. This is done every
+    * {@link #MAX_DELIVERIES_IN_BATCH} deliveries and when the loop is done.
+    */
+   private void flushDeliveries() {
+      for (int i = 0; i < unflushedConsumersSize; i++) {
+         final Consumer consumer = unflushedConsumers[i];
+         unflushedConsumers[i] = null;
+         try {
+            consumer.flushDeliveries();
+         } catch (Throwable t) {
+            logger.debug("Unable to flush the deliveries to consumer {}", consumer, t);
+         }
+      }
+      unflushedConsumersSize = 0;
+      unflushedDeliveries = 0;
+   }
+
+   private void proceedDeliver(Consumer consumer, MessageReference reference, boolean flush) {
       try {
-         consumer.proceedDeliver(reference);
+         consumer.proceedDeliver(reference, flush);
       } catch (Throwable t) {
          errorProcessing(consumer, t, reference);
       } finally {
@@ -4156,6 +4269,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                try {
                   needCheckDepage = deliver();
                } finally {
+                  flushDeliveries();
                   deliverLock.unlock();
                }
             }
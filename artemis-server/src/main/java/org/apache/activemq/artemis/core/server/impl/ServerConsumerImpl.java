@@ -18,14 +18,13 @@ package org.apache.activemq.artemis.core.server.impl;
 
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -115,6 +114,15 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private final ReusableLatch pendingDelivery = new ReusableLatch(0);
 
+   // the credits taken by the references handed over to a delivery shard and not delivered yet, written under lock
+   private volatile int pendingCredits;
+
+   // set when a reference was refused for the credits of the pending deliveries, guarded by lock
+   private boolean busyOnPendingCredits;
+
+   // the deliveries prompted once the pending deliveries were done, because of busyOnPendingCredits
+   private volatile int pendingCreditsPrompts;
+
    private volatile AtomicInteger availableCredits = new AtomicInteger(0);
 
    private boolean started;
@@ -141,7 +149,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private final StorageManager storageManager;
 
-   private final java.util.Deque<MessageReference> deliveringRefs = new ArrayDeque<>();
+   private final DeliveringReferences deliveringRefs = new DeliveringReferences();
 
    private SessionCallback callback;
 
@@ -395,7 +403,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          if (refsOnConsumer != null) {
             refs.addAll(refsOnConsumer);
          }
-         refs.addAll(deliveringRefs);
+         deliveringRefs.copyTo(refs);
          return refs;
       }
    }
@@ -405,6 +413,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       return callback.supportsDirectDelivery();
    }
 
+   @Override
+   public boolean supportsDeliveryShards() {
+      return callback.supportsDeliveryShards();
+   }
+
    @Override
    public void errorProcessing(Throwable e, MessageReference deliveryObject) {
       messageQueue.errorProcessing(this, e, deliveryObject);
@@ -445,6 +458,16 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
             return HandleStatus.BUSY;
          }
+
+         // The credits taken by a delivery are only known once it's done: until then, the references handed over to a
+         // delivery shard take their encode size
+         if (checkInteger != null && pendingCredits > 0 && checkInteger.get() - pendingCredits <= 0) {
+            logger.debug("{} is busy for the credits of the pending deliveries, can't deliver reference {}", this, ref);
+            busyOnPendingCredits = true;
+
+            return HandleStatus.BUSY;
+         }
+
          final Message message = ref.getMessage();
 
          if (!message.acceptsConsumer(sequentialID())) {
@@ -461,7 +484,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
          if (!browseOnly) {
             if (!preAcknowledge) {
-               deliveringRefs.add(ref);
+               deliveringRefs.addTail(ref);
             }
 
             metrics.addMessage(ref.getMessage().getEncodeSize());
@@ -496,6 +519,10 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
          }
 
+         // a delivery done by the queue executor is done before it gets to handle the next reference
+         if (checkInteger != null && largeMessageDeliverer == null && messageQueue.getDeliveryExecutor(this) != messageQueue.getExecutor()) {
+            pendingCredits += message.getEncodeSize();
+         }
          pendingDelivery.countUp();
 
          return HandleStatus.HANDLED;
@@ -504,6 +531,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    @Override
    public void proceedDeliver(MessageReference reference) throws Exception {
+      proceedDeliver(reference, true);
+   }
+
+   @Override
+   public void proceedDeliver(MessageReference reference, boolean flush) throws Exception {
       try {
          if (AuditLogger.isMessageLoggingEnabled()) {
             AuditLogger.coreConsumeMessage(session.getRemotingConnection().getSubject(), session.getRemotingConnection().getRemoteAddress(), getQueueName().toString(), reference.toString());
@@ -523,9 +555,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             // as it would return busy if there is anything pending
             largeMessageDeliverer.deliver();
          } else {
-            deliverStandardMessage(reference);
+            deliverStandardMessage(reference, flush);
          }
       } finally {
+         if (pendingCredits > 0) {
+            releasePendingCredits(reference);
+         }
          pendingDelivery.countDown();
          callback.afterDelivery();
          if (server.hasBrokerMessagePlugins()) {
@@ -535,6 +570,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    }
 
+   @Override
+   public void flushDeliveries() {
+      callback.flushDeliveries();
+   }
+
    @Override
    public Binding getBinding() {
       return binding;
@@ -669,6 +709,26 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       session.removeConsumer(id);
    }
 
+   /**
+    * Releases the credits taken by {@code reference} when handed over, now that the ones of its delivery are taken. The
+    * encode size of a message may change in between, so that the credits are released altogether by the last pending
+    * delivery.
+    */
+   private void releasePendingCredits(MessageReference reference) {
+      final boolean busy;
+      synchronized (lock) {
+         pendingCredits = pendingDelivery.getCount() == 1 ? 0 : Math.max(0, pendingCredits - reference.getMessage().getEncodeSize());
+         busy = busyOnPendingCredits;
+         busyOnPendingCredits = false;
+         if (busy) {
+            pendingCreditsPrompts++;
+         }
+      }
+      if (busy) {
+         forceDelivery();
+      }
+   }
+
    /**
     * Prompt delivery and send a "forced delivery" message to the consumer.
     * <p>
@@ -699,14 +759,33 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             // We execute this on the same executor to make sure the force delivery message is written after
             // any delivery is completed
 
+            final int prompts;
             synchronized (lock) {
                if (transferring) {
                   // Case it's transferring (reattach), we will retry later
                   messageQueue.getExecutor().execute(() -> forceDelivery(sequence, r));
                   return;
                }
+               prompts = pendingCreditsPrompts;
+            }
+            // the deliveries handed over to the shard of this consumer must be written first too
+            final Executor deliveryExecutor = messageQueue.getDeliveryExecutor(this);
+            if (deliveryExecutor == messageQueue.getExecutor()) {
+               r.run();
+            } else {
+               deliveryExecutor.execute(() -> {
+                  try {
+                     if (pendingCreditsPrompts != prompts) {
+                        // the deliveries refused for the credits of the ones done in the meantime are on their way
+                        forceDelivery(sequence, r);
+                     } else {
+                        r.run();
+                     }
+                  } catch (Exception e) {
+                     ActiveMQServerLogger.LOGGER.errorSendingForcedDelivery(e);
+                  }
+               });
             }
-            r.run();
          } catch (Exception e) {
             ActiveMQServerLogger.LOGGER.errorSendingForcedDelivery(e);
          }
@@ -813,7 +892,8 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
          FutureLatch future = new FutureLatch();
 
-         messageQueue.getExecutor().execute(future);
+         // the forced deliveries of a sharded consumer are executed by its shard once the queue executor is done
+         messageQueue.getExecutor().execute(() -> messageQueue.getDeliveryExecutor(this).execute(future));
 
          boolean ok = future.await(10000);
 
@@ -876,26 +956,26 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       LinkedList<MessageReference> retReferences = new LinkedList<>();
       boolean hit = false;
       synchronized (lock) {
-         Iterator<MessageReference> referenceIterator = deliveringRefs.iterator();
-
-         while (referenceIterator.hasNext()) {
-            MessageReference reference = referenceIterator.next();
-            if (!hit && startFunction.apply(reference)) {
-               hit = true;
-            }
-
-            if (hit) {
-               if (remove) {
-                  referenceIterator.remove();
+         try (LinkedListIterator<MessageReference> referenceIterator = deliveringRefs.iterator()) {
+            while (referenceIterator.hasNext()) {
+               MessageReference reference = referenceIterator.next();
+               if (!hit && startFunction.apply(reference)) {
+                  hit = true;
                }
 
-               retReferences.add(reference);
+               if (hit) {
+                  if (remove) {
+                     referenceIterator.remove();
+                  }
+
+                  retReferences.add(reference);
 
-               if (endFunction.apply(reference)) {
-                  break;
+                  if (endFunction.apply(reference)) {
+                     break;
+                  }
                }
-            }
 
+            }
          }
       }
 
@@ -1078,7 +1158,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             RefCountMessage.deferredDebug(reference.getMessage(), "Adding message back to delivering");
          }
          logger.trace("Message {} back to delivering", reference);
-         deliveringRefs.addFirst(reference);
+         deliveringRefs.addHead(reference);
          metrics.addMessage(reference.getMessage().getEncodeSize());
       }
    }
@@ -1092,52 +1172,14 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       // Expiries can come in out of sequence with respect to delivery order
 
       synchronized (lock) {
-         // This is an optimization, if the reference is the first one, we just poll it.
-         // But first we need to make sure deliveringRefs isn't empty
-         if (deliveringRefs.isEmpty()) {
-            logger.trace("removeReferenceByID {} return null", messageID);
-            return null;
-         }
-
-         if (deliveringRefs.peek().getMessage().getMessageID() == messageID) {
-            MessageReference ref = deliveringRefs.poll();
-            if (logger.isTraceEnabled()) {
-               logger.trace("Remove Message By ID {} return ref {} after peek call", messageID, ref);
-            }
-            return ref;
-         }
-         //slow path in a separate method
-         MessageReference ref = removeDeliveringRefById(messageID);
+         MessageReference ref = deliveringRefs.removeByID(messageID);
          if (logger.isTraceEnabled()) {
-            logger.trace("Remove Message By ID {} return ref {} after scan call", messageID, ref);
+            logger.trace("Remove Message By ID {} return ref {}", messageID, ref);
          }
          return ref;
       }
    }
 
-   private MessageReference removeDeliveringRefById(long messageID) {
-      logger.trace("RemoveDeiveringRefByID {}", messageID);
-
-      Iterator<MessageReference> iter = deliveringRefs.iterator();
-
-      MessageReference ref = null;
-
-      while (iter.hasNext()) {
-         MessageReference theRef = iter.next();
-
-         if (theRef.getMessage().getMessageID() == messageID) {
-            iter.remove();
-
-            ref = theRef;
-
-            logger.trace("Returning {}", theRef);
-
-            break;
-         }
-      }
-      return ref;
-   }
-
    /**
     * To be used on tests only
     */
@@ -1206,9 +1248,9 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       messageQueue.getExecutor().execute(resumeLargeMessageRunnable);
    }
 
-   private void deliverStandardMessage(final MessageReference ref) {
+   private void deliverStandardMessage(final MessageReference ref, final boolean flush) {
       applyPrefixForLegacyConsumer(ref.getMessage());
-      int packetSize = callback.sendMessage(ref, ServerConsumerImpl.this, ref.getDeliveryCount());
+      int packetSize = callback.sendMessage(ref, ServerConsumerImpl.this, ref.getDeliveryCount(), flush);
 
       if (availableCredits != null) {
          availableCredits.addAndGet(-packetSize);
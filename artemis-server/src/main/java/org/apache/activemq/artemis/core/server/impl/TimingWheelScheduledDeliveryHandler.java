@@ -0,0 +1,492 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.ScheduledDeliveryHandler;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handles scheduling deliveries to a queue at the correct time, keeping the scheduled references in a hierarchical
+ * timing wheel.
+ * <p>
+ * Every level of the wheel has {@link #SLOTS} slots, each spanning {@code SLOTS} times the slot of the level below it,
+ * the slots of the first level spanning one millisecond. A reference is added in constant time to the slot of the
+ * lowest level covering its delivery time. When the time of a slot comes, its references are either due, or moved to
+ * the lower levels.
+ * <p>
+ * A single timer is kept, set to the time of the first slot that isn't empty: all the references due when it fires
+ * are moved to the queue at once, in the same order as {@link ScheduledDeliveryHandlerImpl}.
+ */
+public class TimingWheelScheduledDeliveryHandler implements ScheduledDeliveryHandler {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private static final int SLOT_BITS = 6;
+
+   private static final int SLOTS = 1 << SLOT_BITS;
+
+   private static final int SLOT_MASK = SLOTS - 1;
+
+   // enough levels to cover any time in milliseconds
+   private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+   // by delivery time, then heads before tails: heads added later go first and tails added later go last
+   private static final Comparator<Scheduled> DELIVERY_ORDER = (scheduled1, scheduled2) -> {
+      final int compare = Long.compare(scheduled1.deliveryTime, scheduled2.deliveryTime);
+      if (compare != 0) {
+         return compare;
+      }
+      if (scheduled1.tail != scheduled2.tail) {
+         return scheduled1.tail ? 1 : -1;
+      }
+      return scheduled1.tail ? Long.compare(scheduled1.sequence, scheduled2.sequence) : Long.compare(scheduled2.sequence, scheduled1.sequence);
+   };
+
+   private static final class Scheduled {
+
+      private final MessageReference ref;
+      private final long deliveryTime;
+      private final boolean tail;
+      private final long sequence;
+
+      // the level is -1 for the references already due
+      private int level;
+      private int slot;
+      private Scheduled prev;
+      private Scheduled next;
+
+      private Scheduled(MessageReference ref, long deliveryTime, boolean tail, long sequence) {
+         this.ref = ref;
+         this.deliveryTime = deliveryTime;
+         this.tail = tail;
+         this.sequence = sequence;
+      }
+   }
+
+   private final ScheduledExecutorService scheduledExecutor;
+
+   private final QueueMessageMetrics metrics;
+
+   // the slots of each level, allocated on first use
+   private final Scheduled[][] slots = new Scheduled[LEVELS][];
+
+   // the slots of each level which aren't empty, one bit per slot
+   private final long[] occupied = new long[LEVELS];
+
+   // added after their delivery time, to be moved to the queue by the next expiry
+   private Scheduled due;
+
+   private int size;
+
+   private long sequence;
+
+   // every reference to be delivered up to this time has been expired: the slots of each level are all after it
+   private long currentTime;
+
+   private Expiry expiry;
+
+   private ScheduledFuture<?> expiryFuture;
+
+   private long expiryTime = Long.MAX_VALUE;
+
+   // Oldest by timestamp, not by scheduled delivery time
+   private MessageReference oldestMessage = null;
+
+   public TimingWheelScheduledDeliveryHandler(final ScheduledExecutorService scheduledExecutor, final Queue queue) {
+      this.scheduledExecutor = scheduledExecutor;
+      this.metrics = new QueueMessageMetrics(queue, "scheduled");
+      this.currentTime = System.currentTimeMillis();
+   }
+
+   @Override
+   public boolean checkAndSchedule(final MessageReference ref, final boolean tail) {
+      final long deliveryTime = ref.getScheduledDeliveryTime();
+
+      if (deliveryTime > 0 && scheduledExecutor != null) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("Scheduling delivery for {} to occur at {}", ref, deliveryTime);
+         }
+
+         addInPlace(deliveryTime, ref, tail);
+
+         return true;
+      }
+      return false;
+   }
+
+   public void addInPlace(final long deliveryTime, final MessageReference ref, final boolean tail) {
+      synchronized (this) {
+         add(new Scheduled(ref, deliveryTime, tail, sequence++));
+         size++;
+         oldestMessage = null;
+         scheduleExpiry(nextExpiryTime());
+      }
+      metrics.incrementMetrics(ref);
+   }
+
+   @Override
+   public int getScheduledCount() {
+      return metrics.getMessageCount();
+   }
+
+   @Override
+   public int getNonPagedScheduledCount() {
+      return metrics.getNonPagedMessageCount();
+   }
+
+   @Override
+   public int getDurableScheduledCount() {
+      return metrics.getDurableMessageCount();
+   }
+
+   @Override
+   public int getNonPagedDurableScheduledCount() {
+      return metrics.getNonPagedDurableMessageCount();
+   }
+
+   @Override
+   public long getScheduledSize() {
+      return metrics.getPersistentSize();
+   }
+
+   @Override
+   public long getNonPagedScheduledSize() {
+      return metrics.getNonPagedPersistentSize();
+   }
+
+   @Override
+   public long getDurableScheduledSize() {
+      return metrics.getDurablePersistentSize();
+   }
+
+   @Override
+   public long getNonPagedDurableScheduledSize() {
+      return metrics.getNonPagedDurablePersistentSize();
+   }
+
+   @Override
+   public List<MessageReference> getScheduledReferences() {
+      final List<Scheduled> scheduled = new ArrayList<>();
+      synchronized (this) {
+         forEach(s -> {
+            scheduled.add(s);
+            return true;
+         });
+      }
+      scheduled.sort(DELIVERY_ORDER);
+      final List<MessageReference> refs = new ArrayList<>(scheduled.size());
+      for (Scheduled s : scheduled) {
+         refs.add(s.ref);
+      }
+      return refs;
+   }
+
+   @Override
+   public List<MessageReference> cancel(Predicate<MessageReference> predicate) throws ActiveMQException {
+      final List<Scheduled> cancelled = new ArrayList<>();
+      synchronized (this) {
+         forEach(s -> {
+            if (predicate.test(s.ref)) {
+               remove(s);
+               cancelled.add(s);
+               metrics.decrementMetrics(s.ref);
+            }
+            return true;
+         });
+      }
+      cancelled.sort(DELIVERY_ORDER);
+      final List<MessageReference> refs = new ArrayList<>(cancelled.size());
+      for (Scheduled s : cancelled) {
+         refs.add(s.ref);
+      }
+      return refs;
+   }
+
+   @Override
+   public MessageReference removeReferenceWithID(final long id) throws Exception {
+      return removeReferenceWithID(id, null);
+   }
+
+   @Override
+   public MessageReference removeReferenceWithID(final long id, Transaction tx) throws Exception {
+      synchronized (this) {
+         final Scheduled[] found = new Scheduled[1];
+         forEach(s -> {
+            if (s.ref.getMessage().getMessageID() == id) {
+               found[0] = s;
+               return false;
+            }
+            return true;
+         });
+         if (found[0] == null) {
+            return null;
+         }
+         final MessageReference ref = found[0].ref;
+         ref.acknowledge(tx, AckReason.NORMAL, null, false);
+         remove(found[0]);
+         metrics.decrementMetrics(ref);
+         return ref;
+      }
+   }
+
+   @Override
+   public MessageReference peekFirstScheduledMessage() {
+      synchronized (this) {
+         if (size == 0) {
+            return null;
+         }
+         if (oldestMessage != null) {
+            return oldestMessage;
+         }
+         final MessageReference[] result = new MessageReference[1];
+         final long[] oldestTimestamp = {Long.MAX_VALUE};
+         forEach(s -> {
+            final long refTimestamp = s.ref.getMessage().getTimestamp();
+            if (refTimestamp < oldestTimestamp[0]) {
+               oldestTimestamp[0] = refTimestamp;
+               result[0] = s.ref;
+            }
+            return true;
+         });
+         oldestMessage = result[0];
+         return oldestMessage;
+      }
+   }
+
+   private void add(Scheduled scheduled) {
+      final long deliveryTime = scheduled.deliveryTime;
+      if (deliveryTime <= currentTime) {
+         scheduled.level = -1;
+         scheduled.next = due;
+         if (due != null) {
+            due.prev = scheduled;
+         }
+         due = scheduled;
+         return;
+      }
+      // the lowest level whose slot of the delivery time isn't the one of the current time
+      final int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(deliveryTime ^ currentTime)) / SLOT_BITS;
+      final int slot = (int) (deliveryTime >>> (level * SLOT_BITS)) & SLOT_MASK;
+      Scheduled[] levelSlots = slots[level];
+      if (levelSlots == null) {
+         levelSlots = new Scheduled[SLOTS];
+         slots[level] = levelSlots;
+      }
+      scheduled.level = level;
+      scheduled.slot = slot;
+      final Scheduled head = levelSlots[slot];
+      scheduled.next = head;
+      if (head != null) {
+         head.prev = scheduled;
+      }
+      levelSlots[slot] = scheduled;
+      occupied[level] |= 1L << slot;
+   }
+
+   private void remove(Scheduled scheduled) {
+      final Scheduled prev = scheduled.prev;
+      final Scheduled next = scheduled.next;
+      if (prev != null) {
+         prev.next = next;
+      } else if (scheduled.level < 0) {
+         due = next;
+      } else {
+         slots[scheduled.level][scheduled.slot] = next;
+         if (next == null) {
+            occupied[scheduled.level] &= ~(1L << scheduled.slot);
+         }
+      }
+      if (next != null) {
+         next.prev = prev;
+      }
+      scheduled.prev = null;
+      scheduled.next = null;
+      size--;
+      oldestMessage = null;
+   }
+
+   /**
+    * Passes every scheduled reference to {@code visitor}, which may remove it, until it returns {@code false}.
+    */
+   private void forEach(Predicate<Scheduled> visitor) {
+      Scheduled next;
+      for (Scheduled s = due; s != null; s = next) {
+         next = s.next;
+         if (!visitor.test(s)) {
+            return;
+         }
+      }
+      for (int level = 0; level < LEVELS; level++) {
+         long levelOccupied = occupied[level];
+         while (levelOccupied != 0) {
+            final int slot = Long.numberOfTrailingZeros(levelOccupied);
+            levelOccupied &= levelOccupied - 1;
+            for (Scheduled s = slots[level][slot]; s != null; s = next) {
+               next = s.next;
+               if (!visitor.test(s)) {
+                  return;
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * {@return the start time of the first slot which isn't empty, {@link #currentTime} if some references are due or
+    * {@link Long#MAX_VALUE} if there are none}
+    */
+   private long nextExpiryTime() {
+      if (due != null) {
+         return currentTime;
+      }
+      for (int level = 0; level < LEVELS; level++) {
+         if (occupied[level] != 0) {
+            return slotTime(level, Long.numberOfTrailingZeros(occupied[level]));
+         }
+      }
+      return Long.MAX_VALUE;
+   }
+
+   private long slotTime(int level, int slot) {
+      final int shift = level * SLOT_BITS;
+      final long levelMask = shift + SLOT_BITS >= Long.SIZE ? 0 : -1L << (shift + SLOT_BITS);
+      return (currentTime & levelMask) | ((long) slot << shift);
+   }
+
+   /**
+    * Advances the wheel up to {@code now}, removing the references due.
+    */
+   private void advance(long now, List<Scheduled> expired) {
+      for (Scheduled s = due; s != null; s = s.next) {
+         expired.add(s);
+      }
+      due = null;
+      while (true) {
+         int level = 0;
+         while (level < LEVELS && occupied[level] == 0) {
+            level++;
+         }
+         if (level == LEVELS) {
+            break;
+         }
+         final int slot = Long.numberOfTrailingZeros(occupied[level]);
+         final long slotTime = slotTime(level, slot);
+         if (slotTime > now) {
+            break;
+         }
+         currentTime = slotTime;
+         Scheduled s = slots[level][slot];
+         slots[level][slot] = null;
+         occupied[level] &= ~(1L << slot);
+         // the references of the slot are either due or in lower levels from the new current time
+         while (s != null) {
+            final Scheduled next = s.next;
+            s.prev = null;
+            s.next = null;
+            if (s.deliveryTime <= currentTime) {
+               expired.add(s);
+            } else {
+               add(s);
+            }
+            s = next;
+         }
+      }
+      // all the slots left are after now
+      if (now > currentTime) {
+         currentTime = now;
+      }
+      size -= expired.size();
+   }
+
+   private void scheduleExpiry(long time) {
+      if (time == Long.MAX_VALUE || time >= expiryTime || scheduledExecutor == null) {
+         return;
+      }
+      if (expiryFuture != null) {
+         expiryFuture.cancel(false);
+      }
+      final long delay = Math.max(0, time - System.currentTimeMillis());
+      if (logger.isTraceEnabled()) {
+         logger.trace("Setting up the expiry for {} with a delay of {}", time, delay);
+      }
+      expiry = new Expiry();
+      expiryTime = time;
+      expiryFuture = scheduledExecutor.schedule(expiry, delay, TimeUnit.MILLISECONDS);
+   }
+
+   private final class Expiry implements Runnable {
+
+      @Override
+      public void run() {
+         final List<Scheduled> expired = new ArrayList<>();
+
+         synchronized (TimingWheelScheduledDeliveryHandler.this) {
+            if (expiry == this) {
+               expiry = null;
+               expiryFuture = null;
+               expiryTime = Long.MAX_VALUE;
+            }
+            advance(System.currentTimeMillis(), expired);
+            if (!expired.isEmpty()) {
+               oldestMessage = null;
+               for (Scheduled s : expired) {
+                  metrics.decrementMetrics(s.ref);
+                  s.ref.setScheduledDeliveryTime(0);
+               }
+            }
+            // an expiry running early only reschedules itself
+            scheduleExpiry(nextExpiryTime());
+         }
+
+         if (expired.isEmpty()) {
+            return;
+         }
+
+         expired.sort(DELIVERY_ORDER);
+
+         final Map<Queue, LinkedList<MessageReference>> refs = new HashMap<>();
+         for (Scheduled s : expired) {
+            // added in reverse order, as each reference is added to the head of the queue
+            refs.computeIfAbsent(s.ref.getQueue(), queue -> new LinkedList<>()).addFirst(s.ref);
+         }
+
+         for (Map.Entry<Queue, LinkedList<MessageReference>> entry : refs.entrySet()) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("Delivering {} elements on list to queue {}", entry.getValue().size(), entry.getKey());
+            }
+            entry.getKey().addHead(entry.getValue(), true);
+         }
+      }
+   }
+}
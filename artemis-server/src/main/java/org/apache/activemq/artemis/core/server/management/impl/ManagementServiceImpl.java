@@ -34,6 +34,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.DoubleConsumer;
 import java.util.regex.Pattern;
 
 import io.micrometer.core.instrument.Tag;
@@ -64,6 +65,11 @@ import org.apache.activemq.artemis.api.core.management.RemoteBrokerConnectionCon
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.management.impl.AcceptorControlImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.management.impl.AddressControlImpl;
@@ -245,6 +251,14 @@ public class ManagementServiceImpl implements ManagementService {
    private void registerBrokerMeters() {
       MetricsManager metricsManager = messagingServer.getMetricsManager();
       if (metricsManager != null) {
+         final List<Journal> journals = getMessageJournals();
+         final List<JournalImpl> compactedJournals = new ArrayList<>();
+         for (Journal journal : journals) {
+            if (journal instanceof JournalImpl journalImpl) {
+               compactedJournals.add(journalImpl);
+            }
+         }
+         final List<TimedBuffer> journalBuffers = getMessageJournalBuffers();
          metricsManager.registerBrokerGauge(builder -> {
             builder.build(BrokerMetricNames.CONNECTION_COUNT, messagingServer, metrics -> (double) messagingServer.getConnectionCount(), ActiveMQServerControl.CONNECTION_COUNT_DESCRIPTION, Collections.emptyList());
             builder.build(BrokerMetricNames.TOTAL_CONNECTION_COUNT, messagingServer, metrics -> (double) messagingServer.getTotalConnectionCount(), ActiveMQServerControl.TOTAL_CONNECTION_COUNT_DESCRIPTION, Collections.emptyList());
@@ -259,7 +273,64 @@ public class ManagementServiceImpl implements ManagementService {
             builder.build(BrokerMetricNames.AUTHENTICATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthenticationFailureCount(), ActiveMQServerControl.AUTHENTICATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationSuccessCount(), ActiveMQServerControl.AUTHORIZATION_SUCCESS_COUNT, Arrays.asList(Tag.of("result", "success")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationFailureCount(), ActiveMQServerControl.AUTHORIZATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
+            if (!compactedJournals.isEmpty()) {
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_COUNT, compactedJournals, metrics -> (double) compactedJournals.stream().mapToLong(JournalImpl::getCompactingRuns).sum(), "number of times the message journal was compacted", Collections.emptyList());
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_PAUSE_TIME, compactedJournals, metrics -> (double) compactedJournals.stream().mapToLong(JournalImpl::getCompactingPauseTime).sum(), "total time in milliseconds appends to the message journal were held by compacting", Collections.emptyList());
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_RECLAIMED_BYTES, compactedJournals, metrics -> (double) compactedJournals.stream().mapToLong(JournalImpl::getCompactingReclaimedBytes).sum(), "total bytes of message journal files given back by compacting", Collections.emptyList());
+            }
+            if (!journalBuffers.isEmpty()) {
+               builder.build(BrokerMetricNames.JOURNAL_BUFFER_TIMEOUT, journalBuffers, metrics -> (double) journalBuffers.stream().mapToLong(TimedBuffer::getFlushTimeout).max().getAsLong(), "flush timeout in nanoseconds used by the journal buffer", Collections.emptyList());
+            }
          });
+         if (!journalBuffers.isEmpty()) {
+            metricsManager.registerBrokerHistogram(builder -> {
+               DoubleConsumer flushSize = builder.build(BrokerMetricNames.JOURNAL_BUFFER_FLUSH_SIZE, "bytes", "size of the batches flushed by the journal buffer", Collections.emptyList());
+               DoubleConsumer flushCallbacks = builder.build(BrokerMetricNames.JOURNAL_BUFFER_FLUSH_CALLBACKS, "writes", "number of writes grouped by each journal buffer flush", Collections.emptyList());
+               DoubleConsumer flushWaitTime = builder.build(BrokerMetricNames.JOURNAL_BUFFER_FLUSH_WAIT_TIME, "seconds", "time the first write of each batch waited in the journal buffer", Collections.emptyList());
+               for (TimedBuffer journalBuffer : journalBuffers) {
+                  journalBuffer.setFlushListener((bytes, callbacks, waitTime) -> {
+                     flushSize.accept(bytes);
+                     flushCallbacks.accept(callbacks);
+                     flushWaitTime.accept(waitTime / 1_000_000_000d);
+                  });
+               }
+            });
+         }
+      }
+   }
+
+   /**
+    * {@return the journals holding the messages, one per stripe when the message journal is striped}
+    */
+   private List<Journal> getMessageJournals() {
+      final Journal messageJournal = storageManager != null ? storageManager.getMessageJournal() : null;
+      if (messageJournal instanceof StripedJournal stripedJournal) {
+         final List<Journal> stripes = new ArrayList<>(stripedJournal.getStripeCount());
+         for (int i = 0; i < stripedJournal.getStripeCount(); i++) {
+            stripes.add(stripedJournal.getStripe(i));
+         }
+         return stripes;
+      }
+      return messageJournal != null ? List.of(messageJournal) : Collections.emptyList();
+   }
+
+   private List<TimedBuffer> getMessageJournalBuffers() {
+      final List<TimedBuffer> journalBuffers = new ArrayList<>();
+      if (storageManager != null && storageManager.getMessageJournal() instanceof StripedJournal stripedJournal) {
+         for (int i = 0; i < stripedJournal.getStripeCount(); i++) {
+            addTimedBuffer(journalBuffers, stripedJournal.getStripe(i).getFileFactory());
+         }
+      } else if (storageManager != null) {
+         // a replicated message journal doesn't expose its file factory
+         addTimedBuffer(journalBuffers, storageManager.getJournalSequentialFileFactory());
+      }
+      return journalBuffers;
+   }
+
+   private static void addTimedBuffer(List<TimedBuffer> journalBuffers, SequentialFileFactory fileFactory) {
+      final TimedBuffer journalBuffer = fileFactory != null ? fileFactory.getTimedBuffer() : null;
+      if (journalBuffer != null && !journalBuffers.contains(journalBuffer)) {
+         journalBuffers.add(journalBuffer);
       }
    }
 
@@ -267,6 +338,9 @@ public class ManagementServiceImpl implements ManagementService {
    public void unregisterServer() throws Exception {
       unregisterFromJMX(objectNameBuilder.getActiveMQServerObjectName());
       unregisterFromRegistry(ResourceNames.BROKER);
+      for (TimedBuffer journalBuffer : getMessageJournalBuffers()) {
+         journalBuffer.setFlushListener(null);
+      }
       if (messagingServer != null) {
          unregisterMeters(ResourceNames.BROKER + "." + messagingServer.getConfiguration().getName());
       }
@@ -291,6 +365,9 @@ public class ManagementServiceImpl implements ManagementService {
                builder.build(AddressMetricNames.ADDRESS_SIZE, addressInfo, metrics -> (double) addressControl.getAddressSize(), AddressControl.ADDRESS_SIZE_DESCRIPTION, Collections.emptyList());
                builder.build(AddressMetricNames.PAGES_COUNT, addressInfo, metrics -> (double) addressControl.getNumberOfPages(), AddressControl.NUMBER_OF_PAGES_DESCRIPTION, Collections.emptyList());
                builder.build(AddressMetricNames.LIMIT_PERCENT, addressInfo, metrics -> (double) addressControl.getAddressLimitPercent(), AddressControl.LIMIT_PERCENT_DESCRIPTION, Collections.emptyList());
+               builder.build(AddressMetricNames.PAGE_CACHE_HIT_COUNT, addressInfo, metrics -> (double) addressControl.getPageCacheHitCount(), AddressControl.PAGE_CACHE_HIT_COUNT_DESCRIPTION, Collections.emptyList());
+               builder.build(AddressMetricNames.PAGE_CACHE_MISS_COUNT, addressInfo, metrics -> (double) addressControl.getPageCacheMissCount(), AddressControl.PAGE_CACHE_MISS_COUNT_DESCRIPTION, Collections.emptyList());
+               builder.build(AddressMetricNames.PAGE_CACHE_EVICTION_COUNT, addressInfo, metrics -> (double) addressControl.getPageCacheEvictionCount(), AddressControl.PAGE_CACHE_EVICTION_COUNT_DESCRIPTION, Collections.emptyList());
             });
          }
       }
@@ -23,5 +23,8 @@ public class AddressMetricNames {
    public static final String ADDRESS_SIZE = "address.size";
    public static final String PAGES_COUNT = "number.of.pages";
    public static final String LIMIT_PERCENT = "limit.percent";
+   public static final String PAGE_CACHE_HIT_COUNT = "page.cache.hit.count";
+   public static final String PAGE_CACHE_MISS_COUNT = "page.cache.miss.count";
+   public static final String PAGE_CACHE_EVICTION_COUNT = "page.cache.eviction.count";
 
 }
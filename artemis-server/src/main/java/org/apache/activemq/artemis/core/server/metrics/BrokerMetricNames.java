@@ -29,4 +29,13 @@ public class BrokerMetricNames {
    public static final String ACTIVE = "active";
    public static final String AUTHENTICATION_COUNT = "authentication.count";
    public static final String AUTHORIZATION_COUNT = "authorization.count";
+   public static final String JOURNAL_COMPACT_COUNT = "journal.compact.count";
+   public static final String JOURNAL_COMPACT_PAUSE_TIME = "journal.compact.pause.time";
+   public static final String JOURNAL_COMPACT_RECLAIMED_BYTES = "journal.compact.reclaimed.bytes";
+   public static final String JOURNAL_BUFFER_TIMEOUT = "journal.buffer.timeout";
+   public static final String JOURNAL_BUFFER_FLUSH_SIZE = "journal.buffer.flush.size";
+   public static final String JOURNAL_BUFFER_FLUSH_CALLBACKS = "journal.buffer.flush.callbacks";
+   public static final String JOURNAL_BUFFER_FLUSH_WAIT_TIME = "journal.buffer.flush.wait.time";
+   public static final String AMQP_APPLICATION_PROPERTIES_DECODE_COUNT = "amqp.application.properties.decode.count";
+   public static final String AMQP_APPLICATION_PROPERTIES_PARTIAL_READ_COUNT = "amqp.application.properties.partial.read.count";
 }
@@ -23,9 +23,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Gauge.Builder;
 import io.micrometer.core.instrument.Meter;
@@ -44,6 +46,7 @@ import io.micrometer.core.instrument.binder.system.UptimeMetrics;
 import io.netty.buffer.PooledByteBufAllocator;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.MetricsConfiguration;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.security.SecurityStore;
 import org.apache.activemq.artemis.core.security.impl.SecurityStoreImpl;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
@@ -110,6 +113,9 @@ public class MetricsManager {
             CaffeineCacheMetrics.monitor(meterRegistry, ((SecurityStoreImpl)securityStore).getAuthenticationCache(), "authentication", commonTags);
             CaffeineCacheMetrics.monitor(meterRegistry, ((SecurityStoreImpl)securityStore).getAuthorizationCache(), "authorization", commonTags);
          }
+         if (metricsConfiguration.isSelectorCache() && FilterImpl.getCache() != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, FilterImpl.getCache(), "selector", commonTags);
+         }
       }
    }
 
@@ -123,6 +129,15 @@ public class MetricsManager {
       void build(String metricName, Object state, ToDoubleFunction<Object> f, String description, List<Tag> tags);
    }
 
+   @FunctionalInterface
+   public interface MetricHistogramBuilder {
+
+      /**
+       * {@return the consumer recording the values of the histogram}
+       */
+      DoubleConsumer build(String metricName, String baseUnit, String description, List<Tag> tags);
+   }
+
    public void registerQueueGauge(String address, String queue, boolean temporary, Consumer<MetricGaugeBuilder> builder) {
       if (this.meterRegistry == null || !addressSettingsRepository.getMatch(queueNameFunction.apply(temporary) + queue).isEnableMetrics()) {
          return;
@@ -174,6 +189,61 @@ public class MetricsManager {
       registerMeters(gaugeBuilders, ResourceNames.BROKER + "." + brokerName);
    }
 
+   /**
+    * Registers histograms along with the broker gauges, so they must be registered after
+    * {@link #registerBrokerGauge(Consumer)}. {@code builder} isn't called if there is no meter registry.
+    */
+   public void registerBrokerHistogram(Consumer<MetricHistogramBuilder> builder) {
+      if (this.meterRegistry == null) {
+         return;
+      }
+      final List<Meter> histograms = new ArrayList<>();
+      builder.accept((metricName, baseUnit, description, histogramTags) -> {
+         DistributionSummary histogram = DistributionSummary
+            .builder("artemis." + metricName)
+            .tags(commonTags)
+            .tags(histogramTags)
+            .baseUnit(baseUnit)
+            .description(description)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+         logger.debug("Registered meter: {}", histogram.getId());
+         histograms.add(histogram);
+         return histogram::record;
+      });
+      addBrokerMeters(histograms);
+   }
+
+   /**
+    * Registers gauges along with the broker gauges, e.g. the ones of a protocol, so they must be registered after
+    * {@link #registerBrokerGauge(Consumer)}. A gauge already registered with the same name and tags is shared.
+    */
+   public void addBrokerGauge(Consumer<MetricGaugeBuilder> builder) {
+      if (this.meterRegistry == null) {
+         return;
+      }
+      final List<Meter> gauges = new ArrayList<>();
+      builder.accept((metricName, state, f, description, gaugeTags) -> {
+         Gauge gauge = Gauge
+            .builder("artemis." + metricName, state, f)
+            .tags(commonTags)
+            .tags(gaugeTags)
+            .description(description)
+            .register(meterRegistry);
+         logger.debug("Registered meter: {}", gauge.getId());
+         gauges.add(gauge);
+      });
+      addBrokerMeters(gauges);
+   }
+
+   private void addBrokerMeters(List<Meter> brokerMeters) {
+      meters.compute(ResourceNames.BROKER + "." + brokerName, (resource, resourceMeters) -> {
+         List<Meter> newMeters = resourceMeters == null ? new ArrayList<>() : resourceMeters;
+         newMeters.addAll(brokerMeters);
+         return newMeters;
+      });
+   }
+
    private void registerMeters(List<Builder<Object>> gaugeBuilders, String resource) {
       if (meters.get(resource) != null) {
          throw ActiveMQMessageBundle.BUNDLE.metersAlreadyRegistered(resource);
@@ -33,6 +33,15 @@ public interface SessionCallback {
       return true;
    }
 
+   /**
+    * Whether the consumers of the session can be delivered to by a delivery shard of their queue, which hands a
+    * reference over before the previous one is delivered. This requires their credits to be taken by the
+    * {@link ServerConsumer} when a reference is handed over, not by the protocol when it's sent.
+    */
+   default boolean supportsDeliveryShards() {
+      return false;
+   }
+
    /**
     * This one gives a chance for Proton to have its own flow control.
     */
@@ -63,6 +72,20 @@ public interface SessionCallback {
 
    int sendMessage(MessageReference ref, ServerConsumer consumerID, int deliveryCount);
 
+   /**
+    * Same as {@link #sendMessage(MessageReference, ServerConsumer, int)}, but when {@code flush} is {@code false} the
+    * message may be left unflushed until {@link #flushDeliveries()} is called.
+    */
+   default int sendMessage(MessageReference ref, ServerConsumer consumerID, int deliveryCount, boolean flush) {
+      return sendMessage(ref, consumerID, deliveryCount);
+   }
+
+   /**
+    * Flushes the messages left unflushed by {@link #sendMessage(MessageReference, ServerConsumer, int, boolean)}.
+    */
+   default void flushDeliveries() {
+   }
+
    int sendLargeMessage(MessageReference ref,
                         ServerConsumer consumerID,
                         long bodySize,
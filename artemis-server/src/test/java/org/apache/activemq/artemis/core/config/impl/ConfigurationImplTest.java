@@ -175,6 +175,8 @@ public class ConfigurationImplTest extends AbstractConfigurationTestBase {
       assertEquals(conf.getJournalLocation(), conf.getNodeManagerLockLocation());
       assertNull(conf.getJournalDeviceBlockSize());
       assertEquals(ActiveMQDefaultConfiguration.isDefaultReadWholePage(), conf.isReadWholePage());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultPageBufferPoolSize(), conf.getPageBufferPoolSize());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultGlobalPageCacheSize(), conf.getGlobalPageCacheSize());
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio(), conf.getPageSyncTimeout());
       assertEquals(ActiveMQDefaultConfiguration.getDefaultTemporaryQueueNamespace(), conf.getTemporaryQueueNamespace());
    }
@@ -102,8 +102,20 @@ public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles(), conf.getJournalMaxAtticFiles());
 
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalLoadThreads(), conf.getJournalLoadThreads());
+
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactMinFiles(), conf.getJournalCompactMinFiles());
 
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactMaxDeadFiles(), conf.getJournalCompactMaxDeadFiles());
+
+      assertEquals(ActiveMQDefaultConfiguration.isDefaultJournalOffHeapRecordIndex(), conf.isJournalOffHeapRecordIndex());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalStripes(), conf.getJournalStripes());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultPageBufferPoolSize(), conf.getPageBufferPoolSize());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultGlobalPageCacheSize(), conf.getGlobalPageCacheSize());
+
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactPercentage(), conf.getJournalCompactPercentage());
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalLockAcquisitionTimeout(), conf.getJournalLockAcquisitionTimeout());
@@ -120,6 +132,8 @@ public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase
 
       assertEquals(ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO, conf.getJournalBufferTimeout_NIO());
 
+      assertEquals(ActiveMQDefaultConfiguration.isDefaultJournalBufferAdaptiveTimeout(), conf.isJournalBufferAdaptiveTimeout());
+
       assertEquals(ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_NIO, conf.getJournalBufferSize_NIO());
 
       assertEquals(ActiveMQDefaultConfiguration.isDefaultCreateBindingsDir(), conf.isCreateBindingsDir());
@@ -161,5 +175,7 @@ public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase
       assertEquals(ActiveMQDefaultConfiguration.getDefaultLoggingMetrics(), conf.getMetricsConfiguration().isLogging());
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultSecurityCacheMetrics(), conf.getMetricsConfiguration().isSecurityCaches());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultSelectorCacheMetrics(), conf.getMetricsConfiguration().isSelectorCache());
    }
 }
@@ -222,6 +222,8 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
 
       assertEquals(17, configInstance.getPageMaxConcurrentIO(), "max concurrent io");
       assertTrue(configInstance.isReadWholePage());
+      assertEquals(32 * 1024 * 1024, configInstance.getPageBufferPoolSize());
+      assertEquals(128 * 1024 * 1024, configInstance.getGlobalPageCacheSize());
       assertEquals("somedir2", configInstance.getJournalDirectory());
       assertEquals("history", configInstance.getJournalRetentionDirectory());
       assertEquals(10L * 1024L * 1024L * 1024L, configInstance.getJournalRetentionMaxBytes());
@@ -232,12 +234,17 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals(1000, configInstance.getJournalBufferTimeout_NIO());
       assertEquals(56546, configInstance.getJournalMaxIO_NIO());
       assertEquals(9876, configInstance.getJournalFileOpenTimeout());
+      assertEquals(4, configInstance.getJournalLoadThreads());
 
       assertFalse(configInstance.isJournalSyncTransactional());
       assertTrue(configInstance.isJournalSyncNonTransactional());
       assertEquals(12345678, configInstance.getJournalFileSize());
       assertEquals(100, configInstance.getJournalMinFiles());
       assertEquals(123, configInstance.getJournalCompactMinFiles());
+      assertEquals(50, configInstance.getJournalCompactMaxDeadFiles());
+      assertTrue(configInstance.isJournalOffHeapRecordIndex());
+      assertEquals(4, configInstance.getJournalStripes());
+      assertTrue(configInstance.isJournalBufferAdaptiveTimeout());
       assertEquals(33, configInstance.getJournalCompactPercentage());
       assertEquals(7654, configInstance.getJournalLockAcquisitionTimeout());
       assertTrue(configInstance.isGracefulShutdownEnabled());
@@ -546,6 +553,8 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(configInstance.getAddressSettings().get("a1").isEnableIngressTimestamp());
       assertNull(configInstance.getAddressSettings().get("a1").getIDCacheSize());
       assertNull(configInstance.getAddressSettings().get("a1").getInitialQueueBufferSize());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultDeliveryShards(), configInstance.getAddressSettings().get("a1").getDeliveryShards());
+      assertFalse(configInstance.getAddressSettings().get("a1").isScheduledDeliveryTimingWheel());
 
       assertEquals("a2.1", configInstance.getAddressSettings().get("a2").getDeadLetterAddress().toString());
       assertTrue(configInstance.getAddressSettings().get("a2").isAutoCreateDeadLetterResources());
@@ -589,6 +598,8 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(configInstance.getAddressSettings().get("a2").isEnableIngressTimestamp());
       assertEquals(Integer.valueOf(500), configInstance.getAddressSettings().get("a2").getIDCacheSize());
       assertEquals(Integer.valueOf(128), configInstance.getAddressSettings().get("a2").getInitialQueueBufferSize());
+      assertEquals(4, configInstance.getAddressSettings().get("a2").getDeliveryShards());
+      assertTrue(configInstance.getAddressSettings().get("a2").isScheduledDeliveryTimingWheel());
 
       assertEquals(111, configInstance.getMirrorAckManagerQueueAttempts());
       assertTrue(configInstance.isMirrorAckManagerWarnUnacked());
@@ -680,6 +691,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(metricsConfiguration.isUptime());
       assertTrue(metricsConfiguration.isLogging());
       assertTrue(metricsConfiguration.isSecurityCaches());
+      assertTrue(metricsConfiguration.isSelectorCache());
    }
 
    private void verifyAddresses() {
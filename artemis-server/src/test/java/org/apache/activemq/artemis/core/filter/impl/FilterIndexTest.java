@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.filter.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.junit.jupiter.api.Test;
+
+public class FilterIndexTest {
+
+   private static final String[] SELECTORS = {
+      "region = 'EU'",
+      "region = 'US' AND price > 10",
+      "region IN ('US', 'APAC')",
+      "region = 'EU' OR region = 'APAC'",
+      "price > 50",
+      "price >= 50.5",
+      "price < 10",
+      "price BETWEEN 20 AND 30",
+      "30 < price AND price <= 40",
+      "quantity BETWEEN 1 AND 3"};
+
+   @Test
+   public void testCandidates() throws Exception {
+      final FilterIndex<Filter> index = new FilterIndex<>();
+      final List<Filter> filters = new ArrayList<>();
+      for (String selector : SELECTORS) {
+         final Filter filter = FilterImpl.createFilter(selector);
+         assertTrue(index.add(filter, filter), selector);
+         filters.add(filter);
+      }
+      assertEquals(SELECTORS.length, index.size());
+
+      final Random random = new Random(1);
+      int candidateCount = 0;
+      for (int i = 0; i < 1000; i++) {
+         final Message message = new CoreMessage().initBuffer(1024).setMessageID(i);
+         switch (random.nextInt(4)) {
+            case 0 -> message.putStringProperty("region", "EU");
+            case 1 -> message.putStringProperty("region", "US");
+            case 2 -> message.putStringProperty("region", "APAC");
+            default -> {
+            }
+         }
+         switch (random.nextInt(6)) {
+            case 0 -> message.putIntProperty("price", random.nextInt(100));
+            case 1 -> message.putLongProperty("price", random.nextInt(100));
+            case 2 -> message.putDoubleProperty("price", random.nextDouble() * 100);
+            case 3 -> message.putFloatProperty("price", random.nextFloat() * 100);
+            case 4 -> message.putStringProperty("price", "50");
+            default -> {
+            }
+         }
+         if (random.nextBoolean()) {
+            message.putShortProperty("quantity", (short) random.nextInt(5));
+         }
+         final Set<Filter> candidates = new HashSet<>();
+         index.forEachCandidate(message, candidates::add);
+         candidateCount += candidates.size();
+         for (Filter filter : filters) {
+            if (filter.match(message)) {
+               assertTrue(candidates.contains(filter), filter + " matches " + message + " but is not a candidate");
+            }
+         }
+      }
+      assertTrue(candidateCount < 1000 * SELECTORS.length / 2, "Too many candidates: " + candidateCount);
+   }
+
+   @Test
+   public void testNotIndexable() throws Exception {
+      final FilterIndex<Object> index = new FilterIndex<>();
+      assertFalse(index.add(FilterImpl.createFilter("region LIKE 'E%'"), 1));
+      assertFalse(index.add(FilterImpl.createFilter("region <> 'EU'"), 2));
+      assertFalse(index.add(FilterImpl.createFilter("region = 'EU' OR price > 10"), 3));
+      assertFalse(index.add(null, 4));
+      assertEquals(0, index.size());
+   }
+}
@@ -16,12 +16,21 @@
  */
 package org.apache.activemq.artemis.core.filter.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInvalidFilterExpressionException;
@@ -69,6 +78,56 @@ public class FilterTest extends SilentTestCase {
       assertFalse(filter.match(message));
    }
 
+   @Test
+   public void testCache() throws Exception {
+      final String filterString = "color = 'RED' AND id = '" + UUID.randomUUID() + "'";
+      final long hits = FilterImpl.getCache().stats().hitCount();
+      filter = FilterImpl.createFilter(filterString);
+      assertSame(filter, FilterImpl.createFilter(" " + filterString + " "));
+      assertSame(filter, FilterImpl.createFilter(SimpleString.of(filterString)));
+      assertEquals(hits + 2, FilterImpl.getCache().stats().hitCount());
+
+      FilterImpl.getCache().invalidate(SimpleString.of(filterString));
+      final Filter uncached = FilterImpl.createFilter(filterString);
+      assertNotSame(filter, uncached);
+      assertEquals(filter, uncached);
+   }
+
+   @Test
+   public void testConcurrentMatch() throws Exception {
+      filter = FilterImpl.createFilter(SimpleString.of("color = 'RED' AND weight > 10 AND name LIKE 'apple%'"));
+
+      final int threads = 8;
+      final Message[] messages = new Message[threads];
+      for (int i = 0; i < threads; i++) {
+         messages[i] = new CoreMessage().initBuffer(1024).setMessageID(i);
+         messages[i].putStringProperty(SimpleString.of("color"), SimpleString.of(i % 2 == 0 ? "RED" : "GREEN"));
+         messages[i].putIntProperty(SimpleString.of("weight"), 20);
+         messages[i].putStringProperty(SimpleString.of("name"), SimpleString.of("apple-" + i));
+      }
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+         final List<Future<Boolean>> results = new ArrayList<>();
+         for (int i = 0; i < threads; i++) {
+            final Message threadMessage = messages[i];
+            final boolean expected = i % 2 == 0;
+            results.add(executor.submit(() -> {
+               for (int j = 0; j < 10_000; j++) {
+                  if (filter.match(threadMessage) != expected) {
+                     return false;
+                  }
+               }
+               return true;
+            }));
+         }
+         for (Future<Boolean> result : results) {
+            assertTrue(result.get(30, TimeUnit.SECONDS));
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
    @Test
    public void testInvalidString() throws Exception {
       testInvalidFilter("color = 'red");
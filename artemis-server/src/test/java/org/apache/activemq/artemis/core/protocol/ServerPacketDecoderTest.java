@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
+import org.junit.jupiter.api.Test;
+
+public class ServerPacketDecoderTest {
+
+   private static Packet decode(ServerPacketDecoder decoder, Packet packet) {
+      packet.setChannelID(10);
+      final ActiveMQBuffer buffer = packet.encode(null);
+      // the length is read by the transport
+      buffer.readInt();
+      return decoder.decode(buffer, null);
+   }
+
+   @Test
+   public void testRecycleAcknowledgeMessage() {
+      final ServerPacketDecoder decoder = new ServerPacketDecoder(new NullStorageManager());
+
+      final SessionAcknowledgeMessage first = (SessionAcknowledgeMessage) decode(decoder, new SessionAcknowledgeMessage(1, 2, true));
+      assertEquals(10, first.getChannelID());
+      assertEquals(1, first.getConsumerID());
+      assertEquals(2, first.getMessageID());
+      assertTrue(first.isRequiresResponse());
+
+      // not recycled yet
+      final SessionAcknowledgeMessage second = (SessionAcknowledgeMessage) decode(decoder, new SessionAcknowledgeMessage(3, 4, false));
+      assertNotSame(first, second);
+
+      decoder.recycle(first);
+      final SessionAcknowledgeMessage third = (SessionAcknowledgeMessage) decode(decoder, new SessionAcknowledgeMessage(5, 6, false));
+      assertSame(first, third);
+      assertEquals(10, third.getChannelID());
+      assertEquals(5, third.getConsumerID());
+      assertEquals(6, third.getMessageID());
+      assertFalse(third.isRequiresResponse());
+   }
+
+   @Test
+   public void testRecycleConsumerFlowCreditMessage() {
+      final ServerPacketDecoder decoder = new ServerPacketDecoder(new NullStorageManager());
+
+      final SessionConsumerFlowCreditMessage first = (SessionConsumerFlowCreditMessage) decode(decoder, new SessionConsumerFlowCreditMessage(1, 100));
+      decoder.recycle(first);
+
+      final SessionConsumerFlowCreditMessage second = (SessionConsumerFlowCreditMessage) decode(decoder, new SessionConsumerFlowCreditMessage(2, 200));
+      assertSame(first, second);
+      assertEquals(2, second.getConsumerID());
+      assertEquals(200, second.getCredits());
+   }
+}
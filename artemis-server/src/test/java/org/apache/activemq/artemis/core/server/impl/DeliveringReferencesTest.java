@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeliveringReferencesTest {
+
+   private static MessageReference reference(long messageID) {
+      return new MessageReferenceImpl(new CoreMessage(messageID, 50), null);
+   }
+
+   private static List<Long> messageIDs(DeliveringReferences references) {
+      final List<MessageReference> list = new ArrayList<>();
+      references.copyTo(list);
+      return list.stream().map(MessageReference::getMessageID).toList();
+   }
+
+   @Test
+   public void testRemoveOutOfOrder() {
+      final DeliveringReferences references = new DeliveringReferences();
+      final MessageReference[] refs = new MessageReference[10];
+      for (int i = 0; i < refs.length; i++) {
+         refs[i] = reference(i);
+         references.addTail(refs[i]);
+      }
+      assertSame(refs[5], references.removeByID(5));
+      assertSame(refs[9], references.removeByID(9));
+      assertSame(refs[0], references.removeByID(0));
+      assertNull(references.removeByID(5));
+      assertNull(references.removeByID(100));
+      assertEquals(List.of(1L, 2L, 3L, 4L, 6L, 7L, 8L), messageIDs(references));
+
+      assertSame(refs[1], references.poll());
+      assertNull(references.removeByID(1));
+      references.addHead(refs[1]);
+      assertSame(refs[1], references.peek());
+      assertSame(refs[1], references.removeByID(1));
+      assertEquals(6, references.size());
+   }
+
+   @Test
+   public void testIteratorRemove() {
+      final DeliveringReferences references = new DeliveringReferences();
+      for (int i = 0; i < 5; i++) {
+         references.addTail(reference(i));
+      }
+      try (LinkedListIterator<MessageReference> iterator = references.iterator()) {
+         while (iterator.hasNext()) {
+            if (iterator.next().getMessageID() % 2 == 0) {
+               iterator.remove();
+            }
+         }
+      }
+      assertEquals(List.of(1L, 3L), messageIDs(references));
+      assertNull(references.removeByID(2));
+      assertEquals(3L, references.removeByID(3).getMessageID());
+      assertEquals(1L, references.poll().getMessageID());
+      assertTrue(references.isEmpty());
+   }
+
+   @Test
+   public void testDuplicateMessageIDs() {
+      final DeliveringReferences references = new DeliveringReferences();
+      final MessageReference first = reference(1);
+      final MessageReference second = reference(1);
+      references.addTail(first);
+      references.addTail(reference(2));
+      references.addTail(second);
+      assertSame(first, references.removeByID(1));
+      assertSame(second, references.removeByID(1));
+      assertNull(references.removeByID(1));
+      assertEquals(List.of(2L), messageIDs(references));
+
+      references.addTail(first);
+      references.addTail(second);
+      assertEquals(2L, references.removeByID(2).getMessageID());
+      assertSame(first, references.poll());
+      assertSame(second, references.removeByID(1));
+      assertTrue(references.isEmpty());
+   }
+}
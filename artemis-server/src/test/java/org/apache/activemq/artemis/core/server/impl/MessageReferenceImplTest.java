@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageReferenceImplTest {
+
+   @Test
+   public void testUndelivered() {
+      final MessageReferenceImpl ref = new MessageReferenceImpl(new CoreMessage(1, 50), null);
+      ref.setScheduledDeliveryTime(0);
+      ref.setDeliveryCount(0);
+      ref.setInDelivery(false);
+      ref.emptyConsumerID();
+      ref.run();
+
+      assertEquals(0, ref.getDeliveryCount());
+      assertEquals(0, ref.getPersistedCount());
+      assertEquals(0, ref.getScheduledDeliveryTime());
+      assertFalse(ref.isInDelivery());
+      assertFalse(ref.isAlreadyAcked());
+      assertFalse(ref.hasConsumerId());
+      assertThrows(IllegalStateException.class, ref::getConsumerId);
+   }
+
+   @Test
+   public void testDelivered() {
+      final MessageReferenceImpl ref = new MessageReferenceImpl(new CoreMessage(1, 50), null);
+      ref.setConsumerId(10);
+      ref.incrementDeliveryCount();
+      ref.incrementDeliveryCount();
+      ref.setInDelivery(true);
+      final List<MessageReference> delivered = new ArrayList<>();
+      ref.onDelivery(delivered::add);
+
+      assertTrue(ref.hasConsumerId());
+      assertEquals(10, ref.getConsumerId());
+      assertEquals(2, ref.getDeliveryCount());
+      assertEquals(0, ref.getPersistedCount());
+      assertTrue(ref.isInDelivery());
+
+      ref.run();
+      ref.run();
+      assertEquals(List.of(ref), delivered);
+
+      ref.decrementDeliveryCount();
+      ref.emptyConsumerID();
+      ref.setInDelivery(false);
+      ref.setAlreadyAcked();
+      assertEquals(1, ref.getDeliveryCount());
+      assertFalse(ref.hasConsumerId());
+      assertFalse(ref.isInDelivery());
+      assertTrue(ref.isAlreadyAcked());
+
+      ref.setDeliveryCount(5);
+      assertEquals(5, ref.getDeliveryCount());
+      assertEquals(5, ref.getPersistedCount());
+   }
+
+   @Test
+   public void testCopy() {
+      final MessageReferenceImpl undelivered = new MessageReferenceImpl(new CoreMessage(1, 50), null);
+      final MessageReference undeliveredCopy = undelivered.copy(null);
+      assertSame(undelivered.getMessage(), undeliveredCopy.getMessage());
+      assertEquals(0, undeliveredCopy.getDeliveryCount());
+      assertEquals(0, undeliveredCopy.getScheduledDeliveryTime());
+
+      final MessageReferenceImpl ref = new MessageReferenceImpl(new CoreMessage(2, 50), null);
+      ref.setDeliveryCount(3);
+      ref.setScheduledDeliveryTime(1000);
+      ref.setConsumerId(10);
+      ref.setAlreadyAcked();
+      final MessageReference copy = ref.copy(null);
+      assertEquals(3, copy.getDeliveryCount());
+      assertEquals(0, copy.getPersistedCount());
+      assertEquals(1000, copy.getScheduledDeliveryTime());
+      assertFalse(copy.hasConsumerId());
+      assertFalse(copy.isAlreadyAcked());
+
+      // the copy doesn't share the state of the original
+      copy.incrementDeliveryCount();
+      assertEquals(3, ref.getDeliveryCount());
+      assertEquals(4, copy.getDeliveryCount());
+
+      final MessageReferenceImpl redelivered = new MessageReferenceImpl(new CoreMessage(3, 50), null);
+      redelivered.incrementDeliveryCount();
+      redelivered.setConsumerId(10);
+      final MessageReference redeliveredCopy = redelivered.copy(null);
+      assertEquals(1, redeliveredCopy.getDeliveryCount());
+      assertEquals(0, redeliveredCopy.getScheduledDeliveryTime());
+      assertFalse(redeliveredCopy.hasConsumerId());
+   }
+}
@@ -32,6 +32,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -56,6 +57,7 @@ import org.apache.activemq.artemis.core.server.Consumer;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.ScheduledDeliveryHandler;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
@@ -74,9 +76,17 @@ public class ScheduledDeliveryHandlerTest {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   protected ScheduledDeliveryHandler newHandler(ScheduledExecutorService scheduledExecutor, Queue queue) {
+      return new ScheduledDeliveryHandlerImpl(scheduledExecutor, queue);
+   }
+
+   protected void addInPlace(ScheduledDeliveryHandler handler, long deliveryTime, MessageReference ref, boolean tail) {
+      ((ScheduledDeliveryHandlerImpl) handler).addInPlace(deliveryTime, ref, tail);
+   }
+
    @Test
    public void testScheduleRandom() throws Exception {
-      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+      ScheduledDeliveryHandler handler = newHandler(null, new FakeQueueForScheduleUnitTest(0));
 
       long nextMessage = 0;
       long NUMBER_OF_SEQUENCES = 100000;
@@ -101,7 +111,7 @@ public class ScheduledDeliveryHandlerTest {
 
    @Test
    public void testScheduleSameTimeHeadAndTail() throws Exception {
-      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+      ScheduledDeliveryHandler handler = newHandler(null, new FakeQueueForScheduleUnitTest(0));
 
       long time = System.currentTimeMillis() + 10000;
       for (int i = 10001; i < 20000; i++) {
@@ -123,7 +133,7 @@ public class ScheduledDeliveryHandlerTest {
 
    @Test
    public void testScheduleFixedSample() throws Exception {
-      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+      ScheduledDeliveryHandler handler = newHandler(null, new FakeQueueForScheduleUnitTest(0));
 
       addMessage(handler, 0, 48L, true);
       addMessage(handler, 1, 75L, true);
@@ -137,7 +147,7 @@ public class ScheduledDeliveryHandlerTest {
 
    @Test
    public void testScheduleWithAddHeads() throws Exception {
-      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+      ScheduledDeliveryHandler handler = newHandler(null, new FakeQueueForScheduleUnitTest(0));
 
       addMessage(handler, 0, 1, true);
       addMessage(handler, 1, 2, true);
@@ -158,7 +168,7 @@ public class ScheduledDeliveryHandlerTest {
 
    @Test
    public void testScheduleFixedSampleTailAndHead() throws Exception {
-      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+      ScheduledDeliveryHandler handler = newHandler(null, new FakeQueueForScheduleUnitTest(0));
 
       // mix a sequence of tails / heads, but at the end this was supposed to be all sequential
       addMessage(handler, 1, 48L, true);
@@ -206,7 +216,7 @@ public class ScheduledDeliveryHandlerTest {
       int NUMBER_OF_THREADS = 20;
 
       final FakeQueueForScheduleUnitTest fakeQueue = new FakeQueueForScheduleUnitTest(NUMBER_OF_MESSAGES * NUMBER_OF_THREADS);
-      final ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(scheduler, fakeQueue);
+      final ScheduledDeliveryHandler handler = newHandler(scheduler, fakeQueue);
 
       final long now = System.currentTimeMillis();
 
@@ -245,7 +255,7 @@ public class ScheduledDeliveryHandlerTest {
       }
    }
 
-   private void validateSequence(ScheduledDeliveryHandlerImpl handler) throws Exception {
+   private void validateSequence(ScheduledDeliveryHandler handler) throws Exception {
       long lastSequence = -1;
       for (MessageReference ref : handler.getScheduledReferences()) {
          assertEquals(lastSequence + 1, ref.getMessage().getMessageID());
@@ -253,16 +263,16 @@ public class ScheduledDeliveryHandlerTest {
       }
    }
 
-   private void addMessage(ScheduledDeliveryHandlerImpl handler,
+   private void addMessage(ScheduledDeliveryHandler handler,
                            long nextMessageID,
                            long nextScheduledTime,
                            boolean tail) {
       MessageReferenceImpl refImpl = new MessageReferenceImpl(new FakeMessage(nextMessageID), null);
       refImpl.setScheduledDeliveryTime(nextScheduledTime);
-      handler.addInPlace(nextScheduledTime, refImpl, tail);
+      addInPlace(handler, nextScheduledTime, refImpl, tail);
    }
 
-   private void checkAndSchedule(ScheduledDeliveryHandlerImpl handler,
+   private void checkAndSchedule(ScheduledDeliveryHandler handler,
                                  long nextMessageID,
                                  long nextScheduledTime,
                                  boolean tail,
@@ -273,7 +283,7 @@ public class ScheduledDeliveryHandlerTest {
    }
 
    private void debugList(boolean fail,
-                          ScheduledDeliveryHandlerImpl handler,
+                          ScheduledDeliveryHandler handler,
                           long numberOfExpectedMessages) throws Exception {
       List<MessageReference> refs = handler.getScheduledReferences();
 
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.ScheduledDeliveryHandler;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.RandomUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelScheduledDeliveryHandlerTest extends ScheduledDeliveryHandlerTest {
+
+   @Override
+   protected ScheduledDeliveryHandler newHandler(ScheduledExecutorService scheduledExecutor, Queue queue) {
+      return new TimingWheelScheduledDeliveryHandler(scheduledExecutor, queue);
+   }
+
+   @Override
+   protected void addInPlace(ScheduledDeliveryHandler handler, long deliveryTime, MessageReference ref, boolean tail) {
+      ((TimingWheelScheduledDeliveryHandler) handler).addInPlace(deliveryTime, ref, tail);
+   }
+
+   private static MessageReference reference(long messageID, long deliveryTime, Queue queue) {
+      final MessageReference ref = new MessageReferenceImpl(new CoreMessage(messageID, 50), queue);
+      ref.setScheduledDeliveryTime(deliveryTime);
+      return ref;
+   }
+
+   @Test
+   public void testDeliverInOrderAcrossLevels() throws Exception {
+      final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      try {
+         final int numberOfMessages = 1000;
+         final Map<Long, Long> deliveryTimes = new ConcurrentHashMap<>();
+         final List<MessageReference> delivered = Collections.synchronizedList(new ArrayList<>());
+         final List<MessageReference> early = Collections.synchronizedList(new ArrayList<>());
+         final FakeQueueForScheduleUnitTest queue = new FakeQueueForScheduleUnitTest(numberOfMessages) {
+            @Override
+            public void addHead(List<MessageReference> refs, boolean scheduling) {
+               final long now = System.currentTimeMillis();
+               // each reference goes to the head of the queue, so the last one is delivered first
+               for (int i = refs.size() - 1; i >= 0; i--) {
+                  final MessageReference ref = refs.get(i);
+                  delivered.add(ref);
+                  if (deliveryTimes.get(ref.getMessageID()) > now) {
+                     early.add(ref);
+                  }
+               }
+               super.addHead(refs, scheduling);
+            }
+         };
+         final ScheduledDeliveryHandler handler = newHandler(scheduler, queue);
+         final long now = System.currentTimeMillis();
+         for (long i = 0; i < numberOfMessages; i++) {
+            // up to a few seconds, spanning the slots of the first levels, none due before all of them are added
+            final long deliveryTime = now + RandomUtil.randomInterval(500, 5000);
+            deliveryTimes.put(i, deliveryTime);
+            assertTrue(handler.checkAndSchedule(reference(i, deliveryTime, queue), true));
+         }
+         final MessageReference later = reference(numberOfMessages, now + TimeUnit.HOURS.toMillis(1), queue);
+         assertTrue(handler.checkAndSchedule(later, true));
+
+         assertTrue(queue.waitCompletion(20, TimeUnit.SECONDS));
+
+         assertEquals(numberOfMessages, delivered.size());
+         assertEquals(List.of(), early);
+         long lastDeliveryTime = Long.MIN_VALUE;
+         for (MessageReference ref : delivered) {
+            final long deliveryTime = deliveryTimes.get(ref.getMessageID());
+            assertTrue(deliveryTime >= lastDeliveryTime);
+            assertEquals(0, ref.getScheduledDeliveryTime());
+            lastDeliveryTime = deliveryTime;
+         }
+         assertEquals(1, handler.getScheduledCount());
+         assertEquals(List.of(later), handler.getScheduledReferences());
+      } finally {
+         scheduler.shutdownNow();
+      }
+   }
+
+   @Test
+   public void testRemoveAndCancel() throws Exception {
+      final FakeQueueForScheduleUnitTest queue = new FakeQueueForScheduleUnitTest(0);
+      final ScheduledDeliveryHandler handler = newHandler(null, queue);
+      final long now = System.currentTimeMillis();
+      final List<MessageReference> refs = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+         // from the past to years ahead
+         final long deliveryTime = now - 10 + (1L << (2 * i));
+         refs.add(reference(i, deliveryTime, queue));
+         addInPlace(handler, deliveryTime, refs.get(i), true);
+      }
+      assertEquals(refs, handler.getScheduledReferences());
+      assertEquals(20, handler.getScheduledCount());
+
+      assertSame(refs.get(7), handler.removeReferenceWithID(7));
+      assertNull(handler.removeReferenceWithID(7));
+      assertEquals(19, handler.getScheduledCount());
+
+      final List<MessageReference> cancelled = handler.cancel(ref -> ref.getMessageID() % 2 == 0);
+      assertEquals(10, cancelled.size());
+      for (int i = 0; i < cancelled.size(); i++) {
+         assertSame(refs.get(i * 2), cancelled.get(i));
+      }
+      final List<MessageReference> left = handler.getScheduledReferences();
+      assertEquals(9, left.size());
+      assertEquals(9, handler.getScheduledCount());
+      for (MessageReference ref : left) {
+         assertTrue(ref.getMessageID() % 2 == 1 && ref.getMessageID() != 7);
+      }
+   }
+}
@@ -102,6 +102,8 @@ public class AddressSettingsTest extends ServerTestBase {
       addressSettingsToMerge.setMaxExpiryDelay(777L);
       addressSettingsToMerge.setIDCacheSize(5);
       addressSettingsToMerge.setInitialQueueBufferSize(256);
+      addressSettingsToMerge.setDeliveryShards(8);
+      addressSettingsToMerge.setScheduledDeliveryTimingWheel(true);
       addressSettingsToMerge.setNoExpiry(true);
 
       if (copy) {
@@ -125,6 +127,8 @@ public class AddressSettingsTest extends ServerTestBase {
       assertEquals(Long.valueOf(777), addressSettings.getMaxExpiryDelay());
       assertEquals(Integer.valueOf(5), addressSettings.getIDCacheSize());
       assertEquals(Integer.valueOf(256), addressSettings.getInitialQueueBufferSize());
+      assertEquals(8, addressSettings.getDeliveryShards());
+      assertTrue(addressSettings.isScheduledDeliveryTimingWheel());
       assertTrue(addressSettings.isNoExpiry());
    }
 
@@ -251,6 +251,95 @@ public class NIOJournalCompactTest extends JournalImplTestBase {
 
    }
 
+   @Test
+   public void testCompactOnMaxDeadFiles() throws Exception {
+
+      setup(2, 60 * 1024, false);
+
+      final byte recordType = (byte) 0;
+
+      final CountDownLatch compactDone = new CountDownLatch(1);
+
+      // compactPercentage = 0 disables the percentage check, so only the dead files limit may trigger compacting
+      JournalImpl journalImpl = new JournalImpl(fileSize, minFiles, minFiles, 2, 0, fileFactory, filePrefix, fileExtension, maxAIO) {
+         @Override
+         protected void onCompactDone() {
+            compactDone.countDown();
+         }
+      };
+      journalImpl.setCompactMaxDeadFiles(3);
+      journal = journalImpl;
+
+      journal.start();
+
+      journal.loadInternalOnly();
+
+      byte[] data = new byte[1024];
+
+      List<Long> liveIDs = new ArrayList<>();
+
+      for (long i = 0; i < 500; i++) {
+         journal.appendAddRecord(i, recordType, data, false);
+         if (i % 20 == 0) {
+            liveIDs.add(i);
+         } else {
+            journal.appendDeleteRecord(i, false);
+         }
+      }
+
+      journal.flush();
+
+      assertTrue(compactDone.await(10, TimeUnit.SECONDS));
+
+      journal.stop();
+
+      List<RecordInfo> records = new ArrayList<>();
+
+      journal.start();
+
+      journal.load(records, new ArrayList<>(), null);
+
+      assertEquals(liveIDs.size(), records.size());
+   }
+
+   @Test
+   public void testCompactingStatistics() throws Exception {
+
+      setup(2, 60 * 1024, false);
+
+      JournalImpl journalImpl = new JournalImpl(fileSize, minFiles, minFiles, 0, 0, fileFactory, filePrefix, fileExtension, maxAIO);
+      journal = journalImpl;
+
+      journal.start();
+
+      journal.loadInternalOnly();
+
+      assertEquals(0, journalImpl.getCompactingRuns());
+      assertEquals(0, journalImpl.getCompactingReclaimedBytes());
+
+      byte[] data = new byte[1024];
+
+      for (long i = 0; i < 500; i++) {
+         journal.appendAddRecord(i, (byte) 0, data, false);
+         if (i % 20 != 0) {
+            journal.appendDeleteRecord(i, false);
+         }
+      }
+
+      journal.flush();
+
+      int filesBefore = journalImpl.getDataFilesCount();
+
+      journalImpl.testCompact();
+
+      assertEquals(1, journalImpl.getCompactingRuns());
+      assertTrue(journalImpl.getCompactingReclaimedBytes() > 0);
+      assertTrue(journalImpl.getCompactingReclaimedBytes() <= (long) filesBefore * fileSize);
+      assertTrue(journalImpl.getCompactingPauseTime() >= journalImpl.getLastCompactingPauseTime());
+
+      journal.stop();
+   }
+
    @Test
    public void testInvalidDataCompact() throws Exception {
 
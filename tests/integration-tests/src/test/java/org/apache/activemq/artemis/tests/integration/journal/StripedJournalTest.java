@@ -0,0 +1,522 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.journal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.MetricsConfiguration;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.metrics.BrokerMetricNames;
+import org.apache.activemq.artemis.core.server.metrics.plugins.SimpleMetricsPlugin;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.Wait;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StripedJournalTest extends ActiveMQTestBase {
+
+   private static final int STRIPES = 4;
+
+   private static final byte RECORD_TYPE = 1;
+
+   private static final long TX_ID = 10_000;
+
+   private ExecutorService executor;
+
+   private StripedJournal journal;
+
+   private final List<RecordInfo> committedRecords = new ArrayList<>();
+
+   private final List<PreparedTransactionInfo> preparedTransactions = new ArrayList<>();
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      executor = Executors.newSingleThreadExecutor();
+      runAfter(executor::shutdownNow);
+      runAfter(() -> {
+         if (journal != null) {
+            journal.stop();
+         }
+      });
+   }
+
+   private void startJournal(int stripes) throws Exception {
+      startJournal(stripes, stripes);
+   }
+
+   private void startJournal(int stripes, int activeStripes) throws Exception {
+      if (journal != null) {
+         journal.stop();
+      }
+      Journal[] journals = new Journal[stripes];
+      for (int i = 0; i < stripes; i++) {
+         File directory = i == 0 ? getTestDirfile() : new File(getTestDirfile(), "stripe-" + i);
+         directory.mkdirs();
+         journals[i] = new JournalImpl(10 * 1024, 2, 2, 0, 0, new NIOSequentialFileFactory(directory, 1), "activemq-data", "amq", 1);
+      }
+      journal = new StripedJournal(executor, activeStripes, journals);
+      journal.start();
+
+      committedRecords.clear();
+      preparedTransactions.clear();
+      journal.load(committedRecords, preparedTransactions, null);
+   }
+
+   private void restart(int stripes) throws Exception {
+      restart(stripes, stripes);
+   }
+
+   private void restart(int stripes, int activeStripes) throws Exception {
+      journal.flush();
+      startJournal(stripes, activeStripes);
+   }
+
+   private Set<Long> liveRecordIds() {
+      Set<Long> ids = new HashSet<>();
+      for (RecordInfo record : committedRecords) {
+         assertNotEquals(StripedJournal.STRIPED_TX_RECORD, record.getUserRecordType());
+         ids.add(record.id);
+      }
+      return ids;
+   }
+
+   private static Set<Long> ids(long from, long to) {
+      Set<Long> ids = new HashSet<>();
+      for (long id = from; id <= to; id++) {
+         ids.add(id);
+      }
+      return ids;
+   }
+
+   private void addTransactional(long from, long to) throws Exception {
+      Set<Integer> stripes = new HashSet<>();
+      for (long id = from; id <= to; id++) {
+         journal.appendAddRecordTransactional(TX_ID, id, RECORD_TYPE, new byte[]{(byte) id});
+         stripes.add(journal.stripeIndex(id));
+      }
+      assertTrue(stripes.size() > 1, "the transaction must span several stripes");
+   }
+
+   @Test
+   public void testRecordsSpreadOverStripes() throws Exception {
+      startJournal(STRIPES);
+
+      for (long id = 1; id <= 100; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, new byte[]{(byte) id}, false);
+      }
+      for (long id = 1; id <= 50; id++) {
+         journal.appendUpdateRecord(id, RECORD_TYPE, new byte[]{(byte) -id}, false);
+      }
+      for (long id = 1; id <= 25; id++) {
+         journal.appendDeleteRecord(id, false);
+      }
+
+      for (int i = 0; i < STRIPES; i++) {
+         assertTrue(journal.getStripe(i).getNumberOfRecords() > 0);
+      }
+      Wait.assertEquals(75, journal::getNumberOfRecords);
+
+      restart(STRIPES);
+
+      assertEquals(ids(26, 100), liveRecordIds());
+      assertEquals(100, committedRecords.size());
+      assertEquals(0, preparedTransactions.size());
+   }
+
+   @Test
+   public void testCommitAcrossStripes() throws Exception {
+      startJournal(STRIPES);
+
+      addTransactional(1, 20);
+      journal.appendCommitRecord(TX_ID, true);
+
+      // the outcome of the transaction is forgotten once every stripe has synced its commit
+      Wait.assertEquals(20, journal::getNumberOfRecords);
+
+      restart(STRIPES);
+
+      assertEquals(ids(1, 20), liveRecordIds());
+      assertEquals(0, preparedTransactions.size());
+      assertEquals(20, journal.getNumberOfRecords());
+   }
+
+   @Test
+   public void testCommitAcrossStripesWithCallback() throws Exception {
+      startJournal(STRIPES);
+
+      addTransactional(1, 20);
+      SimpleWaitIOCallback callback = new SimpleWaitIOCallback();
+      // neither the prepare records nor the outcome are synced, but the callback still waits for them to be written
+      journal.appendCommitRecord(TX_ID, false, callback, true);
+      callback.waitCompletion();
+
+      Wait.assertEquals(20, journal::getNumberOfRecords);
+
+      restart(STRIPES);
+
+      assertEquals(ids(1, 20), liveRecordIds());
+      assertEquals(0, preparedTransactions.size());
+   }
+
+   @Test
+   public void testRollbackAcrossStripes() throws Exception {
+      startJournal(STRIPES);
+
+      addTransactional(1, 20);
+      journal.appendRollbackRecord(TX_ID, true);
+
+      restart(STRIPES);
+
+      assertEquals(0, committedRecords.size());
+      assertEquals(0, preparedTransactions.size());
+   }
+
+   @Test
+   public void testPreparedAcrossStripes() throws Exception {
+      startJournal(STRIPES);
+
+      byte[] xid = new byte[]{1, 2, 3};
+      addTransactional(1, 20);
+      journal.appendPrepareRecord(TX_ID, xid, true);
+
+      restart(STRIPES);
+
+      assertEquals(0, committedRecords.size());
+      assertEquals(1, preparedTransactions.size());
+      PreparedTransactionInfo prepared = preparedTransactions.get(0);
+      assertEquals(TX_ID, prepared.getId());
+      assertArrayEquals(xid, prepared.getExtraData());
+      assertEquals(20, prepared.getRecords().size());
+
+      journal.appendCommitRecord(TX_ID, true);
+
+      restart(STRIPES);
+
+      assertEquals(ids(1, 20), liveRecordIds());
+      assertEquals(0, preparedTransactions.size());
+   }
+
+   @Test
+   public void testCommitCompletedOnLoad() throws Exception {
+      startJournal(STRIPES);
+
+      addTransactional(1, 20);
+      journal.appendPrepareRecord(TX_ID, new byte[]{1}, true);
+      // the outcome is recorded but the broker dies before the stripes get their commit record
+      journal.getStripe(0).appendUpdateRecord(TX_ID, StripedJournal.STRIPED_TX_RECORD, new byte[]{2}, true);
+
+      restart(STRIPES);
+
+      assertEquals(ids(1, 20), liveRecordIds());
+      assertEquals(0, preparedTransactions.size());
+
+      restart(STRIPES);
+
+      assertEquals(ids(1, 20), liveRecordIds());
+      assertEquals(0, preparedTransactions.size());
+      assertEquals(20, journal.getNumberOfRecords());
+   }
+
+   @Test
+   public void testPreparedRollbackAcrossStripes() throws Exception {
+      startJournal(STRIPES);
+
+      addTransactional(1, 20);
+      journal.appendPrepareRecord(TX_ID, new byte[]{1}, true);
+      journal.appendRollbackRecord(TX_ID, true);
+
+      restart(STRIPES);
+
+      assertEquals(0, committedRecords.size());
+      assertEquals(0, preparedTransactions.size());
+      Wait.assertEquals(0, journal::getNumberOfRecords);
+   }
+
+   @Test
+   public void testRollbackCompletedOnLoad() throws Exception {
+      startJournal(STRIPES);
+
+      addTransactional(1, 20);
+      journal.appendPrepareRecord(TX_ID, new byte[]{1}, true);
+      // the outcome is recorded but the broker dies once a single stripe got its rollback record
+      journal.getStripe(0).appendUpdateRecord(TX_ID, StripedJournal.STRIPED_TX_RECORD, new byte[]{3}, true);
+      journal.getStripe(journal.stripeIndex(1)).appendRollbackRecord(TX_ID, true);
+
+      restart(STRIPES);
+
+      assertEquals(0, committedRecords.size());
+      assertEquals(0, preparedTransactions.size());
+
+      restart(STRIPES);
+
+      assertEquals(0, committedRecords.size());
+      assertEquals(0, preparedTransactions.size());
+      assertEquals(0, journal.getNumberOfRecords());
+   }
+
+   @Test
+   public void testIncompletePrepareRolledBackOnLoad() throws Exception {
+      startJournal(STRIPES);
+
+      addTransactional(1, 20);
+      journal.appendPrepareRecord(TX_ID, new byte[]{1}, true);
+      // the broker dies before the outcome of the prepare is recorded
+      journal.getStripe(0).appendDeleteRecord(TX_ID, true);
+
+      restart(STRIPES);
+
+      assertEquals(0, committedRecords.size());
+      assertEquals(0, preparedTransactions.size());
+   }
+
+   @Test
+   public void testChangeStripeCount() throws Exception {
+      startJournal(1);
+
+      for (long id = 1; id <= 50; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, new byte[]{(byte) id}, false);
+      }
+
+      restart(STRIPES);
+
+      assertEquals(ids(1, 50), liveRecordIds());
+      assertEquals(50, journal.getStripe(0).getNumberOfRecords());
+
+      for (long id = 1; id <= 25; id++) {
+         journal.appendUpdateRecord(id, RECORD_TYPE, new byte[]{(byte) -id}, false);
+         journal.appendDeleteRecord(id, false);
+      }
+      for (long id = 51; id <= 100; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, new byte[]{(byte) id}, false);
+      }
+
+      restart(STRIPES);
+
+      assertEquals(ids(26, 100), liveRecordIds());
+      // the records added before the change are still held by the first stripe
+      long addedToFirstStripe = ids(51, 100).stream().filter(id -> journal.stripeIndex(id) == 0).count();
+      assertEquals(25 + addedToFirstStripe, journal.getStripe(0).getNumberOfRecords());
+   }
+
+   @Test
+   public void testLowerStripeCount() throws Exception {
+      startJournal(STRIPES);
+
+      for (long id = 1; id <= 50; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, new byte[]{(byte) id}, false);
+      }
+      byte[] xid = new byte[]{1, 2, 3};
+      addTransactional(101, 120);
+      journal.appendPrepareRecord(TX_ID, xid, true);
+
+      // back to a single stripe: the others are only loaded
+      restart(STRIPES, 1);
+
+      assertEquals(ids(1, 50), liveRecordIds());
+      assertEquals(1, preparedTransactions.size());
+      assertEquals(20, preparedTransactions.get(0).getRecords().size());
+      for (int i = 1; i < STRIPES; i++) {
+         assertFalse(journal.isStripeDrained(i));
+      }
+
+      for (long id = 51; id <= 100; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, new byte[]{(byte) id}, false);
+         assertEquals(0, journal.stripeIndex(id));
+      }
+      for (long id = 1; id <= 25; id++) {
+         journal.appendUpdateRecord(id, RECORD_TYPE, new byte[]{(byte) -id}, false);
+      }
+      journal.appendCommitRecord(TX_ID, true);
+
+      restart(STRIPES, 1);
+
+      assertEquals(ids(1, 120), liveRecordIds());
+      assertEquals(0, preparedTransactions.size());
+
+      for (long id = 1; id <= 50; id++) {
+         journal.appendDeleteRecord(id, false);
+      }
+      for (long id = 101; id <= 120; id++) {
+         journal.appendDeleteRecord(id, false);
+      }
+      journal.flush();
+
+      for (int i = 1; i < STRIPES; i++) {
+         final int stripe = i;
+         Wait.assertTrue(() -> journal.isStripeDrained(stripe));
+      }
+      assertFalse(journal.isStripeDrained(0));
+
+      restart(STRIPES, 1);
+
+      assertEquals(ids(51, 100), liveRecordIds());
+      assertEquals(50, journal.getStripe(0).getNumberOfRecords());
+   }
+
+   @Test
+   public void testBrokerLowerStripeCount() throws Exception {
+      final SimpleString queue = SimpleString.of("queue");
+      ActiveMQServer server = addServer(createServer(true, createDefaultInVMConfig().setJournalStripes(STRIPES)));
+      server.start();
+
+      ServerLocator locator = addServerLocator(createInVMNonHALocator());
+      ClientSessionFactory sf = createSessionFactory(locator);
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+      session.createQueue(QueueConfiguration.of(queue).setRoutingType(RoutingType.ANYCAST));
+      ClientProducer producer = session.createProducer(queue);
+      for (int i = 0; i < 100; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+      session.close();
+      sf.close();
+      server.stop();
+
+      server.getConfiguration().setJournalStripes(1);
+      server.start();
+      StripedJournal stripedJournal = assertInstanceOf(StripedJournal.class, server.getStorageManager().getMessageJournal());
+      assertEquals(1, stripedJournal.getActiveStripeCount());
+      assertEquals(STRIPES, stripedJournal.getStripeCount());
+
+      sf = createSessionFactory(locator);
+      session = addClientSession(sf.createSession(false, true, true));
+      session.start();
+      ClientConsumer consumer = session.createConsumer(queue);
+      for (int i = 0; i < 100; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+      session.close();
+      sf.close();
+      server.stop();
+
+      // the retired stripes are drained, so they are removed
+      for (int i = 1; i < STRIPES; i++) {
+         assertFalse(JournalStorageManager.getJournalStripeLocation(server.getConfiguration(), i).exists());
+      }
+      server.start();
+      assertFalse(server.getStorageManager().getMessageJournal() instanceof StripedJournal);
+   }
+
+   @Test
+   public void testBrokerMetricsAcrossStripes() throws Exception {
+      ActiveMQServer server = addServer(createServer(true, createDefaultInVMConfig().setJournalStripes(STRIPES)
+         .setMetricsConfiguration(new MetricsConfiguration().setPlugin(new SimpleMetricsPlugin().init(null)))));
+      server.start();
+      StripedJournal messageJournal = (StripedJournal) server.getStorageManager().getMessageJournal();
+      MeterRegistry registry = server.getMetricsManager().getMeterRegistry();
+
+      JournalImpl lastStripe = (JournalImpl) messageJournal.getStripe(STRIPES - 1);
+      DistributionSummary flushSize = registry.get("artemis." + BrokerMetricNames.JOURNAL_BUFFER_FLUSH_SIZE).summary();
+      long flushes = flushSize.count();
+      lastStripe.appendAddRecord(TX_ID, RECORD_TYPE, new byte[] {1}, true);
+      Wait.assertTrue(() -> flushSize.count() > flushes, 5000, 10);
+
+      Gauge compactCount = registry.get("artemis." + BrokerMetricNames.JOURNAL_COMPACT_COUNT).gauge();
+      double compactions = compactCount.value();
+      lastStripe.testCompact();
+      assertEquals(compactions + 1, compactCount.value());
+   }
+
+   @Test
+   public void testBrokerRestart() throws Exception {
+      final SimpleString queue = SimpleString.of("queue");
+      ActiveMQServer server = addServer(createServer(true, createDefaultInVMConfig().setJournalStripes(STRIPES)));
+      server.start();
+      assertTrue(server.getStorageManager().getMessageJournal() instanceof StripedJournal);
+      assertTrue(JournalStorageManager.getJournalStripeLocation(server.getConfiguration(), STRIPES - 1).isDirectory());
+
+      ServerLocator locator = addServerLocator(createInVMNonHALocator());
+      ClientSessionFactory sf = createSessionFactory(locator);
+      ClientSession session = addClientSession(sf.createSession(false, false, false));
+      session.createQueue(QueueConfiguration.of(queue).setRoutingType(RoutingType.ANYCAST));
+
+      ClientProducer producer = session.createProducer(queue);
+      for (int i = 0; i < 200; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         producer.send(message);
+         if (i % 10 == 9) {
+            session.commit();
+         }
+      }
+
+      session.start();
+      ClientConsumer consumer = session.createConsumer(queue);
+      for (int i = 0; i < 50; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+      session.commit();
+      session.close();
+      sf.close();
+
+      server.stop();
+      server.start();
+
+      sf = createSessionFactory(locator);
+      session = addClientSession(sf.createSession(false, true, true));
+      session.start();
+      consumer = session.createConsumer(queue);
+      for (int i = 50; i < 200; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+   }
+}
@@ -121,6 +121,21 @@ public class AddressControlUsingCoreTest extends AddressControlTest {
             return (int)  proxy.retrieveAttributeValue("addressLimitPercent", Integer.class);
          }
 
+         @Override
+         public long getPageCacheHitCount() {
+            return (long) proxy.retrieveAttributeValue("pageCacheHitCount", Long.class);
+         }
+
+         @Override
+         public long getPageCacheMissCount() {
+            return (long) proxy.retrieveAttributeValue("pageCacheMissCount", Long.class);
+         }
+
+         @Override
+         public long getPageCacheEvictionCount() {
+            return (long) proxy.retrieveAttributeValue("pageCacheEvictionCount", Long.class);
+         }
+
          @Override
          public boolean block() throws Exception {
             return (boolean) proxy.invokeOperation("block");
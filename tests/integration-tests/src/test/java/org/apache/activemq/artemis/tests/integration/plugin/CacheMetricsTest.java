@@ -56,10 +56,11 @@ public class CacheMetricsTest extends ActiveMQTestBase {
       ActiveMQServer server = createServer(false, createDefaultInVMConfig().setSecurityEnabled(true)
          .setMetricsConfiguration(new MetricsConfiguration()
                                      .setPlugin(new SimpleMetricsPlugin().init(null))
-                                     .setSecurityCaches(enabled)));
+                                     .setSecurityCaches(enabled)
+                                     .setSelectorCache(enabled)));
       server.start();
       List<Meter.Id> metersToMatch = new ArrayList<>();
-      for (String cacheTagValue : Arrays.asList("authentication", "authorization")) {
+      for (String cacheTagValue : Arrays.asList("authentication", "authorization", "selector")) {
          Tags defaultTags = Tags.of(Tag.of("broker", "localhost"), Tag.of("cache", cacheTagValue));
          metersToMatch.add(new Meter.Id("cache.size", defaultTags, null, null, null));
          metersToMatch.add(new Meter.Id("cache.puts", defaultTags, null, null, null));
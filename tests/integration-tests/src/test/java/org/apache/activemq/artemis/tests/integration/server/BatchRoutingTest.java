@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerMessagePlugin;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchRoutingTest extends ActiveMQTestBase {
+
+   private static final String ADDRESS = "batch";
+
+   private static final int MESSAGES = 50;
+
+   private ActiveMQServer server;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(true);
+      server.start();
+      server.createQueue(QueueConfiguration.of("all").setAddress(ADDRESS).setRoutingType(RoutingType.MULTICAST));
+      server.createQueue(QueueConfiguration.of("even").setAddress(ADDRESS).setRoutingType(RoutingType.MULTICAST).setFilterString("even = TRUE"));
+      server.createQueue(QueueConfiguration.of("nonDurable").setAddress(ADDRESS).setRoutingType(RoutingType.MULTICAST).setDurable(false));
+   }
+
+   @Test
+   public void testRouteBatch() throws Exception {
+      final List<Message> messages = createMessages();
+      messages.get(10).putStringProperty(Message.HDR_DUPLICATE_DETECTION_ID, "duplicate");
+      messages.get(20).putStringProperty(Message.HDR_DUPLICATE_DETECTION_ID, "duplicate");
+      messages.get(30).setScheduledDeliveryTime(System.currentTimeMillis() + 60 * 60 * 1000);
+      final List<Message> failed = new ArrayList<>();
+
+      final RoutingStatus[] statuses = server.getPostOffice().route(messages, new RoutingContextImpl(null), (message, e) -> failed.add(message));
+
+      assertTrue(failed.isEmpty());
+      // duplicates aren't rejected
+      for (int i = 0; i < MESSAGES; i++) {
+         assertEquals(RoutingStatus.OK, statuses[i], "message " + i);
+      }
+      Wait.assertEquals(MESSAGES, () -> server.locateQueue("all").getMessageCount());
+      Wait.assertEquals(MESSAGES / 2, () -> server.locateQueue("even").getMessageCount());
+      Wait.assertEquals(MESSAGES, () -> server.locateQueue("nonDurable").getMessageCount());
+
+      server.stop();
+      server.start();
+
+      Wait.assertEquals(MESSAGES, () -> server.locateQueue("all").getMessageCount());
+      Wait.assertEquals(MESSAGES / 2, () -> server.locateQueue("even").getMessageCount());
+      assertNull(server.locateQueue("nonDurable"));
+
+      // without the scheduled message
+      assertReceivedInOrder("all", MESSAGES - 1);
+      assertReceivedInOrder("even", MESSAGES / 2 - 1);
+   }
+
+   @Test
+   public void testRouteBatchWithFailure() throws Exception {
+      server.registerBrokerPlugin(new ActiveMQServerMessagePlugin() {
+         @Override
+         public void afterMessageRoute(Message message, RoutingContext context, boolean direct, boolean rejectDuplicates, RoutingStatus result) throws ActiveMQException {
+            if (message.containsProperty("fail")) {
+               throw new ActiveMQException("fail");
+            }
+         }
+      });
+      final List<Message> messages = createMessages();
+      // an even message, routed to all the queues
+      messages.get(20).putBooleanProperty("fail", true);
+      final List<Message> failed = new ArrayList<>();
+
+      final RoutingStatus[] statuses = server.getPostOffice().route(messages, new RoutingContextImpl(null), (message, e) -> failed.add(message));
+
+      assertEquals(List.of(messages.get(20)), failed);
+      for (int i = 0; i < MESSAGES; i++) {
+         assertEquals(i == 20 ? null : RoutingStatus.OK, statuses[i], "message " + i);
+      }
+      Wait.assertEquals(MESSAGES - 1, () -> server.locateQueue("all").getMessageCount());
+      Wait.assertEquals(MESSAGES / 2 - 1, () -> server.locateQueue("even").getMessageCount());
+      Wait.assertEquals(MESSAGES - 1, () -> server.locateQueue("nonDurable").getMessageCount());
+      assertEquals(0, messages.get(20).getRefCount());
+      assertEquals(0, messages.get(20).getDurableCount());
+
+      server.stop();
+      server.start();
+
+      Wait.assertEquals(MESSAGES - 1, () -> server.locateQueue("all").getMessageCount());
+      Wait.assertEquals(MESSAGES / 2 - 1, () -> server.locateQueue("even").getMessageCount());
+      assertReceivedInOrder("all", MESSAGES - 1);
+      assertReceivedInOrder("even", MESSAGES / 2 - 1);
+   }
+
+   @Test
+   public void testRouteBatchInTransaction() throws Exception {
+      final TransactionImpl tx = new TransactionImpl(server.getStorageManager());
+
+      assertThrows(IllegalArgumentException.class, () -> server.getPostOffice().route(createMessages(), new RoutingContextImpl(tx), (message, e) -> { }));
+
+      assertEquals(0, server.locateQueue("all").getMessageCount());
+   }
+
+   private List<Message> createMessages() {
+      final List<Message> messages = new ArrayList<>();
+      for (int i = 0; i < MESSAGES; i++) {
+         final Message message = new CoreMessage(server.getStorageManager().generateID(), 100);
+         message.setAddress(ADDRESS);
+         message.setDurable(true);
+         message.putIntProperty("i", i);
+         message.putBooleanProperty("even", i % 2 == 0);
+         messages.add(message);
+      }
+      return messages;
+   }
+
+   private void assertReceivedInOrder(String queue, int expected) throws Exception {
+      try (ClientSessionFactory factory = createSessionFactory(createInVMNonHALocator());
+           ClientSession session = factory.createSession()) {
+         session.start();
+         final ClientConsumer consumer = session.createConsumer(queue);
+         int previous = -1;
+         for (int i = 0; i < expected; i++) {
+            final ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            message.acknowledge();
+            final int current = message.getIntProperty("i");
+            assertTrue(current > previous, "received " + current + " after " + previous);
+            previous = current;
+         }
+         assertNull(consumer.receiveImmediate());
+      }
+   }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DeliveryShardsTest extends ActiveMQTestBase {
+
+   private static final int SHARDS = 4;
+
+   private static final int CONSUMERS = 8;
+
+   private final SimpleString address = SimpleString.of("DeliveryShardsTestAddress");
+
+   private ActiveMQServer server;
+
+   private ClientSessionFactory sf;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+
+      server = addServer(createServer(false, createDefaultInVMConfig()));
+      server.getAddressSettingsRepository().addMatch(address.toString(), new AddressSettings().setDeliveryShards(SHARDS));
+      server.start();
+
+      ServerLocator locator = addServerLocator(createInVMNonHALocator().setConsumerWindowSize(1024).setAckBatchSize(0));
+      sf = createSessionFactory(locator);
+
+      ClientSession session = addClientSession(sf.createSession());
+      session.createQueue(QueueConfiguration.of(address).setRoutingType(RoutingType.ANYCAST));
+   }
+
+   @Test
+   public void testCompetingConsumers() throws Exception {
+      final int numberOfMessages = 2000;
+      final Map<Integer, AtomicInteger> received = new ConcurrentHashMap<>();
+      final CountDownLatch latch = new CountDownLatch(numberOfMessages);
+
+      for (int i = 0; i < CONSUMERS; i++) {
+         ClientSession session = addClientSession(sf.createSession(true, true));
+         ClientConsumer consumer = session.createConsumer(address);
+         consumer.setMessageHandler(message -> {
+            received.computeIfAbsent(message.getIntProperty("i"), k -> new AtomicInteger()).incrementAndGet();
+            try {
+               message.acknowledge();
+            } catch (ActiveMQException e) {
+               throw new IllegalStateException(e);
+            }
+            latch.countDown();
+         });
+         session.start();
+      }
+
+      send(numberOfMessages, null);
+
+      assertTrue(latch.await(30, TimeUnit.SECONDS));
+      assertEquals(numberOfMessages, received.size());
+      for (AtomicInteger count : received.values()) {
+         assertEquals(1, count.get());
+      }
+
+      Queue queue = server.locateQueue(address);
+      Wait.assertEquals(0L, queue::getMessageCount);
+      Wait.assertEquals((long) numberOfMessages, queue::getMessagesAcknowledged);
+   }
+
+   @Test
+   public void testGroupOrder() throws Exception {
+      final int groups = 10;
+      final int numberOfMessages = 1000;
+      final Map<String, List<Integer>> received = new HashMap<>();
+      final CountDownLatch latch = new CountDownLatch(numberOfMessages);
+
+      for (int i = 0; i < CONSUMERS; i++) {
+         ClientSession session = addClientSession(sf.createSession(true, true));
+         ClientConsumer consumer = session.createConsumer(address);
+         consumer.setMessageHandler(message -> {
+            synchronized (received) {
+               received.computeIfAbsent(message.getStringProperty(Message.HDR_GROUP_ID), k -> new ArrayList<>()).add(message.getIntProperty("i"));
+            }
+            try {
+               message.acknowledge();
+            } catch (ActiveMQException e) {
+               throw new IllegalStateException(e);
+            }
+            latch.countDown();
+         });
+         session.start();
+      }
+
+      send(numberOfMessages, groups);
+
+      assertTrue(latch.await(30, TimeUnit.SECONDS));
+      assertEquals(groups, received.size());
+      for (List<Integer> group : received.values()) {
+         for (int i = 1; i < group.size(); i++) {
+            assertTrue(group.get(i - 1) < group.get(i), "messages of a group out of order: " + group);
+         }
+      }
+   }
+
+   @Test
+   public void testCloseConsumerWithDeliveriesInProgress() throws Exception {
+      final int numberOfMessages = 500;
+
+      send(numberOfMessages, null);
+
+      ClientSession session = addClientSession(sf.createSession(false, false));
+      ClientConsumer consumer = session.createConsumer(address);
+      session.start();
+      assertNotNull(consumer.receive(5000));
+      consumer.close();
+      session.rollback();
+
+      Queue queue = server.locateQueue(address);
+      Wait.assertEquals((long) numberOfMessages, queue::getMessageCount);
+      Wait.assertEquals(0, queue::getDeliveringCount);
+
+      ClientSession receiver = addClientSession(sf.createSession(true, true));
+      ClientConsumer receiverConsumer = receiver.createConsumer(address);
+      receiver.start();
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = receiverConsumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+      }
+      assertNull(receiverConsumer.receiveImmediate());
+   }
+
+   @Test
+   public void testConsumerWindowSizeZero() throws Exception {
+      final int numberOfMessages = 100;
+
+      send(numberOfMessages, null);
+
+      ServerLocator locator = addServerLocator(createInVMNonHALocator().setConsumerWindowSize(0));
+      ClientSessionFactory slowFactory = createSessionFactory(locator);
+      ClientSession session = addClientSession(slowFactory.createSession(false, false));
+      ClientConsumer consumer = session.createConsumer(address);
+      session.start();
+
+      Queue queue = server.locateQueue(address);
+      for (int i = 0; i < 10; i++) {
+         assertNotNull(consumer.receive(5000));
+         // a consumer without a window gets a single reference at a time
+         Wait.assertEquals(i + 1, queue::getDeliveringCount);
+         assertEquals(i + 1, queue.getDeliveringCount());
+      }
+      session.rollback();
+   }
+
+   @Test
+   public void testReceiveImmediate() throws Exception {
+      final int numberOfMessages = 200;
+
+      send(numberOfMessages, null);
+
+      // without flow control, so that all the messages are delivered
+      ServerLocator locator = addServerLocator(createInVMNonHALocator().setConsumerWindowSize(-1));
+      ClientSessionFactory unboundedFactory = createSessionFactory(locator);
+      ClientSession session = addClientSession(unboundedFactory.createSession(true, true));
+      ClientConsumer consumer = session.createConsumer(address);
+      session.start();
+      // the forced delivery marker telling there's nothing else to receive can't overtake the deliveries of the shard
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = consumer.receiveImmediate();
+         assertNotNull(message, "message " + i);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+   }
+
+   private void send(int numberOfMessages, Integer groups) throws Exception {
+      ClientSession session = addClientSession(sf.createSession());
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         if (groups != null) {
+            message.putStringProperty(Message.HDR_GROUP_ID, SimpleString.of("group" + (i % groups)));
+         }
+         producer.send(message);
+      }
+   }
+}
@@ -41,6 +41,9 @@ public class AddressMapPerfTest {
 
    public AddressMap<Object> objectAddressMap;
 
+   // wildcard subscriptions looked up while addresses are added and removed in the same subtrees
+   public AddressMap<Object> churnAddressMap;
+
    @Param({"2", "8", "10"})
    int entriesLog2;
    int entries;
@@ -63,18 +66,36 @@ public class AddressMapPerfTest {
       for (int i = 0; i < entries; i++) {
          keys[i] = SimpleString.of("topic." + i % entriesLog2 + "." + i);
       }
+
+      churnAddressMap =
+         new AddressMap<>(WILDCARD_CONFIGURATION.getAnyWordsString(), WILDCARD_CONFIGURATION.getSingleWordString(), WILDCARD_CONFIGURATION.getDelimiter());
+      for (int i = 0; i < entriesLog2; i++) {
+         final SimpleString wildcard = SimpleString.of("topic." + i + ".>");
+         churnAddressMap.put(wildcard, wildcard);
+      }
+      final SimpleString anyChild = SimpleString.of("topic.*.*");
+      churnAddressMap.put(anyChild, anyChild);
    }
 
    @State(value = Scope.Thread)
    public static class ThreadState {
 
+      private static final AtomicInteger THREADS = new AtomicInteger();
+
       long next;
       SimpleString[] keys;
       AtomicInteger counter = new AtomicInteger();
+      int thread;
+      long device;
 
       @Setup
       public void init(AddressMapPerfTest benchmarkState) {
          keys = benchmarkState.keys;
+         thread = THREADS.getAndIncrement();
+      }
+
+      public SimpleString nextDevice() {
+         return SimpleString.of("topic." + (device % keys.length) % 2 + ".device-" + thread + "-" + device++);
       }
 
       public SimpleString nextKeyValue() {
@@ -111,6 +132,21 @@ public class AddressMapPerfTest {
       objectAddressMap.visitMatchingWildcards(s, value -> state.counter.incrementAndGet());
    }
 
+   @Benchmark
+   @Group("churn")
+   @GroupThreads(3)
+   public void testVisitWhileChurn(final ThreadState state) throws Exception {
+      churnAddressMap.visitMatchingWildcards(state.nextKeyValue(), value -> state.counter.incrementAndGet());
+   }
+
+   @Benchmark
+   @Group("churn")
+   @GroupThreads(1)
+   public void testChurnWhileVisit(final ThreadState state) {
+      final SimpleString device = state.nextDevice();
+      churnAddressMap.put(device, device);
+      churnAddressMap.remove(device, device);
+   }
 
 }
 
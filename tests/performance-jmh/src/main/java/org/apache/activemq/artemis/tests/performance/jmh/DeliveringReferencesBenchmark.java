@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.impl.DeliveringReferences;
+import org.apache.activemq.artemis.core.server.impl.MessageReferenceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Individual acknowledgements of the references delivered to a consumer in random order: each acknowledged reference
+ * is removed and delivered again, keeping {@code delivering} references in flight.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class DeliveringReferencesBenchmark {
+
+   @Param({"100", "10000"})
+   private int delivering;
+
+   private DeliveringReferences indexed;
+
+   private ArrayDeque<MessageReference> deque;
+
+   private long[] ackedIDs;
+
+   private int ackedMask;
+
+   private int nextAck;
+
+   @Setup
+   public void init() {
+      indexed = new DeliveringReferences();
+      deque = new ArrayDeque<>(delivering);
+      for (int i = 0; i < delivering; i++) {
+         final MessageReference reference = new MessageReferenceImpl(new CoreMessage(i, 50), null);
+         indexed.addTail(reference);
+         deque.add(reference);
+      }
+      // always use the same seed!
+      final SplittableRandom random = new SplittableRandom(0);
+      ackedIDs = new long[1024];
+      ackedMask = ackedIDs.length - 1;
+      for (int i = 0; i < ackedIDs.length; i++) {
+         ackedIDs[i] = random.nextInt(0, delivering);
+      }
+      nextAck = 0;
+   }
+
+   private long nextAckedID() {
+      return ackedIDs[nextAck++ & ackedMask];
+   }
+
+   @Benchmark
+   public MessageReference indexedAck() {
+      final MessageReference reference = indexed.removeByID(nextAckedID());
+      indexed.addTail(reference);
+      return reference;
+   }
+
+   @Benchmark
+   public MessageReference scanAck() {
+      final long messageID = nextAckedID();
+      final Iterator<MessageReference> iterator = deque.iterator();
+      while (iterator.hasNext()) {
+         final MessageReference reference = iterator.next();
+         if (reference.getMessageID() == messageID) {
+            iterator.remove();
+            deque.add(reference);
+            return reference;
+         }
+      }
+      throw new IllegalStateException("Reference of message " + messageID + " not delivering");
+   }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.utils.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Delivers runs of messages to competing core consumers of a single queue, whose deliveries are either all done by the
+ * queue executor or split into {@code shards} delivery shards. The score is the number of messages received per
+ * second.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class DeliveryShardsBenchmark {
+
+   private static final SimpleString ADDRESS = SimpleString.of("work");
+
+   private static final int MESSAGES = 1000;
+
+   @Param({"1", "4"})
+   private int shards;
+
+   @Param({"8"})
+   private int consumers;
+
+   @Param({"1024"})
+   private int bodySize;
+
+   private Path dataDirectory;
+   private ActiveMQServer server;
+   private PostOffice postOffice;
+   private ServerLocator locator;
+   private ClientSessionFactory factory;
+   private final List<ClientSession> sessions = new ArrayList<>();
+   private byte[] body;
+   private long nextID;
+
+   private volatile CountDownLatch received;
+
+   @Setup
+   public void init() throws Exception {
+      dataDirectory = Files.createTempDirectory("delivery-shards");
+      final Configuration configuration = new ConfigurationImpl()
+         .setPersistenceEnabled(false)
+         .setSecurityEnabled(false)
+         .setJMXManagementEnabled(false)
+         .addAcceptorConfiguration("invm", "vm://0");
+      configuration.setBrokerInstance(dataDirectory.toFile());
+      configuration.addAddressSetting(ADDRESS.toString(), new AddressSettings().setDeliveryShards(shards));
+      server = ActiveMQServers.newActiveMQServer(configuration, false);
+      server.start();
+      server.createQueue(QueueConfiguration.of(ADDRESS).setRoutingType(RoutingType.ANYCAST).setDurable(false));
+      postOffice = server.getPostOffice();
+
+      locator = ActiveMQClient.createServerLocator("vm://0");
+      factory = locator.createSessionFactory();
+      for (int i = 0; i < consumers; i++) {
+         // pre-acknowledged, so that only the deliveries are measured
+         final ClientSession session = factory.createSession(false, true, true, true);
+         final ClientConsumer consumer = session.createConsumer(ADDRESS);
+         consumer.setMessageHandler(message -> received.countDown());
+         session.start();
+         sessions.add(session);
+      }
+      body = new byte[bodySize];
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      for (ClientSession session : sessions) {
+         session.close();
+      }
+      factory.close();
+      locator.close();
+      server.stop();
+      FileUtil.deleteDirectory(dataDirectory.toFile());
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(MESSAGES)
+   public void deliver() throws Exception {
+      final CountDownLatch received = new CountDownLatch(MESSAGES);
+      this.received = received;
+      for (int i = 0; i < MESSAGES; i++) {
+         final CoreMessage message = new CoreMessage(nextID++, bodySize + 256);
+         message.setAddress(ADDRESS);
+         message.getBodyBuffer().writeBytes(body);
+         message.putIntProperty("i", i);
+         postOffice.route(message, false);
+      }
+      if (!received.await(30, TimeUnit.SECONDS)) {
+         throw new IllegalStateException(received.getCount() + " messages not received");
+      }
+   }
+}
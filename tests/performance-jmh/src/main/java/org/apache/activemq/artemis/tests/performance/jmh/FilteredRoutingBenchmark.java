@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.utils.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Routes messages to a multicast address with many filtered subscriptions, each of them evaluated by all the routing
+ * threads at once. None of the filters matches, so that only filter evaluation is measured.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class FilteredRoutingBenchmark {
+
+   private static final SimpleString ADDRESS = SimpleString.of("prices");
+   private static final String[] REGIONS = {"EMEA", "APAC", "NA", "LATAM"};
+
+   @Param({"100"})
+   private int subscriptions;
+
+   private Path dataDirectory;
+   private ActiveMQServer server;
+   private PostOffice postOffice;
+
+   @Setup
+   public void init() throws Exception {
+      dataDirectory = Files.createTempDirectory("filtered-routing");
+      final Configuration configuration = new ConfigurationImpl()
+         .setPersistenceEnabled(false)
+         .setSecurityEnabled(false)
+         .setJMXManagementEnabled(false);
+      configuration.setBrokerInstance(dataDirectory.toFile());
+      server = ActiveMQServers.newActiveMQServer(configuration, false);
+      server.start();
+      server.addAddressInfo(new AddressInfo(ADDRESS, RoutingType.MULTICAST));
+      for (int i = 0; i < subscriptions; i++) {
+         server.createQueue(QueueConfiguration.of("subscription-" + i)
+                               .setAddress(ADDRESS)
+                               .setRoutingType(RoutingType.MULTICAST)
+                               .setDurable(false)
+                               .setFilterString("symbol = 'S" + i + "' AND region = '" + REGIONS[i % REGIONS.length] + "' AND price > " + i));
+      }
+      postOffice = server.getPostOffice();
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      server.stop();
+      FileUtil.deleteDirectory(dataDirectory.toFile());
+   }
+
+   @State(Scope.Thread)
+   public static class Messages {
+
+      private Message[] messages;
+      private int next;
+
+      @Setup
+      public void init() {
+         final SplittableRandom random = new SplittableRandom();
+         messages = new Message[1024];
+         for (int i = 0; i < messages.length; i++) {
+            final Message message = new CoreMessage(i, 256);
+            message.setAddress(ADDRESS);
+            message.putStringProperty("symbol", "X" + random.nextInt(100));
+            message.putStringProperty("region", REGIONS[random.nextInt(REGIONS.length)]);
+            message.putDoubleProperty("price", random.nextDouble(200));
+            messages[i] = message;
+         }
+      }
+
+      Message next() {
+         return messages[next++ & (messages.length - 1)];
+      }
+   }
+
+   @Benchmark
+   @Threads(1)
+   public RoutingStatus route1Thread(Messages messages) throws Exception {
+      return postOffice.route(messages.next(), false);
+   }
+
+   @Benchmark
+   @Threads(2)
+   public RoutingStatus route2Threads(Messages messages) throws Exception {
+      return postOffice.route(messages.next(), false);
+   }
+
+   @Benchmark
+   @Threads(4)
+   public RoutingStatus route4Threads(Messages messages) throws Exception {
+      return postOffice.route(messages.next(), false);
+   }
+
+   @Benchmark
+   @Threads(8)
+   public RoutingStatus route8Threads(Messages messages) throws Exception {
+      return postOffice.route(messages.next(), false);
+   }
+}
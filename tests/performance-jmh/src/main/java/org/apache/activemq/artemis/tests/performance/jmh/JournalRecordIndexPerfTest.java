@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.impl.JournalFile;
+import org.apache.activemq.artemis.core.journal.impl.JournalFileImpl;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.JournalRecord;
+import org.apache.activemq.artemis.core.journal.impl.JournalRecordIndex;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the journal record index kept on heap with the off-heap one, holding {@code records} add-only records.
+ * <p>
+ * Besides the cost of the lookups and of an add followed by a delete, {@link #footprint(HeapFootprint)} reports the
+ * heap retained by the index per record.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JournalRecordIndexPerfTest {
+
+   private static final int RECORDS_PER_FILE = 10_000;
+   private static final int RECORD_SIZE = 1024;
+
+   @Param({"1000000", "10000000"})
+   private int records;
+   @Param({"false", "true"})
+   private boolean offHeap;
+
+   private JournalRecordIndex index;
+   private JournalFile currentFile;
+   private SplittableRandom random;
+   private long nextId;
+   private long heapBytesPerRecord;
+
+   @Setup
+   public void init() {
+      final SequentialFileFactory factory = new NIOSequentialFileFactory(new File(System.getProperty("java.io.tmpdir")), 1);
+      final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+      System.gc();
+      final long heapBefore = memory.getHeapMemoryUsage().getUsed();
+      index = new JournalRecordIndex(offHeap);
+      for (int id = 0; id < records; id++) {
+         if (id % RECORDS_PER_FILE == 0) {
+            currentFile = new JournalFileImpl(factory.createSequentialFile("perf-" + id + ".amq"), id / RECORDS_PER_FILE, JournalImpl.FORMAT_VERSION);
+         }
+         index.put(id, new JournalRecord(currentFile, RECORD_SIZE));
+      }
+      System.gc();
+      heapBytesPerRecord = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / records;
+      random = new SplittableRandom(1);
+      nextId = records;
+   }
+
+   @Benchmark
+   public boolean containsKey() {
+      return index.containsKey(random.nextInt(records));
+   }
+
+   @Benchmark
+   public JournalRecord addAndDelete() {
+      final long id = nextId++;
+      index.put(id, new JournalRecord(currentFile, RECORD_SIZE));
+      return index.remove(id);
+   }
+
+   @Benchmark
+   public void footprint(HeapFootprint footprint) {
+      footprint.heapBytesPerRecord = heapBytesPerRecord;
+   }
+
+   @State(Scope.Thread)
+   @AuxCounters(AuxCounters.Type.EVENTS)
+   public static class HeapFootprint {
+
+      public long heapBytesPerRecord;
+
+      @Setup(Level.Iteration)
+      public void reset() {
+         heapBytesPerRecord = 0;
+      }
+   }
+}
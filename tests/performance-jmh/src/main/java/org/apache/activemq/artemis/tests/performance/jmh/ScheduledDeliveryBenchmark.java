@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.impl.MessageReferenceImpl;
+import org.apache.activemq.artemis.core.server.impl.ScheduledDeliveryHandlerImpl;
+import org.apache.activemq.artemis.core.server.impl.TimingWheelScheduledDeliveryHandler;
+import org.apache.activemq.artemis.utils.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Schedules messages for delivery at random times within the next day, on top of {@code scheduled} messages already
+ * waiting: either in the sorted set of {@link ScheduledDeliveryHandlerImpl} or in a
+ * {@link TimingWheelScheduledDeliveryHandler}.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class ScheduledDeliveryBenchmark {
+
+   private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+   @Param({"10000", "1000000"})
+   private int scheduled;
+
+   private Path dataDirectory;
+   private ActiveMQServer server;
+   private Queue queue;
+
+   private MessageReference[] references;
+   private long[] deliveryTimes;
+   private int mask;
+   private int next;
+
+   private ScheduledDeliveryHandlerImpl sorted;
+   private TimingWheelScheduledDeliveryHandler wheel;
+
+   @Setup
+   public void init() throws Exception {
+      dataDirectory = Files.createTempDirectory("scheduled-delivery");
+      final Configuration configuration = new ConfigurationImpl()
+         .setPersistenceEnabled(false)
+         .setSecurityEnabled(false)
+         .setJMXManagementEnabled(false);
+      configuration.setBrokerInstance(dataDirectory.toFile());
+      server = ActiveMQServers.newActiveMQServer(configuration, false);
+      server.start();
+      queue = server.createQueue(QueueConfiguration.of("scheduled").setRoutingType(RoutingType.ANYCAST).setDurable(false));
+      references = new MessageReference[1 << 16];
+      deliveryTimes = new long[references.length];
+      mask = references.length - 1;
+      // always use the same seed!
+      final SplittableRandom random = new SplittableRandom(0);
+      final long now = System.currentTimeMillis();
+      for (int i = 0; i < references.length; i++) {
+         references[i] = new MessageReferenceImpl(new CoreMessage(i, 50), queue);
+         deliveryTimes[i] = now + random.nextLong(1, DAY);
+      }
+   }
+
+   @Setup(Level.Iteration)
+   public void fill() {
+      sorted = new ScheduledDeliveryHandlerImpl(null, queue);
+      wheel = new TimingWheelScheduledDeliveryHandler(null, queue);
+      for (int i = 0; i < scheduled; i++) {
+         sorted.addInPlace(deliveryTimes[i & mask], references[i & mask], true);
+         wheel.addInPlace(deliveryTimes[i & mask], references[i & mask], true);
+      }
+      next = 0;
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      server.stop();
+      FileUtil.deleteDirectory(dataDirectory.toFile());
+   }
+
+   @Benchmark
+   public ScheduledDeliveryHandlerImpl sortedSet() {
+      final int i = next++ & mask;
+      sorted.addInPlace(deliveryTimes[i], references[i], true);
+      return sorted;
+   }
+
+   @Benchmark
+   public TimingWheelScheduledDeliveryHandler timingWheel() {
+      final int i = next++ & mask;
+      wheel.addInPlace(deliveryTimes[i], references[i], true);
+      return wheel;
+   }
+}
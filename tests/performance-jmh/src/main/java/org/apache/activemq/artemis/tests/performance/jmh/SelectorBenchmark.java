@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class SelectorBenchmark {
+
+   private static final String[] REGIONS = {"EMEA", "APAC", "NA", "LATAM"};
+   private static final String[] TYPES = {"order", "quote", "trade", "cancel", "amend"};
+
+   @Param({
+      "region = 'EMEA'",
+      "region = 'EMEA' AND priority > 5",
+      "type IN ('order', 'trade', 'amend') AND amount BETWEEN 1000 AND 50000",
+      "(region = 'APAC' OR region = 'NA') AND NOT urgent AND price >= 99.5",
+      "symbol LIKE 'AB%' OR (quantity * price > 100000 AND account IS NOT NULL)"})
+   private String selector;
+
+   @Param({"false", "true"})
+   private boolean compiled;
+
+   @Param({"1024"})
+   private int messages;
+
+   private BooleanExpression expression;
+   private Filterable[] filterables;
+   private int mask;
+   private int next;
+
+   @Setup
+   public void init() throws Exception {
+      final BooleanExpression parsed = SelectorParser.parse(selector);
+      expression = compiled ? ExpressionCompiler.compile(parsed) : parsed;
+      final int size = Integer.highestOneBit(messages);
+      mask = size - 1;
+      filterables = new Filterable[size];
+      final SplittableRandom random = new SplittableRandom(42);
+      for (int i = 0; i < size; i++) {
+         final Map<SimpleString, Object> properties = new HashMap<>();
+         properties.put(SimpleString.of("region"), REGIONS[random.nextInt(REGIONS.length)]);
+         properties.put(SimpleString.of("type"), TYPES[random.nextInt(TYPES.length)]);
+         properties.put(SimpleString.of("priority"), random.nextInt(10));
+         properties.put(SimpleString.of("amount"), random.nextLong(100_000));
+         properties.put(SimpleString.of("price"), random.nextDouble(200));
+         properties.put(SimpleString.of("quantity"), random.nextInt(1000));
+         properties.put(SimpleString.of("urgent"), random.nextBoolean());
+         properties.put(SimpleString.of("symbol"), (char) ('A' + random.nextInt(3)) + "B" + random.nextInt(100));
+         if (random.nextBoolean()) {
+            properties.put(SimpleString.of("account"), "ACC-" + random.nextInt(1000));
+         }
+         filterables[i] = new MapFilterable(properties);
+      }
+   }
+
+   @Benchmark
+   public boolean matches() throws FilterException {
+      final Filterable filterable = filterables[next++ & mask];
+      return expression.matches(filterable);
+   }
+
+   private record MapFilterable(Map<SimpleString, Object> properties) implements Filterable {
+
+      @Override
+      public <T> T getBodyAs(Class<T> type) {
+         return null;
+      }
+
+      @Override
+      public Object getProperty(SimpleString name) {
+         return properties.get(name);
+      }
+
+      @Override
+      public Object getLocalConnectionId() {
+         return null;
+      }
+   }
+}
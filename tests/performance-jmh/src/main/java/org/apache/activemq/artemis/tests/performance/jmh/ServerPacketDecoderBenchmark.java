@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.Collections;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.protocol.ServerPacketDecoder;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.RemotingConnectionImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_V3;
+import org.apache.activemq.artemis.core.remoting.impl.invm.InVMConnection;
+import org.apache.activemq.artemis.utils.DataConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes the most frequent packets received by a broker, the way {@link ServerPacketDecoder} does for every inbound
+ * frame, with or without giving the packets back once handled. Run it with {@code -prof gc} to compare the allocations
+ * per decoded packet.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class ServerPacketDecoderBenchmark {
+
+   @Param({"true", "false"})
+   private boolean recycle;
+
+   private ServerPacketDecoder decoder;
+
+   private RemotingConnectionImpl connection;
+
+   private ActiveMQBuffer acknowledge;
+
+   private ActiveMQBuffer consumerFlowCredit;
+
+   private ActiveMQBuffer send;
+
+   @Setup
+   public void init() {
+      decoder = new ServerPacketDecoder(new NullStorageManager());
+      connection = new RemotingConnectionImpl(decoder, new InVMConnection(0, null, null, null), Collections.emptyList(), Collections.emptyList(), null, null);
+      connection.setChannelVersion(PacketImpl.ARTEMIS_2_37_0_VERSION);
+      acknowledge = encode(new SessionAcknowledgeMessage(1, 100, false));
+      consumerFlowCredit = encode(new SessionConsumerFlowCreditMessage(1, 1024 * 1024));
+      final CoreMessage message = new CoreMessage(1, 1024);
+      message.setAddress("queue");
+      message.getBodyBuffer().writeBytes(new byte[256]);
+      send = encode(new SessionSendMessage_V3(message, false, null, 1));
+   }
+
+   private ActiveMQBuffer encode(Packet packet) {
+      packet.setChannelID(10);
+      return packet.encode(connection);
+   }
+
+   private Packet decode(ActiveMQBuffer buffer) {
+      // the length is read by the transport
+      buffer.readerIndex(DataConstants.SIZE_INT);
+      final Packet packet = decoder.decode(buffer, connection);
+      if (recycle) {
+         decoder.recycle(packet);
+      }
+      return packet;
+   }
+
+   @Benchmark
+   public Packet decodeAcknowledge() {
+      return decode(acknowledge);
+   }
+
+   @Benchmark
+   public Packet decodeConsumerFlowCredit() {
+      return decode(consumerFlowCredit);
+   }
+
+   @Benchmark
+   public Packet decodeSend() {
+      return decode(send);
+   }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares reading a few properties of encoded {@link TypedProperties}, as a filter or the group of a message do,
+ * by decoding them all or by looking them up in the encoded bytes.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class TypedPropertiesBenchmark {
+
+   @Param({"5", "20", "100"})
+   private int properties;
+
+   private ByteBuf buffer;
+
+   // a string and a numeric property somewhere in the middle, a missing one
+   private SimpleString[] keys;
+
+   @Setup
+   public void init() {
+      final TypedProperties typedProperties = new TypedProperties();
+      for (int i = 0; i < properties; i++) {
+         final SimpleString key = SimpleString.of("property-" + i);
+         switch (i % 3) {
+            case 0 -> typedProperties.putSimpleStringProperty(key, SimpleString.of("value-" + i));
+            case 1 -> typedProperties.putLongProperty(key, i);
+            default -> typedProperties.putIntProperty(key, i);
+         }
+      }
+      buffer = Unpooled.buffer(typedProperties.getEncodeSize());
+      typedProperties.encode(buffer);
+      keys = new SimpleString[]{SimpleString.of("property-" + (properties / 3) * 3), SimpleString.of("property-" + (properties / 2 | 1)), SimpleString.of("missing")};
+   }
+
+   @Benchmark
+   public void decode(Blackhole blackhole) {
+      final TypedProperties typedProperties = new TypedProperties();
+      typedProperties.decode(buffer.duplicate());
+      for (SimpleString key : keys) {
+         blackhole.consume(typedProperties.getProperty(key));
+      }
+   }
+
+   @Benchmark
+   public void lookup(Blackhole blackhole) {
+      for (SimpleString key : keys) {
+         final int index = TypedProperties.findProperty(key, buffer, 0);
+         blackhole.consume(index < 0 ? null : TypedProperties.readProperty(buffer, index, null));
+      }
+   }
+}
@@ -230,6 +230,24 @@ public class WildcardAddressManagerPerfTest {
       return addressManager.removeBinding(binding.getUniqueName(), null);
    }
 
+   @Benchmark
+   @Group("churn")
+   @GroupThreads(3)
+   public Bindings testPublishWhileChurnDeviceBinding(ThreadState state) throws Exception {
+      return addressManager.getBindingsForRoutingAddress(state.nextAddress());
+   }
+
+   @Benchmark
+   @Group("churn")
+   @GroupThreads(1)
+   public Binding testChurnDeviceBindingWhilePublish() throws Exception {
+      // a binding on a new address each time, as devices subscribing to their own topic
+      final long id = nextId();
+      final SimpleString uniqueName = SimpleString.of("" + id);
+      addressManager.addBinding(new BindingFake(SimpleString.of("Topic1.device-" + id), uniqueName, id));
+      return addressManager.removeBinding(uniqueName, null);
+   }
+
    @Benchmark
    @GroupThreads(4)
    public Bindings testJustPublish(ThreadState state) throws Exception {
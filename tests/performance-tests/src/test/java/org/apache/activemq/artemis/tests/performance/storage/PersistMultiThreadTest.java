@@ -31,6 +31,7 @@ import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.paging.cursor.PageCursorProvider;
@@ -430,6 +431,11 @@ public class PersistMultiThreadTest extends ActiveMQTestBase {
          return null;
       }
 
+      @Override
+      public PagedMessage readMessage(long page, int messageNumber) throws Exception {
+         return null;
+      }
+
       @Override
       public void ioSync() throws Exception {
 
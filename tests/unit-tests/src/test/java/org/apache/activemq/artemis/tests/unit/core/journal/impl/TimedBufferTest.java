@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import io.netty.buffer.ByteBuf;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -601,4 +602,124 @@ public class TimedBufferTest extends ActiveMQTestBase {
       }
 
    }
+
+   @Test
+   public void testFlushListener() {
+      class TestObserver implements TimedBufferObserver {
+
+         @Override
+         public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+            callbacks.forEach(IOCallback::done);
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return 1024 * 1024;
+         }
+      }
+
+      final List<long[]> flushes = new ArrayList<>();
+
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100, TimedBufferTest.ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.setFlushListener((bytes, callbacks, waitTime) -> flushes.add(new long[]{bytes, callbacks, waitTime}));
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(new TestObserver());
+
+         for (int i = 0; i < 3; i++) {
+            timedBuffer.checkSize(10);
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), false, dummyCallback);
+         }
+
+         timedBuffer.flush();
+
+         assertEquals(1, flushes.size());
+         assertEquals(30, flushes.get(0)[0]);
+         assertEquals(3, flushes.get(0)[1]);
+         assertTrue(flushes.get(0)[2] >= 0);
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testAdaptiveTimeout() throws Exception {
+      final long syncLatency = TimeUnit.MILLISECONDS.toNanos(2);
+      // syncs out of the buffer lock, as NIO does
+      class TestObserver implements TimedBufferObserver {
+
+         @Override
+         public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+         }
+
+         @Override
+         public boolean supportSync() {
+            return true;
+         }
+
+         @Override
+         public void checkSync(final boolean syncRequested, final List<IOCallback> callbacks) {
+            if (syncRequested) {
+               LockSupport.parkNanos(syncLatency);
+            }
+            callbacks.forEach(IOCallback::done);
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return 1024 * 1024;
+         }
+      }
+
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100, TimedBufferTest.ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.setAdaptiveTimeout(true);
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(new TestObserver());
+
+         assertEquals(TimedBufferTest.ONE_SECOND_IN_NANOS, timedBuffer.getFlushTimeout());
+
+         // one sync at a time: there is nothing to group, so the buffer shouldn't wait
+         for (int i = 0; i < 10; i++) {
+            ReusableLatch synced = new ReusableLatch(1);
+            timedBuffer.checkSize(10);
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, new IOCallback() {
+               @Override
+               public void done() {
+                  synced.countDown();
+               }
+
+               @Override
+               public void onError(final int errorCode, final String errorMessage) {
+               }
+            });
+            assertTrue(synced.await(5, TimeUnit.SECONDS));
+         }
+
+         assertTrue(timedBuffer.getFlushTimeout() < syncLatency, "flush timeout = " + timedBuffer.getFlushTimeout());
+
+         // syncs arriving much faster than the device syncs: the buffer should wait about one sync latency
+         final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+         while (System.nanoTime() < deadline) {
+            timedBuffer.checkSize(10);
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, dummyCallback);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+         }
+
+         Wait.assertTrue(() -> timedBuffer.getFlushTimeout() >= syncLatency, 2000);
+         assertTrue(timedBuffer.getFlushTimeout() <= TimedBufferTest.ONE_SECOND_IN_NANOS);
+
+         timedBuffer.setAdaptiveTimeout(false);
+
+         assertEquals(TimedBufferTest.ONE_SECOND_IN_NANOS, timedBuffer.getFlushTimeout());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
 }
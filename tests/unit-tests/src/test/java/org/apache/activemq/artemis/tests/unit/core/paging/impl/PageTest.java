@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.tests.unit.core.paging.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteBuffer;
@@ -243,6 +244,77 @@ public class PageTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testReadMessageWithIndex() throws Exception {
+      recreateDirectory(getTestDir());
+      final SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      final SimpleString simpleDestination = SimpleString.of("Test");
+      final int numberOfElements = 1000;
+
+      Page page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      page.open(true);
+      addPageElements(simpleDestination, page, numberOfElements, 1);
+      page.close(false, false);
+
+      assertEquals(1, factory.listFiles("pindex").size());
+
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      assertEquals(numberOfElements, page.readNumberOfMessages());
+      for (int i : new int[]{0, 1, 63, 64, 65, 500, numberOfElements - 1}) {
+         final PagedMessage pagedMessage = page.readMessage(i);
+         assertEquals(i, pagedMessage.getMessageNumber());
+         assertEquals(10, pagedMessage.getPageNumber());
+         assertEquals(1 + i, pagedMessage.getMessage().getMessageID());
+      }
+      assertNull(page.readMessage(numberOfElements));
+
+      // the index of a page that has grown since it was written is ignored
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      page.open(false);
+      page.getMessages();
+      addPageElements(simpleDestination, page, 1, numberOfElements + 1);
+      page.getFile().close();
+
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      assertEquals(numberOfElements + 1, page.readNumberOfMessages());
+      assertEquals(numberOfElements + 1, page.readMessage(numberOfElements).getMessage().getMessageID());
+
+      assertTrue(page.delete(null));
+      assertEquals(0, factory.listFiles("page").size());
+      assertEquals(0, factory.listFiles("pindex").size());
+   }
+
+   @Test
+   public void testReadMessageWithDamagedIndex() throws Exception {
+      recreateDirectory(getTestDir());
+      final SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      final SimpleString simpleDestination = SimpleString.of("Test");
+      final int numberOfElements = 1000;
+
+      Page page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      page.open(true);
+      addPageElements(simpleDestination, page, numberOfElements, 1);
+      page.close(false, false);
+
+      // the 6th entry of the index points to the record of the 7th, past the header of 20 bytes
+      final SequentialFile indexFile = factory.createSequentialFile("00010.pindex");
+      indexFile.open();
+      final ByteBuffer offset = factory.newBuffer(4);
+      indexFile.position(20 + 6 * 4);
+      indexFile.read(offset);
+      indexFile.position(20 + 5 * 4);
+      indexFile.writeDirect(offset, true);
+      indexFile.close();
+
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      for (int i : new int[]{5 * 64, 6 * 64, numberOfElements - 1}) {
+         final PagedMessage pagedMessage = page.readMessage(i);
+         assertEquals(i, pagedMessage.getMessageNumber());
+         assertEquals(1 + i, pagedMessage.getMessage().getMessageID());
+      }
+      assertEquals(numberOfElements, page.readNumberOfMessages());
+   }
+
    protected void addPageElements(final SimpleString simpleDestination,
                                   final Page page,
                                   final int numberOfElements,
@@ -27,6 +27,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
@@ -54,6 +55,7 @@ import org.apache.activemq.artemis.core.paging.impl.PageReadWriter;
 import org.apache.activemq.artemis.core.paging.impl.PageTransactionInfoImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreTestAccessor;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
@@ -89,6 +91,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PagingStoreImplTest extends ActiveMQTestBase {
@@ -659,6 +662,85 @@ public class PagingStoreImplTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testSharedPageCache() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+      SimpleString destination = SimpleString.of("test");
+
+      PagingStoreFactory storeFactory = new FakeStoreFactory(factory);
+
+      AtomicReference<SharedPageCache> sharedCache = new AtomicReference<>();
+      PagingManager pagingManager = new FakePagingManager();
+
+      sharedCache.set(new SharedPageCache(Long.MAX_VALUE));
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, pagingManager, nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE), orderedExecutorFactory.getExecutor(), true, sharedCache.get());
+
+      store.start();
+      store.startPaging();
+
+      for (int i = 0; i < 20; i++) {
+         if (i > 0 && i % 5 == 0) {
+            store.forceAnotherPage(true);
+         }
+         Message msg = createMessage(i, store, destination, createRandomBuffer(i + 1L, 10));
+         final RoutingContextImpl ctx = new RoutingContextImpl(null);
+         assertTrue(store.page(msg, ctx.getTransaction(), ctx.getContextListing(store.getStoreName())));
+         syncOperationContext();
+      }
+
+      final long firstPage = store.getFirstPage();
+      assertEquals(4, store.getNumberOfPages());
+
+      // the pages written so far are kept by the shared cache once no longer current
+      assertEquals(3, sharedCache.get().getPageCount());
+
+      // reading a single message of a released page leaves it in the shared cache
+      assertEquals(2, store.readMessage(firstPage, 2).getMessageNumber());
+      assertEquals(1, store.getPageCacheHitCount());
+      assertEquals(3, sharedCache.get().getPageCount());
+
+      Page page = store.usePage(firstPage);
+      assertEquals(5, page.getMessages().size());
+      assertEquals(2, store.getPageCacheHitCount());
+      assertEquals(0, store.getPageCacheMissCount());
+      assertEquals(2, sharedCache.get().getPageCount());
+      page.usageDown();
+      assertEquals(3, sharedCache.get().getPageCount());
+      assertSame(page, store.usePage(firstPage));
+      assertEquals(3, store.getPageCacheHitCount());
+      page.usageDown();
+
+      // a removed page is not handed back
+      store.removePage((int) firstPage);
+      assertEquals(2, sharedCache.get().getPageCount());
+
+      store.stop();
+      assertEquals(0, sharedCache.get().getPageCount());
+
+      // a cache that can only hold one page evicts the other one
+      assertTrue(page.getMemoryEstimate() > page.getSize());
+      sharedCache.set(new SharedPageCache(page.getMemoryEstimate()));
+      store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, pagingManager, nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE), orderedExecutorFactory.getExecutor(), true, sharedCache.get());
+      store.start();
+
+      List<Page> pages = new ArrayList<>();
+      for (long pageId = firstPage + 1; pageId <= firstPage + 2; pageId++) {
+         pages.add(store.usePage(pageId));
+      }
+      assertEquals(0, store.getPageCacheHitCount());
+      assertEquals(2, store.getPageCacheMissCount());
+      pages.forEach(Page::usageDown);
+
+      final PagingStoreImpl finalStore = store;
+      Wait.assertEquals(1L, finalStore::getPageCacheEvictionCount);
+      assertEquals(1, sharedCache.get().getPageCount());
+
+      store.stop();
+      assertEquals(0, sharedCache.get().getPageCount());
+   }
+
    @Test
    public void testRestartPage() throws Throwable {
       clearDataRecreateServerDirs();
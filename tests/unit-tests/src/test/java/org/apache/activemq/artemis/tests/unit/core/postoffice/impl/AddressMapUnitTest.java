@@ -20,6 +20,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -939,4 +944,50 @@ public class AddressMapUnitTest {
       assertEquals(3, countMatchingWildcards(SimpleString.of("test.a.a")));
    }
 
-}
\ No newline at end of file
+   @Test
+   public void testConcurrentPutRemoveWhileVisiting() throws Exception {
+      final SimpleString anyDescendant = SimpleString.of("x.#");
+      final SimpleString anyChild = SimpleString.of("x.y.*");
+      underTest.put(anyDescendant, anyDescendant);
+      underTest.put(anyChild, anyChild);
+
+      final int writers = 2;
+      final int iterations = 10_000;
+      final ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+      try {
+         final CountDownLatch start = new CountDownLatch(1);
+         final Future<?>[] results = new Future[writers + 1];
+         for (int w = 0; w < writers; w++) {
+            // sibling addresses, so that removing one prunes the nodes the other is added to
+            final SimpleString address = SimpleString.of("x.y." + w);
+            results[w] = executor.submit(() -> {
+               start.await();
+               for (int i = 0; i < iterations; i++) {
+                  underTest.put(address, address);
+                  assertEquals(3, countMatchingWildcards(address));
+                  underTest.remove(address, address);
+               }
+               return null;
+            });
+         }
+         final SimpleString visited = SimpleString.of("x.y.z");
+         results[writers] = executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < iterations; i++) {
+               assertEquals(2, countMatchingWildcards(visited));
+            }
+            return null;
+         });
+         start.countDown();
+         for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+
+      assertEquals(0, countNonWildcardMatching(SimpleString.of("x.y.*")));
+      assertEquals(2, countMatchingWildcards(SimpleString.of("x.y.0")));
+   }
+
+}
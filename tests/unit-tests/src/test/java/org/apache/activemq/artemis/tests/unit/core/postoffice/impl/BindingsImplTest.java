@@ -19,7 +19,9 @@ package org.apache.activemq.artemis.tests.unit.core.postoffice.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import javax.transaction.xa.Xid;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,12 +32,14 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.BindingType;
 import org.apache.activemq.artemis.core.postoffice.Bindings;
 import org.apache.activemq.artemis.core.postoffice.impl.BindingsImpl;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
 import org.apache.activemq.artemis.core.server.Bindable;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RoutingContext;
@@ -102,6 +106,50 @@ public class BindingsImplTest extends ActiveMQTestBase {
       }
    }
 
+   @Test
+   public void testRouteThroughFilterIndex() throws Exception {
+      final String[] filters = {"region = 'R0'", "region IN ('R1', 'R2') AND price > 10", "price BETWEEN 5 AND 15", "price < 3",
+         "region LIKE 'R%'", "region = 'R3' OR region = 'R0'", null};
+      final Bindings bind = new BindingsImpl(SimpleString.of("address"), null, new NullStorageManager(1000));
+      final Set<Long> routed = new HashSet<>();
+      final List<Filter> queueFilters = new ArrayList<>();
+      for (int i = 0; i < 4 * filters.length; i++) {
+         final Filter filter = FilterImpl.createFilter(filters[i % filters.length]);
+         queueFilters.add(filter);
+         final Queue queue = new FakeQueue(SimpleString.of("queue-" + i), i) {
+            @Override
+            public Filter getFilter() {
+               return filter;
+            }
+
+            @Override
+            public void route(Message message, RoutingContext context) {
+               routed.add(getID());
+            }
+         };
+         bind.addBinding(new LocalQueueBinding(SimpleString.of("address"), queue, SimpleString.of("node")));
+      }
+
+      for (int i = 0; i < 100; i++) {
+         final Message message = new CoreMessage(i, 100);
+         if (i % 10 != 0) {
+            message.putStringProperty("region", "R" + (i % 5));
+         }
+         if (i % 7 != 0) {
+            message.putObjectProperty("price", i % 3 == 0 ? (Object) (i % 20) : (Object) (i % 20 + 0.5));
+         }
+         final Set<Long> expected = new HashSet<>();
+         for (int q = 0; q < queueFilters.size(); q++) {
+            if (queueFilters.get(q) == null || queueFilters.get(q).match(message)) {
+               expected.add((long) q);
+            }
+         }
+         routed.clear();
+         bind.route(message, new RoutingContextImpl(new FakeTransaction()));
+         assertEquals(expected, routed, "Routing " + message);
+      }
+   }
+
    private void internalTest(final boolean route) throws Exception {
       final FakeBinding fake = new FakeBinding(SimpleString.of("a"));
 
@@ -29,6 +29,7 @@ import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
@@ -68,6 +69,31 @@ public class NettyConnectionTest extends ActiveMQTestBase {
       assertEquals(1, channel.outboundMessages().size());
    }
 
+   @Test
+   public void testWriteWithoutFlush() throws Exception {
+      EmbeddedChannel channel = createChannel();
+      channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(64, 128));
+
+      NettyConnection conn = new NettyConnection(emptyMap, channel, new MyListener(), false, false);
+      conn.write(ActiveMQBuffers.wrappedBuffer(ByteBuffer.allocate(100)), false);
+      conn.write(ActiveMQBuffers.wrappedBuffer(ByteBuffer.allocate(100)), false);
+      channel.runPendingTasks();
+      assertEquals(0, channel.outboundMessages().size());
+      assertFalse(channel.isWritable());
+
+      // over the high water mark: flushed anyway
+      conn.write(ActiveMQBuffers.wrappedBuffer(ByteBuffer.allocate(100)), false);
+      channel.runPendingTasks();
+      assertEquals(3, channel.outboundMessages().size());
+      assertTrue(channel.isWritable());
+
+      conn.write(ActiveMQBuffers.wrappedBuffer(ByteBuffer.allocate(100)), false);
+      channel.runPendingTasks();
+      assertEquals(3, channel.outboundMessages().size());
+      conn.flush();
+      assertEquals(4, channel.outboundMessages().size());
+   }
+
    @Test
    public void testCreateBuffer() throws Exception {
       EmbeddedChannel channel = createChannel();
@@ -1207,6 +1207,59 @@ public class QueueImplTest extends ActiveMQTestBase {
       assertEquals(messageReference2, consumer.getReferences().get(2));
    }
 
+   @Test
+   public void testDeliveriesFlushedInBatches() throws Exception {
+      QueueImpl queue = getTemporaryQueue();
+
+      final int numMessages = 100;
+
+      for (int i = 0; i < numMessages; i++) {
+         queue.addTail(generateReference(queue, i));
+      }
+
+      BatchConsumer cons1 = new BatchConsumer();
+      BatchConsumer cons2 = new BatchConsumer();
+      queue.addConsumer(cons1);
+      queue.addConsumer(cons2);
+
+      queue.deliverNow();
+
+      assertEquals(numMessages / 2, cons1.getReferences().size());
+      assertEquals(numMessages / 2, cons2.getReferences().size());
+      for (BatchConsumer consumer : List.of(cons1, cons2)) {
+         assertEquals(numMessages / 2, consumer.deliveries);
+         assertEquals(0, consumer.unflushed);
+         assertTrue(consumer.flushes > 0);
+         // every batch of deliveries to the consumer is flushed at once
+         assertTrue(consumer.flushes <= numMessages / QueueImpl.MAX_DELIVERIES_IN_BATCH + 1, "flushes = " + consumer.flushes);
+      }
+   }
+
+   private static final class BatchConsumer extends FakeConsumer {
+
+      private int deliveries;
+
+      private int unflushed;
+
+      private int flushes;
+
+      @Override
+      public void proceedDeliver(MessageReference reference, boolean flush) throws Exception {
+         deliveries++;
+         if (flush) {
+            flushes++;
+         } else {
+            unflushed++;
+         }
+      }
+
+      @Override
+      public void flushDeliveries() {
+         flushes++;
+         unflushed = 0;
+      }
+   }
+
    @Test
    public void testMessagesAdded() throws Exception {
       QueueImpl queue = getTemporaryQueue();